@@ -14,6 +14,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.apache.commons.collections15.Buffer;
+import org.apache.commons.collections15.Closure;
 import org.apache.commons.collections15.Transformer;
 import org.apache.commons.collections15.buffer.UnboundedFifoBuffer;
 
@@ -43,31 +44,40 @@ public class WeakComponentClusterer<V,E> implements Transformer<Graph<V,E>, Set<
 
         Set<Set<V>> clusterSet = new HashSet<Set<V>>();
 
-        HashSet<V> unvisitedVertices = new HashSet<V>(graph.getVertices());
+        ComponentVisitor<V> visitor = new ComponentVisitor<V>(graph.getVertices());
 
-        while (!unvisitedVertices.isEmpty()) {
-        	Set<V> cluster = new HashSet<V>();
-            V root = unvisitedVertices.iterator().next();
-            unvisitedVertices.remove(root);
-            cluster.add(root);
+        while (!visitor.unvisitedVertices.isEmpty()) {
+        	visitor.cluster = new HashSet<V>();
+            V root = visitor.unvisitedVertices.iterator().next();
+            visitor.execute(root);
 
-            Buffer<V> queue = new UnboundedFifoBuffer<V>();
-            queue.add(root);
+            while (!visitor.queue.isEmpty()) {
+                graph.forEachNeighbor(visitor.queue.remove(), visitor);
+            }
+            clusterSet.add(visitor.cluster);
+        }
+        return clusterSet;
+    }
 
-            while (!queue.isEmpty()) {
-                V currentVertex = queue.remove();
-                Collection<V> neighbors = graph.getNeighbors(currentVertex);
+    /**
+     * Adds each unvisited neighbor it is given to the current cluster and
+     * to the search queue; reused for every vertex so that neighbor sets
+     * need not be copied.
+     */
+    private static class ComponentVisitor<V> implements Closure<V> {
+        final Set<V> unvisitedVertices;
+        final Buffer<V> queue = new UnboundedFifoBuffer<V>();
+        Set<V> cluster;
+
+        ComponentVisitor(Collection<V> vertices) {
+            unvisitedVertices = new HashSet<V>(vertices);
+        }
 
-                for(V neighbor : neighbors) {
-                    if (unvisitedVertices.contains(neighbor)) {
-                        queue.add(neighbor);
-                        unvisitedVertices.remove(neighbor);
-                        cluster.add(neighbor);
-                    }
-                }
+        public void execute(V neighbor) {
+            if (unvisitedVertices.remove(neighbor)) {
+                queue.add(neighbor);
+                cluster.add(neighbor);
             }
-            clusterSet.add(cluster);
         }
-        return clusterSet;
     }
 }
@@ -15,6 +15,7 @@ import java.util.List;
 
 import org.apache.commons.collections15.Factory;
 
+import edu.uci.ics.jung.graph.BulkGraph;
 import edu.uci.ics.jung.graph.Graph;
 import edu.uci.ics.jung.graph.util.EdgeType;
 
@@ -92,6 +93,8 @@ public class Lattice2DGenerator<V,E> implements GraphGenerator<V,E>
     {
         int vertex_count = row_count * col_count;
         Graph<V,E> graph = graph_factory.create();
+        if (graph instanceof BulkGraph)
+            ((BulkGraph<V,E>)graph).ensureCapacity(vertex_count, getGridEdgeCount());
         v_array = new ArrayList<V>(vertex_count);
         for (int i = 0; i < vertex_count; i++)
         {
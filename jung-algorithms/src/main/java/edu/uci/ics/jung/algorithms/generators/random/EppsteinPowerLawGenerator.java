@@ -16,6 +16,7 @@ import java.util.Random;
 import org.apache.commons.collections15.Factory;
 
 import edu.uci.ics.jung.algorithms.generators.GraphGenerator;
+import edu.uci.ics.jung.graph.BulkGraph;
 import edu.uci.ics.jung.graph.Graph;
 
 /**
@@ -58,6 +59,8 @@ public class EppsteinPowerLawGenerator<V,E> implements GraphGenerator<V,E> {
     protected Graph<V,E> initializeGraph() {
         Graph<V,E> graph = null;
         graph = graphFactory.create();
+        if (graph instanceof BulkGraph)
+            ((BulkGraph<V,E>)graph).ensureCapacity(mNumVertices, mNumEdges);
         for(int i=0; i<mNumVertices; i++) {
         	graph.addVertex(vertexFactory.create());
         }
@@ -16,6 +16,7 @@ import java.util.Random;
 import org.apache.commons.collections15.Factory;
 
 import edu.uci.ics.jung.algorithms.generators.GraphGenerator;
+import edu.uci.ics.jung.graph.BulkGraph;
 import edu.uci.ics.jung.graph.Graph;
 import edu.uci.ics.jung.graph.UndirectedGraph;
 
@@ -62,6 +63,11 @@ public class ErdosRenyiGenerator<V,E> implements GraphGenerator<V,E> {
      */
 	public Graph<V,E> create() {
         UndirectedGraph<V,E> g = graphFactory.create();
+        if (g instanceof BulkGraph)
+        {
+            double expected_edges = mEdgeConnectionProbability * mNumVertices * (mNumVertices - 1) / 2;
+            ((BulkGraph<V,E>)g).ensureCapacity(mNumVertices, (int)Math.min(expected_edges, Integer.MAX_VALUE));
+        }
         for(int i=0; i<mNumVertices; i++) {
         	g.addVertex(vertexFactory.create());
         }
@@ -16,6 +16,7 @@ import java.util.Set;
 
 import org.apache.commons.collections15.Factory;
 
+import edu.uci.ics.jung.graph.BulkGraph;
 import edu.uci.ics.jung.graph.Graph;
 import edu.uci.ics.jung.graph.util.EdgeType;
 
@@ -65,6 +66,8 @@ public class MixedRandomGraphGenerator {
 
         // create a SparseMultigraph version of g
         Graph<V, E> g = graphFactory.create();
+        if (g instanceof BulkGraph)
+            ((BulkGraph<V,E>)g).ensureCapacity(ug.getVertexCount(), ug.getEdgeCount());
         	//new SparseMultigraph<V, E>();
         for(V v : ug.getVertices()) {
         	g.addVertex(v);
@@ -11,24 +11,56 @@
  */
 package edu.uci.ics.jung.algorithms.scoring;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.collections15.Transformer;
 
 import edu.uci.ics.jung.algorithms.scoring.util.DelegateToEdgeTransformer;
 import edu.uci.ics.jung.algorithms.scoring.util.VEPair;
 import edu.uci.ics.jung.algorithms.util.IterativeContext;
+import edu.uci.ics.jung.algorithms.util.WorkerPool;
 import edu.uci.ics.jung.graph.Hypergraph;
+import edu.uci.ics.jung.graph.IndexedGraph;
+import edu.uci.ics.jung.graph.util.IdDictionary;
 
 /**
  * An abstract class for algorithms that assign scores to vertices based on iterative methods.
  * Generally, any (concrete) subclass will function by creating an instance, and then either calling
  * <code>evaluate</code> (if the user wants to iterate until the algorithms is 'done') or 
  * repeatedly call <code>step</code> (if the user wants to observe the values at each step).
+ * 
+ * <p>The vertices are indexed when the instance is initialized, and the values 
+ * are kept in arrays by vertex index.  Subclasses may use 
+ * <code>getInputNeighbors</code> and <code>getOutputNeighbors</code> to get the 
+ * weights along which potential flows between vertices as arrays, rather than 
+ * calling <code>getEdgeWeight</code> for each incident edge at each step.
+ * If the graph is an <code>IndexedGraph</code>, its own vertex indices are 
+ * used, and these arrays are built by index rather than from the edge 
+ * collections.
+ * 
+ * <p>If the parallelism is set to more than 1, each step updates disjoint ranges
+ * of vertices in separate threads; <code>update</code> must then be safe to 
+ * call concurrently for different vertices.  (It may set the output value of 
+ * its own vertex, and read any current value.)  Work which is not, such as 
+ * accumulating a total over all vertices, belongs in <code>beforeStep</code>
+ * or <code>afterStep</code>.  The graph should not be modified while this 
+ * instance is in use.  The threads are kept from one step to the next (see
+ * <code>WorkerPool</code>) until <code>shutdown</code> is called, or may be
+ * supplied by the caller with <code>setExecutor</code>.
  */
 public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext, VertexScorer<V,T>
 {
+    /**
+     * Graphs with fewer vertices than this are updated by the calling thread.
+     */
+    protected static final int MIN_PARALLEL_SIZE = 1024;
+    
+    /**
+     * The number of vertices claimed at a time by each thread.
+     */
+    private static final int CHUNK_SIZE = 256;
+    
     /**
      * Maximum number of iterations to use before terminating.  Defaults to 100.
      */
@@ -63,14 +95,48 @@ public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext
     protected boolean output_reversed;
     
     /**
-     * The map in which the output values are stored.
+     * The vertices of the graph, in the order in which they are updated;
+     * <code>null</code> if the graph is indexed.
+     */
+    private IdDictionary<V> vertex_index;
+    
+    /**
+     * The graph, if it is an <code>IndexedGraph</code>, whose indices are 
+     * then the vertex indices; otherwise <code>null</code>.
      */
-    private Map<V, T> output;
+    private IndexedGraph<V,E> indexed_graph;
     
     /**
-     * The map in which the current values are stored.
+     * The number of vertices in the graph when this instance was initialized.
      */
-    private Map<V, T> current_values;
+    private int vertex_count;
+    
+    /**
+     * The array in which the output values are stored, by vertex index.
+     */
+    private Object[] output;
+    
+    /**
+     * The array in which the current values are stored, by vertex index.
+     */
+    private Object[] current_values;
+    
+    /**
+     * The weights along which potential flows into and out of each vertex;
+     * built when first requested.
+     */
+    private WeightedNeighbors input_neighbors;
+    private WeightedNeighbors output_neighbors;
+    
+    /**
+     * The number of threads used by each step.
+     */
+    private int parallelism = 1;
+    
+    /**
+     * The threads used by each step.
+     */
+    private final WorkerPool workers = new WorkerPool();
     
     /**
      * A flag representing whether this instance tolerates disconnected graphs.
@@ -90,7 +156,10 @@ public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext
      */
     protected void setOutputValue(V v, T value)
     {
-        output.put(v, value);
+        int i = getVertexIndex(v);
+        if (i < 0)
+            throw new IllegalArgumentException("Vertex " + v + " not an element of this graph");
+        output[i] = value;
     }
     
     /**
@@ -98,9 +167,11 @@ public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext
      * @param v the vertex whose output value is to be retrieved
      * @return the output value for this vertex
      */
+    @SuppressWarnings("unchecked")
     protected T getOutputValue(V v)
     {
-        return output.get(v);
+        int i = getVertexIndex(v);
+        return i < 0 ? null : (T)output[i];
     }
     
     /**
@@ -108,9 +179,11 @@ public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext
      * @param v the vertex whose current value is to be retrieved
      * @return the current value for this vertex
      */
+    @SuppressWarnings("unchecked")
     protected T getCurrentValue(V v)
     {
-        return current_values.get(v);
+        int i = getVertexIndex(v);
+        return i < 0 ? null : (T)current_values[i];
     }
     
     /**
@@ -120,7 +193,32 @@ public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext
      */
     protected void setCurrentValue(V v, T value)
     {
-        current_values.put(v, value);
+        int i = getVertexIndex(v);
+        if (i < 0)
+            throw new IllegalArgumentException("Vertex " + v + " not an element of this graph");
+        current_values[i] = value;
+    }
+    
+    /**
+     * Returns the index of <code>v</code>, from 0 to the number of vertices
+     * in the graph (when this instance was initialized) - 1, or -1 if 
+     * <code>v</code> was not in the graph.
+     * @param v the vertex whose index is to be returned
+     * @return the index of <code>v</code>
+     */
+    protected int getVertexIndex(V v)
+    {
+        return indexed_graph != null ? indexed_graph.getVertexIndex(v) : vertex_index.getId(v);
+    }
+    
+    /**
+     * Returns the vertex with the specified index.
+     * @param index the index of the vertex to return
+     * @return the vertex with the specified index
+     */
+    protected V getVertex(int index)
+    {
+        return indexed_graph != null ? indexed_graph.getVertex(index) : vertex_index.get(index);
     }
     
     /**
@@ -166,8 +264,23 @@ public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext
         this.total_iterations = 0;
         this.max_delta = Double.MIN_VALUE;
         this.output_reversed = true;
-        this.current_values = new HashMap<V, T>();
-        this.output = new HashMap<V, T>();
+        if (graph instanceof IndexedGraph)
+        {
+            this.indexed_graph = (IndexedGraph<V,E>)graph;
+            this.vertex_index = null;
+        }
+        else
+        {
+            this.indexed_graph = null;
+            this.vertex_index = new IdDictionary<V>(graph.getVertexCount());
+            for (V v : graph.getVertices())
+                vertex_index.add(v);
+        }
+        this.vertex_count = graph.getVertexCount();
+        this.current_values = new Object[vertex_count];
+        this.output = new Object[vertex_count];
+        this.input_neighbors = null;
+        this.output_neighbors = null;
     }
     
     /**
@@ -196,11 +309,43 @@ public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext
     public void step()
     {
         swapOutputForCurrent();
+        beforeStep();
         
-        for (V v : graph.getVertices())
+        if (parallelism == 1 || vertex_count < MIN_PARALLEL_SIZE)
+        {
+            for (int i = 0; i < vertex_count; i++)
+            {
+                V v = getVertex(i);
+                double diff = update(v);
+                updateMaxDelta(v, diff);
+            }
+        }
+        else
         {
-            double diff = update(v);
-            updateMaxDelta(v, diff);
+            // each chunk records its largest change, which are then reported in order
+            int chunk_count = (vertex_count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            final int[] max_indices = new int[chunk_count];
+            final double[] max_diffs = new double[chunk_count];
+            forAllVertices(new VertexTask()
+            {
+                public void run(int from, int to)
+                {
+                    int chunk = from / CHUNK_SIZE;
+                    max_indices[chunk] = from;
+                    max_diffs[chunk] = update(getVertex(from));
+                    for (int i = from + 1; i < to; i++)
+                    {
+                        double diff = update(getVertex(i));
+                        if (diff > max_diffs[chunk])
+                        {
+                            max_indices[chunk] = i;
+                            max_diffs[chunk] = diff;
+                        }
+                    }
+                }
+            });
+            for (int chunk = 0; chunk < chunk_count; chunk++)
+                updateMaxDelta(getVertex(max_indices[chunk]), max_diffs[chunk]);
         }
         total_iterations++;
         afterStep();
@@ -211,7 +356,7 @@ public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext
      */
     protected void swapOutputForCurrent()
     {
-        Map<V, T> tmp = output;
+        Object[] tmp = output;
         output = current_values;
         current_values = tmp;
         output_reversed = !output_reversed;
@@ -230,6 +375,13 @@ public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext
         max_delta = Math.max(max_delta, diff);
     }
     
+    /**
+     * Called by <code>step</code> after the output and current values have been
+     * swapped, and before any vertex is updated.  Always called by the thread
+     * that called <code>step</code>.
+     */
+    protected void beforeStep() {}
+    
     protected void afterStep() {}
     
     public T getVertexScore(V v)
@@ -237,7 +389,7 @@ public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext
         if (!graph.containsVertex(v))
             throw new IllegalArgumentException("Vertex " + v + " not an element of this graph");
         
-        return output.get(v);
+        return getOutputValue(v);
     }
 
     /**
@@ -306,6 +458,8 @@ public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext
     public void setEdgeWeights(Transformer<E, ? extends Number> edge_weights)
     {
         this.edge_weights = new DelegateToEdgeTransformer<V,E>(edge_weights);
+        this.input_neighbors = null;
+        this.output_neighbors = null;
     }
     
     /**
@@ -353,6 +507,8 @@ public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext
     public void setHyperedgesAreSelfLoops(boolean arg) 
     {
     	this.hyperedges_are_self_loops = arg;
+        this.input_neighbors = null;
+        this.output_neighbors = null;
     }
 
     /**
@@ -365,4 +521,256 @@ public abstract class AbstractIterativeScorer<V,E,T> implements IterativeContext
     {
         return graph.getIncidentCount(e) - (hyperedges_are_self_loops ? 0 : 1);
     }
+
+    /**
+     * Sets the number of threads used by each step; the default is 1.
+     * If <code>parallelism</code> is 1, or the graph has fewer than 
+     * <code>MIN_PARALLEL_SIZE</code> vertices, steps are run entirely by
+     * the calling thread.
+     * @param parallelism the number of threads to use
+     */
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the number of threads used by each step.
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Sets the executor on which the work of each step is run, or 
+     * <code>null</code> (the default) to use threads created by this instance.
+     * This instance does not shut down <code>executor</code>.
+     */
+    public void setExecutor(ExecutorService executor)
+    {
+        workers.setExecutor(executor);
+    }
+
+    /**
+     * Releases the threads created by this instance, if any.  They are 
+     * created again if another step is run in parallel.
+     */
+    public void shutdown()
+    {
+        workers.shutdown();
+    }
+
+    /**
+     * Returns, for each vertex <code>v</code>, the vertices from which potential
+     * flows into <code>v</code> along its in-edges, each weighted by 
+     * <code>getEdgeWeight(w, e) / getAdjustedIncidentCount(e)</code>
+     * (where <code>w</code> is that vertex and <code>e</code> is the edge).
+     * A vertex is not included for edges that it only shares with itself
+     * unless hyperedges are treated as self-loops.  
+     * 
+     * <p>The edge weights are read when this is first called after the 
+     * instance is initialized, or after the weights are changed; it should
+     * be called from <code>beforeStep</code> rather than from <code>update</code>.
+     */
+    protected WeightedNeighbors getInputNeighbors()
+    {
+        if (input_neighbors == null)
+            input_neighbors = createNeighbors(true);
+        return input_neighbors;
+    }
+
+    /**
+     * Returns, for each vertex <code>v</code>, the vertices to which potential
+     * flows out of <code>v</code> along its out-edges, weighted as for 
+     * <code>getInputNeighbors</code>.
+     * @see #getInputNeighbors()
+     */
+    protected WeightedNeighbors getOutputNeighbors()
+    {
+        if (output_neighbors == null)
+            output_neighbors = createNeighbors(false);
+        return output_neighbors;
+    }
+
+    private WeightedNeighbors createNeighbors(final boolean incoming)
+    {
+        final int[] offsets = new int[vertex_count + 1];
+        forAllVertices(new VertexTask()
+        {
+            public void run(int from, int to)
+            {
+                for (int i = from; i < to; i++)
+                    offsets[i + 1] = addNeighbors(i, incoming, null, null, 0);
+            }
+        });
+        for (int i = 0; i < vertex_count; i++)
+            offsets[i + 1] += offsets[i];
+        
+        final int[] neighbors = new int[offsets[vertex_count]];
+        final double[] weights = new double[offsets[vertex_count]];
+        forAllVertices(new VertexTask()
+        {
+            public void run(int from, int to)
+            {
+                for (int i = from; i < to; i++)
+                    addNeighbors(i, incoming, neighbors, weights, offsets[i]);
+            }
+        });
+        return new WeightedNeighbors(offsets, neighbors, weights);
+    }
+
+    /**
+     * Stores the neighbors of the vertex with index <code>i</code>, and their 
+     * weights, starting at <code>offset</code>, unless <code>neighbors</code> 
+     * is <code>null</code>.
+     * @return the number of neighbors
+     */
+    private int addNeighbors(int i, boolean incoming, int[] neighbors, double[] weights, int offset)
+    {
+        if (indexed_graph != null)
+            return addIndexedNeighbors(i, incoming, neighbors, weights, offset);
+        V v = getVertex(i);
+        int count = 0;
+        for (E e : incoming ? graph.getInEdges(v) : graph.getOutEdges(v))
+        {
+            int incident_count = getAdjustedIncidentCount(e);
+            for (V w : graph.getIncidentVertices(e))
+            {
+                if (!w.equals(v) || hyperedges_are_self_loops)
+                {
+                    if (neighbors != null)
+                    {
+                        neighbors[offset + count] = getVertexIndex(w);
+                        weights[offset + count] = getEdgeWeight(w, e).doubleValue() / incident_count;
+                    }
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Stores the neighbors of the vertex with index <code>v</code> as 
+     * <code>addNeighbors</code> does, reading the edges by index.  Each edge 
+     * has two incident vertices (which coincide for a self-loop): <code>v</code>
+     * itself, which is included only if hyperedges are treated as self-loops, 
+     * and the opposite vertex.
+     */
+    private int addIndexedNeighbors(int v, boolean incoming, int[] neighbors, double[] weights, int offset)
+    {
+        int edge_count = incoming ? indexed_graph.getInEdgeCount(v) : indexed_graph.getOutEdgeCount(v);
+        int count = 0;
+        for (int j = 0; j < edge_count; j++)
+        {
+            int e = incoming ? indexed_graph.getInEdgeIndex(v, j) : indexed_graph.getOutEdgeIndex(v, j);
+            int w = indexed_graph.getOppositeIndex(v, e);
+            if (w != v || hyperedges_are_self_loops)
+                count = addNeighbor(w, indexed_graph.getEdge(e), neighbors, weights, offset, count);
+            if (hyperedges_are_self_loops)
+                count = addNeighbor(v, indexed_graph.getEdge(e), neighbors, weights, offset, count);
+        }
+        return count;
+    }
+
+    private int addNeighbor(int w, E e, int[] neighbors, double[] weights, int offset, int count)
+    {
+        if (neighbors != null)
+        {
+            neighbors[offset + count] = w;
+            weights[offset + count] = getEdgeWeight(indexed_graph.getVertex(w), e).doubleValue() / 
+                getAdjustedIncidentCount(e);
+        }
+        return count + 1;
+    }
+
+    /**
+     * Work done on a range of vertex indices.
+     */
+    private interface VertexTask
+    {
+        void run(int from, int to);
+    }
+
+    /**
+     * Runs <code>task</code> over all vertex indices, in chunks of 
+     * <code>CHUNK_SIZE</code>, in parallel if the parallelism and the 
+     * graph are large enough.
+     */
+    private void forAllVertices(final VertexTask task)
+    {
+        if (parallelism == 1 || vertex_count < MIN_PARALLEL_SIZE)
+        {
+            for (int start = 0; start < vertex_count; start += CHUNK_SIZE)
+                task.run(start, Math.min(start + CHUNK_SIZE, vertex_count));
+            return;
+        }
+        final AtomicInteger next_chunk = new AtomicInteger();
+        workers.invokeCopies(new Runnable()
+        {
+            public void run()
+            {
+                int start;
+                while ((start = next_chunk.getAndAdd(CHUNK_SIZE)) < vertex_count)
+                    task.run(start, Math.min(start + CHUNK_SIZE, vertex_count));
+            }
+        }, parallelism);
+    }
+
+    /**
+     * The weighted neighbors of each vertex, by vertex index, stored in 
+     * arrays.
+     * @see AbstractIterativeScorer#getInputNeighbors()
+     */
+    protected static final class WeightedNeighbors
+    {
+        private final int[] offsets;
+        private final int[] neighbors;
+        private final double[] weights;
+
+        private WeightedNeighbors(int[] offsets, int[] neighbors, double[] weights)
+        {
+            this.offsets = offsets;
+            this.neighbors = neighbors;
+            this.weights = weights;
+        }
+
+        /**
+         * Returns the number of neighbors of the vertex with index <code>v</code>.
+         */
+        public int getCount(int v)
+        {
+            return offsets[v + 1] - offsets[v];
+        }
+
+        /**
+         * Returns the sum of the weights of the neighbors of the vertex with 
+         * index <code>v</code>.
+         */
+        public double getWeightSum(int v)
+        {
+            double sum = 0;
+            for (int k = offsets[v]; k < offsets[v + 1]; k++)
+                sum += weights[k];
+            return sum;
+        }
+
+        /**
+         * Returns the sum, over the neighbors <code>w</code> of the vertex 
+         * with index <code>v</code>, of <code>values[w]</code> times the 
+         * weight of <code>w</code>.
+         * @param v the index of the vertex whose neighbors are to be summed
+         * @param values the values to be summed, by vertex index
+         */
+        public double getWeightedSum(int v, double[] values)
+        {
+            double sum = 0;
+            for (int k = offsets[v]; k < offsets[v + 1]; k++)
+                sum += values[neighbors[k]] * weights[k];
+            return sum;
+        }
+    }
 }
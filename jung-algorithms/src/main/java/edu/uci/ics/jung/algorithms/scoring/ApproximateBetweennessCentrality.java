@@ -0,0 +1,407 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.scoring;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.collections15.Transformer;
+
+import edu.uci.ics.jung.algorithms.scoring.util.ScoringUtils;
+import edu.uci.ics.jung.algorithms.util.Indexer;
+import edu.uci.ics.jung.algorithms.util.IntPriorityQueue;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.IndexedGraph;
+import edu.uci.ics.jung.graph.UndirectedGraph;
+
+/**
+ * Estimates the betweenness centrality of each vertex in the graph from a
+ * sample of shortest paths, with a probabilistic bound on the error.
+ *
+ * <p>Each sample is a pair of distinct vertices (<i>s</i>, <i>t</i>), chosen
+ * uniformly at random, and a shortest path from <i>s</i> to <i>t</i>, chosen
+ * uniformly at random from all such paths (there is no path if <i>t</i> is
+ * not reachable from <i>s</i>).  The path is found by a search from
+ * <i>s</i> which stops once <i>t</i> is settled, followed by a walk back
+ * from <i>t</i> which chooses each predecessor with probability proportional
+ * to its number of shortest paths from <i>s</i>.  The estimate for each
+ * vertex is proportional to the number of sampled paths of which it is an
+ * interior vertex; the scores are scaled to be comparable with those of
+ * <code>BetweennessCentrality</code>.
+ *
+ * <p>The number of samples is chosen, as described by Riondato and
+ * Kornaropoulos, from an upper bound on the <i>vertex diameter</i> of the
+ * graph (the number of vertices on the longest shortest path), so that with
+ * probability at least <code>1 - delta</code>, every score is within
+ * <code>getErrorBound()</code> (<code>epsilon</code> times the number of
+ * pairs of vertices) of its exact value.  The number of samples depends only
+ * logarithmically on the vertex diameter, and not on the size of the graph.
+ * For undirected unweighted graphs the vertex diameter of each component is
+ * bounded using a breadth-first search from one of its vertices; otherwise
+ * the bound is the size of the largest weakly connected component.
+ *
+ * <p>Vertices whose estimates exceed the <i>k</i>th largest estimate by more
+ * than twice the error bound are, with the same probability, among the
+ * <i>k</i> most central vertices; see <code>getTopScores</code>.
+ *
+ * @see "Matteo Riondato and Evgenios M. Kornaropoulos: Fast approximation of betweenness centrality through sampling. WSDM 2014."
+ * @see BetweennessCentrality
+ */
+public class ApproximateBetweennessCentrality<V,E> implements VertexScorer<V,Double>
+{
+    /**
+     * The universal constant used in the calculation of the number of samples.
+     */
+    protected static final double C = 0.5;
+
+    protected final IndexedGraph<V,E> graph;
+    protected final double[] weights; // null if unweighted
+    protected final double epsilon;
+    protected final double delta;
+    protected final int vertex_diameter;
+    protected final int sample_count;
+    protected final double scale;
+    protected final double[] scores;
+
+    private final double[] distance;
+    private final double[] numSPs;
+    private final int[] settled_ranks; // order in which each vertex was settled, or -1
+    private final int[] discovered;    // vertices in the order in which they were reached
+    private final IntPriorityQueue queue; // null if unweighted
+
+    /**
+     * Estimates betweenness scores based on the unweighted shortest paths in
+     * the graph.
+     * @param graph the graph for which the scores are to be estimated
+     * @param epsilon the maximum error, as a fraction of the number of pairs of vertices
+     * @param delta the maximum probability that any score is in error by more than that
+     * @param random the source of the samples
+     * @throws IllegalArgumentException if <code>epsilon</code> or <code>delta</code> is not in (0, 1)
+     */
+    public ApproximateBetweennessCentrality(Graph<V,E> graph, double epsilon, double delta,
+            Random random)
+    {
+        this(graph, null, epsilon, delta, random);
+    }
+
+    /**
+     * Estimates betweenness scores based on the weighted shortest paths in
+     * the graph.  Two paths are considered equally short only if their
+     * lengths are exactly equal.
+     * @param graph the graph for which the scores are to be estimated
+     * @param edge_weights the edge weights to be used in the path length calculations,
+     * or <code>null</code> for unweighted paths
+     * @param epsilon the maximum error, as a fraction of the number of pairs of vertices
+     * @param delta the maximum probability that any score is in error by more than that
+     * @param random the source of the samples
+     * @throws IllegalArgumentException if <code>epsilon</code> or <code>delta</code> is not
+     * in (0, 1), or if any edge weight is negative
+     */
+    @SuppressWarnings("unchecked")
+    public ApproximateBetweennessCentrality(Graph<V,E> graph,
+            Transformer<E, ? extends Number> edge_weights, double epsilon, double delta,
+            Random random)
+    {
+        if (epsilon <= 0 || epsilon >= 1)
+            throw new IllegalArgumentException("epsilon must be in (0, 1)");
+        if (delta <= 0 || delta >= 1)
+            throw new IllegalArgumentException("delta must be in (0, 1)");
+        this.graph = graph instanceof IndexedGraph ? (IndexedGraph<V,E>)graph
+                : Indexer.createIndexedGraph(graph);
+        this.epsilon = epsilon;
+        this.delta = delta;
+
+        int vertex_count = this.graph.getVertexCount();
+        if (edge_weights == null)
+            this.weights = null;
+        else
+        {
+            this.weights = new double[this.graph.getEdgeCount()];
+            for (int e = 0; e < weights.length; e++)
+            {
+                weights[e] = edge_weights.transform(this.graph.getEdge(e)).doubleValue();
+                if (weights[e] < 0)
+                    throw new IllegalArgumentException(String.format(
+                            "Weight for edge '%s' is < 0: %f", this.graph.getEdge(e), weights[e]));
+            }
+        }
+        this.scores = new double[vertex_count];
+        this.distance = new double[vertex_count];
+        this.numSPs = new double[vertex_count];
+        this.settled_ranks = new int[vertex_count];
+        this.discovered = new int[vertex_count];
+        this.queue = weights == null ? null : IntPriorityQueue.Type.D_ARY.create(vertex_count);
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        Arrays.fill(settled_ranks, -1);
+
+        this.vertex_diameter = computeVertexDiameterBound();
+        this.sample_count = getSampleCount(epsilon, delta, vertex_diameter);
+        double pairs = (double)vertex_count * (vertex_count - 1);
+        this.scale = this.graph instanceof UndirectedGraph ? pairs / 2 : pairs;
+        if (vertex_count > 1)
+            estimate(random);
+    }
+
+    /**
+     * Returns the number of samples required for an error of at most
+     * <code>epsilon</code> with probability at least <code>1 - delta</code>,
+     * for a graph with the specified vertex diameter.
+     */
+    public static int getSampleCount(double epsilon, double delta, int vertex_diameter)
+    {
+        int log_diameter = 0;
+        for (int d = vertex_diameter - 2; d > 1; d >>= 1)
+            log_diameter++;
+        return (int)Math.ceil(C / (epsilon * epsilon) * (log_diameter + 1 + Math.log(1 / delta)));
+    }
+
+    /**
+     * Returns an upper bound on the number of vertices on any shortest path.
+     */
+    private int computeVertexDiameterBound()
+    {
+        int vertex_count = graph.getVertexCount();
+        boolean bounded_by_search = weights == null && graph instanceof UndirectedGraph;
+        int[] levels = new int[vertex_count];
+        Arrays.fill(levels, -1);
+        int bound = 0;
+        for (int v = 0; v < vertex_count; v++)
+        {
+            if (levels[v] >= 0)
+                continue;
+            // breadth-first search of the weak component of v, ignoring edge direction
+            levels[v] = 0;
+            discovered[0] = v;
+            int head = 0;
+            int tail = 1;
+            while (head < tail)
+            {
+                int w = discovered[head++];
+                tail = visitNeighbors(w, graph.getOutEdgeCount(w), true, levels, tail);
+                tail = visitNeighbors(w, graph.getInEdgeCount(w), false, levels, tail);
+            }
+            int component_bound = tail;
+            if (bounded_by_search)
+            {
+                // any two vertices are at most twice the eccentricity of v apart
+                int eccentricity = levels[discovered[tail - 1]];
+                component_bound = Math.min(component_bound, 2 * eccentricity + 1);
+            }
+            bound = Math.max(bound, component_bound);
+        }
+        return bound;
+    }
+
+    private int visitNeighbors(int w, int count, boolean out, int[] levels, int tail)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            int e = out ? graph.getOutEdgeIndex(w, i) : graph.getInEdgeIndex(w, i);
+            int x = graph.getOppositeIndex(w, e);
+            if (levels[x] < 0)
+            {
+                levels[x] = levels[w] + 1;
+                discovered[tail++] = x;
+            }
+        }
+        return tail;
+    }
+
+    private void estimate(Random random)
+    {
+        int vertex_count = graph.getVertexCount();
+        int[] counts = new int[vertex_count];
+        for (int i = 0; i < sample_count; i++)
+        {
+            int s = random.nextInt(vertex_count);
+            int t = random.nextInt(vertex_count - 1);
+            if (t >= s)
+                t++;
+            int reached = weights == null ? search(s, t) : searchWeighted(s, t);
+            if (settled_ranks[t] >= 0)
+            {
+                // walk back from t to s, counting the interior vertices
+                for (int x = choosePredecessor(t, random); x != s; x = choosePredecessor(x, random))
+                    counts[x]++;
+            }
+
+            // reset the state of the vertices reached from s
+            for (int j = 0; j < reached; j++)
+            {
+                int x = discovered[j];
+                distance[x] = Double.POSITIVE_INFINITY;
+                numSPs[x] = 0;
+                settled_ranks[x] = -1;
+            }
+        }
+        for (int v = 0; v < vertex_count; v++)
+            scores[v] = counts[v] * scale / sample_count;
+    }
+
+    /**
+     * Breadth-first search from <code>s</code>, which stops once <code>t</code>
+     * is settled; returns the number of vertices reached.
+     */
+    private int search(int s, int t)
+    {
+        distance[s] = 0;
+        numSPs[s] = 1;
+        discovered[0] = s;
+        int head = 0;
+        int tail = 1;
+        while (head < tail)
+        {
+            int w = discovered[head];
+            settled_ranks[w] = head++;
+            if (w == t)
+                break;
+            for (int i = 0, count = graph.getOutEdgeCount(w); i < count; i++)
+            {
+                int x = graph.getOppositeIndex(w, graph.getOutEdgeIndex(w, i));
+                if (x == w)
+                    continue;
+                if (distance[x] == Double.POSITIVE_INFINITY)
+                {
+                    distance[x] = distance[w] + 1;
+                    discovered[tail++] = x;
+                }
+                if (distance[x] == distance[w] + 1)
+                    numSPs[x] += numSPs[w];
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Dijkstra search from <code>s</code>, which stops once <code>t</code>
+     * is settled; returns the number of vertices reached.
+     */
+    private int searchWeighted(int s, int t)
+    {
+        distance[s] = 0;
+        numSPs[s] = 1;
+        discovered[0] = s;
+        int reached = 1;
+        int settled = 0;
+        queue.clear();
+        queue.add(s, 0);
+        while (!queue.isEmpty())
+        {
+            int w = queue.poll();
+            settled_ranks[w] = settled++;
+            if (w == t)
+                break;
+            for (int i = 0, count = graph.getOutEdgeCount(w); i < count; i++)
+            {
+                int e = graph.getOutEdgeIndex(w, i);
+                int x = graph.getOppositeIndex(w, e);
+                if (x == w)
+                    continue;
+                double x_potential_dist = distance[w] + weights[e];
+                if (distance[x] == Double.POSITIVE_INFINITY)
+                {
+                    distance[x] = x_potential_dist;
+                    numSPs[x] = numSPs[w];
+                    discovered[reached++] = x;
+                    queue.add(x, x_potential_dist);
+                }
+                else if (x_potential_dist < distance[x])
+                {
+                    // a shorter path to x: forget the paths counted so far
+                    distance[x] = x_potential_dist;
+                    numSPs[x] = numSPs[w];
+                    queue.decreaseKey(x, x_potential_dist);
+                }
+                else if (x_potential_dist == distance[x] && queue.contains(x))
+                    numSPs[x] += numSPs[w];
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Returns the vertex preceding <code>x</code> on a shortest path, chosen
+     * with probability proportional to its number of shortest paths.  The
+     * predecessors of <code>x</code> are those settled before it, along an
+     * edge which completes a shortest path to <code>x</code>.
+     */
+    private int choosePredecessor(int x, Random random)
+    {
+        double target = random.nextDouble() * numSPs[x];
+        double total = 0;
+        int chosen = -1;
+        for (int i = 0, count = graph.getInEdgeCount(x); i < count; i++)
+        {
+            int e = graph.getInEdgeIndex(x, i);
+            int w = graph.getOppositeIndex(x, e);
+            double weight = weights == null ? 1 : weights[e];
+            if (w == x || settled_ranks[w] < 0 || settled_ranks[w] > settled_ranks[x]
+                    || distance[w] + weight != distance[x])
+                continue;
+            chosen = w;
+            total += numSPs[w];
+            if (total > target)
+                break;
+        }
+        return chosen;
+    }
+
+    /**
+     * Returns the estimated betweenness of <code>v</code>.
+     */
+    public Double getVertexScore(V v)
+    {
+        if (!graph.containsVertex(v))
+            throw new IllegalArgumentException("Vertex " + v + " not an element of this graph");
+        return scores[graph.getVertexIndex(v)];
+    }
+
+    /**
+     * Returns the estimated scores of the <code>k</code> vertices with the
+     * highest estimates, in order of decreasing estimate.
+     */
+    public Map<V,Double> getTopScores(int k)
+    {
+        Map<V,Double> all = new HashMap<V,Double>();
+        for (int v = 0; v < scores.length; v++)
+            all.put(graph.getVertex(v), scores[v]);
+        return ScoringUtils.getTopScores(all, k);
+    }
+
+    /**
+     * Returns the bound on the error of each score: with probability at least
+     * <code>1 - delta</code>, every score is within this amount of its exact value.
+     */
+    public double getErrorBound()
+    {
+        return epsilon * scale;
+    }
+
+    /**
+     * Returns the number of shortest paths sampled.
+     */
+    public int getSampleCount()
+    {
+        return sample_count;
+    }
+
+    /**
+     * Returns the upper bound on the vertex diameter used to calculate the
+     * number of samples.
+     */
+    public int getVertexDiameterBound()
+    {
+        return vertex_diameter;
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.scoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.collections15.Transformer;
+
+import edu.uci.ics.jung.algorithms.scoring.util.DelegateToEdgeTransformer;
+import edu.uci.ics.jung.algorithms.scoring.util.ScoringUtils;
+import edu.uci.ics.jung.algorithms.scoring.util.UniformDegreeWeight;
+import edu.uci.ics.jung.algorithms.scoring.util.VEPair;
+import edu.uci.ics.jung.graph.Hypergraph;
+
+/**
+ * Approximates personalized PageRank scores with respect to a single seed
+ * vertex, exploring only the part of the graph near the seed.
+ *
+ * <p>The scores approximated are those calculated by
+ * <code>PageRankWithPriors</code> with the same edge weights and random jump
+ * probability <code>alpha</code>, when the seed has a prior of 1 and every
+ * other vertex a prior of 0: that is, the probability that a random walk
+ * from the seed, which stops at each step with probability <code>alpha</code>
+ * (and jumps back to the seed from vertices with no out-edges), stops at
+ * each vertex.  Two methods are provided:
+ * <ul>
+ * <li><code>getScores</code> pushes residuals as described by Andersen, Chung
+ * and Lang.  Each vertex has an estimate and a residual; initially the seed
+ * has a residual of 1.  A vertex whose residual is at least
+ * <code>epsilon</code> times its out-degree adds
+ * <code>alpha</code> times its residual to its estimate, and passes the
+ * rest along its out-edges.  When no residual is that large, each estimate
+ * is at most its score; for undirected graphs with the default edge weights,
+ * it is short of it by less than <code>epsilon</code> times the degree of the
+ * vertex.  The number of pushes is at most <code>1 / (alpha * epsilon)</code>,
+ * regardless of the size of the graph.
+ * <li><code>getSampledScores</code> simulates random walks from the seed,
+ * and estimates each score as the fraction of walks which stop at that
+ * vertex.  The work done is proportional to the number of walks divided
+ * by <code>alpha</code>.
+ * </ul>
+ * Only vertices with nonzero estimates are included in the results, which are
+ * ordered by decreasing estimate (the highest few may be had with
+ * <code>ScoringUtils.getTopScores</code>).  Edge weights are treated as transition
+ * probabilities, and should not sum to more than 1 for the out-edges of any
+ * vertex; as in <code>PageRankWithPriors</code>, potential is not passed
+ * along self-loops.
+ *
+ * @see "Reid Andersen, Fan Chung, and Kevin Lang: Local graph partitioning using PageRank vectors. FOCS 2006."
+ * @see PageRankWithPriors
+ */
+public class ApproximatePersonalizedPageRank<V,E>
+{
+    protected final Hypergraph<V,E> graph;
+    protected final Transformer<VEPair<V,E>,? extends Number> edge_weights;
+    protected final double alpha;
+    protected double epsilon = 1.0e-4;
+
+    /**
+     * Creates an instance for the specified graph, edge weights, and random
+     * jump probability.
+     * @param graph the input graph
+     * @param edge_weights the edge weights, denoting transition probabilities from source to destination
+     * @param alpha the probability of executing a 'random jump' at each step
+     * @throws IllegalArgumentException if <code>alpha</code> is not in (0, 1]
+     */
+    public ApproximatePersonalizedPageRank(Hypergraph<V,E> graph,
+            Transformer<E,? extends Number> edge_weights, double alpha)
+    {
+        this(graph, alpha, new DelegateToEdgeTransformer<V,E>(edge_weights));
+    }
+
+    /**
+     * Creates an instance for the specified graph and random jump probability;
+     * the probability of following any outgoing edge from a given vertex is
+     * the same.
+     * @param graph the input graph
+     * @param alpha the probability of executing a 'random jump' at each step
+     * @throws IllegalArgumentException if <code>alpha</code> is not in (0, 1]
+     */
+    public ApproximatePersonalizedPageRank(Hypergraph<V,E> graph, double alpha)
+    {
+        this(graph, alpha, new UniformDegreeWeight<V,E>(graph));
+    }
+
+    private ApproximatePersonalizedPageRank(Hypergraph<V,E> graph, double alpha,
+            Transformer<VEPair<V,E>,? extends Number> edge_weights)
+    {
+        if (alpha <= 0 || alpha > 1)
+            throw new IllegalArgumentException("alpha must be in (0, 1]");
+        this.graph = graph;
+        this.alpha = alpha;
+        this.edge_weights = edge_weights;
+    }
+
+    /**
+     * Returns the probability of making a 'jump' (non-link-following step).
+     */
+    public double getAlpha()
+    {
+        return alpha;
+    }
+
+    /**
+     * Returns the residual, per out-edge, below which a vertex's residual
+     * is not pushed by <code>getScores</code>.
+     */
+    public double getEpsilon()
+    {
+        return epsilon;
+    }
+
+    /**
+     * Sets the residual, per out-edge, below which a vertex's residual
+     * is not pushed by <code>getScores</code>; the default is 1.0e-4.
+     * @throws IllegalArgumentException if <code>epsilon</code> is not positive
+     */
+    public void setEpsilon(double epsilon)
+    {
+        if (epsilon <= 0)
+            throw new IllegalArgumentException("epsilon must be positive");
+        this.epsilon = epsilon;
+    }
+
+    /**
+     * Returns the estimated scores with respect to <code>seed</code>,
+     * calculated by pushing residuals, ordered by decreasing score.
+     * @param seed the vertex with respect to which scores are calculated
+     */
+    public Map<V,Double> getScores(V seed)
+    {
+        checkSeed(seed);
+        Map<V,Residual<V>> residuals = new HashMap<V,Residual<V>>();
+        Map<V,Double> estimates = new HashMap<V,Double>();
+        LinkedList<Residual<V>> queue = new LinkedList<Residual<V>>();
+        Residual<V> first = new Residual<V>(seed, graph.outDegree(seed));
+        first.value = 1;
+        first.queued = true;
+        residuals.put(seed, first);
+        queue.add(first);
+        while (!queue.isEmpty())
+        {
+            Residual<V> residual = queue.removeFirst();
+            residual.queued = false;
+            double value = residual.value;
+            if (value < residual.getThreshold(epsilon))
+                continue;
+            residual.value = 0;
+            Double estimate = estimates.get(residual.vertex);
+            estimates.put(residual.vertex, (estimate == null ? 0 : estimate) + alpha * value);
+
+            // potential is passed along the out-edges, or back to the seed if there are none
+            double share = (1 - alpha) * value;
+            Outflow<V> outflow = residual.outflow;
+            if (outflow == null)
+            {
+                outflow = getOutflow(residual.vertex);
+                residual.outflow = outflow;
+            }
+            if (outflow.dangling)
+                addResidual(first, share, queue);
+            for (int i = 0; i < outflow.targets.size(); i++)
+            {
+                V target = outflow.targets.get(i);
+                Residual<V> target_residual = residuals.get(target);
+                if (target_residual == null)
+                {
+                    target_residual = new Residual<V>(target, graph.outDegree(target));
+                    residuals.put(target, target_residual);
+                }
+                addResidual(target_residual, share * outflow.weights[i], queue);
+            }
+        }
+        return ScoringUtils.sortByScore(estimates);
+    }
+
+    private void addResidual(Residual<V> residual, double amount, LinkedList<Residual<V>> queue)
+    {
+        residual.value += amount;
+        if (!residual.queued && residual.value >= residual.getThreshold(epsilon))
+        {
+            residual.queued = true;
+            queue.addLast(residual);
+        }
+    }
+
+    /**
+     * Returns the estimated scores with respect to <code>seed</code>,
+     * calculated by simulating <code>walk_count</code> random walks, ordered
+     * by decreasing score.
+     * @param seed the vertex with respect to which scores are calculated
+     * @param walk_count the number of random walks to simulate
+     * @param random the source of randomness for the walks
+     */
+    public Map<V,Double> getSampledScores(V seed, int walk_count, Random random)
+    {
+        checkSeed(seed);
+        if (walk_count <= 0)
+            throw new IllegalArgumentException("walk count must be positive");
+        Map<V,Outflow<V>> outflows = new HashMap<V,Outflow<V>>();
+        Map<V,Integer> stops = new HashMap<V,Integer>();
+        for (int walk = 0; walk < walk_count; walk++)
+        {
+            V v = seed;
+            while (v != null && random.nextDouble() >= alpha)
+            {
+                Outflow<V> outflow = outflows.get(v);
+                if (outflow == null)
+                {
+                    outflow = getOutflow(v);
+                    outflows.put(v, outflow);
+                }
+                v = outflow.dangling ? seed : outflow.choose(random.nextDouble());
+            }
+            // a walk which takes none of the out-edges of a vertex (because
+            // their weights sum to less than 1) is lost, as its potential would be
+            if (v != null)
+            {
+                Integer count = stops.get(v);
+                stops.put(v, count == null ? 1 : count + 1);
+            }
+        }
+        Map<V,Double> estimates = new HashMap<V,Double>();
+        for (Map.Entry<V,Integer> entry : stops.entrySet())
+            estimates.put(entry.getKey(), entry.getValue().doubleValue() / walk_count);
+        return ScoringUtils.sortByScore(estimates);
+    }
+
+    private void checkSeed(V seed)
+    {
+        if (!graph.containsVertex(seed))
+            throw new IllegalArgumentException("Vertex " + seed + " not an element of this graph");
+    }
+
+    /**
+     * Returns the vertices to which potential flows out of <code>v</code>,
+     * with the weight of each, calculated as by <code>PageRankWithPriors</code>.
+     */
+    private Outflow<V> getOutflow(V v)
+    {
+        List<V> targets = new ArrayList<V>();
+        List<Double> weights = new ArrayList<Double>();
+        for (E e : graph.getOutEdges(v))
+        {
+            int incident_count = graph.getIncidentCount(e) - 1;
+            for (V w : graph.getIncidentVertices(e))
+            {
+                if (!w.equals(v))
+                {
+                    targets.add(w);
+                    weights.add(edge_weights.transform(new VEPair<V,E>(v, e)).doubleValue()
+                            / incident_count);
+                }
+            }
+        }
+        Outflow<V> outflow = new Outflow<V>(targets, graph.outDegree(v) == 0);
+        outflow.weights = new double[weights.size()];
+        for (int i = 0; i < outflow.weights.length; i++)
+            outflow.weights[i] = weights.get(i);
+        return outflow;
+    }
+
+    /**
+     * The vertices to which potential flows out of a vertex, and their weights.
+     */
+    private static class Outflow<V>
+    {
+        final List<V> targets;
+        final boolean dangling;
+        double[] weights;
+
+        Outflow(List<V> targets, boolean dangling)
+        {
+            this.targets = targets;
+            this.dangling = dangling;
+        }
+
+        /**
+         * Returns the target at which <code>p</code> falls in the cumulative
+         * weights, or <code>null</code> if it is beyond their total.
+         */
+        V choose(double p)
+        {
+            for (int i = 0; i < weights.length; i++)
+            {
+                p -= weights[i];
+                if (p < 0)
+                    return targets.get(i);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The residual of a vertex being pushed, and its outflow, which is 
+     * not calculated until the vertex is first pushed: most vertices that
+     * receive potential never receive enough to be pushed.
+     */
+    private static class Residual<V>
+    {
+        final V vertex;
+        final int out_degree;
+        Outflow<V> outflow;
+        double value;
+        boolean queued;
+
+        Residual(V vertex, int out_degree)
+        {
+            this.vertex = vertex;
+            this.out_degree = out_degree;
+        }
+
+        /**
+         * Returns the smallest residual which is pushed.
+         */
+        double getThreshold(double epsilon)
+        {
+            return epsilon * Math.max(out_degree, 1);
+        }
+    }
+}
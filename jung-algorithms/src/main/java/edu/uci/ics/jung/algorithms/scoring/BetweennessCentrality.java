@@ -12,6 +12,7 @@
 package edu.uci.ics.jung.algorithms.scoring;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -19,17 +20,35 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Stack;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.collections15.Transformer;
 import org.apache.commons.collections15.functors.ConstantTransformer;
 
+import edu.uci.ics.jung.algorithms.util.Indexer;
+import edu.uci.ics.jung.algorithms.util.IntPriorityQueue;
 import edu.uci.ics.jung.algorithms.util.MapBinaryHeap;
+import edu.uci.ics.jung.algorithms.util.WorkerPool;
 import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.IndexedGraph;
 import edu.uci.ics.jung.graph.UndirectedGraph;
 
 /**
  * Computes betweenness centrality for each vertex and edge in the graph.
  * 
+ * <p>If the graph is an <code>IndexedGraph</code>, the unweighted scores are 
+ * calculated using array-based state rather than per-vertex maps.
+ * 
+ * <p>The constructors which take a <code>parallelism</code> argument divide 
+ * the single-source passes among that many threads.  Each thread 
+ * accumulates the scores for its sources in its own arrays, which are summed
+ * once all the passes are done; the scores are those calculated by the 
+ * corresponding sequential constructor, up to rounding error.  The threads
+ * are created for the calculation and released at its end, unless an 
+ * <code>ExecutorService</code> is supplied, in which case they are taken
+ * from it, so that several calculations can share them.
+ * 
  * @see "Ulrik Brandes: A Faster Algorithm for Betweenness Centrality. Journal of Mathematical Sociology 25(2):163-177, 2001."
  */
 public class BetweennessCentrality<V, E> 
@@ -39,6 +58,17 @@ public class BetweennessCentrality<V, E>
 	protected Map<V, Double> vertex_scores;
 	protected Map<E, Double> edge_scores;
 	protected Map<V, BetweennessData> vertex_data;
+	
+	/**
+	 * The minimum number of vertices for which the single-source passes 
+	 * will be divided among threads.
+	 */
+	protected static final int MIN_PARALLEL_SIZE = 64;
+	
+	/**
+	 * The number of sources claimed by a thread at a time.
+	 */
+	private static final int CHUNK_SIZE = 16;
 		
 	/**
 	 * Calculates betweenness scores based on the all-pairs unweighted shortest paths
@@ -49,7 +79,10 @@ public class BetweennessCentrality<V, E>
 	public BetweennessCentrality(Graph<V, E> graph) 
 	{
 		initialize(graph);
-		computeBetweenness(new LinkedList<V>(), new ConstantTransformer(1));
+		if (graph instanceof IndexedGraph)
+			computeIndexedBetweenness((IndexedGraph<V,E>)graph);
+		else
+			computeBetweenness(new LinkedList<V>(), new ConstantTransformer(1));
 	}
 
 	/**
@@ -78,6 +111,96 @@ public class BetweennessCentrality<V, E>
 			edge_weights);
 	}
 
+	/**
+	 * Calculates betweenness scores based on the all-pairs weighted shortest paths in the
+	 * graph, using arrays indexed by vertex and edge index and a priority queue of the
+	 * specified type.  Two paths are considered equally short only if their
+	 * lengths are exactly equal.  The edge weights must be positive: a zero-weight
+	 * edge between two vertices at the same distance would put each on a shortest
+	 * path to the other.
+	 * @param graph the graph for which the scores are to be calculated
+	 * @param edge_weights the edge weights to be used in the path length calculations
+	 * @param queue_type the kind of priority queue to use; 
+	 * <code>IntPriorityQueue.Type.RADIX</code> requires integral weights
+	 * @throws IllegalArgumentException if any edge weight is not positive
+	 */
+	public BetweennessCentrality(Graph<V, E> graph, 
+			Transformer<E, ? extends Number> edge_weights, IntPriorityQueue.Type queue_type) 
+	{
+		initialize(graph);
+		computeIndexedBetweenness(Indexer.createIndexedGraph(graph), edge_weights, queue_type);
+	}
+
+	/**
+	 * Calculates betweenness scores based on the all-pairs unweighted shortest paths
+	 * in the graph, dividing the sources among <code>parallelism</code> threads.
+	 * @param graph the graph for which the scores are to be calculated
+	 * @param parallelism the number of threads to use
+	 */
+	public BetweennessCentrality(Graph<V, E> graph, int parallelism) 
+	{
+		this(graph, parallelism, null);
+	}
+
+	/**
+	 * Calculates betweenness scores based on the all-pairs unweighted shortest paths
+	 * in the graph, dividing the sources among <code>parallelism</code> tasks which
+	 * are run on <code>executor</code>.
+	 * @param graph the graph for which the scores are to be calculated
+	 * @param parallelism the number of tasks to use
+	 * @param executor the executor on which the tasks are run, which is not shut
+	 * down; if <code>null</code>, threads are created for the calculation
+	 */
+	public BetweennessCentrality(Graph<V, E> graph, int parallelism, ExecutorService executor) 
+	{
+		checkParallelism(parallelism);
+		initialize(graph);
+		computeIndexedBetweenness(getIndexedGraph(graph), null, null, parallelism, executor);
+	}
+
+	/**
+	 * Calculates betweenness scores based on the all-pairs weighted shortest paths in the
+	 * graph, as <code>BetweennessCentrality(graph, edge_weights, queue_type)</code> does, 
+	 * dividing the sources among <code>parallelism</code> threads.
+	 * @param graph the graph for which the scores are to be calculated
+	 * @param edge_weights the edge weights to be used in the path length calculations
+	 * @param queue_type the kind of priority queue to use; 
+	 * <code>IntPriorityQueue.Type.RADIX</code> requires integral weights
+	 * @param parallelism the number of threads to use
+	 * @throws IllegalArgumentException if any edge weight is not positive
+	 */
+	public BetweennessCentrality(Graph<V, E> graph, 
+			Transformer<E, ? extends Number> edge_weights, IntPriorityQueue.Type queue_type,
+			int parallelism) 
+	{
+		this(graph, edge_weights, queue_type, parallelism, null);
+	}
+
+	/**
+	 * Calculates betweenness scores based on the all-pairs weighted shortest paths in the
+	 * graph, as <code>BetweennessCentrality(graph, edge_weights, queue_type)</code> does, 
+	 * dividing the sources among <code>parallelism</code> tasks which are run on
+	 * <code>executor</code>.
+	 * @param graph the graph for which the scores are to be calculated
+	 * @param edge_weights the edge weights to be used in the path length calculations
+	 * @param queue_type the kind of priority queue to use; 
+	 * <code>IntPriorityQueue.Type.RADIX</code> requires integral weights
+	 * @param parallelism the number of tasks to use
+	 * @param executor the executor on which the tasks are run, which is not shut
+	 * down; if <code>null</code>, threads are created for the calculation
+	 * @throws IllegalArgumentException if any edge weight is not positive
+	 */
+	public BetweennessCentrality(Graph<V, E> graph, 
+			Transformer<E, ? extends Number> edge_weights, IntPriorityQueue.Type queue_type,
+			int parallelism, ExecutorService executor) 
+	{
+		checkParallelism(parallelism);
+		initialize(graph);
+		IndexedGraph<V,E> indexed = getIndexedGraph(graph);
+		computeIndexedBetweenness(indexed, getWeights(indexed, edge_weights), queue_type, 
+				parallelism, executor);
+	}
+
 	protected void initialize(Graph<V,E> graph)
 	{
 		this.graph = graph;
@@ -245,6 +368,125 @@ public class BetweennessCentrality<V, E>
         vertex_data.clear();
 	}
 
+	/**
+	 * Calculates unweighted betweenness scores for <code>graph</code> using 
+	 * arrays indexed by vertex and edge index; equivalent to 
+	 * <code>computeBetweenness</code> with a FIFO queue and unit edge weights.
+	 */
+	protected void computeIndexedBetweenness(IndexedGraph<V,E> graph)
+	{
+		computeIndexedBetweenness(graph, null, null, 1, null);
+	}
+
+	/**
+	 * Calculates weighted betweenness scores for <code>graph</code> using 
+	 * arrays indexed by vertex and edge index, and a priority queue of
+	 * type <code>queue_type</code>.
+	 * @throws IllegalArgumentException if any edge weight is not positive
+	 */
+	protected void computeIndexedBetweenness(IndexedGraph<V,E> graph, 
+			Transformer<E, ? extends Number> edge_weights, IntPriorityQueue.Type queue_type)
+	{
+		computeIndexedBetweenness(graph, getWeights(graph, edge_weights), queue_type, 1, null);
+	}
+
+	/**
+	 * Calculates betweenness scores for <code>graph</code>, dividing the sources
+	 * among <code>parallelism</code> tasks, which are run on <code>executor</code>
+	 * if it is not <code>null</code>.  If <code>weights</code> is 
+	 * <code>null</code> the scores are unweighted, and <code>queue_type</code> 
+	 * is ignored.
+	 */
+	private void computeIndexedBetweenness(final IndexedGraph<V,E> graph, final double[] weights, 
+			final IntPriorityQueue.Type queue_type, int parallelism, ExecutorService executor)
+	{
+		final int vertex_count = graph.getVertexCount();
+		List<SourcePasses> passes = new ArrayList<SourcePasses>(parallelism);
+		if (parallelism == 1 || vertex_count < MIN_PARALLEL_SIZE)
+		{
+			SourcePasses all = new SourcePasses(graph, weights, queue_type);
+			all.run(0, vertex_count);
+			passes.add(all);
+		}
+		else
+		{
+			WorkerPool workers = new WorkerPool();
+			workers.setExecutor(executor);
+			try
+			{
+				final AtomicInteger next_chunk = new AtomicInteger();
+				List<Runnable> tasks = new ArrayList<Runnable>(parallelism);
+				for (int t = 0; t < parallelism; t++)
+				{
+					final SourcePasses thread_passes = new SourcePasses(graph, weights, queue_type);
+					passes.add(thread_passes);
+					tasks.add(new Runnable()
+					{
+						public void run()
+						{
+							int start;
+							while ((start = next_chunk.getAndAdd(CHUNK_SIZE)) < vertex_count)
+								thread_passes.run(start, Math.min(start + CHUNK_SIZE, vertex_count));
+						}
+					});
+				}
+				workers.invokeAll(tasks);
+			}
+			finally
+			{
+				workers.shutdown();
+			}
+		}
+		
+		// merge the per-thread scores
+		double[] vertex_betweenness = passes.get(0).vertex_betweenness;
+		double[] edge_betweenness = passes.get(0).edge_betweenness;
+		for (SourcePasses thread_passes : passes.subList(1, passes.size()))
+		{
+			for (int v = 0; v < vertex_count; v++)
+				vertex_betweenness[v] += thread_passes.vertex_betweenness[v];
+			for (int e = 0; e < edge_betweenness.length; e++)
+				edge_betweenness[e] += thread_passes.edge_betweenness[e];
+		}
+		
+		double scale = graph instanceof UndirectedGraph ? 2.0 : 1.0;
+		for (int v = 0; v < vertex_count; v++)
+			vertex_scores.put(graph.getVertex(v), vertex_betweenness[v] / scale);
+		for (int e = 0; e < edge_betweenness.length; e++)
+			edge_scores.put(graph.getEdge(e), edge_betweenness[e] / scale);
+	}
+
+	/**
+	 * Returns the weights of the edges of <code>graph</code>, by edge index.
+	 * @throws IllegalArgumentException if any weight is not positive
+	 */
+	private double[] getWeights(IndexedGraph<V,E> graph, Transformer<E, ? extends Number> edge_weights)
+	{
+		double[] weights = new double[graph.getEdgeCount()];
+		for (int e = 0; e < weights.length; e++)
+		{
+			weights[e] = edge_weights.transform(graph.getEdge(e)).doubleValue();
+			if (weights[e] <= 0)
+				throw new IllegalArgumentException(String.format(
+						"Weight for edge '%s' is <= 0: %f", graph.getEdge(e), weights[e])); 
+		}
+		return weights;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V,E> IndexedGraph<V,E> getIndexedGraph(Graph<V,E> graph)
+	{
+		if (graph instanceof IndexedGraph)
+			return (IndexedGraph<V,E>)graph;
+		return Indexer.createIndexedGraph(graph);
+	}
+
+	private static void checkParallelism(int parallelism)
+	{
+		if (parallelism < 1)
+			throw new IllegalArgumentException("parallelism must be positive");
+	}
+
 //	protected void computeWeightedBetweenness(Transformer<E, ? extends Number> edge_weights)
 //	{
 //		for (V v : graph.getVertices())
@@ -315,6 +557,167 @@ public class BetweennessCentrality<V, E>
 		return edge_scores.get(e);
 	}
 
+	/**
+	 * The state for a series of single-source passes over an indexed graph,
+	 * and the scores accumulated by them.  The state is reset after each pass;
+	 * each thread has its own instance.
+	 */
+	private class SourcePasses
+	{
+		private final IndexedGraph<V,E> graph;
+		private final double[] weights; // null if unweighted
+		private final IntPriorityQueue queue; // null if unweighted
+		private final double[] distance;
+		private final double[] numSPs;
+		private final double[] dependency;
+		private final int[] order; // vertices in the order in which they were settled
+		private final int[] ranks; // position of each vertex in order, or -1
+		final double[] vertex_betweenness;
+		final double[] edge_betweenness;
+		
+		SourcePasses(IndexedGraph<V,E> graph, double[] weights, IntPriorityQueue.Type queue_type)
+		{
+			int vertex_count = graph.getVertexCount();
+			this.graph = graph;
+			this.weights = weights;
+			this.queue = weights == null ? null : queue_type.create(vertex_count);
+			distance = new double[vertex_count];
+			numSPs = new double[vertex_count];
+			dependency = new double[vertex_count];
+			order = new int[vertex_count];
+			ranks = new int[vertex_count];
+			vertex_betweenness = new double[vertex_count];
+			edge_betweenness = new double[graph.getEdgeCount()];
+			Arrays.fill(distance, Double.POSITIVE_INFINITY);
+			Arrays.fill(ranks, -1);
+		}
+		
+		/**
+		 * Adds the dependencies of the sources in [<code>start</code>, <code>end</code>)
+		 * to the scores.
+		 */
+		void run(int start, int end)
+		{
+			for (int v = start; v < end; v++)
+			{
+				distance[v] = 0;
+				numSPs[v] = 1;
+				int reached = weights == null ? search(v) : searchWeighted(v);
+				accumulate(v, reached);
+				
+				// reset the state of the vertices reached from v
+				for (int i = 0; i < reached; i++)
+				{
+					int x = order[i];
+					distance[x] = Double.POSITIVE_INFINITY;
+					numSPs[x] = 0;
+					dependency[x] = 0;
+					ranks[x] = -1;
+				}
+			}
+		}
+		
+		/**
+		 * Breadth-first search from <code>v</code>; returns the number of vertices reached.
+		 */
+		private int search(int v)
+		{
+			// used as both queue and stack
+			order[0] = v;
+			int head = 0;
+			int tail = 1;
+			while (head < tail)
+			{
+				int w = order[head];
+				ranks[w] = head++;
+				for (int i = 0, count = graph.getOutEdgeCount(w); i < count; i++)
+				{
+					int x = graph.getOppositeIndex(w, graph.getOutEdgeIndex(w, i));
+					if (x == w)
+						continue;
+					if (distance[x] == Double.POSITIVE_INFINITY)
+					{
+						distance[x] = distance[w] + 1;
+						order[tail++] = x;
+					}
+					if (distance[x] == distance[w] + 1)
+						numSPs[x] += numSPs[w];
+				}
+			}
+			return tail;
+		}
+		
+		/**
+		 * Dijkstra search from <code>v</code>; returns the number of vertices reached.
+		 * Two paths are considered equally short only if their lengths are exactly equal.
+		 */
+		private int searchWeighted(int v)
+		{
+			queue.clear(); // lets a radix heap start again from 0
+			queue.add(v, 0);
+			int settled = 0;
+			while (!queue.isEmpty())
+			{
+				int w = queue.poll();
+				ranks[w] = settled;
+				order[settled++] = w;
+				for (int i = 0, count = graph.getOutEdgeCount(w); i < count; i++)
+				{
+					int e = graph.getOutEdgeIndex(w, i);
+					int x = graph.getOppositeIndex(w, e);
+					if (x == w)
+						continue;
+					double x_potential_dist = distance[w] + weights[e];
+					if (distance[x] == Double.POSITIVE_INFINITY)
+					{
+						distance[x] = x_potential_dist;
+						numSPs[x] = numSPs[w];
+						queue.add(x, x_potential_dist);
+					}
+					else if (x_potential_dist < distance[x])
+					{
+						// a shorter path to x: forget the paths counted so far
+						distance[x] = x_potential_dist;
+						numSPs[x] = numSPs[w];
+						queue.decreaseKey(x, x_potential_dist);
+					}
+					else if (x_potential_dist == distance[x] && queue.contains(x))
+						numSPs[x] += numSPs[w];
+				}
+			}
+			return settled;
+		}
+		
+		/**
+		 * Accumulates the dependencies of <code>v</code> on the <code>reached</code>
+		 * vertices, in the reverse of the order in which they were settled.
+		 */
+		private void accumulate(int v, int reached)
+		{
+			// the shortest-path edges into x are exactly its in-edges e from vertices w 
+			// with distance[w] + weight(e) == distance[x] which were settled before x 
+			// (the sum may also round to distance[x] for a w settled after x, whose 
+			// paths the search did not count)
+			for (int j = reached - 1; j >= 0; j--)
+			{
+				int x = order[j];
+				for (int i = 0, count = graph.getInEdgeCount(x); i < count; i++)
+				{
+					int e = graph.getInEdgeIndex(x, i);
+					int w = graph.getOppositeIndex(x, e);
+					double weight = weights == null ? 1 : weights[e];
+					if (ranks[w] < 0 || ranks[w] >= ranks[x] || distance[w] + weight != distance[x])
+						continue;
+					double partialDependency = numSPs[w] / numSPs[x] * (1.0 + dependency[x]);
+					dependency[w] += partialDependency;
+					edge_betweenness[e] += partialDependency;
+				}
+				if (x != v)
+					vertex_betweenness[x] += dependency[x];
+			}
+		}
+	}
+
     private class BetweennessData 
     {
         double distance;
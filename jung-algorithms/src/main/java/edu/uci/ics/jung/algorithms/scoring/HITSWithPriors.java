@@ -33,6 +33,20 @@ public class HITSWithPriors<V, E>
      * or no inedges (hub).
      */
     protected HITS.Scores disappearing_potential;
+    
+    /**
+     * The current hub and authority values of each vertex, by vertex index; 
+     * set before each step.
+     */
+    protected double[] current_hubs;
+    protected double[] current_authorities;
+    
+    /**
+     * The vertices from which (respectively to which) potential flows for 
+     * each vertex; set before each step.
+     */
+    protected WeightedNeighbors input_neighbors;
+    protected WeightedNeighbors output_neighbors;
 
     /**
      * Creates an instance for the specified graph, edge weights, vertex prior probabilities,
@@ -71,35 +85,9 @@ public class HITSWithPriors<V, E>
     @Override
     protected double update(V v)
     {
-        collectDisappearingPotential(v);
-        
-        double v_auth = 0;
-        for (E e : graph.getInEdges(v))
-        {
-        	int incident_count = getAdjustedIncidentCount(e);
-        	for (V w : graph.getIncidentVertices(e)) 
-        	{
-        		if (!w.equals(v) || hyperedges_are_self_loops) 
-        			v_auth += (getCurrentValue(w).hub * 
-        					getEdgeWeight(w,e).doubleValue() / incident_count);
-        	}
-//            V w = graph.getOpposite(v, e);
-//            auth += (getCurrentValue(w).hub * getEdgeWeight(w, e).doubleValue());
-        }
-        
-        double v_hub = 0;
-        for (E e : graph.getOutEdges(v))
-        {
-        	int incident_count = getAdjustedIncidentCount(e);
-        	for (V w : graph.getIncidentVertices(e)) 
-        	{
-        		if (!w.equals(v) || hyperedges_are_self_loops) 
-        			v_hub += (getCurrentValue(w).authority * 
-        					getEdgeWeight(w,e).doubleValue() / incident_count);
-        	}
-//            V x = graph.getOpposite(v,e);
-//            hub += (getCurrentValue(x).authority * getEdgeWeight(x, e).doubleValue()); 
-        }
+        int i = getVertexIndex(v);
+        double v_auth = input_neighbors.getWeightedSum(i, current_hubs);
+        double v_hub = output_neighbors.getWeightedSum(i, current_authorities);
         
         // modify total_input according to alpha
         if (alpha > 0) 
@@ -109,8 +97,36 @@ public class HITSWithPriors<V, E>
         }
         setOutputValue(v, new HITS.Scores(v_hub, v_auth));
 
-        return Math.max(Math.abs(getCurrentValue(v).hub - v_hub), 
-                        Math.abs(getCurrentValue(v).authority - v_auth));
+        return Math.max(Math.abs(current_hubs[i] - v_hub), 
+                        Math.abs(current_authorities[i] - v_auth));
+    }
+
+    /**
+     * Code which is executed before each step.  In this case, copies the 
+     * current values into <code>current_hubs</code> and 
+     * <code>current_authorities</code>, and collects the disappearing 
+     * potential, so that <code>update</code> may be called concurrently.
+     */
+    @Override
+    protected void beforeStep()
+    {
+        super.beforeStep();
+        input_neighbors = getInputNeighbors();
+        output_neighbors = getOutputNeighbors();
+        int vertex_count = graph.getVertexCount();
+        if (current_hubs == null || current_hubs.length != vertex_count)
+        {
+            current_hubs = new double[vertex_count];
+            current_authorities = new double[vertex_count];
+        }
+        for (V v : graph.getVertices())
+        {
+            int i = getVertexIndex(v);
+            HITS.Scores values = getCurrentValue(v);
+            current_hubs[i] = values.hub;
+            current_authorities[i] = values.authority;
+            collectDisappearingPotential(v);
+        }
     }
 
     /**
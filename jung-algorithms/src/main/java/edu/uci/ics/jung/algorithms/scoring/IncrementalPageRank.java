@@ -0,0 +1,412 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.scoring;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.collections15.Transformer;
+
+import edu.uci.ics.jung.algorithms.scoring.util.DelegateToEdgeTransformer;
+import edu.uci.ics.jung.algorithms.scoring.util.UniformDegreeWeight;
+import edu.uci.ics.jung.algorithms.scoring.util.VEPair;
+import edu.uci.ics.jung.graph.ObservableGraph;
+import edu.uci.ics.jung.graph.event.GraphEvent;
+import edu.uci.ics.jung.graph.event.GraphEventListener;
+import edu.uci.ics.jung.graph.util.Pair;
+
+/**
+ * Maintains the PageRank (with priors) of the vertices of an
+ * <code>ObservableGraph</code> as the graph changes, updating the scores
+ * only around the vertices that a change affects rather than recomputing
+ * them from scratch.
+ *
+ * <p>The scores are those computed by <code>PageRankWithPriors</code> (or,
+ * if no priors are specified, <code>PageRank</code>) with the same edge
+ * weights and random jump probability <code>alpha</code>: the potential
+ * of vertices with no out-edges is distributed according to the priors,
+ * and self-loops carry no potential.
+ *
+ * <p>They are calculated by 'pushing' residuals, as described by Andersen,
+ * Chung and Lang: each vertex has an estimate and a residual, which is the
+ * amount by which the estimate falls short of its fixed point.  A vertex
+ * whose residual is too large adds it to its estimate and passes
+ * <code>1 - alpha</code> of it along its out-edges to the residuals of its
+ * neighbors.  The estimates are kept for the vertices with no out-edges as
+ * if their potential disappeared, and are scaled when scores are requested
+ * so that it is instead distributed according to the priors; thus no step
+ * touches more than the out-edges of one vertex.  When an edge is added or
+ * removed, or its weight changes, the residuals of the neighbors of its
+ * endpoints are corrected for the new out-edges (and edge weights) of those
+ * endpoints, and then pushed from there when scores are next requested.
+ * Thus the scores are warm-started from the previous ones, and the work
+ * done depends on how far the changes propagate rather than on the size
+ * of the graph.
+ *
+ * <p>The residuals are pushed until none is more than <code>tolerance</code>
+ * times the average score (in units of the prior).  Edge weights are not part
+ * of the graph, so changes to them must be reported by calling
+ * {@link #edgeWeightChanged(Object)}; the priors of vertices are read when
+ * they are added.  The methods of this class are synchronized, so that events
+ * may be delivered by another thread.
+ *
+ * @see "Reid Andersen, Fan Chung, and Kevin Lang: Local graph partitioning using PageRank vectors. FOCS 2006."
+ * @see PageRankWithPriors
+ * @see ObservableGraph
+ */
+public class IncrementalPageRank<V,E> implements VertexScorer<V,Double>, GraphEventListener<V,E>
+{
+    protected final ObservableGraph<V,E> graph;
+    protected final Transformer<VEPair<V,E>,? extends Number> edge_weights;
+    protected final Transformer<V,? extends Number> vertex_priors;
+    protected final double alpha;
+    protected double tolerance = 1.0e-4;
+
+    protected final Map<V,VertexData> vertex_data = new HashMap<V,VertexData>();
+    protected final Map<E,Pair<V>> endpoints = new HashMap<E,Pair<V>>();
+
+    /**
+     * The vertices whose residuals may need to be pushed.
+     */
+    private final LinkedList<VertexData> queue = new LinkedList<VertexData>();
+
+    /**
+     * The sum of the priors, and of the estimates of the vertices with no out-edges.
+     */
+    private double prior_total;
+    private double dangling_total;
+
+    /**
+     * Creates an instance for the specified graph, edge weights, vertex priors,
+     * and random jump probability, and registers it as a listener to
+     * <code>graph</code>.
+     * @param graph the input graph
+     * @param edge_weights the edge weights, denoting transition probabilities from source to destination
+     * @param vertex_priors the prior probabilities for each vertex
+     * @param alpha the probability of executing a 'random jump' at each step
+     * @throws IllegalArgumentException if <code>alpha</code> is not in (0, 1]
+     */
+    public IncrementalPageRank(ObservableGraph<V,E> graph,
+            Transformer<E,? extends Number> edge_weights,
+            Transformer<V,? extends Number> vertex_priors, double alpha)
+    {
+        this(graph, alpha, vertex_priors, new DelegateToEdgeTransformer<V,E>(edge_weights));
+    }
+
+    /**
+     * Creates an instance for the specified graph, edge weights, and random
+     * jump probability, with the same prior for each vertex, and registers it
+     * as a listener to <code>graph</code>.
+     * @param graph the input graph
+     * @param edge_weights the edge weights, denoting transition probabilities from source to destination
+     * @param alpha the probability of executing a 'random jump' at each step
+     * @throws IllegalArgumentException if <code>alpha</code> is not in (0, 1]
+     */
+    public IncrementalPageRank(ObservableGraph<V,E> graph,
+            Transformer<E,? extends Number> edge_weights, double alpha)
+    {
+        this(graph, alpha, null, new DelegateToEdgeTransformer<V,E>(edge_weights));
+    }
+
+    /**
+     * Creates an instance for the specified graph and random jump probability,
+     * with the same prior for each vertex, and registers it as a listener to
+     * <code>graph</code>.  The probability of following any outgoing edge from
+     * a given vertex is the same.
+     * @param graph the input graph
+     * @param alpha the probability of executing a 'random jump' at each step
+     * @throws IllegalArgumentException if <code>alpha</code> is not in (0, 1]
+     */
+    public IncrementalPageRank(ObservableGraph<V,E> graph, double alpha)
+    {
+        this(graph, alpha, null, new UniformDegreeWeight<V,E>(graph));
+    }
+
+    private IncrementalPageRank(ObservableGraph<V,E> graph, double alpha,
+            Transformer<V,? extends Number> vertex_priors,
+            Transformer<VEPair<V,E>,? extends Number> edge_weights)
+    {
+        if (alpha <= 0 || alpha > 1)
+            throw new IllegalArgumentException("alpha must be in (0, 1]");
+        this.graph = graph;
+        this.edge_weights = edge_weights;
+        this.vertex_priors = vertex_priors;
+        this.alpha = alpha;
+        for (E e : graph.getEdges())
+            endpoints.put(e, graph.getEndpoints(e));
+        for (V v : graph.getVertices())
+            refresh(v);
+        graph.addGraphEventListener(this);
+    }
+
+    /**
+     * Returns the score of <code>v</code>, first pushing any residuals
+     * which are too large.
+     */
+    public synchronized Double getVertexScore(V v)
+    {
+        VertexData data = vertex_data.get(v);
+        if (data == null)
+            throw new IllegalArgumentException("Vertex " + v + " not an element of this graph");
+        evaluate();
+        return data.estimate / getNormalizer();
+    }
+
+    /**
+     * Pushes residuals until none is more than <code>tolerance</code> times
+     * the average score.  This is done by <code>getVertexScore</code> as
+     * needed, but may be called to do it in advance.
+     */
+    public synchronized void evaluate()
+    {
+        if (vertex_data.isEmpty())
+        {
+            queue.clear();
+            return;
+        }
+        double threshold = tolerance * prior_total / vertex_data.size();
+        while (!queue.isEmpty())
+        {
+            VertexData data = queue.removeFirst();
+            data.queued = false;
+            double residual = data.residual;
+            if (data.removed || Math.abs(residual) <= threshold)
+                continue;
+            data.residual = 0;
+            data.estimate += residual;
+            if (data.dangling)
+                dangling_total += residual;
+            double share = (1 - alpha) * residual;
+            for (int i = 0; i < data.targets.length; i++)
+            {
+                VertexData target = data.targets[i];
+                target.residual += share * data.weights[i];
+                if (!target.queued && Math.abs(target.residual) > threshold)
+                    enqueue(target);
+            }
+        }
+    }
+
+    /**
+     * Returns the value by which the estimates are divided to give the scores:
+     * the (total) prior less the potential which disappears at vertices with
+     * no out-edges, and which the estimates therefore lack.
+     */
+    private double getNormalizer()
+    {
+        double total = vertex_priors == null ? vertex_data.size() : 1;
+        return total - (1 - alpha) * dangling_total / alpha;
+    }
+
+    /**
+     * Returns the probability of making a 'jump' (non-link-following step).
+     */
+    public double getAlpha()
+    {
+        return alpha;
+    }
+
+    /**
+     * Returns the largest residual, relative to the average score, that
+     * is not pushed.
+     */
+    public synchronized double getTolerance()
+    {
+        return tolerance;
+    }
+
+    /**
+     * Sets the largest residual, relative to the average score, that is not
+     * pushed; the default is 1.0e-4.  Smaller values give more accurate
+     * scores at the cost of more pushes.
+     * @throws IllegalArgumentException if <code>tolerance</code> is not positive
+     */
+    public synchronized void setTolerance(double tolerance)
+    {
+        if (tolerance <= 0)
+            throw new IllegalArgumentException("tolerance must be positive");
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Informs this instance that the weight of <code>edge</code> may have
+     * changed, and updates the residuals accordingly.
+     */
+    public synchronized void edgeWeightChanged(E edge)
+    {
+        Pair<V> pair = endpoints.get(edge);
+        if (pair == null)
+            throw new IllegalArgumentException("Specified edge " + edge +
+                    " is not part of graph " + graph);
+        refresh(pair.getFirst());
+        refresh(pair.getSecond());
+    }
+
+    /**
+     * Updates the residuals to reflect the change described by <code>event</code>.
+     */
+    public synchronized void handleGraphEvent(GraphEvent<V,E> event)
+    {
+        // the vertices whose out-edges (or degrees) may have changed;
+        // each is brought up to date with the graph as it is now
+        Set<V> changed = new LinkedHashSet<V>();
+        switch (event.getType())
+        {
+            case VERTEX_ADDED:
+            case VERTEX_REMOVED:
+                changed.add(((GraphEvent.Vertex<V,E>)event).getVertex());
+                break;
+            case EDGE_ADDED:
+                edgeAdded(((GraphEvent.Edge<V,E>)event).getEdge(), changed);
+                break;
+            case EDGE_REMOVED:
+                edgeRemoved(((GraphEvent.Edge<V,E>)event).getEdge(), changed);
+                break;
+            case CHANGE_SET:
+                GraphEvent.ChangeSet<V,E> changes = (GraphEvent.ChangeSet<V,E>)event;
+                for (E e : changes.getRemovedEdges())
+                    edgeRemoved(e, changed);
+                changed.addAll(changes.getRemovedVertices());
+                changed.addAll(changes.getAddedVertices());
+                for (E e : changes.getAddedEdges())
+                    edgeAdded(e, changed);
+                break;
+        }
+        for (V v : changed)
+            refresh(v);
+    }
+
+    private void edgeAdded(E e, Set<V> changed)
+    {
+        // the edge may have been removed again before this event was delivered
+        if (!graph.containsEdge(e))
+            return;
+        Pair<V> pair = graph.getEndpoints(e);
+        endpoints.put(e, pair);
+        changed.add(pair.getFirst());
+        changed.add(pair.getSecond());
+    }
+
+    private void edgeRemoved(E e, Set<V> changed)
+    {
+        Pair<V> pair = endpoints.remove(e);
+        if (pair != null)
+        {
+            changed.add(pair.getFirst());
+            changed.add(pair.getSecond());
+        }
+    }
+
+    /**
+     * Brings the record of <code>v</code> up to date with the graph: creates
+     * or discards it if <code>v</code> has been added or removed, and
+     * recalculates the weights along which potential flows out of it,
+     * correcting the residuals of its old and new neighbors for the
+     * difference.
+     */
+    private void refresh(V v)
+    {
+        VertexData data = vertex_data.get(v);
+        boolean present = graph.containsVertex(v);
+        if (data == null)
+        {
+            if (!present)
+                return;
+            double prior = vertex_priors == null ? 1 : vertex_priors.transform(v).doubleValue();
+            data = new VertexData(prior);
+            data.residual = alpha * prior;
+            prior_total += prior;
+            vertex_data.put(v, data);
+            enqueue(data);
+        }
+
+        double share = (1 - alpha) * data.estimate;
+        for (int i = 0; i < data.targets.length; i++)
+            adjustResidual(data.targets[i], -share * data.weights[i]);
+        if (data.dangling)
+            dangling_total -= data.estimate;
+
+        if (!present)
+        {
+            // its edges were removed first, so no other vertex refers to it
+            data.removed = true;
+            prior_total -= data.prior;
+            vertex_data.remove(v);
+            return;
+        }
+
+        int count = 0;
+        for (E e : graph.getOutEdges(v))
+            if (!v.equals(graph.getOpposite(v, e)))
+                count++;
+        data.targets = new VertexData[count];
+        data.weights = new double[count];
+        int i = 0;
+        for (E e : graph.getOutEdges(v))
+        {
+            V w = graph.getOpposite(v, e);
+            if (v.equals(w))
+                continue;
+            VertexData target = vertex_data.get(w);
+            if (target == null)
+            {
+                // an endpoint of an edge whose event has not yet been delivered
+                refresh(w);
+                target = vertex_data.get(w);
+            }
+            data.targets[i] = target;
+            data.weights[i] = edge_weights.transform(new VEPair<V,E>(v, e)).doubleValue();
+            adjustResidual(target, share * data.weights[i]);
+            i++;
+        }
+        data.dangling = graph.outDegree(v) == 0;
+        if (data.dangling)
+            dangling_total += data.estimate;
+    }
+
+    private void adjustResidual(VertexData data, double amount)
+    {
+        data.residual += amount;
+        if (!data.queued)
+            enqueue(data);
+    }
+
+    private void enqueue(VertexData data)
+    {
+        data.queued = true;
+        queue.addLast(data);
+    }
+
+    /**
+     * The estimate and residual of a vertex, and the weights along which
+     * potential flows out of it.
+     */
+    protected static class VertexData
+    {
+        final double prior;
+        double estimate;
+        double residual;
+        boolean dangling = true;
+        boolean queued;
+        boolean removed;
+        VertexData[] targets = new VertexData[0];
+        double[] weights = new double[0];
+
+        VertexData(double prior)
+        {
+            this.prior = prior;
+        }
+    }
+}
@@ -123,34 +123,19 @@ public class KStepMarkov<V,E> extends PageRankWithPriors<V,E>
     	if (!cumulative)
     		return super.update(v);
     	
-        collectDisappearingPotential(v);
-        
-        double v_input = 0;
-        for (E e : graph.getInEdges(v))
-        {
-        	// For graphs, the code below is equivalent to 
-//          V w = graph.getOpposite(v, e);
-//          total_input += (getCurrentValue(w) * getEdgeWeight(w,e).doubleValue());
-        	// For hypergraphs, this divides the potential coming from w 
-        	// by the number of vertices in the connecting edge e.
-        	int incident_count = getAdjustedIncidentCount(e);
-        	for (V w : graph.getIncidentVertices(e)) 
-        	{
-        		if (!w.equals(v) || hyperedges_are_self_loops) 
-        			v_input += (getCurrentValue(w) * 
-        					getEdgeWeight(w,e).doubleValue() / incident_count);
-        	}
-        }
+        // the disappearing potential is collected by beforeStep()
+        int i = getVertexIndex(v);
+        double v_input = input_neighbors.getWeightedSum(i, current_scores);
         
         // modify total_input according to alpha
         double new_value = alpha > 0 ? 
         		v_input * (1 - alpha) + getVertexPrior(v) * alpha :
         		v_input;
-        setOutputValue(v, new_value + getCurrentValue(v));
+        setOutputValue(v, new_value + current_scores[i]);
 
         // FIXME: DO WE NEED TO CHANGE HOW DISAPPEARING IS COUNTED?  NORMALIZE?
         
-        return Math.abs(getCurrentValue(v) - new_value);
+        return Math.abs(current_scores[i] - new_value);
     }
 
 }
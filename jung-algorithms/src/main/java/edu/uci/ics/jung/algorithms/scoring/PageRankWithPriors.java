@@ -34,6 +34,16 @@ public class PageRankWithPriors<V, E>
      */
     protected double disappearing_potential = 0.0;
     
+    /**
+     * The current value of each vertex, by vertex index; set before each step.
+     */
+    protected double[] current_scores;
+    
+    /**
+     * The vertices from which potential flows into each vertex; set before each step.
+     */
+    protected WeightedNeighbors input_neighbors;
+    
     /**
      * Creates an instance with the specified graph, edge weights, vertex priors, and 
      * 'random jump' probability (alpha).
@@ -70,24 +80,12 @@ public class PageRankWithPriors<V, E>
     @Override
     public double update(V v)
     {
-        collectDisappearingPotential(v);
-        
-        double v_input = 0;
-        for (E e : graph.getInEdges(v))
-        {
-        	// For graphs, the code below is equivalent to 
-//          V w = graph.getOpposite(v, e);
-//          total_input += (getCurrentValue(w) * getEdgeWeight(w,e).doubleValue());
-        	// For hypergraphs, this divides the potential coming from w 
-        	// by the number of vertices in the connecting edge e.
-        	int incident_count = getAdjustedIncidentCount(e);
-        	for (V w : graph.getIncidentVertices(e)) 
-        	{
-        		if (!w.equals(v) || hyperedges_are_self_loops) 
-        			v_input += (getCurrentValue(w) * 
-        					getEdgeWeight(w,e).doubleValue() / incident_count);
-        	}
-        }
+        // For graphs, this is the sum over in-edges e of 
+        // getCurrentValue(w) * getEdgeWeight(w,e), where w is the opposite vertex.
+        // For hypergraphs, this divides the potential coming from w 
+        // by the number of vertices in the connecting edge e.
+        int i = getVertexIndex(v);
+        double v_input = input_neighbors.getWeightedSum(i, current_scores);
         
         // modify total_input according to alpha
         double new_value = alpha > 0 ? 
@@ -95,7 +93,27 @@ public class PageRankWithPriors<V, E>
         		v_input;
         setOutputValue(v, new_value);
         
-        return Math.abs(getCurrentValue(v) - new_value);
+        return Math.abs(current_scores[i] - new_value);
+    }
+
+    /**
+     * Prepares for each step.  In this case that involves copying the current
+     * values into <code>current_scores</code>, and collecting the disappearing
+     * potential, so that <code>update</code> may be called concurrently.
+     */
+    @Override
+    protected void beforeStep()
+    {
+        super.beforeStep();
+        input_neighbors = getInputNeighbors();
+        if (current_scores == null || current_scores.length != graph.getVertexCount())
+            current_scores = new double[graph.getVertexCount()];
+        for (int i = 0; i < current_scores.length; i++)
+        {
+            V v = getVertex(i);
+            current_scores[i] = getCurrentValue(v);
+            collectDisappearingPotential(v);
+        }
     }
 
     /**
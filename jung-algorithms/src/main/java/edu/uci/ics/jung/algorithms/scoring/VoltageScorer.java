@@ -52,6 +52,16 @@ public class VoltageScorer<V, E> extends AbstractIterativeScorer<V, E, Double>
     protected Map<V, ? extends Number> source_voltages;
     protected Collection<V> sinks;
     
+    /**
+     * The current voltage of each vertex, by vertex index; set before each step.
+     */
+    protected double[] current_voltages;
+    
+    /**
+     * The vertices from which current flows into each vertex; set before each step.
+     */
+    protected WeightedNeighbors input_neighbors;
+    
     /**
      * Creates an instance with the specified graph, edge weights, source voltages,
      * and sinks.
@@ -214,36 +224,34 @@ public class VoltageScorer<V, E> extends AbstractIterativeScorer<V, E, Double>
             return 0.0;
         }
         
-        Collection<E> edges = graph.getInEdges(v);
-        double voltage_sum = 0;
-        double weight_sum = 0;
-        for (E e: edges)
-        {
-        	int incident_count = getAdjustedIncidentCount(e);
-        	for (V w : graph.getIncidentVertices(e)) 
-        	{
-        		if (!w.equals(v) || hyperedges_are_self_loops) 
-        		{
-        			double weight = getEdgeWeight(w,e).doubleValue() / incident_count;
-        			voltage_sum += getCurrentValue(w).doubleValue() * weight;
-        			weight_sum += weight;
-        		}
-        	}
-//            V w = graph.getOpposite(v, e);
-//            double weight = getEdgeWeight(w,e).doubleValue();
-//            voltage_sum += getCurrentValue(w).doubleValue() * weight;
-//            weight_sum += weight;
-        }
+        int i = getVertexIndex(v);
+        double voltage_sum = input_neighbors.getWeightedSum(i, current_voltages);
+        double weight_sum = input_neighbors.getWeightSum(i);
 
         // if either is 0, new value is 0
         if (voltage_sum == 0 || weight_sum == 0)
         {
             setOutputValue(v, 0.0);
-            return getCurrentValue(v).doubleValue();
+            return current_voltages[i];
         }
         
         setOutputValue(v, voltage_sum / weight_sum);
-        return Math.abs(getCurrentValue(v).doubleValue() - voltage_sum / weight_sum);
+        return Math.abs(current_voltages[i] - voltage_sum / weight_sum);
+    }
+
+    /**
+     * Copies the current voltages into <code>current_voltages</code> before 
+     * each step.
+     */
+    @Override
+    protected void beforeStep()
+    {
+        super.beforeStep();
+        input_neighbors = getInputNeighbors();
+        if (current_voltages == null || current_voltages.length != graph.getVertexCount())
+            current_voltages = new double[graph.getVertexCount()];
+        for (V v : graph.getVertices())
+            current_voltages[getVertexIndex(v)] = getCurrentValue(v).doubleValue();
     }
 
 }
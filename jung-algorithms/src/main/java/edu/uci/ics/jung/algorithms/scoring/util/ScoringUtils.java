@@ -11,7 +11,13 @@
  */
 package edu.uci.ics.jung.algorithms.scoring.util;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.collections15.Transformer;
 
@@ -19,7 +25,7 @@ import edu.uci.ics.jung.algorithms.scoring.HITS;
 
 /**
  * Methods for assigning values (to be interpreted as prior probabilities) to vertices in the context
- * of random-walk-based scoring algorithms.
+ * of random-walk-based scoring algorithms, and for ranking the scores that they produce.
  */
 public class ScoringUtils
 {
@@ -69,4 +75,50 @@ public class ScoringUtils
         };
         return distribution;
     }
+
+    /**
+     * Returns a copy of <code>scores</code> whose iteration order is by 
+     * decreasing score.
+     * @param <V> the vertex type
+     * @param scores the scores to be sorted
+     * @return the sorted scores
+     */
+    public static <V> Map<V, Double> sortByScore(Map<V, Double> scores)
+    {
+        List<Map.Entry<V, Double>> entries = new ArrayList<Map.Entry<V, Double>>(scores.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<V, Double>>()
+        {
+            public int compare(Map.Entry<V, Double> e1, Map.Entry<V, Double> e2)
+            {
+                return e2.getValue().compareTo(e1.getValue());
+            }
+        });
+        Map<V, Double> sorted = new LinkedHashMap<V, Double>();
+        for (Map.Entry<V, Double> entry : entries)
+            sorted.put(entry.getKey(), entry.getValue());
+        return sorted;
+    }
+
+    /**
+     * Returns the <code>k</code> highest of the specified scores (or all of 
+     * them, if there are fewer), ordered by decreasing score.
+     * @param <V> the vertex type
+     * @param scores the scores from which to choose
+     * @param k the number of scores to return
+     * @return the <code>k</code> highest scores
+     * @throws IllegalArgumentException if <code>k</code> is negative
+     */
+    public static <V> Map<V, Double> getTopScores(Map<V, Double> scores, int k)
+    {
+        if (k < 0)
+            throw new IllegalArgumentException("k must be non-negative");
+        Map<V, Double> top = new LinkedHashMap<V, Double>();
+        for (Map.Entry<V, Double> entry : sortByScore(scores).entrySet())
+        {
+            if (top.size() == k)
+                break;
+            top.put(entry.getKey(), entry.getValue());
+        }
+        return top;
+    }
 }
@@ -0,0 +1,214 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.awt.geom.Point2D;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.ConstantTransformer;
+
+import edu.uci.ics.jung.algorithms.util.MapBinaryHeap;
+import edu.uci.ics.jung.graph.Graph;
+
+/**
+ * Calculates the distance and a shortest path between a single pair of
+ * vertices using the A* algorithm: a Dijkstra search, along out-edges,
+ * that visits vertices in order of their distance from the source plus
+ * an estimate of their distance to the target, and stops as soon as the
+ * target is reached.  Nothing is retained between queries.  All edge
+ * weights must be nonnegative.
+ *
+ * <p>The estimates are supplied by a <i>heuristic</i>, a
+ * <code>Transformer</code> that returns, for each target vertex, the
+ * <code>Transformer</code> that estimates the distance from any vertex to
+ * that target.  The paths found are shortest paths provided that the
+ * estimates never exceed the true distances; the better the estimates,
+ * the fewer vertices are examined.  With a heuristic that always
+ * estimates 0, this is Dijkstra's algorithm.  See {@link #euclidean(Transformer)}
+ * for a heuristic based on vertex locations, such as those of a <code>Layout</code>.
+ *
+ * <p>The single-source methods <code>getDistanceMap</code> and
+ * <code>getIncomingEdgeMap</code> cannot take advantage of a target, and
+ * are answered by an uncached <code>DijkstraShortestPath</code>.
+ *
+ * @see BidirectionalDijkstraShortestPath
+ */
+public class AStarShortestPath<V,E> implements Distance<V>, ShortestPath<V,E>
+{
+    protected Graph<V,E> g;
+    protected Transformer<E,? extends Number> nev;
+    protected Transformer<V,? extends Transformer<V,? extends Number>> heuristic;
+
+    /**
+     * Creates an instance for the specified graph, edge weights and heuristic.
+     * @param g     the graph on which distances will be calculated
+     * @param nev   the class responsible for returning weights for edges
+     * @param heuristic returns, for each target, an estimate of the
+     * distance from each vertex to that target
+     */
+    public AStarShortestPath(Graph<V,E> g, Transformer<E,? extends Number> nev,
+            Transformer<V,? extends Transformer<V,? extends Number>> heuristic)
+    {
+        this.g = g;
+        this.nev = nev;
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Creates an instance for the specified unweighted graph (that is, all
+     * weights 1) and heuristic.
+     * @param g     the graph on which distances will be calculated
+     * @param heuristic returns, for each target, an estimate of the
+     * distance from each vertex to that target
+     */
+    @SuppressWarnings("unchecked")
+    public AStarShortestPath(Graph<V,E> g,
+            Transformer<V,? extends Transformer<V,? extends Number>> heuristic)
+    {
+        this(g, new ConstantTransformer(1), heuristic);
+    }
+
+    /**
+     * Returns a heuristic that estimates the distance between two vertices
+     * as the Euclidean distance between their <code>locations</code>
+     * (for example, a <code>Layout</code>).  This never overestimates if
+     * the weight of each edge is at least the distance between the
+     * locations of its endpoints.
+     */
+    public static <V> Transformer<V,Transformer<V,Double>> euclidean(
+            final Transformer<V,? extends Point2D> locations)
+    {
+        return new Transformer<V,Transformer<V,Double>>()
+        {
+            public Transformer<V,Double> transform(V target)
+            {
+                final Point2D target_location = locations.transform(target);
+                return new Transformer<V,Double>()
+                {
+                    public Double transform(V v)
+                    {
+                        return locations.transform(v).distance(target_location);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Returns the length of a shortest path from <code>source</code> to
+     * <code>target</code>, or <code>null</code> if <code>target</code> is not
+     * reachable from <code>source</code>.
+     * @throws IllegalArgumentException if either vertex is not in the graph
+     */
+    public Number getDistance(V source, V target)
+    {
+        Search search = new Search(source, target);
+        return search.distances.get(target);
+    }
+
+    /**
+     * Returns the edges on a shortest path from <code>source</code> to
+     * <code>target</code>, in order, or an empty list if <code>target</code>
+     * is not reachable from <code>source</code> (or is <code>source</code>).
+     * @throws IllegalArgumentException if either vertex is not in the graph
+     */
+    public List<E> getPath(V source, V target)
+    {
+        Search search = new Search(source, target);
+        LinkedList<E> path = new LinkedList<E>();
+        if (!search.distances.containsKey(target))
+            return path;
+        for (V v = target; !v.equals(source); )
+        {
+            E e = search.edges.get(v);
+            path.addFirst(e);
+            v = g.getOpposite(v, e);
+        }
+        return path;
+    }
+
+    public Map<V,Number> getDistanceMap(V source)
+    {
+        return new DijkstraShortestPath<V,E>(g, nev, false).getDistanceMap(source);
+    }
+
+    public Map<V,E> getIncomingEdgeMap(V source)
+    {
+        return new DijkstraShortestPath<V,E>(g, nev, false).getIncomingEdgeMap(source);
+    }
+
+    /**
+     * A single query.  On completion <code>distances</code> contains the
+     * distance to <code>target</code> if it is reachable.
+     */
+    private class Search
+    {
+        final Map<V,Double> distances = new HashMap<V,Double>();
+        final Map<V,Double> priorities = new HashMap<V,Double>();
+        final Map<V,E> edges = new HashMap<V,E>();     // edge by which each vertex was reached
+
+        Search(V source, V target)
+        {
+            if (!g.containsVertex(source))
+                throw new IllegalArgumentException("Specified source vertex " +
+                        source + " is not part of graph " + g);
+            if (!g.containsVertex(target))
+                throw new IllegalArgumentException("Specified target vertex " +
+                        target + " is not part of graph " + g);
+            Transformer<V,? extends Number> estimate = heuristic.transform(target);
+            MapBinaryHeap<V> queue = new MapBinaryHeap<V>(new Comparator<V>()
+            {
+                public int compare(V v1, V v2)
+                {
+                    return priorities.get(v1).compareTo(priorities.get(v2));
+                }
+            });
+            distances.put(source, 0.0);
+            priorities.put(source, estimate.transform(source).doubleValue());
+            queue.add(source);
+            while (!queue.isEmpty())
+            {
+                V v = queue.remove();
+                if (v.equals(target))
+                    return;
+                double v_dist = distances.get(v);
+                for (E e : g.getOutEdges(v))
+                {
+                    V w = g.getOpposite(v, e);
+                    double edge_weight = nev.transform(e).doubleValue();
+                    if (edge_weight < 0)
+                        throw new IllegalArgumentException("Edges weights must be non-negative");
+                    double new_dist = v_dist + edge_weight;
+                    Double w_dist = distances.get(w);
+                    if (w_dist == null || new_dist < w_dist)
+                    {
+                        // a vertex that has already left the queue is put back, so
+                        // that heuristics that are admissible but not consistent
+                        // still yield shortest paths
+                        distances.put(w, new_dist);
+                        priorities.put(w, new_dist + estimate.transform(w).doubleValue());
+                        edges.put(w, e);
+                        if (queue.contains(w))
+                            queue.update(w);
+                        else
+                            queue.add(w);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.collections15.Transformer;
+
+import edu.uci.ics.jung.algorithms.util.IndexedDaryHeap;
+import edu.uci.ics.jung.algorithms.util.Indexer;
+import edu.uci.ics.jung.algorithms.util.IntPriorityQueue;
+import edu.uci.ics.jung.algorithms.util.WorkerPool;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.IndexedGraph;
+
+/**
+ * Computes shortest path distances from many sources in parallel, and
+ * passes the distances from each source to a {@link SourceHandler} as soon
+ * as they are known, rather than retaining them as <code>DijkstraDistance</code>
+ * and <code>UnweightedShortestPath</code> do.  Memory use is thus
+ * proportional to the size of the graph times the number of threads,
+ * rather than to the number of vertex pairs.
+ *
+ * <p>The sources are shared among a fixed number of worker threads, each
+ * of which takes the next unprocessed source when it finishes the last,
+ * and keeps its search state (distances, queue or heap) in primitive
+ * arrays indexed by vertex index.  The threads are kept from one run to 
+ * the next (see <code>WorkerPool</code>) until <code>shutdown</code> is 
+ * called, or may be supplied by the caller with <code>setExecutor</code>.  Distances are measured along out-edges,
+ * as by <code>DijkstraDistance</code>, and either count edges (if no
+ * edge weights are supplied) or sum the weights of the edges.
+ *
+ * <p>The vertex indices are those of <code>Indexer.createIndexedGraph(graph)</code>,
+ * which is taken when this instance is created; the graph should not be
+ * modified while this instance is in use.
+ *
+ * @see DistanceStatistics#diameter(AllPairsShortestPaths, boolean)
+ * @see DistanceStatistics#averageDistances(AllPairsShortestPaths)
+ */
+public class AllPairsShortestPaths<V,E>
+{
+    /**
+     * Receives the distances from one source at a time.  Handlers are called
+     * by several threads at once, and must be thread-safe.
+     */
+    public interface SourceHandler
+    {
+        /**
+         * Accepts the distances from the vertex with index <code>source</code>.
+         * <code>distances[i]</code> is the distance from the source to the
+         * vertex with index <code>i</code>, or <code>Double.POSITIVE_INFINITY</code>
+         * if it is not reachable.  The array is reused once this method
+         * returns, and should not be retained.
+         * @return <code>false</code> if no further sources should be processed
+         */
+        boolean handleSource(int source, double[] distances);
+    }
+
+    protected final IndexedGraph<V,E> graph;
+    protected final double[] edge_weights;     // null if unweighted
+    protected int parallelism;
+    private final WorkerPool workers = new WorkerPool();
+
+    /**
+     * Creates an instance which measures distance in <code>graph</code>
+     * as the number of edges on a shortest path.
+     */
+    public AllPairsShortestPaths(Graph<V,E> graph)
+    {
+        this.graph = Indexer.createIndexedGraph(graph);
+        this.edge_weights = null;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Creates an instance which measures distance in <code>graph</code>
+     * as the total weight, according to <code>nev</code>, of the edges on
+     * a shortest path.  The weights are read once, when this instance is created.
+     * @throws IllegalArgumentException if any edge weight is negative
+     */
+    public AllPairsShortestPaths(Graph<V,E> graph, Transformer<E, ? extends Number> nev)
+    {
+        this.graph = Indexer.createIndexedGraph(graph);
+        this.edge_weights = new double[graph.getEdgeCount()];
+        for (int e = 0; e < edge_weights.length; e++)
+        {
+            edge_weights[e] = nev.transform(this.graph.getEdge(e)).doubleValue();
+            if (edge_weights[e] < 0)
+                throw new IllegalArgumentException("Edges weights must be non-negative");
+        }
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Sets the number of threads that process sources; the default is the
+     * number of available processors.  If <code>parallelism</code> is 1,
+     * sources are processed by the calling thread.
+     */
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the number of threads that process sources.
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Sets the executor on which the work of each run is done, or 
+     * <code>null</code> (the default) to use threads created by this instance.
+     * This instance does not shut down <code>executor</code>.
+     */
+    public void setExecutor(ExecutorService executor)
+    {
+        workers.setExecutor(executor);
+    }
+
+    /**
+     * Releases the threads created by this instance, if any.  They are
+     * created again if another run is done in parallel.
+     */
+    public void shutdown()
+    {
+        workers.shutdown();
+    }
+
+    /**
+     * Returns the number of vertices, and hence the length of the distance
+     * arrays passed to the handlers.
+     */
+    public int getVertexCount()
+    {
+        return graph.getVertexCount();
+    }
+
+    /**
+     * Returns the index of <code>vertex</code>, or -1 if it is not in the graph.
+     */
+    public int getVertexIndex(V vertex)
+    {
+        return graph.getVertexIndex(vertex);
+    }
+
+    /**
+     * Returns the vertex with the specified index.
+     */
+    public V getVertex(int vertex_index)
+    {
+        return graph.getVertex(vertex_index);
+    }
+
+    /**
+     * Computes the distances from every vertex of the graph, passing them
+     * to <code>handler</code>.  Returns when all sources have been processed,
+     * or when <code>handler</code> has asked to stop.
+     * @return <code>false</code> if <code>handler</code> asked to stop
+     */
+    public boolean run(SourceHandler handler)
+    {
+        int[] sources = new int[graph.getVertexCount()];
+        for (int i = 0; i < sources.length; i++)
+            sources[i] = i;
+        return run(sources, handler);
+    }
+
+    /**
+     * Computes the distances from each of <code>sources</code>, passing them
+     * to <code>handler</code>.
+     * @return <code>false</code> if <code>handler</code> asked to stop
+     * @throws IllegalArgumentException if any of <code>sources</code> is not
+     * in the graph
+     */
+    public boolean run(Collection<? extends V> sources, SourceHandler handler)
+    {
+        int[] indices = new int[sources.size()];
+        int i = 0;
+        for (V v : sources)
+        {
+            indices[i] = graph.getVertexIndex(v);
+            if (indices[i++] < 0)
+                throw new IllegalArgumentException("Specified source vertex " +
+                        v + " is not part of graph " + graph);
+        }
+        return run(indices, handler);
+    }
+
+    private boolean run(final int[] sources, final SourceHandler handler)
+    {
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicBoolean stopped = new AtomicBoolean();
+        int thread_count = Math.min(parallelism, sources.length);
+        if (thread_count <= 1)
+        {
+            new Worker().process(sources, next, stopped, handler);
+            return !stopped.get();
+        }
+        // a failed worker stops the others
+        workers.invokeCopies(new Runnable()
+        {
+            public void run()
+            {
+                boolean finished = false;
+                try
+                {
+                    new Worker().process(sources, next, stopped, handler);
+                    finished = true;
+                }
+                finally
+                {
+                    if (!finished)
+                        stopped.set(true);
+                }
+            }
+        }, thread_count);
+        return !stopped.get();
+    }
+
+    /**
+     * The search state of one thread.  Only the entries of <code>distance</code>
+     * for the vertices reached by the last search are reset between searches.
+     */
+    private class Worker
+    {
+        private final double[] distance;
+        private final int[] reached;      // vertices reached by the current search, in order
+        private int reached_count;
+        private final IntPriorityQueue queue;   // weighted searches only
+
+        Worker()
+        {
+            int n = graph.getVertexCount();
+            distance = new double[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            reached = new int[n];
+            queue = edge_weights == null ? null : new IndexedDaryHeap(n);
+        }
+
+        void process(int[] sources, AtomicInteger next, AtomicBoolean stopped, SourceHandler handler)
+        {
+            while (!stopped.get())
+            {
+                int i = next.getAndIncrement();
+                if (i >= sources.length)
+                    return;
+                if (edge_weights == null)
+                    breadthFirst(sources[i]);
+                else
+                    dijkstra(sources[i]);
+                if (!handler.handleSource(sources[i], distance))
+                    stopped.set(true);
+                for (int j = 0; j < reached_count; j++)
+                    distance[reached[j]] = Double.POSITIVE_INFINITY;
+            }
+        }
+
+        private void breadthFirst(int source)
+        {
+            distance[source] = 0;
+            reached[0] = source;
+            reached_count = 1;
+            for (int head = 0; head < reached_count; head++)
+            {
+                int v = reached[head];
+                double next_distance = distance[v] + 1;
+                for (int i = 0, count = graph.getOutEdgeCount(v); i < count; i++)
+                {
+                    int w = graph.getOppositeIndex(v, graph.getOutEdgeIndex(v, i));
+                    if (distance[w] == Double.POSITIVE_INFINITY)
+                    {
+                        distance[w] = next_distance;
+                        reached[reached_count++] = w;
+                    }
+                }
+            }
+        }
+
+        private void dijkstra(int source)
+        {
+            distance[source] = 0;
+            reached[0] = source;
+            reached_count = 1;
+            queue.add(source, 0);
+            while (!queue.isEmpty())
+            {
+                int v = queue.poll();
+                for (int i = 0, count = graph.getOutEdgeCount(v); i < count; i++)
+                {
+                    int e = graph.getOutEdgeIndex(v, i);
+                    int w = graph.getOppositeIndex(v, e);
+                    double new_distance = distance[v] + edge_weights[e];
+                    if (new_distance < distance[w])
+                    {
+                        if (distance[w] == Double.POSITIVE_INFINITY)
+                        {
+                            reached[reached_count++] = w;
+                            distance[w] = new_distance;
+                            queue.add(w, new_distance);
+                        }
+                        else
+                        {
+                            // w is still in the queue, since every settled vertex
+                            // is at least as close as v
+                            distance[w] = new_distance;
+                            queue.decreaseKey(w, new_distance);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
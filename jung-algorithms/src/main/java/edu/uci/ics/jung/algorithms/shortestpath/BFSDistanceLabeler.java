@@ -18,6 +18,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.collections15.Closure;
+
 import edu.uci.ics.jung.graph.Hypergraph;
 
 /**
@@ -115,19 +117,17 @@ public class BFSDistanceLabeler<V, E> {
 
         initialize(graph,rootSet);
 
-        int distance = 1;
+        SuccessorVisitor visitor = new SuccessorVisitor();
+        visitor.distance = 1;
         while (true) {
-            List<V> newList = new ArrayList<V>();
+            visitor.newList = new ArrayList<V>();
             for(V currentVertex : mCurrentList) {
-            	if(graph.containsVertex(currentVertex)) {
-            		for(V next : graph.getSuccessors(currentVertex)) {
-            			visitNewVertex(currentVertex,next, distance, newList);
-            		}
-            	}
+            	visitor.currentVertex = currentVertex;
+            	graph.forEachSuccessor(currentVertex, visitor);
             }
-            if (newList.size() == 0) break;
-            mCurrentList = newList;
-            distance++;
+            if (visitor.newList.size() == 0) break;
+            mCurrentList = visitor.newList;
+            visitor.distance++;
         }
 
         for(V v : mUnvisitedVertices) {
@@ -159,6 +159,20 @@ public class BFSDistanceLabeler<V, E> {
         }
     }
 
+    /**
+     * Visits the successors of <code>currentVertex</code> without copying them;
+     * reused across the whole traversal.
+     */
+    private class SuccessorVisitor implements Closure<V> {
+        V currentVertex;
+        int distance;
+        List<V> newList;
+
+        public void execute(V next) {
+            visitNewVertex(currentVertex, next, distance, newList);
+        }
+    }
+
     /**
      * Returns a map from vertices to minimum distances from the original source(s).
      * Must be called after {@code labelDistances} in order to contain valid data.
@@ -0,0 +1,238 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.ConstantTransformer;
+
+import edu.uci.ics.jung.algorithms.util.MapBinaryHeap;
+import edu.uci.ics.jung.graph.Graph;
+
+/**
+ * Calculates the distance and a shortest path between a single pair of
+ * vertices by running Dijkstra's algorithm forward from the source (along
+ * out-edges) and backward from the target (along in-edges) at the same time,
+ * and stopping as soon as the two searches meet on a shortest path.  This
+ * typically examines far fewer vertices than a one-sided search, and
+ * nothing is retained between queries.  All edge weights must be
+ * nonnegative.
+ *
+ * <p>The single-source methods <code>getDistanceMap</code> and
+ * <code>getIncomingEdgeMap</code> cannot take advantage of a target, and
+ * are answered by an uncached <code>DijkstraShortestPath</code>.
+ *
+ * @see AStarShortestPath
+ * @see DijkstraShortestPath
+ */
+public class BidirectionalDijkstraShortestPath<V,E> implements Distance<V>, ShortestPath<V,E>
+{
+    protected Graph<V,E> g;
+    protected Transformer<E,? extends Number> nev;
+
+    /**
+     * Creates an instance for the specified graph and edge weights.
+     * @param g     the graph on which distances will be calculated
+     * @param nev   the class responsible for returning weights for edges
+     */
+    public BidirectionalDijkstraShortestPath(Graph<V,E> g, Transformer<E,? extends Number> nev)
+    {
+        this.g = g;
+        this.nev = nev;
+    }
+
+    /**
+     * Creates an instance for the specified unweighted graph (that is, all weights 1).
+     * @param g     the graph on which distances will be calculated
+     */
+    @SuppressWarnings("unchecked")
+    public BidirectionalDijkstraShortestPath(Graph<V,E> g)
+    {
+        this(g, new ConstantTransformer(1));
+    }
+
+    /**
+     * Returns the length of a shortest path from <code>source</code> to
+     * <code>target</code>, or <code>null</code> if <code>target</code> is not
+     * reachable from <code>source</code>.
+     * @throws IllegalArgumentException if either vertex is not in the graph
+     */
+    public Number getDistance(V source, V target)
+    {
+        Search search = new Search(source, target);
+        return search.meeting == null ? null : search.best;
+    }
+
+    /**
+     * Returns the edges on a shortest path from <code>source</code> to
+     * <code>target</code>, in order, or an empty list if <code>target</code>
+     * is not reachable from <code>source</code> (or is <code>source</code>).
+     * @throws IllegalArgumentException if either vertex is not in the graph
+     */
+    public List<E> getPath(V source, V target)
+    {
+        return new Search(source, target).getPath();
+    }
+
+    public Map<V,Number> getDistanceMap(V source)
+    {
+        return new DijkstraShortestPath<V,E>(g, nev, false).getDistanceMap(source);
+    }
+
+    public Map<V,E> getIncomingEdgeMap(V source)
+    {
+        return new DijkstraShortestPath<V,E>(g, nev, false).getIncomingEdgeMap(source);
+    }
+
+    /**
+     * One direction of a bidirectional search.
+     */
+    private class Frontier
+    {
+        final boolean forward;
+        final Map<V,Double> distances = new HashMap<V,Double>();
+        final Map<V,E> edges = new HashMap<V,E>();     // edge by which each vertex was reached
+        final Set<V> settled = new HashSet<V>();
+        final MapBinaryHeap<V> queue;
+
+        Frontier(V start, boolean forward)
+        {
+            this.forward = forward;
+            queue = new MapBinaryHeap<V>(new Comparator<V>()
+            {
+                public int compare(V v1, V v2)
+                {
+                    return distances.get(v1).compareTo(distances.get(v2));
+                }
+            });
+            distances.put(start, 0.0);
+            queue.add(start);
+        }
+
+        double peekDistance()
+        {
+            return distances.get(queue.peek());
+        }
+
+        Collection<E> edgesFrom(V v)
+        {
+            return forward ? g.getOutEdges(v) : g.getInEdges(v);
+        }
+    }
+
+    /**
+     * A single bidirectional query.  On completion <code>meeting</code> is
+     * the vertex at which the shortest path found passes from the forward
+     * search to the backward search, or <code>null</code> if there is no path.
+     */
+    private class Search
+    {
+        private final V source;
+        private final V target;
+        private final Frontier forward;
+        private final Frontier backward;
+        double best = Double.POSITIVE_INFINITY;
+        V meeting;
+
+        Search(V source, V target)
+        {
+            if (!g.containsVertex(source))
+                throw new IllegalArgumentException("Specified source vertex " +
+                        source + " is not part of graph " + g);
+            if (!g.containsVertex(target))
+                throw new IllegalArgumentException("Specified target vertex " +
+                        target + " is not part of graph " + g);
+            this.source = source;
+            this.target = target;
+            forward = new Frontier(source, true);
+            backward = new Frontier(target, false);
+            if (source.equals(target))
+            {
+                best = 0;
+                meeting = source;
+                return;
+            }
+            // once the closest unsettled vertices of the two searches are
+            // together at least as far apart as the best path seen so far,
+            // no shorter path can be found
+            while (!forward.queue.isEmpty() && !backward.queue.isEmpty() &&
+                    forward.peekDistance() + backward.peekDistance() < best)
+            {
+                if (forward.queue.size() <= backward.queue.size())
+                    expand(forward, backward);
+                else
+                    expand(backward, forward);
+            }
+        }
+
+        private void expand(Frontier frontier, Frontier other)
+        {
+            V v = frontier.queue.remove();
+            frontier.settled.add(v);
+            double v_dist = frontier.distances.get(v);
+            for (E e : frontier.edgesFrom(v))
+            {
+                V w = g.getOpposite(v, e);
+                if (frontier.settled.contains(w))
+                    continue;
+                double edge_weight = nev.transform(e).doubleValue();
+                if (edge_weight < 0)
+                    throw new IllegalArgumentException("Edges weights must be non-negative");
+                double new_dist = v_dist + edge_weight;
+                Double w_dist = frontier.distances.get(w);
+                if (w_dist == null || new_dist < w_dist)
+                {
+                    frontier.distances.put(w, new_dist);
+                    frontier.edges.put(w, e);
+                    if (w_dist == null)
+                        frontier.queue.add(w);
+                    else
+                        frontier.queue.update(w);
+                    Double other_dist = other.distances.get(w);
+                    if (other_dist != null && new_dist + other_dist < best)
+                    {
+                        best = new_dist + other_dist;
+                        meeting = w;
+                    }
+                }
+            }
+        }
+
+        List<E> getPath()
+        {
+            LinkedList<E> path = new LinkedList<E>();
+            if (meeting == null)
+                return path;
+            for (V v = meeting; !v.equals(source); )
+            {
+                E e = forward.edges.get(v);
+                path.addFirst(e);
+                v = g.getOpposite(v, e);
+            }
+            for (V v = meeting; !v.equals(target); )
+            {
+                E e = backward.edges.get(v);
+                path.addLast(e);
+                v = g.getOpposite(v, e);
+            }
+            return path;
+        }
+    }
+}
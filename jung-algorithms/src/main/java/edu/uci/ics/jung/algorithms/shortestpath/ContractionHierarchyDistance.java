@@ -0,0 +1,608 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.ConstantTransformer;
+
+import edu.uci.ics.jung.algorithms.util.IndexedDaryHeap;
+import edu.uci.ics.jung.algorithms.util.IntPriorityQueue;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.util.IdDictionary;
+import edu.uci.ics.jung.graph.util.Pair;
+
+/**
+ * A distance oracle for a static graph with nonnegative edge weights,
+ * based on <i>contraction hierarchies</i>.
+ *
+ * <p>When an instance is created, the vertices are ranked, and then
+ * removed ("contracted") one at a time in order of rank; whenever removing
+ * a vertex would lengthen the shortest path between two of its neighbors,
+ * a <i>shortcut</i> edge with the length of that path is added between them.
+ * Afterwards the distance between any two vertices is the length of a path
+ * that first climbs and then descends in rank, so that a query need only
+ * run a Dijkstra search upward from the source and another upward (along
+ * reversed edges) from the target.  These searches typically examine a few
+ * hundred vertices even on graphs with millions of vertices, such as road
+ * networks; preprocessing takes time roughly proportional to the size of
+ * the graph for such graphs, but can be much slower (and add many shortcuts)
+ * for graphs, such as social networks, that have no hierarchical structure.
+ *
+ * <p>Distances are measured along out-edges, as by <code>DijkstraDistance</code>.
+ * The graph and edge weights are read only when the instance is created;
+ * later changes to them are not reflected.  Instances are
+ * <code>Serializable</code> (provided that the vertices are), so the
+ * preprocessing may be saved and reused, and queries may be made from
+ * several threads at once.
+ *
+ * @see DijkstraDistance
+ * @see BidirectionalDijkstraShortestPath
+ */
+@SuppressWarnings("serial")
+public class ContractionHierarchyDistance<V> implements Distance<V>, Serializable
+{
+    /**
+     * The maximum number of vertices settled by each search for a path
+     * that makes a shortcut unnecessary.  If no such path is found within
+     * this limit the shortcut is added, which is never incorrect but makes
+     * queries slower.
+     */
+    protected static final int WITNESS_SETTLE_LIMIT = 500;
+
+    protected final IdDictionary<V> vertices;
+    protected final int[] order;            // vertex ids, in order of rank
+
+    // arcs to higher-ranked vertices, by tail
+    protected final int[] up_offsets;
+    protected final int[] up_heads;
+    protected final double[] up_weights;
+
+    // arcs from higher-ranked vertices, by head (their tails are in down_tails)
+    protected final int[] down_offsets;
+    protected final int[] down_tails;
+    protected final double[] down_weights;
+
+    private transient ThreadLocal<QueryState> query_state;
+
+    /**
+     * Preprocesses <code>graph</code>, whose edges are weighted by <code>nev</code>.
+     * @param graph the graph on which distances will be calculated
+     * @param nev the class responsible for returning weights for edges
+     * @throws IllegalArgumentException if any edge weight is negative
+     */
+    public <E> ContractionHierarchyDistance(Graph<V,E> graph, Transformer<E,? extends Number> nev)
+    {
+        int n = graph.getVertexCount();
+        vertices = new IdDictionary<V>(n);
+        for (V v : graph.getVertices())
+            vertices.add(v);
+        Contractor contractor = new Contractor(n);
+        for (E e : graph.getEdges())
+        {
+            double weight = nev.transform(e).doubleValue();
+            if (weight < 0)
+                throw new IllegalArgumentException("Edges weights must be non-negative");
+            Pair<V> endpoints = graph.getEndpoints(e);
+            int v1 = vertices.getId(endpoints.getFirst());
+            int v2 = vertices.getId(endpoints.getSecond());
+            // an edge is traversable from v to w if it is an out-edge of v
+            if (graph.getOutEdges(endpoints.getFirst()).contains(e))
+                contractor.addArc(v1, v2, weight);
+            if (graph.getOutEdges(endpoints.getSecond()).contains(e))
+                contractor.addArc(v2, v1, weight);
+        }
+        int[] rank = contractor.contractAll();
+
+        order = new int[n];
+        for (int v = 0; v < n; v++)
+            order[rank[v]] = v;
+        up_offsets = new int[n + 1];
+        down_offsets = new int[n + 1];
+        for (int v = 0; v < n; v++)
+        {
+            up_offsets[v + 1] = up_offsets[v] + contractor.out[v].countHigher(rank, rank[v]);
+            down_offsets[v + 1] = down_offsets[v] + contractor.in[v].countHigher(rank, rank[v]);
+        }
+        up_heads = new int[up_offsets[n]];
+        up_weights = new double[up_offsets[n]];
+        down_tails = new int[down_offsets[n]];
+        down_weights = new double[down_offsets[n]];
+        for (int v = 0; v < n; v++)
+        {
+            contractor.out[v].copyHigher(rank, rank[v], up_heads, up_weights, up_offsets[v]);
+            contractor.in[v].copyHigher(rank, rank[v], down_tails, down_weights, down_offsets[v]);
+        }
+        query_state = createQueryState();
+    }
+
+    /**
+     * Preprocesses <code>graph</code>, treating it as unweighted (that is,
+     * all weights 1).
+     * @param graph the graph on which distances will be calculated
+     */
+    @SuppressWarnings("unchecked")
+    public <E> ContractionHierarchyDistance(Graph<V,E> graph)
+    {
+        this(graph, new ConstantTransformer(1));
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        query_state = createQueryState();
+    }
+
+    private ThreadLocal<QueryState> createQueryState()
+    {
+        return new ThreadLocal<QueryState>()
+        {
+            @Override
+            protected QueryState initialValue()
+            {
+                return new QueryState(vertices.size());
+            }
+        };
+    }
+
+    /**
+     * Returns the number of arcs, including shortcuts, in the hierarchy.
+     */
+    public int getArcCount()
+    {
+        return up_heads.length + down_tails.length;
+    }
+
+    private int vertexId(V vertex, String role)
+    {
+        int v = vertices.getId(vertex);
+        if (v < 0)
+            throw new IllegalArgumentException("Specified " + role + " vertex " +
+                    vertex + " is not part of the graph");
+        return v;
+    }
+
+    /**
+     * Returns the length of a shortest path from <code>source</code> to
+     * <code>target</code>, or <code>null</code> if <code>target</code> is not
+     * reachable from <code>source</code>.
+     * @throws IllegalArgumentException if either vertex was not in the graph
+     */
+    public Number getDistance(V source, V target)
+    {
+        int s = vertexId(source, "source");
+        int t = vertexId(target, "target");
+        double distance = query_state.get().query(s, t);
+        return distance == Double.POSITIVE_INFINITY ? null : distance;
+    }
+
+    /**
+     * Returns a map from each vertex reachable from <code>source</code>
+     * (including <code>source</code>) to its distance from <code>source</code>,
+     * whose iterator returns the vertices in order of nondecreasing distance.
+     * The distances are found by an upward search from <code>source</code>
+     * followed by a single downward sweep over the vertices.
+     * @throws IllegalArgumentException if <code>source</code> was not in the graph
+     */
+    public Map<V,Number> getDistanceMap(V source)
+    {
+        int s = vertexId(source, "source");
+        final double[] distances = query_state.get().distancesFrom(s);
+        Integer[] reached = new Integer[distances.length];
+        int reached_count = 0;
+        for (int v = 0; v < distances.length; v++)
+            if (distances[v] != Double.POSITIVE_INFINITY)
+                reached[reached_count++] = v;
+        Arrays.sort(reached, 0, reached_count, new Comparator<Integer>()
+        {
+            public int compare(Integer v1, Integer v2)
+            {
+                return Double.compare(distances[v1], distances[v2]);
+            }
+        });
+        Map<V,Number> distance_map = new LinkedHashMap<V,Number>();
+        for (int i = 0; i < reached_count; i++)
+            distance_map.put(vertices.get(reached[i]), distances[reached[i]]);
+        return distance_map;
+    }
+
+    /**
+     * The search state of the queries made by one thread.  Entries of the
+     * distance arrays are valid only if their stamp is the current one,
+     * so that they need not be cleared between queries.
+     */
+    private class QueryState
+    {
+        private final double[] forward_distances;
+        private final double[] backward_distances;
+        private final int[] forward_stamps;
+        private final int[] backward_stamps;
+        private final IntPriorityQueue forward_queue;
+        private final IntPriorityQueue backward_queue;
+        private int stamp;
+
+        QueryState(int n)
+        {
+            forward_distances = new double[n];
+            backward_distances = new double[n];
+            forward_stamps = new int[n];
+            backward_stamps = new int[n];
+            forward_queue = new IndexedDaryHeap(n);
+            backward_queue = new IndexedDaryHeap(n);
+        }
+
+        private void nextStamp()
+        {
+            if (++stamp == Integer.MAX_VALUE)
+            {
+                Arrays.fill(forward_stamps, 0);
+                Arrays.fill(backward_stamps, 0);
+                stamp = 1;
+            }
+            forward_queue.clear();
+            backward_queue.clear();
+        }
+
+        double query(int s, int t)
+        {
+            if (s == t)
+                return 0;
+            nextStamp();
+            forward_distances[s] = 0;
+            forward_stamps[s] = stamp;
+            forward_queue.add(s, 0);
+            backward_distances[t] = 0;
+            backward_stamps[t] = stamp;
+            backward_queue.add(t, 0);
+            double best = Double.POSITIVE_INFINITY;
+            while (!forward_queue.isEmpty() || !backward_queue.isEmpty())
+            {
+                boolean forward = backward_queue.isEmpty() || (!forward_queue.isEmpty() &&
+                        forward_queue.peekKey() <= backward_queue.peekKey());
+                IntPriorityQueue queue = forward ? forward_queue : backward_queue;
+                // a search may stop once it cannot improve on the best path
+                if (queue.peekKey() >= best)
+                {
+                    queue.clear();
+                    continue;
+                }
+                int v = queue.poll();
+                double[] distances = forward ? forward_distances : backward_distances;
+                int[] stamps = forward ? forward_stamps : backward_stamps;
+                int[] other_stamps = forward ? backward_stamps : forward_stamps;
+                if (other_stamps[v] == stamp)
+                {
+                    double[] other_distances = forward ? backward_distances : forward_distances;
+                    best = Math.min(best, distances[v] + other_distances[v]);
+                }
+                int[] offsets = forward ? up_offsets : down_offsets;
+                int[] heads = forward ? up_heads : down_tails;
+                double[] weights = forward ? up_weights : down_weights;
+                for (int i = offsets[v]; i < offsets[v + 1]; i++)
+                {
+                    int w = heads[i];
+                    double new_distance = distances[v] + weights[i];
+                    if (stamps[w] != stamp)
+                    {
+                        stamps[w] = stamp;
+                        distances[w] = new_distance;
+                        queue.add(w, new_distance);
+                    }
+                    else if (new_distance < distances[w])
+                    {
+                        distances[w] = new_distance;
+                        queue.decreaseKey(w, new_distance);
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Returns the distances from <code>s</code> to every vertex, in a
+         * new array.
+         */
+        double[] distancesFrom(int s)
+        {
+            nextStamp();
+            // upward search, with no early termination
+            forward_distances[s] = 0;
+            forward_stamps[s] = stamp;
+            forward_queue.add(s, 0);
+            while (!forward_queue.isEmpty())
+            {
+                int v = forward_queue.poll();
+                for (int i = up_offsets[v]; i < up_offsets[v + 1]; i++)
+                {
+                    int w = up_heads[i];
+                    double new_distance = forward_distances[v] + up_weights[i];
+                    if (forward_stamps[w] != stamp)
+                    {
+                        forward_stamps[w] = stamp;
+                        forward_distances[w] = new_distance;
+                        forward_queue.add(w, new_distance);
+                    }
+                    else if (new_distance < forward_distances[w])
+                    {
+                        forward_distances[w] = new_distance;
+                        forward_queue.decreaseKey(w, new_distance);
+                    }
+                }
+            }
+            // downward sweep: each vertex is reached from higher-ranked vertices,
+            // whose distances are final by the time it is visited
+            double[] distances = new double[order.length];
+            for (int r = order.length - 1; r >= 0; r--)
+            {
+                int v = order[r];
+                double distance = forward_stamps[v] == stamp ?
+                        forward_distances[v] : Double.POSITIVE_INFINITY;
+                for (int i = down_offsets[v]; i < down_offsets[v + 1]; i++)
+                    distance = Math.min(distance, distances[down_tails[i]] + down_weights[i]);
+                distances[v] = distance;
+            }
+            return distances;
+        }
+    }
+
+    /**
+     * A growable list of arcs from (or to) one vertex, with at most one
+     * arc, the lightest, to (or from) each other vertex.
+     */
+    private static class ArcList
+    {
+        int[] ends = new int[4];
+        double[] weights = new double[4];
+        int size;
+
+        /**
+         * Adds an arc to <code>end</code>, or lowers the weight of the
+         * existing one; returns <code>true</code> if an arc was added.
+         */
+        boolean relax(int end, double weight)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                if (ends[i] == end)
+                {
+                    if (weight < weights[i])
+                        weights[i] = weight;
+                    return false;
+                }
+            }
+            if (size == ends.length)
+            {
+                int[] new_ends = new int[2 * size];
+                double[] new_weights = new double[2 * size];
+                System.arraycopy(ends, 0, new_ends, 0, size);
+                System.arraycopy(weights, 0, new_weights, 0, size);
+                ends = new_ends;
+                weights = new_weights;
+            }
+            ends[size] = end;
+            weights[size++] = weight;
+            return true;
+        }
+
+        int countHigher(int[] rank, int min_rank)
+        {
+            int count = 0;
+            for (int i = 0; i < size; i++)
+                if (rank[ends[i]] > min_rank)
+                    count++;
+            return count;
+        }
+
+        void copyHigher(int[] rank, int min_rank, int[] to_ends, double[] to_weights, int offset)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                if (rank[ends[i]] > min_rank)
+                {
+                    to_ends[offset] = ends[i];
+                    to_weights[offset++] = weights[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * The state used while building the hierarchy.  Arcs are never removed;
+     * arcs incident to contracted vertices are instead ignored.
+     */
+    private static class Contractor
+    {
+        final ArcList[] out;
+        final ArcList[] in;
+        private final boolean[] contracted;
+        private final int[] contracted_neighbors;
+
+        private final double[] witness_distances;
+        private final int[] witness_stamps;
+        private final IntPriorityQueue witness_queue;
+        private int witness_stamp;
+
+        Contractor(int n)
+        {
+            out = new ArcList[n];
+            in = new ArcList[n];
+            for (int v = 0; v < n; v++)
+            {
+                out[v] = new ArcList();
+                in[v] = new ArcList();
+            }
+            contracted = new boolean[n];
+            contracted_neighbors = new int[n];
+            witness_distances = new double[n];
+            witness_stamps = new int[n];
+            witness_queue = new IndexedDaryHeap(n);
+        }
+
+        void addArc(int tail, int head, double weight)
+        {
+            if (tail == head)   // self-loops never shorten a path
+                return;
+            out[tail].relax(head, weight);
+            in[head].relax(tail, weight);
+        }
+
+        /**
+         * Contracts every vertex, and returns the rank of each vertex.
+         * Vertices are contracted in order of increasing <i>edge difference</i>
+         * (the number of shortcuts that contracting them would add, less the
+         * number of arcs that it would remove) plus the number of neighbors
+         * already contracted; priorities are recomputed when a vertex is
+         * about to be contracted, and for its neighbors once it has been.
+         * A neighbor whose priority has fallen is moved up the queue at once;
+         * one whose priority has risen keeps its place until it reaches the
+         * front, where its priority is checked again.
+         */
+        int[] contractAll()
+        {
+            int n = out.length;
+            int[] rank = new int[n];
+            IntPriorityQueue queue = new IndexedDaryHeap(n);
+            for (int v = 0; v < n; v++)
+                queue.add(v, priority(v));
+            int next_rank = 0;
+            while (!queue.isEmpty())
+            {
+                int v = queue.poll();
+                double priority = priority(v);
+                if (!queue.isEmpty() && priority > queue.peekKey())
+                {
+                    queue.add(v, priority);
+                    continue;
+                }
+                contract(v, false);
+                contracted[v] = true;
+                rank[v] = next_rank++;
+                updateNeighbors(out[v], queue);
+                updateNeighbors(in[v], queue);
+            }
+            return rank;
+        }
+
+        private void updateNeighbors(ArcList arcs, IntPriorityQueue queue)
+        {
+            for (int i = 0; i < arcs.size; i++)
+            {
+                int w = arcs.ends[i];
+                if (contracted[w])
+                    continue;
+                contracted_neighbors[w]++;
+                double priority = priority(w);
+                if (priority < queue.getKey(w))
+                    queue.decreaseKey(w, priority);
+            }
+        }
+
+        private double priority(int v)
+        {
+            int removed = 0;
+            for (int i = 0; i < out[v].size; i++)
+                if (!contracted[out[v].ends[i]])
+                    removed++;
+            for (int i = 0; i < in[v].size; i++)
+                if (!contracted[in[v].ends[i]])
+                    removed++;
+            return contract(v, true) - removed + contracted_neighbors[v];
+        }
+
+        /**
+         * Finds the shortcuts needed to contract <code>v</code>, adds them unless
+         * <code>simulate</code> is <code>true</code>, and returns their number.
+         */
+        private int contract(int v, boolean simulate)
+        {
+            int shortcuts = 0;
+            ArcList ins = in[v];
+            ArcList outs = out[v];
+            for (int i = 0; i < ins.size; i++)
+            {
+                int u = ins.ends[i];
+                if (contracted[u])
+                    continue;
+                double max_distance = 0;
+                for (int j = 0; j < outs.size; j++)
+                    if (!contracted[outs.ends[j]] && outs.ends[j] != u)
+                        max_distance = Math.max(max_distance, ins.weights[i] + outs.weights[j]);
+                if (max_distance == 0 && outs.size == 0)
+                    continue;
+                witnessSearch(u, v, max_distance);
+                for (int j = 0; j < outs.size; j++)
+                {
+                    int w = outs.ends[j];
+                    if (contracted[w] || w == u)
+                        continue;
+                    double via = ins.weights[i] + outs.weights[j];
+                    double witness = witness_stamps[w] == witness_stamp ?
+                            witness_distances[w] : Double.POSITIVE_INFINITY;
+                    if (witness > via)
+                    {
+                        shortcuts++;
+                        if (!simulate)
+                            addArc(u, w, via);
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        /**
+         * Runs a bounded Dijkstra search from <code>source</code> among the
+         * uncontracted vertices other than <code>avoid</code>.  Afterwards
+         * the vertices that were reached have (upper bounds on) their
+         * distances recorded under the current witness stamp.
+         */
+        private void witnessSearch(int source, int avoid, double max_distance)
+        {
+            witness_stamp++;
+            witness_queue.clear();
+            witness_distances[source] = 0;
+            witness_stamps[source] = witness_stamp;
+            witness_queue.add(source, 0);
+            int settled = 0;
+            while (!witness_queue.isEmpty() && witness_queue.peekKey() <= max_distance &&
+                    settled++ < WITNESS_SETTLE_LIMIT)
+            {
+                int x = witness_queue.poll();
+                ArcList arcs = out[x];
+                for (int i = 0; i < arcs.size; i++)
+                {
+                    int y = arcs.ends[i];
+                    if (contracted[y] || y == avoid)
+                        continue;
+                    double new_distance = witness_distances[x] + arcs.weights[i];
+                    if (witness_stamps[y] != witness_stamp)
+                    {
+                        witness_stamps[y] = witness_stamp;
+                        witness_distances[y] = new_distance;
+                        witness_queue.add(y, new_distance);
+                    }
+                    else if (new_distance < witness_distances[y] && witness_queue.contains(y))
+                    {
+                        witness_distances[y] = new_distance;
+                        witness_queue.decreaseKey(y, new_distance);
+                    }
+                }
+            }
+        }
+    }
+}
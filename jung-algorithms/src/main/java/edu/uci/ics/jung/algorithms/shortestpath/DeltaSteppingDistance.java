@@ -0,0 +1,491 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.ConstantTransformer;
+
+import edu.uci.ics.jung.algorithms.util.Indexer;
+import edu.uci.ics.jung.algorithms.util.WorkerPool;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.IndexedGraph;
+
+/**
+ * Calculates single-source shortest path distances using the parallel
+ * <i>delta-stepping</i> algorithm, which spreads the work of a single
+ * search over several threads.
+ *
+ * <p>Vertices are kept in buckets of width <i>delta</i> by tentative distance.
+ * The lowest nonempty bucket is emptied in <i>phases</i>: in each phase the
+ * <i>light</i> edges (those with weight at most <i>delta</i>) from all the
+ * vertices in the bucket are relaxed in parallel, and any vertex whose
+ * distance decreases but stays in the bucket is processed again in the next
+ * phase.  Once the bucket stays empty, the <i>heavy</i> edges from the
+ * vertices removed from it are relaxed in parallel, and the next bucket is
+ * processed.  As <i>delta</i> approaches 0 this becomes Dijkstra's
+ * algorithm; with large <i>delta</i>, it is the Bellman-Ford algorithm.
+ * The default <i>delta</i> is the mean of the positive edge weights.
+ *
+ * <p>The maps returned by <code>getDistanceMap</code> are as returned by
+ * <code>DijkstraDistance</code>: they contain the vertices reachable from
+ * the source (including the source), in order of nondecreasing distance,
+ * and are cached until <code>reset</code> is called.  Distances are
+ * measured along out-edges.  All edge weights must be nonnegative.
+ *
+ * <p>The vertex indices and edge weights are taken when this instance is
+ * created (using <code>Indexer.createIndexedGraph(graph)</code>); the graph
+ * should not be modified while this instance is in use.  The threads are
+ * kept from one search to the next (see <code>WorkerPool</code>) until
+ * <code>shutdown</code> is called, or may be supplied by the caller with
+ * <code>setExecutor</code>.
+ *
+ * @see "Ulrich Meyer and Peter Sanders: Delta-stepping: a parallelizable shortest path algorithm. Journal of Algorithms 49(1):114-152, 2003."
+ * @see DijkstraDistance
+ */
+public class DeltaSteppingDistance<V,E> implements Distance<V>
+{
+    /**
+     * Sets of vertices smaller than this are relaxed by the calling thread.
+     */
+    protected static final int MIN_PARALLEL_SIZE = 256;
+
+    /**
+     * The number of vertices claimed at a time by each thread.
+     */
+    private static final int CHUNK_SIZE = 64;
+
+    protected final IndexedGraph<V,E> graph;
+    protected final double[] edge_weights;
+    protected final double delta;
+    protected int parallelism;
+    protected Map<V,Map<V,Number>> distance_maps = new HashMap<V,Map<V,Number>>();
+    private final WorkerPool workers = new WorkerPool();
+
+    /**
+     * Creates an instance for the specified graph and edge weights, with
+     * the default bucket width.
+     * @param graph the graph on which distances will be calculated
+     * @param nev the class responsible for returning weights for edges
+     * @throws IllegalArgumentException if any edge weight is negative
+     */
+    public DeltaSteppingDistance(Graph<V,E> graph, Transformer<E,? extends Number> nev)
+    {
+        this(graph, nev, -1);
+    }
+
+    /**
+     * Creates an instance for the specified graph, edge weights, and
+     * bucket width.
+     * @param graph the graph on which distances will be calculated
+     * @param nev the class responsible for returning weights for edges
+     * @param delta the width of the buckets, or a negative value for the default
+     * @throws IllegalArgumentException if any edge weight is negative, or
+     * <code>delta</code> is 0
+     */
+    public DeltaSteppingDistance(Graph<V,E> graph, Transformer<E,? extends Number> nev, double delta)
+    {
+        if (delta == 0)
+            throw new IllegalArgumentException("delta must be positive");
+        this.graph = Indexer.createIndexedGraph(graph);
+        this.edge_weights = new double[graph.getEdgeCount()];
+        double positive_total = 0;
+        int positive_count = 0;
+        for (int e = 0; e < edge_weights.length; e++)
+        {
+            edge_weights[e] = nev.transform(this.graph.getEdge(e)).doubleValue();
+            if (edge_weights[e] < 0)
+                throw new IllegalArgumentException("Edges weights must be non-negative");
+            if (edge_weights[e] > 0)
+            {
+                positive_total += edge_weights[e];
+                positive_count++;
+            }
+        }
+        if (delta < 0)
+            delta = positive_count == 0 ? 1 : positive_total / positive_count;
+        this.delta = delta;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Creates an instance for the specified unweighted graph (that is, all
+     * weights 1).
+     * @param graph the graph on which distances will be calculated
+     */
+    @SuppressWarnings("unchecked")
+    public DeltaSteppingDistance(Graph<V,E> graph)
+    {
+        this(graph, new ConstantTransformer(1));
+    }
+
+    /**
+     * Sets the number of threads used by each search; the default is the
+     * number of available processors.  If <code>parallelism</code> is 1,
+     * searches are run entirely by the calling thread.
+     */
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the number of threads used by each search.
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Sets the executor on which the work of each search is run, or
+     * <code>null</code> (the default) to use threads created by this instance.
+     * This instance does not shut down <code>executor</code>.
+     */
+    public void setExecutor(ExecutorService executor)
+    {
+        workers.setExecutor(executor);
+    }
+
+    /**
+     * Releases the threads created by this instance, if any.  They are
+     * created again if another search is run in parallel.
+     */
+    public void shutdown()
+    {
+        workers.shutdown();
+    }
+
+    /**
+     * Returns the width of the buckets.
+     */
+    public double getDelta()
+    {
+        return delta;
+    }
+
+    /**
+     * Returns the length of a shortest path from <code>source</code> to
+     * <code>target</code>, or <code>null</code> if <code>target</code> is not
+     * reachable from <code>source</code>.
+     * @throws IllegalArgumentException if either vertex is not in the graph
+     */
+    public Number getDistance(V source, V target)
+    {
+        if (graph.getVertexIndex(target) < 0)
+            throw new IllegalArgumentException("Specified target vertex " +
+                    target + " is not part of graph " + graph);
+        return getDistanceMap(source).get(target);
+    }
+
+    /**
+     * Returns a <code>LinkedHashMap</code> which maps each vertex reachable
+     * from <code>source</code> (including <code>source</code>) to its distance
+     * from <code>source</code>, whose iterator returns the vertices in order
+     * of nondecreasing distance.
+     * @throws IllegalArgumentException if <code>source</code> is not in the graph
+     */
+    public Map<V,Number> getDistanceMap(V source)
+    {
+        Map<V,Number> distance_map = distance_maps.get(source);
+        if (distance_map == null)
+        {
+            int s = graph.getVertexIndex(source);
+            if (s < 0)
+                throw new IllegalArgumentException("Specified source vertex " +
+                        source + " is not part of graph " + graph);
+            distance_map = new Search(s).run();
+            distance_maps.put(source, distance_map);
+        }
+        return distance_map;
+    }
+
+    /**
+     * Discards all cached distances.
+     */
+    public void reset()
+    {
+        distance_maps.clear();
+    }
+
+    /**
+     * Discards the cached distances from <code>source</code>.
+     */
+    public void reset(V source)
+    {
+        distance_maps.remove(source);
+    }
+
+    /**
+     * A growable list of ints.
+     */
+    private static class IntList
+    {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value)
+        {
+            if (size == values.length)
+            {
+                int[] new_values = new int[2 * size];
+                System.arraycopy(values, 0, new_values, 0, size);
+                values = new_values;
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * The vertices found by one thread in one phase: those that remain in the
+     * current bucket, and those whose distance decreased into a later bucket.
+     */
+    private static class Output
+    {
+        final IntList next = new IntList();
+        final IntList later = new IntList();
+    }
+
+    /**
+     * A single search.  Distances are stored as the bits of nonnegative
+     * <code>double</code> values, which are ordered as the values are, so
+     * that they may be lowered by compare-and-set.
+     */
+    private class Search
+    {
+        private final int source;
+        private final AtomicLongArray distances;
+        private final AtomicIntegerArray phases;    // phase in which each vertex was last put in a frontier
+        private final int[] settled_marks;          // last bucket (serial number) from which each vertex was removed
+        private final int[] heavy_marks;            // last heavy relaxation pass which included each vertex
+        private final TreeMap<Long,IntList> buckets = new TreeMap<Long,IntList>();
+        private int phase;
+        private int bucket_serial;
+        private int heavy_serial;
+
+        Search(int source)
+        {
+            int n = graph.getVertexCount();
+            this.source = source;
+            distances = new AtomicLongArray(n);
+            long infinity = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+            for (int v = 0; v < n; v++)
+                distances.set(v, infinity);
+            phases = new AtomicIntegerArray(n);
+            settled_marks = new int[n];
+            heavy_marks = new int[n];
+        }
+
+        private double distance(int v)
+        {
+            return Double.longBitsToDouble(distances.get(v));
+        }
+
+        private long bucket(double distance)
+        {
+            return (long)(distance / delta);
+        }
+
+        Map<V,Number> run()
+        {
+            LinkedHashMap<V,Number> distance_map = new LinkedHashMap<V,Number>();
+            distances.set(source, Double.doubleToLongBits(0));
+            IntList first = new IntList();
+            first.add(source);
+            buckets.put(0L, first);
+            while (!buckets.isEmpty())
+            {
+                long b = buckets.firstKey();
+                IntList entries = buckets.remove(b);
+                // entries whose distance has since moved them to a lower bucket are stale
+                phase++;
+                IntList frontier = new IntList();
+                for (int i = 0; i < entries.size; i++)
+                {
+                    int v = entries.values[i];
+                    if (bucket(distance(v)) == b && phases.get(v) != phase)
+                    {
+                        phases.set(v, phase);
+                        frontier.add(v);
+                    }
+                }
+                bucket_serial++;
+                IntList settled = new IntList();
+                // heavy edges can only lead to later buckets, except through rounding,
+                // in which case the vertices reached are processed again
+                while (frontier.size > 0)
+                {
+                    heavy_serial++;
+                    IntList heavy = new IntList();
+                    while (frontier.size > 0)
+                    {
+                        for (int i = 0; i < frontier.size; i++)
+                        {
+                            int v = frontier.values[i];
+                            if (settled_marks[v] != bucket_serial)
+                            {
+                                settled_marks[v] = bucket_serial;
+                                settled.add(v);
+                            }
+                            if (heavy_marks[v] != heavy_serial)
+                            {
+                                heavy_marks[v] = heavy_serial;
+                                heavy.add(v);
+                            }
+                        }
+                        frontier = relax(frontier, b, true);
+                    }
+                    frontier = relax(heavy, b, false);
+                }
+                addInOrder(settled, distance_map);
+            }
+            return distance_map;
+        }
+
+        /**
+         * Adds the vertices settled from one bucket to <code>distance_map</code>,
+         * in order of distance.
+         */
+        private void addInOrder(IntList settled, Map<V,Number> distance_map)
+        {
+            Integer[] vertices = new Integer[settled.size];
+            for (int i = 0; i < settled.size; i++)
+                vertices[i] = settled.values[i];
+            Arrays.sort(vertices, new Comparator<Integer>()
+            {
+                public int compare(Integer v1, Integer v2)
+                {
+                    return Double.compare(distance(v1), distance(v2));
+                }
+            });
+            for (Integer v : vertices)
+                distance_map.put(graph.getVertex(v), distance(v));
+        }
+
+        /**
+         * Relaxes the light (or heavy) out-edges of <code>vertices</code>,
+         * which are in bucket <code>b</code>, and returns the vertices whose
+         * distances decreased but remain in bucket <code>b</code>; the others
+         * whose distances decreased are put in their new buckets.
+         */
+        private IntList relax(final IntList vertices, final long b, final boolean light)
+        {
+            final int next_phase = ++phase;
+            List<Output> outputs = new ArrayList<Output>();
+            if (parallelism == 1 || vertices.size < MIN_PARALLEL_SIZE)
+            {
+                Output output = new Output();
+                relax(vertices, 0, vertices.size, b, light, next_phase, output);
+                outputs.add(output);
+            }
+            else
+            {
+                final AtomicInteger next_chunk = new AtomicInteger();
+                List<Runnable> tasks = new ArrayList<Runnable>(parallelism);
+                for (int t = 0; t < parallelism; t++)
+                {
+                    final Output output = new Output();
+                    outputs.add(output);
+                    tasks.add(new Runnable()
+                    {
+                        public void run()
+                        {
+                            int start;
+                            while ((start = next_chunk.getAndAdd(CHUNK_SIZE)) < vertices.size)
+                                relax(vertices, start, Math.min(start + CHUNK_SIZE, vertices.size),
+                                        b, light, next_phase, output);
+                        }
+                    });
+                }
+                workers.invokeAll(tasks);
+            }
+
+            IntList next = new IntList();
+            for (Output output : outputs)
+            {
+                for (int i = 0; i < output.next.size; i++)
+                    next.add(output.next.values[i]);
+                for (int i = 0; i < output.later.size; i++)
+                {
+                    int w = output.later.values[i];
+                    long w_bucket = bucket(distance(w));
+                    if (w_bucket <= b)
+                    {
+                        if (phases.getAndSet(w, next_phase) != next_phase)
+                            next.add(w);
+                        continue;
+                    }
+                    IntList entries = buckets.get(w_bucket);
+                    if (entries == null)
+                    {
+                        entries = new IntList();
+                        buckets.put(w_bucket, entries);
+                    }
+                    entries.add(w);
+                }
+            }
+            return next;
+        }
+
+        private void relax(IntList vertices, int start, int end, long b, boolean light,
+                int next_phase, Output output)
+        {
+            for (int i = start; i < end; i++)
+            {
+                int v = vertices.values[i];
+                double v_dist = distance(v);
+                for (int j = 0, count = graph.getOutEdgeCount(v); j < count; j++)
+                {
+                    int e = graph.getOutEdgeIndex(v, j);
+                    double weight = edge_weights[e];
+                    if ((weight <= delta) != light)
+                        continue;
+                    int w = graph.getOppositeIndex(v, e);
+                    double new_dist = v_dist + weight;
+                    long new_bits = Double.doubleToLongBits(new_dist);
+                    boolean improved = false;
+                    for (long w_bits = distances.get(w); new_bits < w_bits; w_bits = distances.get(w))
+                    {
+                        if (distances.compareAndSet(w, w_bits, new_bits))
+                        {
+                            improved = true;
+                            break;
+                        }
+                    }
+                    if (!improved)
+                        continue;
+                    if (light && bucket(new_dist) == b)
+                    {
+                        if (phases.getAndSet(w, next_phase) != next_phase)
+                            output.next.add(w);
+                    }
+                    else
+                        output.later.add(w);
+                }
+            }
+        }
+    }
+}
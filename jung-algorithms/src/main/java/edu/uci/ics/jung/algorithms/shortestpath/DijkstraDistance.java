@@ -19,13 +19,18 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.collections15.Closure;
 import org.apache.commons.collections15.Transformer;
 import org.apache.commons.collections15.functors.ConstantTransformer;
 
 import edu.uci.ics.jung.algorithms.util.BasicMapEntry;
+import edu.uci.ics.jung.algorithms.util.CacheMap;
+import edu.uci.ics.jung.algorithms.util.IntPriorityQueue;
 import edu.uci.ics.jung.algorithms.util.MapBinaryHeap;
 import edu.uci.ics.jung.graph.Graph;
 import edu.uci.ics.jung.graph.Hypergraph;
+import edu.uci.ics.jung.graph.IndexedGraph;
+import edu.uci.ics.jung.graph.util.IdDictionary;
 
 /**
  * <p>Calculates distances in a specified graph, using  
@@ -55,6 +60,23 @@ import edu.uci.ics.jung.graph.Hypergraph;
  * are ordered (that is, returned 
  * by the iterator) by nondecreasing distance from <code>source</code>.</p>
  * 
+ * <p>By default the results for every source queried are kept until
+ * <code>reset</code> is called.  For long-running use, the number of
+ * sources kept may be bounded with <code>setCacheLimit</code>, in which
+ * case the results for the least recently queried sources are discarded,
+ * and the results may be held by soft reference (<code>setSoftCaching</code>),
+ * so that they are discarded when memory is short.  The effectiveness of
+ * the cache is reported by <code>getCacheHitCount</code>,
+ * <code>getCacheMissCount</code> and <code>getCacheEvictionCount</code>.</p>
+ * 
+ * <p>If the graph is an <code>IndexedGraph</code>, each source keeps its
+ * search state in arrays indexed by vertex, and edges are examined by 
+ * index rather than through <code>forEachEdgeToCheck</code>; the queue is 
+ * then an <code>IntPriorityQueue</code> (of type <code>D_ARY</code> unless
+ * another type has been specified).  Subclasses which override 
+ * <code>getEdgesToCheck</code> or <code>forEachEdgeToCheck</code> are
+ * searched through those methods instead.</p>
+ * 
  * <p>Users are cautioned that distances calculated should be assumed to
  * be invalidated by changes to the graph, and should invoke <code>reset()</code>
  * when appropriate so that the distances can be recalculated.</p>
@@ -70,6 +92,14 @@ public class DijkstraDistance<V,E> implements Distance<V>
     protected boolean cached;
     protected double max_distance;
     protected int max_targets;
+    protected IntPriorityQueue.Type queue_type;
+    private final CacheMap<V,SourceData> cache;
+    
+    /**
+     * Whether the edges checked are the default ones, so that they may be
+     * visited directly rather than through <code>getEdgesToCheck</code>.
+     */
+    private final boolean default_edges;
     
     /**
      * <p>Creates an instance of <code>DijkstraShortestPath</code> for 
@@ -84,10 +114,34 @@ public class DijkstraDistance<V,E> implements Distance<V>
     public DijkstraDistance(Hypergraph<V,E> g, Transformer<E,? extends Number> nev, boolean cached) {
         this.g = g;
         this.nev = nev;
-        this.sourceMap = new HashMap<V,SourceData>();
+        this.cache = new CacheMap<V,SourceData>();
+        this.sourceMap = cache;
         this.cached = cached;
         this.max_distance = Double.POSITIVE_INFINITY;
         this.max_targets = Integer.MAX_VALUE;
+        this.default_edges = !overrides(getClass(), "getEdgesToCheck", Object.class) &&
+            !overrides(getClass(), "forEachEdgeToCheck", Object.class, Closure.class);
+    }
+
+    /**
+     * Returns <code>true</code> if <code>type</code>, or any of its 
+     * superclasses below this class, declares the specified method.
+     */
+    private static boolean overrides(Class<?> type, String name, Class<?>... parameter_types)
+    {
+        for (Class<?> c = type; c != DijkstraDistance.class; c = c.getSuperclass())
+        {
+            try
+            {
+                c.getDeclaredMethod(name, parameter_types);
+                return true;
+            }
+            catch (NoSuchMethodException e)
+            {
+                // not declared here; try the superclass
+            }
+        }
+        return false;
     }
     
     /**
@@ -148,8 +202,18 @@ public class DijkstraDistance<V,E> implements Distance<V>
      */
     protected LinkedHashMap<V,Number> singleSourceShortestPath(V source, Collection<V> targets, int numDests)
     {
-        SourceData sd = getSourceData(source);
+        return singleSourceShortestPath(getSourceData(source), targets, numDests);
+    }
 
+    /**
+     * Extends the calculation recorded in <code>sd</code>, as described 
+     * for <code>singleSourceShortestPath(V, Collection, int)</code>.  Callers
+     * that need <code>sd</code> afterwards should retain it rather than
+     * retrieve it again from <code>sourceMap</code>, from which it may have
+     * been evicted.
+     */
+    protected LinkedHashMap<V,Number> singleSourceShortestPath(SourceData sd, Collection<V> targets, int numDests)
+    {
         Set<V> to_get = new HashSet<V>();
         if (targets != null) {
             to_get.addAll(targets);
@@ -170,7 +234,8 @@ public class DijkstraDistance<V,E> implements Distance<V>
             return sd.distances;
         }
         
-        while (!sd.unknownVertices.isEmpty() && (sd.distances.size() < numDests || !to_get.isEmpty()))
+        EdgeRelaxer relaxer = new EdgeRelaxer(sd);
+        while (sd.hasUnknownVertices() && (sd.distances.size() < numDests || !to_get.isEmpty()))
         {
             Map.Entry<V,Number> p = sd.getNextVertex();
             V v = p.getKey();
@@ -192,31 +257,80 @@ public class DijkstraDistance<V,E> implements Distance<V>
                 break;
             }
             
-            for (E e : getEdgesToCheck(v) )
+            if (sd.indexed != null)
+            {
+                relaxIndexedEdges(sd, sd.indexed.getVertexIndex(v), v_dist);
+                continue;
+            }
+            relaxer.v_dist = v_dist;
+            forEachEdgeToCheck(v, relaxer);
+        }
+        return sd.distances;
+    }
+
+    /**
+     * Updates the tentative distances of the unsettled vertices incident to 
+     * each edge it visits; reused across the whole search.
+     */
+    private class EdgeRelaxer implements Closure<E>
+    {
+        final SourceData sd;
+        double v_dist;      // the distance of the vertex whose edges are visited
+
+        EdgeRelaxer(SourceData sd)
+        {
+            this.sd = sd;
+        }
+
+        public void execute(E e)
+        {
+            for (V w : g.getIncidentVertices(e))
             {
-                for (V w : g.getIncidentVertices(e))
+                if (!sd.distances.containsKey(w))
                 {
-                    if (!sd.distances.containsKey(w))
+                    double edge_weight = nev.transform(e).doubleValue();
+                    if (edge_weight < 0)
+                        throw new IllegalArgumentException("Edges weights must be non-negative");
+                    double new_dist = v_dist + edge_weight;
+                    if (!sd.estimatedDistances.containsKey(w))
                     {
-                        double edge_weight = nev.transform(e).doubleValue();
-                        if (edge_weight < 0)
-                            throw new IllegalArgumentException("Edges weights must be non-negative");
-                        double new_dist = v_dist + edge_weight;
-                        if (!sd.estimatedDistances.containsKey(w))
-                        {
-                            sd.createRecord(w, e, new_dist);
-                        }
-                        else
-                        {
-                            double w_dist = ((Double)sd.estimatedDistances.get(w)).doubleValue();
-                            if (new_dist < w_dist) // update tentative distance & path for w
-                                sd.update(w, e, new_dist);
-                        }
+                        sd.createRecord(w, e, new_dist);
+                    }
+                    else
+                    {
+                        double w_dist = ((Double)sd.estimatedDistances.get(w)).doubleValue();
+                        if (new_dist < w_dist) // update tentative distance & path for w
+                            sd.update(w, e, new_dist);
                     }
                 }
             }
         }
-        return sd.distances;
+    }
+
+    /**
+     * Updates the tentative distances of the unsettled vertices at the
+     * other ends of the out-edges of the vertex with index <code>v</code>,
+     * whose distance from the source is <code>v_dist</code>.
+     */
+    private void relaxIndexedEdges(SourceData sd, int v, double v_dist)
+    {
+        IndexedGraph<V,E> graph = sd.indexed;
+        for (int i = 0, count = graph.getOutEdgeCount(v); i < count; i++)
+        {
+            int e = graph.getOutEdgeIndex(v, i);
+            int w = graph.getOppositeIndex(v, e);
+            if (sd.settled[w])
+                continue;
+            E edge = graph.getEdge(e);
+            double edge_weight = nev.transform(edge).doubleValue();
+            if (edge_weight < 0)
+                throw new IllegalArgumentException("Edges weights must be non-negative");
+            double new_dist = v_dist + edge_weight;
+            if (!sd.unknownIds.contains(w))
+                sd.createRecord(graph.getVertex(w), edge, new_dist);
+            else if (new_dist < sd.unknownIds.getKey(w))
+                sd.update(graph.getVertex(w), edge, new_dist);
+        }
     }
 
     protected SourceData getSourceData(V source)
@@ -231,7 +345,8 @@ public class DijkstraDistance<V,E> implements Distance<V>
      * Returns the set of edges incident to <code>v</code> that should be tested.
      * By default, this is the set of outgoing edges for instances of <code>Graph</code>,
      * the set of incident edges for instances of <code>Hypergraph</code>,
-     * and is otherwise undefined.
+     * and is otherwise undefined.  The search itself visits these edges
+     * through <code>forEachEdgeToCheck</code>.
      */
     protected Collection<E> getEdgesToCheck(V v)
     {
@@ -242,6 +357,25 @@ public class DijkstraDistance<V,E> implements Distance<V>
 
     }
 
+    /**
+     * Passes each edge in <code>getEdgesToCheck(v)</code> to 
+     * <code>visitor</code>.  Unless <code>getEdgesToCheck</code> has been
+     * overridden, this uses the graph's <code>forEach</code> visitors, so 
+     * that no collection of edges is created for each vertex.
+     */
+    protected void forEachEdgeToCheck(V v, Closure<? super E> visitor)
+    {
+        if (!default_edges)
+        {
+            for (E e : getEdgesToCheck(v))
+                visitor.execute(e);
+        }
+        else if (g instanceof Graph)
+            ((Graph<V,E>)g).forEachOutEdge(v, visitor);
+        else
+            g.forEachIncidentEdge(v, visitor);
+    }
+
     
     /**
      * Returns the length of a shortest path from the source to the target vertex,
@@ -373,9 +507,8 @@ public class DijkstraDistance<V,E> implements Distance<V>
     public void setMaxDistance(double max_dist)
     {
         this.max_distance = max_dist;
-        for (V v : sourceMap.keySet())
+        for (SourceData sd : sourceMap.values())
         {
-            SourceData sd = sourceMap.get(v);
             sd.reached_max = (this.max_distance <= sd.dist_reached) || (sd.distances.size() >= max_targets);
         }
     }
@@ -399,13 +532,41 @@ public class DijkstraDistance<V,E> implements Distance<V>
     public void setMaxTargets(int max_targets)
     {
         this.max_targets = max_targets;
-        for (V v : sourceMap.keySet())
+        for (SourceData sd : sourceMap.values())
         {
-            SourceData sd = sourceMap.get(v);
             sd.reached_max = (this.max_distance <= sd.dist_reached) || (sd.distances.size() >= max_targets);
         }
     }
     
+    /**
+     * Specifies the kind of priority queue used by subsequent calculations.
+     * If <code>queue_type</code> is <code>null</code> (the default), a
+     * <code>MapBinaryHeap</code> of vertices is used; otherwise each source
+     * numbers the vertices as it reaches them, and keeps their tentative
+     * distances in an <code>IntPriorityQueue</code> of the specified type, 
+     * which avoids hashing and comparing vertices in the queue.
+     * <code>IntPriorityQueue.Type.RADIX</code> may be used only if all
+     * edge weights are integers.  
+     * 
+     * <p>Distances already calculated, and cached, are unaffected; those
+     * calculated from a source for which partial results are cached continue 
+     * to use the queue with which they were begun.</p>
+     */
+    public void setPriorityQueueType(IntPriorityQueue.Type queue_type)
+    {
+        this.queue_type = queue_type;
+    }
+    
+    /**
+     * Returns the kind of priority queue used, or <code>null</code> if 
+     * a <code>MapBinaryHeap</code> is used.
+     * @see #setPriorityQueueType(IntPriorityQueue.Type)
+     */
+    public IntPriorityQueue.Type getPriorityQueueType()
+    {
+        return queue_type;
+    }
+    
     /**
      * Clears all stored distances for this instance.  
      * Should be called whenever the graph is modified (edge weights 
@@ -417,7 +578,7 @@ public class DijkstraDistance<V,E> implements Distance<V>
      */
     public void reset()
     {
-        sourceMap = new HashMap<V,SourceData>();
+        sourceMap.clear();
     }
         
     /**
@@ -441,7 +602,86 @@ public class DijkstraDistance<V,E> implements Distance<V>
      */
     public void reset(V source)
     {
-        sourceMap.put(source, null);
+        sourceMap.remove(source);
+    }
+
+    /**
+     * Bounds the number of source vertices whose results are cached; when
+     * results for another source are calculated, those for the least 
+     * recently queried source are discarded.  The default is 
+     * <code>Integer.MAX_VALUE</code>.
+     * 
+     * @throws IllegalArgumentException if <code>max_sources</code> is negative
+     * @see #setSoftCaching(boolean)
+     */
+    public void setCacheLimit(int max_sources)
+    {
+        cache.setMaxSize(max_sources);
+    }
+    
+    /**
+     * Returns the maximum number of source vertices whose results are cached.
+     * @see #setCacheLimit(int)
+     */
+    public int getCacheLimit()
+    {
+        return cache.getMaxSize();
+    }
+    
+    /**
+     * Specifies whether cached results are to be held by soft reference,
+     * so that the garbage collector may discard them when memory is short 
+     * (in which case they are recalculated when next needed).  The default
+     * is <code>false</code>.
+     */
+    public void setSoftCaching(boolean soft)
+    {
+        cache.setSoft(soft);
+    }
+    
+    /**
+     * Returns <code>true</code> if cached results are held by soft reference.
+     * @see #setSoftCaching(boolean)
+     */
+    public boolean isSoftCaching()
+    {
+        return cache.isSoft();
+    }
+    
+    /**
+     * Returns the number of queries for which results (final or partial)
+     * for the source vertex were found in the cache.
+     */
+    public long getCacheHitCount()
+    {
+        return cache.getHitCount();
+    }
+    
+    /**
+     * Returns the number of queries for which the calculation had to be
+     * started from scratch.
+     */
+    public long getCacheMissCount()
+    {
+        return cache.getMissCount();
+    }
+    
+    /**
+     * Returns the number of sources whose results were discarded because 
+     * the cache was full or because memory was short (but not because of
+     * a call to <code>reset</code>).
+     */
+    public long getCacheEvictionCount()
+    {
+        return cache.getEvictionCount();
+    }
+    
+    /**
+     * Sets the cache hit, miss, and eviction counts to 0.
+     */
+    public void resetCacheStatistics()
+    {
+        cache.resetStatistics();
     }
 
     /**
@@ -467,7 +707,14 @@ public class DijkstraDistance<V,E> implements Distance<V>
      * For a given source vertex, holds the estimated and final distances, 
      * tentative and final assignments of incoming edges on the shortest path from
      * the source vertex, and a priority queue (ordered by estimated distance)
-     * of the vertices for which distances are unknown.
+     * of the vertices for which distances are unknown.  The queue is either
+     * <code>unknownVertices</code> or, if a priority queue type had been specified
+     * when this instance was created, <code>unknownIds</code>. 
+     * 
+     * <p>If the graph is an <code>IndexedGraph</code>, the queue is always
+     * <code>unknownIds</code>, keyed by vertex index; the tentative distances
+     * are its keys (rather than the values of <code>estimatedDistances</code>),
+     * and <code>settled</code> records the vertices whose distances are known.
      * 
      * @author Joshua O'Madadhain
      */
@@ -476,27 +723,60 @@ public class DijkstraDistance<V,E> implements Distance<V>
         protected LinkedHashMap<V,Number> distances;
         protected Map<V,Number> estimatedDistances;
         protected MapBinaryHeap<V> unknownVertices;
+        protected IntPriorityQueue unknownIds;
+        protected IdDictionary<V> vertexIds;  // ids of the vertices in unknownIds
+        protected IndexedGraph<V,E> indexed;  // the graph, if it is indexed
+        protected boolean[] settled;          // for an indexed graph: vertex index -> distance known
         protected boolean reached_max = false;
         protected double dist_reached = 0;
 
+        @SuppressWarnings("unchecked")
         protected SourceData(V source)
         {
             distances = new LinkedHashMap<V,Number>();
             estimatedDistances = new HashMap<V,Number>();
-            unknownVertices = new MapBinaryHeap<V>(new VertexComparator<V>(estimatedDistances));
+            if (g instanceof IndexedGraph && default_edges)
+            {
+                indexed = (IndexedGraph<V,E>)g;
+                settled = new boolean[indexed.getVertexCount()];
+                IntPriorityQueue.Type type = queue_type == null ? IntPriorityQueue.Type.D_ARY : queue_type;
+                unknownIds = type.create(indexed.getVertexCount());
+            }
+            else if (queue_type == null)
+                unknownVertices = new MapBinaryHeap<V>(new VertexComparator<V>(estimatedDistances));
+            else
+            {
+                unknownIds = queue_type.create(g.getVertexCount());
+                vertexIds = new IdDictionary<V>();
+            }
             
             sourceMap.put(source, this);
             
             // initialize priority queue
-            estimatedDistances.put(source, new Double(0)); // distance from source to itself is 0
-            unknownVertices.add(source);
+            if (indexed == null)
+                estimatedDistances.put(source, new Double(0)); // distance from source to itself is 0
+            enqueue(source, 0);
             reached_max = false;
             dist_reached = 0;
         }
         
+        protected boolean hasUnknownVertices()
+        {
+            return unknownIds == null ? !unknownVertices.isEmpty() : !unknownIds.isEmpty();
+        }
+        
         protected Map.Entry<V,Number> getNextVertex()
         {
-            V v = unknownVertices.remove();
+            if (indexed != null)
+            {
+                Double dist = unknownIds.peekKey();
+                int id = unknownIds.poll();
+                settled[id] = true;
+                V v = indexed.getVertex(id);
+                distances.put(v, dist);
+                return new BasicMapEntry<V,Number>(v, dist);
+            }
+            V v = unknownIds == null ? unknownVertices.remove() : vertexIds.get(unknownIds.poll());
             Double dist = (Double)estimatedDistances.remove(v);
             distances.put(v, dist);
             return new BasicMapEntry<V,Number>(v, dist);
@@ -504,21 +784,43 @@ public class DijkstraDistance<V,E> implements Distance<V>
         
         protected void update(V dest, E tentative_edge, double new_dist)
         {
+            if (indexed != null)
+            {
+                unknownIds.decreaseKey(indexed.getVertexIndex(dest), new_dist);
+                return;
+            }
             estimatedDistances.put(dest, new_dist);
-            unknownVertices.update(dest);
+            if (unknownIds == null)
+                unknownVertices.update(dest);
+            else
+                unknownIds.decreaseKey(vertexIds.getId(dest), new_dist);
         }
         
         protected void createRecord(V w, E e, double new_dist)
         {
-            estimatedDistances.put(w, new_dist);
-            unknownVertices.add(w);
+            if (indexed == null)
+                estimatedDistances.put(w, new_dist);
+            enqueue(w, new_dist);
         }
         
         protected void restoreVertex(V v, double dist) 
         {
-            estimatedDistances.put(v, dist);
-            unknownVertices.add(v);
+            if (indexed != null)
+                settled[indexed.getVertexIndex(v)] = false;
+            else
+                estimatedDistances.put(v, dist);
+            enqueue(v, dist);
             distances.remove(v);
         }
+        
+        private void enqueue(V v, double dist)
+        {
+            if (indexed != null)
+                unknownIds.add(indexed.getVertexIndex(v), dist);
+            else if (unknownIds == null)
+                unknownVertices.add(v);
+            else
+                unknownIds.add(vertexIds.add(v), dist);
+        }
     }
 }
@@ -119,9 +119,9 @@ public class DijkstraShortestPath<V,E> extends DijkstraDistance<V,E> implements
 
         Set<V> targets = new HashSet<V>();
         targets.add(target);
-        singleSourceShortestPath(source, targets, g.getVertexCount());
-        Map<V,E> incomingEdgeMap = 
-            ((SourcePathData)sourceMap.get(source)).incomingEdges;
+        SourcePathData sd = (SourcePathData)getSourceData(source);
+        singleSourceShortestPath(sd, targets, g.getVertexCount());
+        Map<V,E> incomingEdgeMap = sd.incomingEdges;
         E incomingEdge = incomingEdgeMap.get(target);
         
         if (!cached)
@@ -171,9 +171,9 @@ public class DijkstraShortestPath<V,E> extends DijkstraDistance<V,E> implements
         // wipe out results if results are not cached
         Set<V> targets = new HashSet<V>();
         targets.add(target);
-        singleSourceShortestPath(source, targets, g.getVertexCount());
-        Map<V,E> incomingEdges = 
-            ((SourcePathData)sourceMap.get(source)).incomingEdges;
+        SourcePathData sd = (SourcePathData)getSourceData(source);
+        singleSourceShortestPath(sd, targets, g.getVertexCount());
+        Map<V,E> incomingEdges = sd.incomingEdges;
         
         if (incomingEdges.isEmpty() || incomingEdges.get(target) == null)
             return path;
@@ -213,10 +213,10 @@ public class DijkstraShortestPath<V,E> extends DijkstraDistance<V,E> implements
             throw new IllegalArgumentException("numDests must be >= 1 " + 
             "and <= g.numVertices()");
 
-        singleSourceShortestPath(source, null, numDests);
+        SourcePathData sd = (SourcePathData)getSourceData(source);
+        singleSourceShortestPath(sd, null, numDests);
         
-        LinkedHashMap<V,E> incomingEdgeMap = 
-            ((SourcePathData)sourceMap.get(source)).incomingEdges;
+        LinkedHashMap<V,E> incomingEdgeMap = sd.incomingEdges;
         
         if (!cached)
             reset(source);
@@ -9,11 +9,15 @@
 */
 package edu.uci.ics.jung.algorithms.shortestpath;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.MapTransformer;
 
 import edu.uci.ics.jung.algorithms.scoring.ClosenessCentrality;
 import edu.uci.ics.jung.algorithms.scoring.util.VertexScoreTransformer;
+import edu.uci.ics.jung.graph.Graph;
 import edu.uci.ics.jung.graph.Hypergraph;
 
 /**
@@ -74,6 +78,28 @@ public class DistanceStatistics
     			new UnweightedShortestPath<V,E>(g));
         return new VertexScoreTransformer<V, Double>(cc);
     }
+
+    /**
+     * For each vertex <code>v</code> in <code>g</code>, 
+     * calculates the average shortest path length from <code>v</code> 
+     * to all other vertices in <code>g</code>, ignoring edge weights,
+     * dividing the sources among <code>parallelism</code> threads.
+     * The values are those of {@link #averageDistances(Hypergraph)}.
+     * @see #averageDistances(AllPairsShortestPaths)
+     */
+    public static <V,E> Transformer<V, Double> averageDistances(Graph<V,E> g, int parallelism)
+    {
+        AllPairsShortestPaths<V,E> paths = new AllPairsShortestPaths<V,E>(g);
+        paths.setParallelism(parallelism);
+        try
+        {
+            return averageDistances(paths);
+        }
+        finally
+        {
+            paths.shutdown();
+        }
+    }
     
     /**
      * Returns the diameter of <code>g</code> using the metric 
@@ -132,5 +158,99 @@ public class DistanceStatistics
     {
         return diameter(g, new UnweightedShortestPath<V,E>(g));
     }
+
+    /**
+     * Returns the diameter of <code>g</code>, ignoring edge weights, 
+     * dividing the sources among <code>parallelism</code> threads.
+     * The value is that of {@link #diameter(Hypergraph)}.
+     * @see #diameter(AllPairsShortestPaths, boolean)
+     */
+    public static <V, E> double diameter(Graph<V,E> g, int parallelism)
+    {
+        AllPairsShortestPaths<V,E> paths = new AllPairsShortestPaths<V,E>(g);
+        paths.setParallelism(parallelism);
+        try
+        {
+            return diameter(paths, false);
+        }
+        finally
+        {
+            paths.shutdown();
+        }
+    }
+
+    /**
+     * Returns the diameter of the graph of <code>paths</code>, as defined
+     * by {@link #diameter(Hypergraph, Distance, boolean)}, using the metric
+     * of <code>paths</code>.  The distances from each vertex are discarded
+     * once they have been examined.
+     */
+    public static <V, E> double diameter(AllPairsShortestPaths<V,E> paths, final boolean use_max)
+    {
+        final double[] diameter = new double[1];
+        boolean complete = paths.run(new AllPairsShortestPaths.SourceHandler()
+        {
+            public boolean handleSource(int source, double[] distances)
+            {
+                double max = 0;
+                for (int i = 0; i < distances.length; i++)
+                {
+                    if (i == source)  // don't include self-distances
+                        continue;
+                    if (distances[i] == Double.POSITIVE_INFINITY)
+                    {
+                        if (!use_max)
+                            return false;
+                    }
+                    else
+                        max = Math.max(max, distances[i]);
+                }
+                synchronized (diameter)
+                {
+                    diameter[0] = Math.max(diameter[0], max);
+                }
+                return true;
+            }
+        });
+        return complete ? diameter[0] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * For each vertex <code>v</code> in the graph of <code>paths</code>, 
+     * calculates the average shortest path length from <code>v</code> 
+     * to all other vertices, using the metric of <code>paths</code>.
+     * The values are the same as those of 
+     * {@link #averageDistances(Hypergraph, Distance)}, but are computed
+     * for all vertices at once, and the distances from each vertex are
+     * discarded once they have been examined.
+     */
+    public static <V,E> Transformer<V,Double> averageDistances(AllPairsShortestPaths<V,E> paths)
+    {
+        final double[] scores = new double[paths.getVertexCount()];
+        paths.run(new AllPairsShortestPaths.SourceHandler()
+        {
+            public boolean handleSource(int source, double[] distances)
+            {
+                // as in ClosenessCentrality: unreachable vertices are ignored
+                double sum = 0;
+                int count = 0;
+                for (int i = 0; i < distances.length; i++)
+                {
+                    if (i != source && distances[i] != Double.POSITIVE_INFINITY)
+                    {
+                        sum += distances[i];
+                        count++;
+                    }
+                }
+                double value = sum / count;
+                scores[source] = value == 0 ? Double.POSITIVE_INFINITY : 1.0 / value;
+                return true;
+            }
+        });
+        Map<V,Double> averages = new HashMap<V,Double>();
+        for (int i = 0; i < scores.length; i++)
+            averages.put(paths.getVertex(i), scores[i]);
+        return MapTransformer.getInstance(averages);
+    }
     
 }
@@ -0,0 +1,529 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.ConstantTransformer;
+
+import edu.uci.ics.jung.algorithms.util.MapBinaryHeap;
+import edu.uci.ics.jung.graph.ObservableGraph;
+import edu.uci.ics.jung.graph.event.GraphEvent;
+import edu.uci.ics.jung.graph.event.GraphEventListener;
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
+
+/**
+ * Maintains shortest path trees in an <code>ObservableGraph</code> as the
+ * graph changes, repairing only the parts of each tree that a change affects
+ * rather than discarding it as <code>DijkstraDistance.reset</code> does.
+ *
+ * <p>The tree for each source is calculated (by Dijkstra's algorithm) when
+ * it is first requested, and is kept up to date thereafter by listening for
+ * the graph's events:
+ * <ul>
+ * <li>when an edge is added, or its weight lowered, the vertices to which it
+ * gives shorter paths are found by a Dijkstra search starting at the edge;
+ * <li>when an edge is removed, or its weight raised, and it was in a tree,
+ * the vertices below it in the tree are detached, given the best distances
+ * available through their other in-edges, and then settled by a Dijkstra
+ * search starting at them.  Edges not in a tree do not affect it.
+ * </ul>
+ * Edge weights are not part of the graph, so changes to them must be
+ * reported by calling {@link #edgeWeightChanged(Object)}.  Batched changes
+ * (<code>GraphEvent.ChangeSet</code>) are applied as their removals followed by
+ * their additions.
+ *
+ * <p>Distances are measured along out-edges, as by <code>DijkstraDistance</code>,
+ * and the maps returned by <code>getDistanceMap</code> and
+ * <code>getIncomingEdgeMap</code> are ordered by nondecreasing distance,
+ * and are snapshots which do not change with the graph.  All edge weights
+ * must be nonnegative.  The methods of this class are synchronized, so that
+ * events may be delivered by another thread.
+ *
+ * @see ObservableGraph
+ * @see DijkstraShortestPath
+ */
+public class DynamicShortestPath<V,E>
+    implements Distance<V>, ShortestPath<V,E>, GraphEventListener<V,E>
+{
+    protected final ObservableGraph<V,E> graph;
+    protected final Transformer<E,? extends Number> nev;
+    protected final Map<E,EdgeRecord> edges = new HashMap<E,EdgeRecord>();
+    protected final Map<V,SourceTree> trees = new HashMap<V,SourceTree>();
+
+    /**
+     * Creates an instance for <code>graph</code>, whose edges are weighted by
+     * <code>nev</code>, and registers it as a listener to <code>graph</code>.
+     * @throws IllegalArgumentException if any edge weight is negative
+     */
+    public DynamicShortestPath(ObservableGraph<V,E> graph, Transformer<E,? extends Number> nev)
+    {
+        this.graph = graph;
+        this.nev = nev;
+        for (E e : graph.getEdges())
+            record(e);
+        graph.addGraphEventListener(this);
+    }
+
+    /**
+     * Creates an instance for <code>graph</code>, treating it as unweighted
+     * (that is, all weights 1), and registers it as a listener to <code>graph</code>.
+     */
+    @SuppressWarnings("unchecked")
+    public DynamicShortestPath(ObservableGraph<V,E> graph)
+    {
+        this(graph, new ConstantTransformer(1));
+    }
+
+    private double weight(E e)
+    {
+        double weight = nev.transform(e).doubleValue();
+        if (weight < 0)
+            throw new IllegalArgumentException("Edges weights must be non-negative");
+        return weight;
+    }
+
+    private EdgeRecord record(E e)
+    {
+        Pair<V> endpoints = graph.getEndpoints(e);
+        EdgeRecord record = new EdgeRecord(endpoints.getFirst(), endpoints.getSecond(),
+                graph.getEdgeType(e) == EdgeType.DIRECTED, weight(e));
+        edges.put(e, record);
+        return record;
+    }
+
+    /**
+     * Returns the record for <code>e</code>, creating it if the event for
+     * the addition of <code>e</code> has not yet been delivered.
+     */
+    private EdgeRecord getRecord(E e)
+    {
+        EdgeRecord record = edges.get(e);
+        return record == null ? record(e) : record;
+    }
+
+    private SourceTree getTree(V source)
+    {
+        if (!graph.containsVertex(source))
+            throw new IllegalArgumentException("Specified source vertex " +
+                    source + " is not part of graph " + graph);
+        SourceTree tree = trees.get(source);
+        if (tree == null)
+        {
+            tree = new SourceTree(source);
+            trees.put(source, tree);
+        }
+        return tree;
+    }
+
+    /**
+     * Returns the length of a shortest path from <code>source</code> to
+     * <code>target</code>, or <code>null</code> if <code>target</code> is not
+     * reachable from <code>source</code>.
+     * @throws IllegalArgumentException if either vertex is not in the graph
+     */
+    public synchronized Number getDistance(V source, V target)
+    {
+        if (!graph.containsVertex(target))
+            throw new IllegalArgumentException("Specified target vertex " +
+                    target + " is not part of graph " + graph);
+        return getTree(source).distances.get(target);
+    }
+
+    /**
+     * Returns a map from each vertex reachable from <code>source</code>
+     * (including <code>source</code>) to its distance from <code>source</code>,
+     * whose iterator returns the vertices in order of nondecreasing distance.
+     * @throws IllegalArgumentException if <code>source</code> is not in the graph
+     */
+    public synchronized Map<V,Number> getDistanceMap(V source)
+    {
+        SourceTree tree = getTree(source);
+        LinkedHashMap<V,Number> distance_map = new LinkedHashMap<V,Number>();
+        for (V v : tree.getOrder())
+            distance_map.put(v, tree.distances.get(v));
+        return distance_map;
+    }
+
+    /**
+     * Returns a map from each vertex reachable from <code>source</code> to
+     * the last edge on a shortest path from <code>source</code> (which for
+     * <code>source</code> itself is <code>null</code>), whose iterator returns
+     * the vertices in order of nondecreasing distance.
+     * @throws IllegalArgumentException if <code>source</code> is not in the graph
+     */
+    public synchronized Map<V,E> getIncomingEdgeMap(V source)
+    {
+        SourceTree tree = getTree(source);
+        LinkedHashMap<V,E> incoming_map = new LinkedHashMap<V,E>();
+        for (V v : tree.getOrder())
+            incoming_map.put(v, tree.incoming.get(v));
+        return incoming_map;
+    }
+
+    /**
+     * Returns the edges on a shortest path from <code>source</code> to
+     * <code>target</code>, in order, or an empty list if <code>target</code>
+     * is not reachable from <code>source</code> (or is <code>source</code>).
+     * @throws IllegalArgumentException if either vertex is not in the graph
+     */
+    public synchronized List<E> getPath(V source, V target)
+    {
+        if (!graph.containsVertex(target))
+            throw new IllegalArgumentException("Specified target vertex " +
+                    target + " is not part of graph " + graph);
+        SourceTree tree = getTree(source);
+        LinkedList<E> path = new LinkedList<E>();
+        if (!tree.distances.containsKey(target))
+            return path;
+        for (V v = target; !v.equals(source); )
+        {
+            E e = tree.incoming.get(v);
+            path.addFirst(e);
+            v = getRecord(e).getOpposite(v);
+        }
+        return path;
+    }
+
+    /**
+     * Discards the tree for <code>source</code>, if any, so that it will
+     * no longer be maintained.
+     */
+    public synchronized void reset(V source)
+    {
+        trees.remove(source);
+    }
+
+    /**
+     * Discards all trees.
+     */
+    public synchronized void reset()
+    {
+        trees.clear();
+    }
+
+    /**
+     * Informs this instance that the weight of <code>edge</code> may have
+     * changed, and updates the trees accordingly.
+     * @throws IllegalArgumentException if the new weight is negative
+     */
+    public synchronized void edgeWeightChanged(E edge)
+    {
+        EdgeRecord record = edges.get(edge);
+        if (record == null)
+            throw new IllegalArgumentException("Specified edge " + edge +
+                    " is not part of graph " + graph);
+        double old_weight = record.weight;
+        record.weight = weight(edge);
+        if (record.weight < old_weight)
+            edgeImproved(edge, record);
+        else if (record.weight > old_weight)
+            edgeWorsened(edge, record);
+    }
+
+    /**
+     * Updates the trees to reflect the change described by <code>event</code>.
+     */
+    public synchronized void handleGraphEvent(GraphEvent<V,E> event)
+    {
+        switch (event.getType())
+        {
+            case EDGE_ADDED:
+                edgeAdded(((GraphEvent.Edge<V,E>)event).getEdge());
+                break;
+            case EDGE_REMOVED:
+                edgeRemoved(((GraphEvent.Edge<V,E>)event).getEdge());
+                break;
+            case VERTEX_REMOVED:
+                vertexRemoved(((GraphEvent.Vertex<V,E>)event).getVertex());
+                break;
+            case CHANGE_SET:
+                // the graph already reflects all of the changes; the records of
+                // removed edges are kept until each is processed, so that the
+                // trees that still use them can be traversed
+                GraphEvent.ChangeSet<V,E> changes = (GraphEvent.ChangeSet<V,E>)event;
+                for (E e : changes.getRemovedEdges())
+                    edgeRemoved(e);
+                for (V v : changes.getRemovedVertices())
+                    vertexRemoved(v);
+                for (E e : changes.getAddedEdges())
+                    edgeAdded(e);
+                break;
+            default:
+                // a new vertex is not reachable from any other vertex
+                break;
+        }
+    }
+
+    private void edgeAdded(E e)
+    {
+        if (graph.containsEdge(e))
+            edgeImproved(e, record(e));
+    }
+
+    private void edgeRemoved(E e)
+    {
+        EdgeRecord record = edges.remove(e);
+        if (record != null)
+            edgeWorsened(e, record);
+    }
+
+    private void vertexRemoved(V v)
+    {
+        // its edges have been removed already, so it is unreachable
+        trees.remove(v);
+    }
+
+    private void edgeImproved(E e, EdgeRecord record)
+    {
+        for (SourceTree tree : trees.values())
+        {
+            tree.arcImproved(e, record.first, record.second, record.weight);
+            if (!record.directed)
+                tree.arcImproved(e, record.second, record.first, record.weight);
+        }
+    }
+
+    private void edgeWorsened(E e, EdgeRecord record)
+    {
+        for (SourceTree tree : trees.values())
+        {
+            if (e.equals(tree.incoming.get(record.second)))
+                tree.detach(record.second);
+            else if (!record.directed && e.equals(tree.incoming.get(record.first)))
+                tree.detach(record.first);
+        }
+    }
+
+    /**
+     * The endpoints and (last known) weight of an edge, which are needed
+     * after the edge has been removed from the graph.
+     */
+    protected class EdgeRecord
+    {
+        final V first;
+        final V second;
+        final boolean directed;
+        double weight;
+
+        EdgeRecord(V first, V second, boolean directed, double weight)
+        {
+            this.first = first;
+            this.second = second;
+            this.directed = directed;
+            this.weight = weight;
+        }
+
+        V getOpposite(V v)
+        {
+            return v.equals(first) ? second : first;
+        }
+    }
+
+    /**
+     * The shortest path tree from a single source: the distance to each
+     * reachable vertex, and the edge by which it is reached.  The tree's
+     * parent and child links are kept alongside, so that the subtree below
+     * an edge can be found without scanning the whole tree.
+     */
+    protected class SourceTree
+    {
+        final V source;
+        final Map<V,Double> distances = new HashMap<V,Double>();
+        final Map<V,E> incoming = new HashMap<V,E>();
+        private final Map<V,V> parents = new HashMap<V,V>();
+        private final Map<V,Set<V>> children = new HashMap<V,Set<V>>();
+        private List<V> order;      // reachable vertices by distance, or null if not known
+
+        SourceTree(V source)
+        {
+            this.source = source;
+            distances.put(source, 0.0);
+            incoming.put(source, null);
+            MapBinaryHeap<V> queue = createQueue();
+            queue.add(source);
+            settle(queue);
+        }
+
+        /**
+         * Makes <code>e</code>, from <code>parent</code>, the tree edge
+         * into <code>v</code>.
+         */
+        private void attach(V v, E e, V parent)
+        {
+            incoming.put(v, e);
+            unlink(v, parents.put(v, parent));
+            Set<V> siblings = children.get(parent);
+            if (siblings == null)
+            {
+                siblings = new HashSet<V>();
+                children.put(parent, siblings);
+            }
+            siblings.add(v);
+        }
+
+        /**
+         * Removes <code>v</code> from the children of <code>parent</code>.
+         */
+        private void unlink(V v, V parent)
+        {
+            if (parent == null)
+                return;
+            Set<V> siblings = children.get(parent);
+            siblings.remove(v);
+            if (siblings.isEmpty())
+                children.remove(parent);
+        }
+
+        private MapBinaryHeap<V> createQueue()
+        {
+            return new MapBinaryHeap<V>(new Comparator<V>()
+            {
+                public int compare(V v1, V v2)
+                {
+                    return distances.get(v1).compareTo(distances.get(v2));
+                }
+            });
+        }
+
+        List<V> getOrder()
+        {
+            if (order == null)
+            {
+                order = new ArrayList<V>(distances.keySet());
+                Collections.sort(order, new Comparator<V>()
+                {
+                    public int compare(V v1, V v2)
+                    {
+                        return distances.get(v1).compareTo(distances.get(v2));
+                    }
+                });
+            }
+            return order;
+        }
+
+        /**
+         * Runs Dijkstra's algorithm from the vertices in <code>queue</code>,
+         * whose distances are tentative.
+         */
+        private void settle(MapBinaryHeap<V> queue)
+        {
+            order = null;
+            while (!queue.isEmpty())
+            {
+                V v = queue.remove();
+                double v_dist = distances.get(v);
+                for (E e : graph.getOutEdges(v))
+                {
+                    V w = graph.getOpposite(v, e);
+                    double new_dist = v_dist + getRecord(e).weight;
+                    Double w_dist = distances.get(w);
+                    if (w_dist == null || new_dist < w_dist)
+                    {
+                        distances.put(w, new_dist);
+                        attach(w, e, v);
+                        if (queue.contains(w))
+                            queue.update(w);
+                        else
+                            queue.add(w);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Updates this tree for an arc, from <code>u</code> to <code>v</code>,
+         * which is new or has had its weight lowered.
+         */
+        void arcImproved(E e, V u, V v, double weight)
+        {
+            Double u_dist = distances.get(u);
+            if (u_dist == null)
+                return;
+            double new_dist = u_dist + weight;
+            Double v_dist = distances.get(v);
+            if (v_dist != null && new_dist >= v_dist)
+                return;
+            distances.put(v, new_dist);
+            attach(v, e, u);
+            MapBinaryHeap<V> queue = createQueue();
+            queue.add(v);
+            settle(queue);
+        }
+
+        /**
+         * Updates this tree for the tree edge into <code>v</code>, which has
+         * been removed or has had its weight raised.
+         */
+        void detach(V v)
+        {
+            // find the subtree below e
+            unlink(v, parents.remove(v));
+            Set<V> detached = new HashSet<V>();
+            LinkedList<V> pending = new LinkedList<V>();
+            pending.add(v);
+            while (!pending.isEmpty())
+            {
+                V x = pending.removeFirst();
+                detached.add(x);
+                Set<V> x_children = children.remove(x);
+                if (x_children != null)
+                    pending.addAll(x_children);
+            }
+            for (V x : detached)
+            {
+                distances.remove(x);
+                incoming.remove(x);
+                parents.remove(x);
+            }
+
+            // reattach each detached vertex by its best in-edge from the rest of the tree
+            MapBinaryHeap<V> queue = createQueue();
+            for (V x : detached)
+            {
+                if (!graph.containsVertex(x))
+                    continue;
+                for (E in_edge : graph.getInEdges(x))
+                {
+                    V w = graph.getOpposite(x, in_edge);
+                    Double w_dist = distances.get(w);
+                    if (w_dist == null || detached.contains(w))
+                        continue;
+                    double new_dist = w_dist + getRecord(in_edge).weight;
+                    Double x_dist = distances.get(x);
+                    if (x_dist == null || new_dist < x_dist)
+                    {
+                        distances.put(x, new_dist);
+                        attach(x, in_edge, w);
+                    }
+                }
+                if (distances.containsKey(x))
+                    queue.add(x);
+            }
+            // the search is not confined to the detached vertices: within a
+            // change set, edges whose additions have not yet been processed
+            // may already lead from them to shorter paths elsewhere
+            settle(queue);
+        }
+    }
+}
@@ -0,0 +1,514 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.ConstantTransformer;
+
+import edu.uci.ics.jung.algorithms.util.MapBinaryHeap;
+import edu.uci.ics.jung.graph.Graph;
+
+/**
+ * Enumerates the paths between a pair of vertices in order of increasing
+ * length, so that the shortest few alternatives can be had without
+ * enumerating the rest.  Paths are followed along out-edges, and all edge
+ * weights must be nonnegative.
+ *
+ * <p><code>getPaths</code> returns the simple (loopless) paths, using Yen's
+ * algorithm: each path after the first is the shortest that <i>deviates</i>
+ * from a path already returned, that is, follows it to some vertex and
+ * then leaves it by an edge not taken there by any path returned with the
+ * same beginning.  With Lawler's refinement, only the deviations from a
+ * path at or after the point where it deviated from its own parent are
+ * considered.  <code>getShortestPaths</code> returns just the paths whose
+ * length is that of a shortest path.
+ *
+ * <p>Both are driven by the shortest path tree <i>into</i> the target,
+ * which is calculated once per target and cached until <code>reset</code>
+ * is called: it gives the first path directly, and its distances are
+ * exact lower bounds that guide each search for a deviation (by the A*
+ * algorithm) straight to the target.  The iterators are lazy: each
+ * call to <code>next</code> does only the work needed to find the next path.
+ * The graph should not be modified while an iterator is in use.
+ *
+ * @see "Jin Y. Yen: Finding the K shortest loopless paths in a network. Management Science 17(11):712-716, 1971."
+ * @see "Eugene L. Lawler: A procedure for computing the K best solutions to discrete optimization problems and its application to the shortest path problem. Management Science 18(7):401-405, 1972."
+ * @see DijkstraShortestPath
+ */
+public class KShortestPaths<V,E>
+{
+    /**
+     * The largest relative difference between two path lengths which are
+     * treated as equal by <code>getShortestPaths</code>.
+     */
+    protected static final double LENGTH_TOLERANCE = 1e-9;
+
+    protected Graph<V,E> g;
+    protected Transformer<E,? extends Number> nev;
+    protected Map<V,TargetTree> target_trees = new HashMap<V,TargetTree>();
+
+    /**
+     * Creates an instance for the specified graph and edge weights.
+     * @param g     the graph whose paths are to be enumerated
+     * @param nev   the class responsible for returning weights for edges
+     */
+    public KShortestPaths(Graph<V,E> g, Transformer<E,? extends Number> nev)
+    {
+        this.g = g;
+        this.nev = nev;
+    }
+
+    /**
+     * Creates an instance for the specified unweighted graph (that is, all
+     * weights 1).
+     * @param g     the graph whose paths are to be enumerated
+     */
+    @SuppressWarnings("unchecked")
+    public KShortestPaths(Graph<V,E> g)
+    {
+        this(g, new ConstantTransformer(1));
+    }
+
+    /**
+     * Returns an iterator over the simple paths from <code>source</code> to
+     * <code>target</code>, each a list of edges in order, in order of
+     * nondecreasing length.  If <code>target</code> is <code>source</code>,
+     * the only path is the empty one.
+     * @throws IllegalArgumentException if either vertex is not in the graph,
+     * or an edge weight is negative
+     */
+    public Iterator<List<E>> getPaths(V source, V target)
+    {
+        return new PathIterator(source, getTargetTree(source, target));
+    }
+
+    /**
+     * Returns an iterator over the shortest paths from <code>source</code>
+     * to <code>target</code>, each a list of edges in order.  Paths that
+     * revisit a vertex (possible only where there are edges of weight 0)
+     * are omitted.  Lengths which differ by no more than 
+     * <code>LENGTH_TOLERANCE</code> times the shortest length are treated as
+     * equal, so that rounding in sums of fractional weights does not hide 
+     * a shortest path.
+     * @throws IllegalArgumentException if either vertex is not in the graph,
+     * or an edge weight is negative
+     */
+    public Iterator<List<E>> getShortestPaths(V source, V target)
+    {
+        return new ShortestPathIterator(source, getTargetTree(source, target));
+    }
+
+    /**
+     * Discards all cached shortest path trees.
+     */
+    public void reset()
+    {
+        target_trees.clear();
+    }
+
+    /**
+     * Discards the cached shortest path tree into <code>target</code>.
+     */
+    public void reset(V target)
+    {
+        target_trees.remove(target);
+    }
+
+    private double weight(E e)
+    {
+        double weight = nev.transform(e).doubleValue();
+        if (weight < 0)
+            throw new IllegalArgumentException("Edges weights must be non-negative");
+        return weight;
+    }
+
+    private TargetTree getTargetTree(V source, V target)
+    {
+        if (!g.containsVertex(source))
+            throw new IllegalArgumentException("Specified source vertex " +
+                    source + " is not part of graph " + g);
+        if (!g.containsVertex(target))
+            throw new IllegalArgumentException("Specified target vertex " +
+                    target + " is not part of graph " + g);
+        TargetTree tree = target_trees.get(target);
+        if (tree == null)
+        {
+            tree = new TargetTree(target);
+            target_trees.put(target, tree);
+        }
+        return tree;
+    }
+
+    /**
+     * The shortest path tree into a target: the distance from each vertex
+     * that can reach the target, and the first edge of a shortest path.
+     */
+    protected class TargetTree
+    {
+        final V target;
+        final Map<V,Double> distances = new HashMap<V,Double>();
+        final Map<V,E> next_edges = new HashMap<V,E>();
+
+        TargetTree(V target)
+        {
+            this.target = target;
+            MapBinaryHeap<V> queue = new MapBinaryHeap<V>(new Comparator<V>()
+            {
+                public int compare(V v1, V v2)
+                {
+                    return distances.get(v1).compareTo(distances.get(v2));
+                }
+            });
+            Set<V> settled = new HashSet<V>();
+            distances.put(target, 0.0);
+            queue.add(target);
+            while (!queue.isEmpty())
+            {
+                V v = queue.remove();
+                settled.add(v);
+                double v_dist = distances.get(v);
+                for (E e : g.getInEdges(v))
+                {
+                    V u = g.getOpposite(v, e);
+                    if (settled.contains(u))
+                        continue;
+                    double new_dist = v_dist + weight(e);
+                    Double u_dist = distances.get(u);
+                    if (u_dist == null || new_dist < u_dist)
+                    {
+                        distances.put(u, new_dist);
+                        next_edges.put(u, e);
+                        if (queue.contains(u))
+                            queue.update(u);
+                        else
+                            queue.add(u);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Appends to <code>path</code> the path from <code>v</code> along
+         * the tree, which must reach the target.
+         */
+        void appendTreePath(V v, Path path)
+        {
+            while (!v.equals(target))
+            {
+                E e = next_edges.get(v);
+                v = g.getOpposite(v, e);
+                path.append(e, v, weight(e));
+            }
+        }
+    }
+
+    /**
+     * A path, with its vertices and length, the index of the vertex at
+     * which it deviates from the path from which it was derived, and the
+     * order in which it was found.
+     */
+    private class Path
+    {
+        final List<E> edges = new ArrayList<E>();
+        final List<V> vertices = new ArrayList<V>();
+        double length;
+        int deviation;
+        int serial;
+
+        Path(V source)
+        {
+            vertices.add(source);
+        }
+
+        void append(E e, V v, double weight)
+        {
+            edges.add(e);
+            vertices.add(v);
+            length += weight;
+        }
+    }
+
+    /**
+     * Enumerates the simple paths by Yen's algorithm.
+     */
+    private class PathIterator implements Iterator<List<E>>
+    {
+        private final TargetTree tree;
+        private final List<Path> found = new ArrayList<Path>();
+        private final Set<List<E>> seen = new HashSet<List<E>>();
+        private final PriorityQueue<Path> candidates;
+        private Path last;
+
+        PathIterator(V source, TargetTree tree)
+        {
+            this.tree = tree;
+            candidates = new PriorityQueue<Path>(11, new Comparator<Path>()
+            {
+                // ties are broken by the order in which the candidates were
+                // found, so that the enumeration is deterministic
+                public int compare(Path p1, Path p2)
+                {
+                    if (p1.length != p2.length)
+                        return p1.length < p2.length ? -1 : 1;
+                    return p1.serial - p2.serial;
+                }
+            });
+            if (tree.distances.containsKey(source))
+            {
+                Path first = new Path(source);
+                tree.appendTreePath(source, first);
+                addCandidate(first);
+            }
+        }
+
+        private void addCandidate(Path path)
+        {
+            if (seen.add(path.edges))
+            {
+                path.serial = seen.size();
+                candidates.add(path);
+            }
+        }
+
+        /**
+         * Adds the deviations from <code>last</code> to the candidates.
+         */
+        private void expand()
+        {
+            Set<V> root_vertices = new HashSet<V>(last.vertices.subList(0, last.deviation));
+            double root_length = 0;
+            for (int i = 0; i < last.deviation; i++)
+                root_length += weight(last.edges.get(i));
+            for (int i = last.deviation; i < last.edges.size(); i++)
+            {
+                V spur = last.vertices.get(i);
+                List<E> root = last.edges.subList(0, i);
+                Set<E> excluded_edges = new HashSet<E>();
+                for (Path p : found)
+                    if (p.edges.size() > i && p.edges.subList(0, i).equals(root))
+                        excluded_edges.add(p.edges.get(i));
+                Path spur_path = search(spur, root_vertices, excluded_edges);
+                if (spur_path != null)
+                {
+                    Path candidate = new Path(last.vertices.get(0));
+                    for (int j = 0; j < i; j++)
+                        candidate.edges.add(last.edges.get(j));
+                    candidate.vertices.addAll(last.vertices.subList(1, i + 1));
+                    candidate.length = root_length;
+                    for (int j = 0; j < spur_path.edges.size(); j++)
+                        candidate.append(spur_path.edges.get(j), spur_path.vertices.get(j + 1),
+                                weight(spur_path.edges.get(j)));
+                    candidate.deviation = i;
+                    addCandidate(candidate);
+                }
+                root_vertices.add(spur);
+                root_length += weight(last.edges.get(i));
+            }
+        }
+
+        /**
+         * Finds a shortest path from <code>spur</code> to the target that
+         * avoids the excluded vertices and edges, by the A* algorithm with
+         * the tree distances as estimates, or returns <code>null</code>.
+         */
+        private Path search(V spur, Set<V> excluded_vertices, Set<E> excluded_edges)
+        {
+            final Map<V,Double> distances = new HashMap<V,Double>();
+            final Map<V,Double> priorities = new HashMap<V,Double>();
+            Map<V,E> incoming = new HashMap<V,E>();
+            Set<V> settled = new HashSet<V>();
+            MapBinaryHeap<V> queue = new MapBinaryHeap<V>(new Comparator<V>()
+            {
+                public int compare(V v1, V v2)
+                {
+                    return priorities.get(v1).compareTo(priorities.get(v2));
+                }
+            });
+            distances.put(spur, 0.0);
+            priorities.put(spur, tree.distances.get(spur));
+            queue.add(spur);
+            while (!queue.isEmpty())
+            {
+                V v = queue.remove();
+                if (v.equals(tree.target))
+                {
+                    LinkedList<E> edges = new LinkedList<E>();
+                    for (V w = v; !w.equals(spur); w = g.getOpposite(w, incoming.get(w)))
+                        edges.addFirst(incoming.get(w));
+                    Path path = new Path(spur);
+                    V w = spur;
+                    for (E e : edges)
+                    {
+                        w = g.getOpposite(w, e);
+                        path.append(e, w, weight(e));
+                    }
+                    return path;
+                }
+                settled.add(v);
+                double v_dist = distances.get(v);
+                for (E e : g.getOutEdges(v))
+                {
+                    if (excluded_edges.contains(e))
+                        continue;
+                    V w = g.getOpposite(v, e);
+                    Double estimate = tree.distances.get(w);
+                    if (estimate == null || settled.contains(w) || excluded_vertices.contains(w))
+                        continue;
+                    double new_dist = v_dist + weight(e);
+                    Double w_dist = distances.get(w);
+                    if (w_dist == null || new_dist < w_dist)
+                    {
+                        distances.put(w, new_dist);
+                        priorities.put(w, new_dist + estimate);
+                        incoming.put(w, e);
+                        if (queue.contains(w))
+                            queue.update(w);
+                        else
+                            queue.add(w);
+                    }
+                }
+            }
+            return null;
+        }
+
+        public boolean hasNext()
+        {
+            if (last != null)
+            {
+                expand();
+                last = null;
+            }
+            return !candidates.isEmpty();
+        }
+
+        public List<E> next()
+        {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            last = candidates.remove();
+            found.add(last);
+            return new ArrayList<E>(last.edges);
+        }
+
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Enumerates the shortest paths by a depth-first search along the
+     * edges that lie on them, those whose weights make up the whole
+     * difference between the tree distances of their endpoints.
+     */
+    private class ShortestPathIterator implements Iterator<List<E>>
+    {
+        private final TargetTree tree;
+        private final LinkedList<E> edges = new LinkedList<E>();
+        private final LinkedList<V> vertices = new LinkedList<V>();
+        private final LinkedList<Iterator<E>> choices = new LinkedList<Iterator<E>>();
+        private final Set<V> on_path = new HashSet<V>();
+        private List<E> next_path;
+
+        ShortestPathIterator(V source, TargetTree tree)
+        {
+            this.tree = tree;
+            if (source.equals(tree.target))
+                next_path = new ArrayList<E>();
+            else if (tree.distances.containsKey(source))
+            {
+                vertices.add(source);
+                on_path.add(source);
+                choices.add(g.getOutEdges(source).iterator());
+                advance();
+            }
+        }
+
+        /**
+         * Finds the next path, leaving it in <code>next_path</code>
+         * (or <code>null</code> if there are no more).
+         */
+        private void advance()
+        {
+            next_path = null;
+            while (!choices.isEmpty())
+            {
+                V v = vertices.getLast();
+                double v_dist = tree.distances.get(v);
+                Iterator<E> iterator = choices.getLast();
+                E tight = null;
+                V w = null;
+                while (tight == null && iterator.hasNext())
+                {
+                    E e = iterator.next();
+                    w = g.getOpposite(v, e);
+                    Double w_dist = tree.distances.get(w);
+                    if (w_dist != null && !on_path.contains(w) && 
+                            w_dist + weight(e) - v_dist <= LENGTH_TOLERANCE * v_dist)
+                        tight = e;
+                }
+                if (tight == null)
+                {
+                    // backtrack
+                    choices.removeLast();
+                    on_path.remove(vertices.removeLast());
+                    if (!edges.isEmpty())
+                        edges.removeLast();
+                }
+                else if (w.equals(tree.target))
+                {
+                    next_path = new ArrayList<E>(edges);
+                    next_path.add(tight);
+                    return;
+                }
+                else
+                {
+                    edges.add(tight);
+                    vertices.add(w);
+                    on_path.add(w);
+                    choices.add(g.getOutEdges(w).iterator());
+                }
+            }
+        }
+
+        public boolean hasNext()
+        {
+            return next_path != null;
+        }
+
+        public List<E> next()
+        {
+            if (next_path == null)
+                throw new NoSuchElementException();
+            List<E> path = next_path;
+            advance();
+            return path;
+        }
+
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.apache.commons.collections15.Factory;
+import org.apache.commons.collections15.Transformer;
+
+import edu.uci.ics.jung.algorithms.util.WorkerPool;
+import edu.uci.ics.jung.graph.Forest;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.util.IdDictionary;
+import edu.uci.ics.jung.graph.util.Pair;
+
+/**
+ * For the input Graph, creates a minimum spanning forest using Boruvka's
+ * algorithm, whose rounds are each carried out by several threads.
+ *
+ * <p>In each round every component of the forest built so far (initially,
+ * every vertex) finds its lightest edge to another component, and all of
+ * these edges are added to the forest at once, merging components; edges
+ * within a component are then discarded.  Each round at least halves the
+ * number of components that have edges to others, so there are at most
+ * log<sub>2</sub>(n) rounds.  The search for the lightest edges and the
+ * discarding of edges are divided among the threads, and the components
+ * are tracked with a union-find structure over vertex indices.  The 
+ * threads are created for the calculation and released at its end, unless
+ * an <code>ExecutorService</code> is supplied, in which case they are taken
+ * from it (see <code>WorkerPool</code>).
+ *
+ * <p>Edges are treated as undirected.  Edges of equal weight are ranked in
+ * the order of <code>graph.getEdges()</code>, so the forest found is
+ * well defined; if no two edges have the same weight, it has the same edges
+ * as the forest found by <code>MinimumSpanningForest</code> for an undirected
+ * graph.  As with that class, the result is built into
+ * a supplied (empty) <code>Forest</code>, with one tree for each connected
+ * component of the graph; each tree is rooted at its first vertex in the
+ * order of <code>graph.getVertices()</code>, except that the tree containing
+ * <code>root</code> (if it is in the graph) is rooted there, and its
+ * edges are directed away from the root.
+ *
+ * @see "Otakar Boruvka: O jistem problemu minimalnim. Prace Moravske Prirodovedecke Spolecnosti 3:37-58, 1926."
+ * @see MinimumSpanningForest
+ * @see MinimumSpanningForest2
+ */
+public class ParallelMinimumSpanningForest<V,E>
+{
+    /**
+     * Edge lists shorter than this are processed by the calling thread.
+     */
+    protected static final int MIN_PARALLEL_SIZE = 8192;
+
+    /**
+     * The number of edges claimed at a time by each thread.
+     */
+    private static final int CHUNK_SIZE = 4096;
+
+    protected Graph<V,E> graph;
+    protected Forest<V,E> forest;
+
+    private final IdDictionary<V> vertices;
+    private final List<E> edge_list;
+    private final int[] first;
+    private final int[] second;
+    private final double[] weights;
+    private final int[] components;       // union-find parents
+    private final WorkerPool workers = new WorkerPool();
+    private final int parallelism;
+
+    /**
+     * Creates a minimum spanning forest from the supplied graph, populating
+     * a new forest created by <code>factory</code>.
+     * @param graph the graph to find a minimum spanning forest in
+     * @param factory creates the (empty) forest to populate
+     * @param root the root of its tree, may be <code>null</code>
+     * @param weights edge weights, or <code>null</code> if all weights are 1
+     */
+    public ParallelMinimumSpanningForest(Graph<V,E> graph, Factory<Forest<V,E>> factory,
+            V root, Transformer<E,? extends Number> weights)
+    {
+        this(graph, factory.create(), root, weights);
+    }
+
+    /**
+     * Creates a minimum spanning forest from the supplied graph, populating
+     * the supplied forest, which must be empty, and using as many threads
+     * as there are available processors.
+     * @param graph the graph to find a minimum spanning forest in
+     * @param forest the forest to populate; must be empty
+     * @param root the root of its tree, may be <code>null</code>
+     * @param weights edge weights, or <code>null</code> if all weights are 1
+     */
+    public ParallelMinimumSpanningForest(Graph<V,E> graph, Forest<V,E> forest,
+            V root, Transformer<E,? extends Number> weights)
+    {
+        this(graph, forest, root, weights, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a minimum spanning forest from the supplied graph, populating
+     * the supplied forest, which must be empty, and using
+     * <code>parallelism</code> threads.
+     * @param graph the graph to find a minimum spanning forest in
+     * @param forest the forest to populate; must be empty
+     * @param root the root of its tree, may be <code>null</code>
+     * @param weights edge weights, or <code>null</code> if all weights are 1
+     * @param parallelism the number of threads to use
+     */
+    public ParallelMinimumSpanningForest(Graph<V,E> graph, Forest<V,E> forest,
+            V root, Transformer<E,? extends Number> weights, int parallelism)
+    {
+        this(graph, forest, root, weights, parallelism, null);
+    }
+
+    /**
+     * Creates a minimum spanning forest from the supplied graph, populating
+     * the supplied forest, which must be empty, and dividing the work among
+     * <code>parallelism</code> tasks which are run on <code>executor</code>.
+     * @param graph the graph to find a minimum spanning forest in
+     * @param forest the forest to populate; must be empty
+     * @param root the root of its tree, may be <code>null</code>
+     * @param weights edge weights, or <code>null</code> if all weights are 1
+     * @param parallelism the number of tasks to use
+     * @param executor the executor on which the tasks are run, which is not shut
+     * down; if <code>null</code>, threads are created for the calculation
+     */
+    public ParallelMinimumSpanningForest(Graph<V,E> graph, Forest<V,E> forest,
+            V root, Transformer<E,? extends Number> weights, int parallelism,
+            ExecutorService executor)
+    {
+        if (forest.getVertexCount() != 0)
+            throw new IllegalArgumentException("Supplied Forest must be empty");
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive");
+        this.graph = graph;
+        this.forest = forest;
+        this.parallelism = parallelism;
+
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        vertices = new IdDictionary<V>(n);
+        if (root != null && graph.containsVertex(root))
+            vertices.add(root);
+        for (V v : graph.getVertices())
+            vertices.add(v);
+        edge_list = new ArrayList<E>(graph.getEdges());
+        first = new int[m];
+        second = new int[m];
+        this.weights = new double[m];
+        for (int e = 0; e < m; e++)
+        {
+            E edge = edge_list.get(e);
+            Pair<V> endpoints = graph.getEndpoints(edge);
+            first[e] = vertices.getId(endpoints.getFirst());
+            second[e] = vertices.getId(endpoints.getSecond());
+            this.weights[e] = weights == null ? 1 : weights.transform(edge).doubleValue();
+        }
+        components = new int[n];
+        for (int v = 0; v < n; v++)
+            components[v] = v;
+
+        workers.setExecutor(executor);
+        try
+        {
+            buildForest(findForestEdges());
+        }
+        finally
+        {
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * Returns the generated forest.
+     */
+    public Forest<V,E> getForest()
+    {
+        return forest;
+    }
+
+    private int find(int v)
+    {
+        while (components[v] != v)
+        {
+            components[v] = components[components[v]];
+            v = components[v];
+        }
+        return v;
+    }
+
+    /**
+     * Returns <code>true</code> if edge <code>e1</code> ranks below <code>e2</code>.
+     */
+    private boolean lighter(int e1, int e2)
+    {
+        return weights[e1] < weights[e2] || (weights[e1] == weights[e2] && e1 < e2);
+    }
+
+    /**
+     * Runs Boruvka's algorithm, and returns the indices of the edges of the forest.
+     */
+    private int[] findForestEdges()
+    {
+        final int n = vertices.size();
+        int[] forest_edges = new int[Math.max(n - 1, 0)];
+        int forest_size = 0;
+
+        // the edges that may still join different components
+        int[] live = new int[first.length];
+        int live_count = 0;
+        for (int e = 0; e < first.length; e++)
+            if (first[e] != second[e])
+                live[live_count++] = e;
+
+        final AtomicIntegerArray lightest = new AtomicIntegerArray(n);
+        while (live_count > 0)
+        {
+            for (int v = 0; v < n; v++)
+                lightest.set(v, -1);
+            final int[] round_edges = live;
+            forAllEdges(live_count, new EdgeTask()
+            {
+                public void run(int from, int to)
+                {
+                    for (int i = from; i < to; i++)
+                    {
+                        int e = round_edges[i];
+                        offer(lightest, components[first[e]], e);
+                        offer(lightest, components[second[e]], e);
+                    }
+                }
+            });
+
+            // merge along the lightest edges; an edge chosen by both of the
+            // components it joins is added only once
+            for (int c = 0; c < n; c++)
+            {
+                int e = lightest.get(c);
+                if (e < 0)
+                    continue;
+                int r1 = find(first[e]);
+                int r2 = find(second[e]);
+                if (r1 != r2)
+                {
+                    components[r1] = r2;
+                    forest_edges[forest_size++] = e;
+                }
+            }
+            // path halving alone may leave a vertex below its root
+            for (int v = 0; v < n; v++)
+                components[v] = find(v);
+
+            // discard the edges within components, each chunk compacting its own range
+            final int[] chunk_counts = new int[(live_count + CHUNK_SIZE - 1) / CHUNK_SIZE];
+            forAllEdges(live_count, new EdgeTask()
+            {
+                public void run(int from, int to)
+                {
+                    int kept = from;
+                    for (int i = from; i < to; i++)
+                    {
+                        int e = round_edges[i];
+                        if (components[first[e]] != components[second[e]])
+                            round_edges[kept++] = e;
+                    }
+                    chunk_counts[from / CHUNK_SIZE] = kept - from;
+                }
+            });
+            int new_count = 0;
+            for (int chunk = 0; chunk < chunk_counts.length; chunk++)
+            {
+                System.arraycopy(live, chunk * CHUNK_SIZE, live, new_count, chunk_counts[chunk]);
+                new_count += chunk_counts[chunk];
+            }
+            live_count = new_count;
+        }
+        int[] result = new int[forest_size];
+        System.arraycopy(forest_edges, 0, result, 0, forest_size);
+        return result;
+    }
+
+    /**
+     * Makes <code>e</code> the lightest edge of component <code>c</code>
+     * if it is lighter than the current one.
+     */
+    private void offer(AtomicIntegerArray lightest, int c, int e)
+    {
+        while (true)
+        {
+            int current = lightest.get(c);
+            if (current >= 0 && !lighter(e, current))
+                return;
+            if (lightest.compareAndSet(c, current, e))
+                return;
+        }
+    }
+
+    /**
+     * Adds the forest edges to <code>forest</code>, directed away from the
+     * root of each tree.
+     */
+    private void buildForest(int[] forest_edges)
+    {
+        int n = vertices.size();
+        int[] offsets = new int[n + 1];
+        for (int e : forest_edges)
+        {
+            offsets[first[e] + 1]++;
+            offsets[second[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++)
+            offsets[v + 1] += offsets[v];
+        int[] incident = new int[offsets[n]];
+        int[] positions = new int[n];
+        System.arraycopy(offsets, 0, positions, 0, n);
+        for (int e : forest_edges)
+        {
+            incident[positions[first[e]]++] = e;
+            incident[positions[second[e]]++] = e;
+        }
+
+        boolean[] added = new boolean[n];
+        int[] queue = new int[n];
+        for (int r = 0; r < n; r++)
+        {
+            if (added[r])
+                continue;
+            forest.addVertex(vertices.get(r));
+            added[r] = true;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = r;
+            while (head < tail)
+            {
+                int v = queue[head++];
+                for (int i = offsets[v]; i < offsets[v + 1]; i++)
+                {
+                    int e = incident[i];
+                    int w = first[e] == v ? second[e] : first[e];
+                    if (added[w])
+                        continue;
+                    forest.addEdge(edge_list.get(e), vertices.get(v), vertices.get(w));
+                    added[w] = true;
+                    queue[tail++] = w;
+                }
+            }
+        }
+    }
+
+    /**
+     * Work done on a range of positions in the edge list.
+     */
+    private interface EdgeTask
+    {
+        void run(int from, int to);
+    }
+
+    /**
+     * Runs <code>task</code> over positions 0 through <code>count - 1</code>
+     * of the edge list, in chunks of <code>CHUNK_SIZE</code> positions,
+     * in parallel if there is more than one thread and the list is large enough.
+     */
+    private void forAllEdges(final int count, final EdgeTask task)
+    {
+        if (parallelism == 1 || count < MIN_PARALLEL_SIZE)
+        {
+            for (int start = 0; start < count; start += CHUNK_SIZE)
+                task.run(start, Math.min(start + CHUNK_SIZE, count));
+            return;
+        }
+        final AtomicInteger next_chunk = new AtomicInteger();
+        workers.invokeCopies(new Runnable()
+        {
+            public void run()
+            {
+                int start;
+                while ((start = next_chunk.getAndAdd(CHUNK_SIZE)) < count)
+                    task.run(start, Math.min(start + CHUNK_SIZE, count));
+            }
+        }, parallelism);
+    }
+}
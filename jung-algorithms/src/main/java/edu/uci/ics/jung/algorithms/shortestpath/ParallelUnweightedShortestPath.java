@@ -0,0 +1,531 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import edu.uci.ics.jung.algorithms.util.Indexer;
+import edu.uci.ics.jung.algorithms.util.WorkerPool;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.IndexedGraph;
+
+/**
+ * Computes the shortest path distances for graphs whose edges are not
+ * weighted, as <code>UnweightedShortestPath</code> does, using a breadth-first
+ * search whose levels are each explored by several threads.
+ *
+ * <p>The vertices of each level (the <i>frontier</i>) are kept in a bitmap.
+ * Each level is explored either <i>top-down</i>, by following the out-edges
+ * of the frontier vertices, or <i>bottom-up</i>, by looking for an in-edge
+ * from the frontier at each vertex not yet reached.  The search starts
+ * top-down, switches to bottom-up once the frontier has more out-edges than
+ * 1/{@value #ALPHA} of the in-edges of the vertices not yet reached (which
+ * happens in the middle levels of a search of a small-world graph, when
+ * most edges followed top-down lead to vertices already reached), and
+ * switches back once the frontier has shrunk below 1/{@value #BETA} of
+ * the vertices.
+ *
+ * <p>The results do not depend on the number of threads or on the
+ * direction in which each level was explored.  The maps returned by
+ * <code>getDistanceMap</code> and <code>getIncomingEdgeMap</code> are equal
+ * to those returned by <code>UnweightedShortestPath</code> for a graph that
+ * is not an <code>IndexedGraph</code>: the incoming edge of each vertex is
+ * the first of its in-edges, in the order of <code>getInEdges</code>, whose
+ * other endpoint is one step closer to the source.  <code>getPredecessors</code>
+ * returns the predecessors that <code>BFSDistanceLabeler</code> does.  The
+ * maps iterate over the vertices in order of nondecreasing distance, and
+ * are cached until <code>reset</code> is called.
+ *
+ * <p>The vertex and edge indices are taken when this instance is created
+ * (using <code>Indexer.createIndexedGraph(graph)</code>); the graph should
+ * not be modified while this instance is in use.  The threads are kept from
+ * one search to the next (see <code>WorkerPool</code>) until
+ * <code>shutdown</code> is called, or may be supplied by the caller with
+ * <code>setExecutor</code>.
+ *
+ * @see "Scott Beamer, Krste Asanovic and David Patterson: Direction-optimizing breadth-first search. SC 2012."
+ * @see UnweightedShortestPath
+ * @see BFSDistanceLabeler
+ */
+public class ParallelUnweightedShortestPath<V,E> implements ShortestPath<V,E>, Distance<V>
+{
+    /**
+     * The search switches to bottom-up when the frontier has more than
+     * 1/<code>ALPHA</code> of the in-edges of the unreached vertices as out-edges.
+     */
+    public static final int ALPHA = 14;
+
+    /**
+     * The search switches back to top-down when the frontier has fewer
+     * than 1/<code>BETA</code> of the vertices.
+     */
+    public static final int BETA = 24;
+
+    /**
+     * Graphs with fewer vertices than this are searched by the calling thread.
+     */
+    protected static final int MIN_PARALLEL_SIZE = 4096;
+
+    /**
+     * The number of bitmap words (of 64 vertices each) claimed at a time by each thread.
+     */
+    private static final int CHUNK_WORDS = 16;
+
+    protected final IndexedGraph<V,E> graph;
+    protected int parallelism;
+    protected Map<V,Tree> trees = new HashMap<V,Tree>();
+    private final WorkerPool workers = new WorkerPool();
+
+    /**
+     * Creates an instance for the specified graph.
+     * @param graph the graph on which distances will be calculated
+     */
+    public ParallelUnweightedShortestPath(Graph<V,E> graph)
+    {
+        this.graph = Indexer.createIndexedGraph(graph);
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Sets the number of threads used by each search; the default is the
+     * number of available processors.  If <code>parallelism</code> is 1,
+     * searches are run entirely by the calling thread.
+     */
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the number of threads used by each search.
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Sets the executor on which the work of each search is run, or
+     * <code>null</code> (the default) to use threads created by this instance.
+     * This instance does not shut down <code>executor</code>.
+     */
+    public void setExecutor(ExecutorService executor)
+    {
+        workers.setExecutor(executor);
+    }
+
+    /**
+     * Releases the threads created by this instance, if any.  They are
+     * created again if another search is run in parallel.
+     */
+    public void shutdown()
+    {
+        workers.shutdown();
+    }
+
+    /**
+     * Returns the number of edges on a shortest path from <code>source</code>
+     * to <code>target</code>, or <code>null</code> if <code>target</code> is
+     * not reachable from <code>source</code>.
+     * @throws IllegalArgumentException if either vertex is not in the graph
+     */
+    public Number getDistance(V source, V target)
+    {
+        int t = checkTarget(target);
+        int distance = getTree(source).levels[t];
+        return distance < 0 ? null : distance;
+    }
+
+    /**
+     * Returns a map from each vertex reachable from <code>source</code>
+     * (including <code>source</code>) to its distance from <code>source</code>,
+     * whose iterator returns the vertices in order of nondecreasing distance.
+     * @throws IllegalArgumentException if <code>source</code> is not in the graph
+     */
+    public Map<V,Number> getDistanceMap(V source)
+    {
+        Tree tree = getTree(source);
+        if (tree.distance_map == null)
+        {
+            Map<V,Number> distance_map = new LinkedHashMap<V,Number>();
+            for (int i = 0; i < tree.order.length; i++)
+            {
+                int v = tree.order[i];
+                distance_map.put(graph.getVertex(v), tree.levels[v]);
+            }
+            tree.distance_map = distance_map;
+        }
+        return tree.distance_map;
+    }
+
+    /**
+     * Returns a map from each vertex reachable from <code>source</code>
+     * (excluding <code>source</code>) to the last edge on a shortest path
+     * from <code>source</code>, whose iterator returns the vertices in order
+     * of nondecreasing distance.
+     * @throws IllegalArgumentException if <code>source</code> is not in the graph
+     */
+    public Map<V,E> getIncomingEdgeMap(V source)
+    {
+        Tree tree = getTree(source);
+        if (tree.incoming_map == null)
+        {
+            Map<V,E> incoming_map = new LinkedHashMap<V,E>();
+            for (int i = 1; i < tree.order.length; i++)
+            {
+                int v = tree.order[i];
+                incoming_map.put(graph.getVertex(v), graph.getEdge(tree.incoming[v]));
+            }
+            tree.incoming_map = incoming_map;
+        }
+        return tree.incoming_map;
+    }
+
+    /**
+     * Returns the vertices from which <code>target</code> is reached by an
+     * edge on some shortest path from <code>source</code>: those one step
+     * closer to <code>source</code> that have an edge to <code>target</code>.
+     * The set is empty if <code>target</code> is <code>source</code> or
+     * is not reachable from it.
+     * @throws IllegalArgumentException if either vertex is not in the graph
+     */
+    public Set<V> getPredecessors(V source, V target)
+    {
+        int t = checkTarget(target);
+        Tree tree = getTree(source);
+        Set<V> predecessors = new HashSet<V>();
+        int level = tree.levels[t];
+        if (level > 0)
+        {
+            for (int i = 0, count = graph.getInEdgeCount(t); i < count; i++)
+            {
+                int u = graph.getOppositeIndex(t, graph.getInEdgeIndex(t, i));
+                if (tree.levels[u] == level - 1)
+                    predecessors.add(graph.getVertex(u));
+            }
+        }
+        return predecessors;
+    }
+
+    /**
+     * Discards all cached results.
+     */
+    public void reset()
+    {
+        trees.clear();
+    }
+
+    /**
+     * Discards the cached results for <code>source</code>.
+     */
+    public void reset(V source)
+    {
+        trees.remove(source);
+    }
+
+    private int checkTarget(V target)
+    {
+        int t = graph.getVertexIndex(target);
+        if (t < 0)
+            throw new IllegalArgumentException("Specified target vertex " +
+                    target + " is not part of graph " + graph);
+        return t;
+    }
+
+    private Tree getTree(V source)
+    {
+        Tree tree = trees.get(source);
+        if (tree == null)
+        {
+            int s = graph.getVertexIndex(source);
+            if (s < 0)
+                throw new IllegalArgumentException("Specified source vertex " +
+                        source + " is not part of graph " + graph);
+            tree = new Search(s).run();
+            trees.put(source, tree);
+        }
+        return tree;
+    }
+
+    /**
+     * The result of a search: the level (distance) of each vertex, or -1 if
+     * it was not reached; the index of the incoming edge of each reached
+     * vertex other than the source; and the reached vertices in order of
+     * level.  The maps are built when first requested.
+     */
+    protected class Tree
+    {
+        final int[] levels;
+        final int[] incoming;
+        final int[] order;
+        Map<V,Number> distance_map;
+        Map<V,E> incoming_map;
+
+        Tree(int[] levels, int[] incoming, int[] order)
+        {
+            this.levels = levels;
+            this.incoming = incoming;
+            this.order = order;
+        }
+    }
+
+    /**
+     * Work done on a range of bitmap words, that is, on the vertices
+     * <code>64 * from_word</code> to <code>64 * to_word - 1</code>.
+     */
+    private interface WordTask
+    {
+        void run(int from_word, int to_word);
+    }
+
+    /**
+     * A single search.
+     */
+    private class Search
+    {
+        private final int source;
+        private final int n;
+        private final int words;
+        private final int[] levels;
+        private long[] frontier;
+
+        Search(int source)
+        {
+            this.source = source;
+            this.n = graph.getVertexCount();
+            this.words = (n + 63) >>> 6;
+            this.levels = new int[n];
+        }
+
+        /**
+         * Runs <code>task</code> over all of the bitmap words, in parallel
+         * if the parallelism and the graph are large enough.
+         */
+        private void forAllWords(final WordTask task)
+        {
+            if (parallelism == 1 || n < MIN_PARALLEL_SIZE)
+            {
+                task.run(0, words);
+                return;
+            }
+            final AtomicInteger next_chunk = new AtomicInteger();
+            workers.invokeCopies(new Runnable()
+            {
+                public void run()
+                {
+                    int start;
+                    while ((start = next_chunk.getAndAdd(CHUNK_WORDS)) < words)
+                        task.run(start, Math.min(start + CHUNK_WORDS, words));
+                }
+            }, parallelism);
+        }
+
+        Tree run()
+        {
+            for (int v = 0; v < n; v++)
+                levels[v] = -1;
+            long unexplored_edges = 0;
+            for (int v = 0; v < n; v++)
+                unexplored_edges += graph.getInEdgeCount(v);
+            levels[source] = 0;
+            unexplored_edges -= graph.getInEdgeCount(source);
+            frontier = new long[words];
+            frontier[source >>> 6] |= 1L << (source & 63);
+            long frontier_edges = graph.getOutEdgeCount(source);
+            int frontier_size = 1;
+            int reached = 1;
+            boolean bottom_up = false;
+
+            for (int level = 1; frontier_size > 0; level++)
+            {
+                if (!bottom_up && frontier_edges > unexplored_edges / ALPHA)
+                    bottom_up = true;
+                else if (bottom_up && frontier_size < n / BETA)
+                    bottom_up = false;
+
+                final AtomicLongArray next = new AtomicLongArray(words);
+                forAllWords(bottom_up ? new BottomUp(next) : new TopDown(next));
+
+                // assign the new level, and measure the new frontier
+                final int new_level = level;
+                final AtomicLong edge_total = new AtomicLong();
+                final AtomicLong in_edge_total = new AtomicLong();
+                final AtomicInteger size_total = new AtomicInteger();
+                final long[] new_frontier = new long[words];
+                forAllWords(new WordTask()
+                {
+                    public void run(int from_word, int to_word)
+                    {
+                        long edges = 0;
+                        long in_edges = 0;
+                        int size = 0;
+                        for (int word = from_word; word < to_word; word++)
+                        {
+                            long bits = next.get(word);
+                            new_frontier[word] = bits;
+                            while (bits != 0)
+                            {
+                                int v = (word << 6) + Long.numberOfTrailingZeros(bits);
+                                bits &= bits - 1;
+                                levels[v] = new_level;
+                                edges += graph.getOutEdgeCount(v);
+                                in_edges += graph.getInEdgeCount(v);
+                                size++;
+                            }
+                        }
+                        edge_total.addAndGet(edges);
+                        in_edge_total.addAndGet(in_edges);
+                        size_total.addAndGet(size);
+                    }
+                });
+                frontier = new_frontier;
+                frontier_edges = edge_total.get();
+                frontier_size = size_total.get();
+                unexplored_edges -= in_edge_total.get();
+                reached += frontier_size;
+            }
+
+            final int[] incoming = new int[n];
+            forAllWords(new WordTask()
+            {
+                public void run(int from_word, int to_word)
+                {
+                    for (int v = from_word << 6, end = Math.min(to_word << 6, n); v < end; v++)
+                    {
+                        incoming[v] = -1;
+                        if (levels[v] <= 0)
+                            continue;
+                        for (int i = 0, count = graph.getInEdgeCount(v); i < count; i++)
+                        {
+                            int e = graph.getInEdgeIndex(v, i);
+                            if (levels[graph.getOppositeIndex(v, e)] == levels[v] - 1)
+                            {
+                                incoming[v] = e;
+                                break;
+                            }
+                        }
+                    }
+                }
+            });
+
+            // order the reached vertices by level (counting sort)
+            int max_level = 0;
+            for (int v = 0; v < n; v++)
+                max_level = Math.max(max_level, levels[v]);
+            int[] starts = new int[max_level + 2];
+            for (int v = 0; v < n; v++)
+                if (levels[v] >= 0)
+                    starts[levels[v] + 1]++;
+            for (int l = 1; l < starts.length; l++)
+                starts[l] += starts[l - 1];
+            int[] order = new int[reached];
+            for (int v = 0; v < n; v++)
+                if (levels[v] >= 0)
+                    order[starts[levels[v]]++] = v;
+            return new Tree(levels, incoming, order);
+        }
+
+        /**
+         * Follows the out-edges of the frontier vertices, and marks the
+         * unreached vertices at their other ends.
+         */
+        private class TopDown implements WordTask
+        {
+            private final AtomicLongArray next;
+
+            TopDown(AtomicLongArray next)
+            {
+                this.next = next;
+            }
+
+            public void run(int from_word, int to_word)
+            {
+                for (int word = from_word; word < to_word; word++)
+                {
+                    long bits = frontier[word];
+                    while (bits != 0)
+                    {
+                        int v = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        for (int i = 0, count = graph.getOutEdgeCount(v); i < count; i++)
+                        {
+                            int w = graph.getOppositeIndex(v, graph.getOutEdgeIndex(v, i));
+                            if (levels[w] < 0)
+                                mark(w);
+                        }
+                    }
+                }
+            }
+
+            private void mark(int w)
+            {
+                int word = w >>> 6;
+                long mask = 1L << (w & 63);
+                long bits;
+                do
+                {
+                    bits = next.get(word);
+                    if ((bits & mask) != 0)
+                        return;
+                }
+                while (!next.compareAndSet(word, bits, bits | mask));
+            }
+        }
+
+        /**
+         * Marks each unreached vertex that has an in-edge from the frontier.
+         * Each thread writes only the words in its own range.
+         */
+        private class BottomUp implements WordTask
+        {
+            private final AtomicLongArray next;
+
+            BottomUp(AtomicLongArray next)
+            {
+                this.next = next;
+            }
+
+            public void run(int from_word, int to_word)
+            {
+                for (int word = from_word; word < to_word; word++)
+                {
+                    long bits = 0;
+                    for (int v = word << 6, end = Math.min((word + 1) << 6, n); v < end; v++)
+                    {
+                        if (levels[v] >= 0)
+                            continue;
+                        for (int i = 0, count = graph.getInEdgeCount(v); i < count; i++)
+                        {
+                            int u = graph.getOppositeIndex(v, graph.getInEdgeIndex(v, i));
+                            if ((frontier[u >>> 6] & (1L << (u & 63))) != 0)
+                            {
+                                bits |= 1L << (v & 63);
+                                break;
+                            }
+                        }
+                    }
+                    next.set(word, bits);
+                }
+            }
+        }
+    }
+}
@@ -1,20 +1,31 @@
 package edu.uci.ics.jung.algorithms.shortestpath;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.collections15.Factory;
 import org.apache.commons.collections15.Transformer;
 import org.apache.commons.collections15.functors.ConstantTransformer;
 
+import edu.uci.ics.jung.algorithms.util.IntPriorityQueue;
 import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.util.IdDictionary;
 import edu.uci.ics.jung.graph.util.Pair;
 
 /**
  * For the input Graph, creates a MinimumSpanningTree
  * using a variation of Prim's algorithm.
  * 
+ * <p>By default each step scans the remaining edges for the lightest edge
+ * leaving the tree.  If a priority queue type is specified, the vertices 
+ * not yet in the tree are instead kept in an <code>IntPriorityQueue</code>,
+ * keyed by the weight of the lightest edge joining each to the tree, which 
+ * takes O(m log n) time.
+ * 
  * @author Tom Nelson - tomnelson@dev.java.net
  *
  * @param <V> the vertex type
@@ -25,6 +36,7 @@ public class PrimMinimumSpanningTree<V,E> implements Transformer<Graph<V,E>,Grap
 	
 	protected Factory<? extends Graph<V,E>> treeFactory;
 	protected Transformer<E,Double> weights; 
+	protected IntPriorityQueue.Type queue_type;
 	
 	/**
 	 * Creates an instance which generates a minimum spanning tree assuming constant edge weights.
@@ -44,10 +56,29 @@ public class PrimMinimumSpanningTree<V,E> implements Transformer<Graph<V,E>,Grap
 		}
 	}
 	
+    /**
+     * Creates an instance which generates a minimum spanning tree using the input edge weights
+     * and a priority queue of the specified type.
+     * @throws IllegalArgumentException if <code>queue_type</code> is 
+     * <code>IntPriorityQueue.Type.RADIX</code>, which requires monotone keys
+     */
+	public PrimMinimumSpanningTree(Factory<? extends Graph<V,E>> factory, 
+			Transformer<E, Double> weights, IntPriorityQueue.Type queue_type) {
+		this(factory, weights);
+		if(queue_type == IntPriorityQueue.Type.RADIX) {
+			throw new IllegalArgumentException("Prim's algorithm does not produce monotone keys, " +
+					"as required by radix heaps");
+		}
+		this.queue_type = queue_type;
+	}
+	
 	/**
 	 * @param graph the Graph to find MST in
 	 */
     public Graph<V,E> transform(Graph<V,E> graph) {
+    	if(queue_type != null) {
+    		return transformWithQueue(graph);
+    	}
 		Set<E> unfinishedEdges = new HashSet<E>(graph.getEdges());
 		Graph<V,E> tree = treeFactory.create();
 		V root = findRoot(graph);
@@ -62,6 +93,53 @@ public class PrimMinimumSpanningTree<V,E> implements Transformer<Graph<V,E>,Grap
 		return tree;
 	}
     
+    /**
+     * Grows the tree from the root chosen by <code>findRoot</code>, using a 
+     * priority queue of the vertices adjacent to the tree.
+     */
+    protected Graph<V,E> transformWithQueue(Graph<V,E> graph) {
+		Graph<V,E> tree = treeFactory.create();
+		V root = findRoot(graph);
+		if(root == null) {
+			return tree;
+		}
+		IdDictionary<V> ids = new IdDictionary<V>(graph.getVertexCount());
+		for(V v : graph.getVertices()) {
+			ids.add(v);
+		}
+		int n = ids.size();
+		boolean[] inTree = new boolean[n];
+		List<E> bestEdges = new ArrayList<E>(Collections.<E>nCopies(n, null));	// lightest edge joining each vertex to the tree
+		int[] bestEnds = new int[n];		// the endpoint of that edge already in the tree
+		IntPriorityQueue queue = queue_type.create(n);
+		queue.add(ids.getId(root), 0);
+		while(!queue.isEmpty()) {
+			int v = queue.poll();
+			inTree[v] = true;
+			V vertex = ids.get(v);
+			if(bestEdges.get(v) == null) {
+				tree.addVertex(vertex);
+			} else {
+				tree.addEdge(bestEdges.get(v), ids.get(bestEnds[v]), vertex);
+			}
+			for(E e : graph.getIncidentEdges(vertex)) {
+				int w = ids.getId(graph.getOpposite(vertex, e));
+				if(inTree[w]) continue;
+				double weight = weights.transform(e);
+				if(!queue.contains(w)) {
+					queue.add(w, weight);
+				} else if(weight < queue.getKey(w)) {
+					queue.decreaseKey(w, weight);
+				} else {
+					continue;
+				}
+				bestEdges.set(w, e);
+				bestEnds[w] = v;
+			}
+		}
+		return tree;
+    }
+    
     protected V findRoot(Graph<V,E> graph) {
     	for(V v : graph.getVertices()) {
     		if(graph.getInEdges(v).size() == 0) {
@@ -9,13 +9,21 @@
 */
 package edu.uci.ics.jung.algorithms.shortestpath;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.commons.collections15.Closure;
+
 import edu.uci.ics.jung.graph.Hypergraph;
+import edu.uci.ics.jung.graph.IndexedGraph;
 
 /**
  * Computes the shortest path distances for graphs whose edges are not weighted (using BFS).
+ * If the graph is an <code>IndexedGraph</code>, the search uses array-based
+ * state rather than <code>BFSDistanceLabeler</code>.  In either case the 
+ * incoming edge of each vertex is the first of its in-edges, in the order
+ * of <code>getInEdges</code>, whose other end is one step nearer the source.
  * 
  * @author Scott White
  */
@@ -82,11 +90,17 @@ public class UnweightedShortestPath<V, E>
 	 */
 	private void computeShortestPathsFromSource(V source)
 	{
+		if (mGraph instanceof IndexedGraph)
+		{
+			computeIndexedShortestPathsFromSource((IndexedGraph<V,E>)mGraph, source);
+			return;
+		}
 		BFSDistanceLabeler<V,E> labeler = new BFSDistanceLabeler<V,E>();
 		labeler.labelDistances(mGraph, source);
         distances = labeler.getDistanceDecorator();
 		Map<V,Number> currentSourceSPMap = new HashMap<V,Number>();
 		Map<V,E> currentSourceEdgeMap = new HashMap<V,E>();
+		IncomingEdgeVisitor visitor = new IncomingEdgeVisitor(currentSourceEdgeMap);
 
         for(V vertex : mGraph.getVertices()) {
             
@@ -96,30 +110,100 @@ public class UnweightedShortestPath<V, E>
             if (distanceVal != null && distanceVal.intValue() >= 0) 
             {
                 currentSourceSPMap.put(vertex, distanceVal);
-                int minDistance = distanceVal.intValue();
-                for(E incomingEdge : mGraph.getInEdges(vertex)) 
-                {
-                	for (V neighbor : mGraph.getIncidentVertices(incomingEdge))
-                	{
-                		if (neighbor.equals(vertex))
-                			continue;
-//	                    V neighbor = mGraph.getOpposite(vertex, incomingEdge);
-	
-	                    Number predDistanceVal = distances.get(neighbor);
-	
-	                    int pred_distance = predDistanceVal.intValue();
-	                    if (pred_distance < minDistance && pred_distance >= 0)
-	                    {
-	                        minDistance = predDistanceVal.intValue();
-	                        currentSourceEdgeMap.put(vertex, incomingEdge);
-	                    }
-                	}
-                }
+                visitor.vertex = vertex;
+                visitor.minDistance = distanceVal.intValue();
+                mGraph.forEachInEdge(vertex, visitor);
             }
 		}
 		mDistanceMap.put(source, currentSourceSPMap);
 		mIncomingEdgeMap.put(source, currentSourceEdgeMap);
 	}
+
+	/**
+	 * Records, as the incoming edge of <code>vertex</code>, the in-edge 
+	 * whose other end is nearest the source; reused across all vertices.
+	 */
+	private class IncomingEdgeVisitor implements Closure<E>
+	{
+		final Map<V,E> incomingEdgeMap;
+		V vertex;
+		int minDistance;
+
+		IncomingEdgeVisitor(Map<V,E> incomingEdgeMap)
+		{
+			this.incomingEdgeMap = incomingEdgeMap;
+		}
+
+		public void execute(E incomingEdge)
+		{
+			for (V neighbor : mGraph.getIncidentVertices(incomingEdge))
+			{
+				if (neighbor.equals(vertex))
+					continue;
+				int pred_distance = distances.get(neighbor).intValue();
+				if (pred_distance < minDistance && pred_distance >= 0)
+				{
+					minDistance = pred_distance;
+					incomingEdgeMap.put(vertex, incomingEdge);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the shortest path distances from a given node to all other nodes,
+	 * using vertex indices in place of vertex-keyed maps during the search.
+	 * The incoming edges are chosen once the distances are known, by the 
+	 * same rule as <code>IncomingEdgeVisitor</code>.
+	 * @param graph the indexed graph
+	 * @param source the source node
+	 */
+	private void computeIndexedShortestPathsFromSource(IndexedGraph<V,E> graph, V source)
+	{
+		Map<V,Number> currentSourceSPMap = new HashMap<V,Number>();
+		Map<V,E> currentSourceEdgeMap = new HashMap<V,E>();
+		int s = graph.getVertexIndex(source);
+		if (s >= 0)
+		{
+			int[] distance = new int[graph.getVertexCount()];
+			int[] queue = new int[graph.getVertexCount()];
+			Arrays.fill(distance, -1);
+			distance[s] = 0;
+			queue[0] = s;
+			int head = 0;
+			int tail = 1;
+			while (head < tail)
+			{
+				int w = queue[head++];
+				currentSourceSPMap.put(graph.getVertex(w), distance[w]);
+				for (int i = 0, count = graph.getOutEdgeCount(w); i < count; i++)
+				{
+					int e = graph.getOutEdgeIndex(w, i);
+					int x = graph.getOppositeIndex(w, e);
+					if (distance[x] < 0)
+					{
+						distance[x] = distance[w] + 1;
+						queue[tail++] = x;
+					}
+				}
+			}
+			for (int j = 1; j < tail; j++)
+			{
+				int x = queue[j];
+				for (int i = 0, count = graph.getInEdgeCount(x); i < count; i++)
+				{
+					int e = graph.getInEdgeIndex(x, i);
+					if (distance[graph.getOppositeIndex(x, e)] == distance[x] - 1)
+					{
+						currentSourceEdgeMap.put(graph.getVertex(x), graph.getEdge(e));
+						break;
+					}
+				}
+			}
+		}
+		mDistanceMap.put(source, currentSourceSPMap);
+		mIncomingEdgeMap.put(source, currentSourceEdgeMap);
+	}
     
     /**
      * Clears all stored distances for this instance.  
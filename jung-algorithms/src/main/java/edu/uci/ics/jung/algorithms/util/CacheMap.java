@@ -0,0 +1,308 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A <code>Map</code> for use as a cache, which may be bounded in size and
+ * may hold its values by soft reference, and which counts hits, misses,
+ * and evictions.
+ *
+ * <p>When the map holds more than its maximum size, the least recently
+ * used entry (that is, the one least recently added or successfully
+ * retrieved by <code>get</code>) is evicted.  If values are held softly,
+ * the garbage collector may also clear them when memory is short; their
+ * entries are then removed, and counted as evicted.  <code>get</code>
+ * counts a hit if it finds a value, and otherwise a miss; no other method
+ * affects the counts or the order of use.
+ *
+ * <p>Null keys and values are not supported; putting a <code>null</code>
+ * value removes the key.  The views returned by <code>entrySet</code>,
+ * <code>keySet</code> and <code>values</code> are unmodifiable snapshots, in
+ * order from least to most recently used.  This class is not synchronized.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class CacheMap<K,V> extends AbstractMap<K,V>
+{
+    private final LinkedHashMap<K,Value<K,V>> entries;
+    private final ReferenceQueue<V> collected = new ReferenceQueue<V>();
+    private int max_size;
+    private boolean soft;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an unbounded instance which holds its values strongly.
+     */
+    public CacheMap()
+    {
+        this(Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * Creates an instance which holds at most <code>max_size</code> entries,
+     * and holds its values softly if <code>soft</code> is <code>true</code>.
+     * @throws IllegalArgumentException if <code>max_size</code> is negative
+     */
+    public CacheMap(int max_size, boolean soft)
+    {
+        if (max_size < 0)
+            throw new IllegalArgumentException("max_size must be nonnegative");
+        this.max_size = max_size;
+        this.soft = soft;
+        this.entries = new LinkedHashMap<K,Value<K,V>>()
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K,Value<K,V>> eldest)
+            {
+                if (size() <= CacheMap.this.max_size)
+                    return false;
+                eldest.getValue().clear();
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the maximum number of entries.
+     */
+    public int getMaxSize()
+    {
+        return max_size;
+    }
+
+    /**
+     * Sets the maximum number of entries, evicting the least recently used
+     * entries if there are more.
+     * @throws IllegalArgumentException if <code>max_size</code> is negative
+     */
+    public void setMaxSize(int max_size)
+    {
+        if (max_size < 0)
+            throw new IllegalArgumentException("max_size must be nonnegative");
+        this.max_size = max_size;
+        purge();
+        for (Iterator<Value<K,V>> iter = entries.values().iterator();
+             entries.size() > max_size && iter.hasNext(); )
+        {
+            iter.next().clear();
+            iter.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if values are held by soft reference.
+     */
+    public boolean isSoft()
+    {
+        return soft;
+    }
+
+    /**
+     * Specifies whether values are to be held by soft reference; the
+     * values already present are converted.
+     */
+    public void setSoft(boolean soft)
+    {
+        if (soft == this.soft)
+            return;
+        this.soft = soft;
+        purge();
+        for (Map.Entry<K,Value<K,V>> entry : entries.entrySet())
+        {
+            V value = entry.getValue().getValue();
+            if (value != null)
+                entry.setValue(new Value<K,V>(entry.getKey(), value, soft, collected));
+        }
+    }
+
+    /**
+     * Returns the number of calls to <code>get</code> that found a value.
+     */
+    public long getHitCount()
+    {
+        return hits;
+    }
+
+    /**
+     * Returns the number of calls to <code>get</code> that found no value.
+     */
+    public long getMissCount()
+    {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries removed because the map was full or
+     * because their values were collected.
+     */
+    public long getEvictionCount()
+    {
+        return evictions;
+    }
+
+    /**
+     * Sets the hit, miss, and eviction counts to 0.
+     */
+    public void resetStatistics()
+    {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Removes the entries whose values have been collected.
+     */
+    @SuppressWarnings("unchecked")
+    private void purge()
+    {
+        Value<K,V> value;
+        while ((value = (Value<K,V>)collected.poll()) != null)
+        {
+            if (entries.get(value.key) == value)
+            {
+                entries.remove(value.key);
+                evictions++;
+            }
+        }
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        purge();
+        Value<K,V> entry = entries.remove(key);
+        V value = entry == null ? null : entry.getValue();
+        if (value == null)
+        {
+            if (entry != null)
+                evictions++;
+            misses++;
+            return null;
+        }
+        // reinsert, to make this the most recently used entry
+        entries.put(entry.key, entry);
+        hits++;
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        purge();
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        if (value == null)
+            return remove(key);
+        purge();
+        Value<K,V> old = entries.remove(key);
+        entries.put(key, new Value<K,V>(key, value, soft, collected));
+        if (old == null)
+            return null;
+        V old_value = old.getValue();
+        old.clear();
+        return old_value;
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        purge();
+        Value<K,V> old = entries.remove(key);
+        if (old == null)
+            return null;
+        V value = old.getValue();
+        old.clear();
+        return value;
+    }
+
+    @Override
+    public void clear()
+    {
+        for (Value<K,V> value : entries.values())
+            value.clear();
+        entries.clear();
+        while (collected.poll() != null)
+            ;
+    }
+
+    @Override
+    public int size()
+    {
+        purge();
+        return entries.size();
+    }
+
+    @Override
+    public Set<Map.Entry<K,V>> entrySet()
+    {
+        purge();
+        Map<K,V> snapshot = new LinkedHashMap<K,V>();
+        for (Value<K,V> entry : entries.values())
+        {
+            V value = entry.getValue();
+            if (value != null)
+                snapshot.put(entry.key, value);
+        }
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+
+    /**
+     * A value and its key.  If the value is held strongly, it is held both
+     * by the reference and by <code>strong</code>, so that the reference
+     * is never cleared by the garbage collector.
+     */
+    private static class Value<K,V> extends SoftReference<V>
+    {
+        final K key;
+        V strong;
+
+        Value(K key, V value, boolean soft, ReferenceQueue<? super V> queue)
+        {
+            super(value, queue);
+            this.key = key;
+            this.strong = soft ? null : value;
+        }
+
+        V getValue()
+        {
+            return strong != null ? strong : get();
+        }
+
+        @Override
+        public void clear()
+        {
+            super.clear();
+            strong = null;
+        }
+    }
+}
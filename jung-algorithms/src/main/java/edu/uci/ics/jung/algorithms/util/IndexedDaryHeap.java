@@ -0,0 +1,171 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An array-based <i>d</i>-ary heap of integer ids.  A larger arity makes
+ * the tree shallower, so that <code>add</code> and <code>decreaseKey</code>
+ * are cheaper and <code>poll</code> (which compares up to <i>d</i> children
+ * per level) is costlier; the default of 4 is usually a good choice for
+ * Dijkstra's algorithm, which lowers keys more often than it removes ids.
+ */
+public class IndexedDaryHeap implements IntPriorityQueue
+{
+    /**
+     * The arity used by {@link #IndexedDaryHeap(int)}.
+     */
+    public static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private final int[] heap;
+    private final int[] position;   // position of each id in heap, or -1
+    private final double[] keys;
+    private int size;
+
+    /**
+     * Creates an empty heap, with the default arity, for ids in the
+     * range [0, <code>capacity</code>).
+     */
+    public IndexedDaryHeap(int capacity)
+    {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Creates an empty heap, with the specified arity, for ids in the
+     * range [0, <code>capacity</code>).
+     */
+    public IndexedDaryHeap(int capacity, int arity)
+    {
+        if (arity < 2)
+            throw new IllegalArgumentException("arity must be at least 2");
+        this.arity = arity;
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public boolean contains(int id)
+    {
+        return position[id] >= 0;
+    }
+
+    public double getKey(int id)
+    {
+        return keys[id];
+    }
+
+    public void add(int id, double key)
+    {
+        if (position[id] >= 0)
+            throw new IllegalArgumentException("id " + id + " is already in the heap");
+        keys[id] = key;
+        heap[size] = id;
+        position[id] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int id, double key)
+    {
+        if (key > keys[id])
+            throw new IllegalArgumentException("new key " + key +
+                    " is greater than the current key " + keys[id]);
+        keys[id] = key;
+        siftUp(position[id]);
+    }
+
+    public int peek()
+    {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return heap[0];
+    }
+
+    public double peekKey()
+    {
+        return keys[peek()];
+    }
+
+    public int poll()
+    {
+        int min = peek();
+        position[min] = -1;
+        if (--size > 0)
+        {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    public void clear()
+    {
+        for (int i = 0; i < size; i++)
+            position[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int i)
+    {
+        int id = heap[i];
+        double key = keys[id];
+        while (i > 0)
+        {
+            int parent = (i - 1) / arity;
+            if (keys[heap[parent]] <= key)
+                break;
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+
+    private void siftDown(int i)
+    {
+        int id = heap[i];
+        double key = keys[id];
+        while (true)
+        {
+            int first = arity * i + 1;
+            if (first >= size)
+                break;
+            int min = first;
+            for (int child = first + 1, last = Math.min(first + arity, size); child < last; child++)
+                if (keys[heap[child]] < keys[heap[min]])
+                    min = child;
+            if (key <= keys[heap[min]])
+                break;
+            heap[i] = heap[min];
+            position[heap[i]] = i;
+            i = min;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+}
@@ -14,6 +14,15 @@ import java.util.Collection;
 import org.apache.commons.collections15.BidiMap;
 import org.apache.commons.collections15.bidimap.DualHashBidiMap;
 
+import edu.uci.ics.jung.graph.DirectedGraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.GraphDecorator;
+import edu.uci.ics.jung.graph.IndexedGraph;
+import edu.uci.ics.jung.graph.UndirectedGraph;
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.IdDictionary;
+import edu.uci.ics.jung.graph.util.Pair;
+
 /**
  * A class providing static methods useful for improving the
  * performance of graph algorithms.
@@ -53,4 +62,162 @@ public class Indexer {
 		}
 		return map;
 	}
+
+	/**
+	 * Returns an <code>IndexedGraph</code> view of <code>graph</code>, which 
+	 * numbers the vertices and edges in the order of <code>getVertices()</code>
+	 * and <code>getEdges()</code>, and records the adjacency structure of 
+	 * <code>graph</code> as index arrays.  If <code>graph</code> is already
+	 * an <code>IndexedGraph</code>, it is returned unchanged.
+	 * 
+	 * <p>The view is unmodifiable; it reflects the structure of <code>graph</code>
+	 * at the time that it was created, and should not be used once 
+	 * <code>graph</code> has been modified.  The view implements 
+	 * <code>DirectedGraph</code> (or <code>UndirectedGraph</code>) if 
+	 * <code>graph</code> does.
+	 * @param graph the graph to index
+	 * @return an indexed view of <code>graph</code>
+	 */
+	public static <V,E> IndexedGraph<V,E> createIndexedGraph(Graph<V,E> graph) {
+		if (graph instanceof IndexedGraph)
+			return (IndexedGraph<V,E>)graph;
+		if (graph instanceof DirectedGraph)
+			return new DirectedIndexedGraph<V,E>(graph);
+		if (graph instanceof UndirectedGraph)
+			return new UndirectedIndexedGraph<V,E>(graph);
+		return new IndexedGraphView<V,E>(graph);
+	}
+
+	@SuppressWarnings("serial")
+	static class IndexedGraphView<V,E> extends GraphDecorator<V,E> implements IndexedGraph<V,E> {
+		private final IdDictionary<V> vertices;
+		private final IdDictionary<E> edges;
+		private final int[] first_endpoints;
+		private final int[] second_endpoints;
+		private final int[][] out_edges;
+		private final int[][] in_edges;
+
+		IndexedGraphView(Graph<V,E> graph) {
+			super(graph);
+			vertices = new IdDictionary<V>(graph.getVertexCount());
+			for (V v : graph.getVertices())
+				vertices.add(v);
+			edges = new IdDictionary<E>(graph.getEdgeCount());
+			first_endpoints = new int[graph.getEdgeCount()];
+			second_endpoints = new int[graph.getEdgeCount()];
+			for (E e : graph.getEdges()) {
+				int i = edges.add(e);
+				Pair<V> endpoints = graph.getEndpoints(e);
+				first_endpoints[i] = vertices.getId(endpoints.getFirst());
+				second_endpoints[i] = vertices.getId(endpoints.getSecond());
+			}
+			out_edges = new int[vertices.size()][];
+			in_edges = new int[vertices.size()][];
+			for (int v = 0; v < vertices.size(); v++) {
+				out_edges[v] = toIndices(graph.getOutEdges(vertices.get(v)));
+				in_edges[v] = toIndices(graph.getInEdges(vertices.get(v)));
+			}
+		}
+
+		private int[] toIndices(Collection<E> collection) {
+			int[] indices = new int[collection.size()];
+			int i = 0;
+			for (E e : collection)
+				indices[i++] = edges.getId(e);
+			return indices;
+		}
+
+		public int getVertexIndex(V vertex) {
+			return vertices.getId(vertex);
+		}
+
+		public V getVertex(int vertex_index) {
+			return vertices.get(vertex_index);
+		}
+
+		public int getEdgeIndex(E edge) {
+			return edges.getId(edge);
+		}
+
+		public E getEdge(int edge_index) {
+			return edges.get(edge_index);
+		}
+
+		public int getOutEdgeCount(int vertex_index) {
+			return out_edges[vertex_index].length;
+		}
+
+		public int getOutEdgeIndex(int vertex_index, int i) {
+			return out_edges[vertex_index][i];
+		}
+
+		public int getInEdgeCount(int vertex_index) {
+			return in_edges[vertex_index].length;
+		}
+
+		public int getInEdgeIndex(int vertex_index, int i) {
+			return in_edges[vertex_index][i];
+		}
+
+		public int getOppositeIndex(int vertex_index, int edge_index) {
+			if (first_endpoints[edge_index] == vertex_index)
+				return second_endpoints[edge_index];
+			else if (second_endpoints[edge_index] == vertex_index)
+				return first_endpoints[edge_index];
+			else
+				throw new IllegalArgumentException("vertex " + vertex_index +
+						" is not incident to edge " + edge_index);
+		}
+
+		@Override
+		public boolean addEdge(E edge, Collection<? extends V> vertices) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean addEdge(E edge, Collection<? extends V> vertices, EdgeType edge_type) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean addEdge(E e, V v1, V v2, EdgeType edgeType) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean addEdge(E e, V v1, V v2) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean addVertex(V vertex) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean removeEdge(E edge) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean removeVertex(V vertex) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	@SuppressWarnings("serial")
+	static class DirectedIndexedGraph<V,E> extends IndexedGraphView<V,E> 
+		implements DirectedGraph<V,E> {
+		DirectedIndexedGraph(Graph<V,E> graph) {
+			super(graph);
+		}
+	}
+
+	@SuppressWarnings("serial")
+	static class UndirectedIndexedGraph<V,E> extends IndexedGraphView<V,E> 
+		implements UndirectedGraph<V,E> {
+		UndirectedIndexedGraph(Graph<V,E> graph) {
+			super(graph);
+		}
+	}
 }
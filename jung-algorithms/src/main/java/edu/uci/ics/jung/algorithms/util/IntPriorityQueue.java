@@ -0,0 +1,118 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.util;
+
+/**
+ * A min-priority queue of integer ids in the range [0, <i>capacity</i>),
+ * each of which has a <code>double</code> key, which supports lowering the
+ * key of an id already in the queue.  Unlike <code>MapBinaryHeap</code>,
+ * implementations keep their state in primitive arrays indexed by id,
+ * so that no objects are created, hashed or compared per operation.
+ *
+ * <p>Callers which work with objects (such as vertices) must assign them
+ * ids, for example with an <code>IdDictionary</code> or an <code>IndexedGraph</code>.
+ *
+ * @see MapBinaryHeap
+ */
+public interface IntPriorityQueue
+{
+    /**
+     * The available implementations.
+     */
+    public static enum Type
+    {
+        /** {@link IndexedDaryHeap}, with the default arity. */
+        D_ARY,
+        /** {@link PairingHeap}. */
+        PAIRING,
+        /**
+         * {@link RadixHeap}, which requires integral keys, and is suitable
+         * only for monotone uses such as Dijkstra's algorithm.
+         */
+        RADIX;
+
+        /**
+         * Returns a new, empty queue of this type for ids in the
+         * range [0, <code>capacity</code>).
+         */
+        public IntPriorityQueue create(int capacity)
+        {
+            switch (this)
+            {
+                case D_ARY:
+                    return new IndexedDaryHeap(capacity);
+                case PAIRING:
+                    return new PairingHeap(capacity);
+                default:
+                    return new RadixHeap(capacity);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of ids in this queue.
+     */
+    int size();
+
+    /**
+     * Returns <code>true</code> if this queue contains no ids.
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns <code>true</code> if <code>id</code> is in this queue.
+     */
+    boolean contains(int id);
+
+    /**
+     * Returns the key of <code>id</code>, which must be in this queue.
+     */
+    double getKey(int id);
+
+    /**
+     * Adds <code>id</code>, which must not already be in this queue,
+     * with the specified key.
+     * @throws IllegalArgumentException if <code>id</code> is already in this queue
+     */
+    void add(int id, double key);
+
+    /**
+     * Lowers the key of <code>id</code>, which must be in this queue, to
+     * <code>key</code>.
+     * @throws IllegalArgumentException if <code>key</code> is greater than
+     * the current key of <code>id</code>
+     */
+    void decreaseKey(int id, double key);
+
+    /**
+     * Returns an id with the smallest key, without removing it.
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    int peek();
+
+    /**
+     * Returns the smallest key in this queue.
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    double peekKey();
+
+    /**
+     * Removes and returns an id with the smallest key.
+     * @throws java.util.NoSuchElementException if this queue is empty
+     */
+    int poll();
+
+    /**
+     * Removes all ids from this queue, in time proportional to their number.
+     */
+    void clear();
+}
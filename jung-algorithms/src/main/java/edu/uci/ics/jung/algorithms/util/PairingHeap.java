@@ -0,0 +1,189 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A pairing heap of integer ids, whose tree is stored in arrays indexed by
+ * id.  <code>add</code> and <code>decreaseKey</code> take constant time
+ * (they link a single node to the root), and <code>poll</code> takes
+ * amortized logarithmic time, so this is well suited to searches which
+ * lower many keys, such as Dijkstra's algorithm on dense graphs.
+ *
+ * @see "Michael L. Fredman, Robert Sedgewick, Daniel D. Sleator, and Robert E. Tarjan: The pairing heap: a new form of self-adjusting heap. Algorithmica 1(1):111-129, 1986."
+ */
+public class PairingHeap implements IntPriorityQueue
+{
+    private final double[] keys;
+    private final int[] child;      // first child, or -1
+    private final int[] sibling;    // next sibling, or -1
+    private final int[] previous;   // previous sibling, or parent if a first child, or -1 if a root
+    private final boolean[] present;
+    private final int[] scratch;    // the children of a removed root, while they are merged
+    private int root = -1;
+    private int size;
+
+    /**
+     * Creates an empty heap for ids in the range [0, <code>capacity</code>).
+     */
+    public PairingHeap(int capacity)
+    {
+        keys = new double[capacity];
+        child = new int[capacity];
+        sibling = new int[capacity];
+        previous = new int[capacity];
+        present = new boolean[capacity];
+        scratch = new int[capacity];
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public boolean contains(int id)
+    {
+        return present[id];
+    }
+
+    public double getKey(int id)
+    {
+        return keys[id];
+    }
+
+    public void add(int id, double key)
+    {
+        if (present[id])
+            throw new IllegalArgumentException("id " + id + " is already in the heap");
+        keys[id] = key;
+        child[id] = -1;
+        sibling[id] = -1;
+        previous[id] = -1;
+        present[id] = true;
+        size++;
+        root = root < 0 ? id : link(root, id);
+    }
+
+    public void decreaseKey(int id, double key)
+    {
+        if (key > keys[id])
+            throw new IllegalArgumentException("new key " + key +
+                    " is greater than the current key " + keys[id]);
+        keys[id] = key;
+        if (id == root)
+            return;
+        // cut the subtree rooted at id, and link it to the root
+        int p = previous[id];
+        if (child[p] == id)
+            child[p] = sibling[id];
+        else
+            sibling[p] = sibling[id];
+        if (sibling[id] >= 0)
+            previous[sibling[id]] = p;
+        sibling[id] = -1;
+        previous[id] = -1;
+        root = link(root, id);
+    }
+
+    public int peek()
+    {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return root;
+    }
+
+    public double peekKey()
+    {
+        return keys[peek()];
+    }
+
+    public int poll()
+    {
+        int min = peek();
+        present[min] = false;
+        size--;
+        root = mergePairs(child[min]);
+        return min;
+    }
+
+    public void clear()
+    {
+        // every present id is a descendant of the root
+        int count = 0;
+        if (root >= 0)
+            scratch[count++] = root;
+        while (count > 0)
+        {
+            int id = scratch[--count];
+            present[id] = false;
+            for (int c = child[id]; c >= 0; c = sibling[c])
+                scratch[count++] = c;
+        }
+        root = -1;
+        size = 0;
+    }
+
+    /**
+     * Makes the root with the larger key the first child of the other,
+     * and returns the resulting root.
+     */
+    private int link(int a, int b)
+    {
+        if (keys[b] < keys[a])
+        {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+        sibling[b] = child[a];
+        if (child[a] >= 0)
+            previous[child[a]] = b;
+        child[a] = b;
+        previous[b] = a;
+        return a;
+    }
+
+    /**
+     * Merges the sibling list beginning with <code>first</code> into a
+     * single tree by the standard two-pass method, and returns its root.
+     */
+    private int mergePairs(int first)
+    {
+        if (first < 0)
+            return -1;
+        int count = 0;
+        for (int c = first; c >= 0; )
+        {
+            int next = sibling[c];
+            sibling[c] = -1;
+            previous[c] = -1;
+            scratch[count++] = c;
+            c = next;
+        }
+        // link pairs from left to right, then the results from right to left
+        int pairs = 0;
+        for (int i = 0; i + 1 < count; i += 2)
+            scratch[pairs++] = link(scratch[i], scratch[i + 1]);
+        if (count % 2 == 1)
+            scratch[pairs++] = scratch[count - 1];
+        int merged = scratch[pairs - 1];
+        for (int i = pairs - 2; i >= 0; i--)
+            merged = link(scratch[i], merged);
+        return merged;
+    }
+}
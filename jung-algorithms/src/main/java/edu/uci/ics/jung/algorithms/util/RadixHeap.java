@@ -0,0 +1,187 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A radix heap of integer ids with nonnegative integral keys, for
+ * <i>monotone</i> uses: no key may be smaller than the last key returned
+ * by <code>peekKey</code> (or removed by <code>poll</code>).  This holds for
+ * Dijkstra's algorithm when the edge weights are nonnegative integers, but
+ * not, for example, for Prim's algorithm.
+ *
+ * <p>Each id is kept in one of 65 buckets, according to the highest bit in
+ * which its key differs from the last minimum; when the lowest nonempty
+ * bucket is emptied, its ids are redistributed among lower buckets.  Each id
+ * thus moves at most 64 times, and all operations are fast in practice
+ * regardless of the number of ids.
+ *
+ * @see "Ravindra K. Ahuja, Kurt Mehlhorn, James B. Orlin, and Robert E. Tarjan: Faster algorithms for the shortest path problem. Journal of the ACM 37(2):213-223, 1990."
+ */
+public class RadixHeap implements IntPriorityQueue
+{
+    private static final int BUCKET_COUNT = 65;
+
+    private final long[] keys;
+    private final int[] bucket;     // bucket of each id, or -1
+    private final int[] next;       // the ids in each bucket form a doubly linked list
+    private final int[] previous;
+    private final int[] bucket_heads = new int[BUCKET_COUNT];
+    private long last_min;
+    private int size;
+
+    /**
+     * Creates an empty heap for ids in the range [0, <code>capacity</code>).
+     */
+    public RadixHeap(int capacity)
+    {
+        keys = new long[capacity];
+        bucket = new int[capacity];
+        next = new int[capacity];
+        previous = new int[capacity];
+        Arrays.fill(bucket, -1);
+        Arrays.fill(bucket_heads, -1);
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public boolean contains(int id)
+    {
+        return bucket[id] >= 0;
+    }
+
+    public double getKey(int id)
+    {
+        return keys[id];
+    }
+
+    public void add(int id, double key)
+    {
+        if (bucket[id] >= 0)
+            throw new IllegalArgumentException("id " + id + " is already in the heap");
+        keys[id] = checkKey(key);
+        insert(id);
+        size++;
+    }
+
+    public void decreaseKey(int id, double key)
+    {
+        long new_key = checkKey(key);
+        if (new_key > keys[id])
+            throw new IllegalArgumentException("new key " + key +
+                    " is greater than the current key " + keys[id]);
+        unlink(id);
+        keys[id] = new_key;
+        insert(id);
+    }
+
+    public int peek()
+    {
+        if (size == 0)
+            throw new NoSuchElementException();
+        if (bucket_heads[0] < 0)
+        {
+            // find the minimum of the lowest nonempty bucket, and redistribute
+            // that bucket relative to it; its minimum then lands in bucket 0
+            int b = 1;
+            while (bucket_heads[b] < 0)
+                b++;
+            long min = Long.MAX_VALUE;
+            for (int id = bucket_heads[b]; id >= 0; id = next[id])
+                min = Math.min(min, keys[id]);
+            last_min = min;
+            int id = bucket_heads[b];
+            bucket_heads[b] = -1;
+            while (id >= 0)
+            {
+                int following = next[id];
+                insert(id);
+                id = following;
+            }
+        }
+        return bucket_heads[0];
+    }
+
+    public double peekKey()
+    {
+        return keys[peek()];
+    }
+
+    public int poll()
+    {
+        int min = peek();
+        unlink(min);
+        size--;
+        return min;
+    }
+
+    /**
+     * Removes all ids from this heap, after which keys may again be as
+     * small as 0.
+     */
+    public void clear()
+    {
+        for (int b = 0; b < BUCKET_COUNT; b++)
+        {
+            for (int id = bucket_heads[b]; id >= 0; id = next[id])
+                bucket[id] = -1;
+            bucket_heads[b] = -1;
+        }
+        last_min = 0;
+        size = 0;
+    }
+
+    private long checkKey(double key)
+    {
+        long integral_key = (long)key;
+        if (integral_key != key || integral_key < 0)
+            throw new IllegalArgumentException("key " + key +
+                    " is not a nonnegative integer");
+        if (integral_key < last_min)
+            throw new IllegalArgumentException("key " + key +
+                    " is less than the last minimum " + last_min);
+        return integral_key;
+    }
+
+    private void insert(int id)
+    {
+        long difference = keys[id] ^ last_min;
+        int b = difference == 0 ? 0 : 64 - Long.numberOfLeadingZeros(difference);
+        bucket[id] = b;
+        previous[id] = -1;
+        next[id] = bucket_heads[b];
+        if (next[id] >= 0)
+            previous[next[id]] = id;
+        bucket_heads[b] = id;
+    }
+
+    private void unlink(int id)
+    {
+        if (previous[id] >= 0)
+            next[previous[id]] = next[id];
+        else
+            bucket_heads[bucket[id]] = next[id];
+        if (next[id] >= 0)
+            previous[next[id]] = previous[id];
+        bucket[id] = -1;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.algorithms.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The threads used by an algorithm which divides its work among several
+ * threads: either an <code>ExecutorService</code> supplied by the caller,
+ * or a pool which is created when first needed and kept until
+ * <code>shutdown</code> is called, so that repeated calls (such as the
+ * steps of an iterative algorithm) share it.
+ *
+ * <p>The threads of a pool created here are daemon threads which exit after
+ * a minute without work, so an algorithm which is never shut down does not
+ * keep them (or the virtual machine) alive.  A task submitted when all of
+ * them are busy is run by the submitting thread.  A supplied executor is
+ * never shut down by this class.
+ */
+public class WorkerPool
+{
+    /**
+     * The number of seconds for which an idle thread is kept.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private ExecutorService executor;       // supplied by the caller, or null
+    private ThreadPoolExecutor threads;     // created here, or null
+
+    /**
+     * Sets the executor on which tasks are run, or <code>null</code> to
+     * use a pool created by this instance.  A pool already created is
+     * shut down.
+     */
+    public synchronized void setExecutor(ExecutorService executor)
+    {
+        shutdown();
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the executor supplied by the caller, or <code>null</code> if
+     * none has been.
+     */
+    public synchronized ExecutorService getExecutor()
+    {
+        return executor;
+    }
+
+    /**
+     * Shuts down the pool created by this instance, if any; another is
+     * created if more tasks are run.  The threads finish any tasks already
+     * submitted.
+     */
+    public synchronized void shutdown()
+    {
+        if (threads != null)
+        {
+            threads.shutdown();
+            threads = null;
+        }
+    }
+
+    private synchronized ExecutorService getExecutor(int parallelism)
+    {
+        if (executor != null)
+            return executor;
+        if (threads == null || threads.getMaximumPoolSize() < parallelism)
+        {
+            shutdown();
+            threads = new ThreadPoolExecutor(0, parallelism, KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new DaemonThreadFactory(),
+                new CallerRuns());
+        }
+        return threads;
+    }
+
+    /**
+     * Runs <code>tasks</code> concurrently and waits for all of them to
+     * finish.  If any task throws an exception, the first such exception is
+     * rethrown once the others have finished.
+     */
+    public void invokeAll(Collection<? extends Runnable> tasks)
+    {
+        ExecutorService service = getExecutor(tasks.size());
+        List<Future<?>> futures = new ArrayList<Future<?>>(tasks.size());
+        for (Runnable task : tasks)
+            futures.add(service.submit(task));
+        RuntimeException failure = null;
+        Error error = null;
+        for (int i = 0; i < futures.size(); i++)
+        {
+            try
+            {
+                futures.get(i).get();
+            }
+            catch (InterruptedException ie)
+            {
+                for (Future<?> future : futures.subList(i, futures.size()))
+                    future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(ie);
+            }
+            catch (ExecutionException ee)
+            {
+                if (failure != null || error != null)
+                    continue;
+                Throwable cause = ee.getCause();
+                if (cause instanceof RuntimeException)
+                    failure = (RuntimeException)cause;
+                else if (cause instanceof Error)
+                    error = (Error)cause;
+                else
+                    failure = new RuntimeException(cause);
+            }
+        }
+        if (error != null)
+            throw error;
+        if (failure != null)
+            throw failure;
+    }
+
+    /**
+     * Runs <code>parallelism</code> copies of <code>task</code> concurrently
+     * (such as a task that claims work from a shared counter until there is
+     * none left), as described for <code>invokeAll</code>.
+     */
+    public void invokeCopies(Runnable task, int parallelism)
+    {
+        List<Runnable> tasks = new ArrayList<Runnable>(parallelism);
+        for (int t = 0; t < parallelism; t++)
+            tasks.add(task);
+        invokeAll(tasks);
+    }
+
+    /**
+     * Runs a task which no thread is free to run in the submitting thread,
+     * even if the pool has since been shut down, so that it is never lost.
+     */
+    private static class CallerRuns implements RejectedExecutionHandler
+    {
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor pool)
+        {
+            runnable.run();
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory
+    {
+        private final ThreadFactory factory = Executors.defaultThreadFactory();
+
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = factory.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
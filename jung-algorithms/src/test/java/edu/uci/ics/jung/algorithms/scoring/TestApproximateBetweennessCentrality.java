@@ -0,0 +1,114 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.scoring;
+
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Transformer;
+
+import edu.uci.ics.jung.algorithms.util.IntPriorityQueue;
+import edu.uci.ics.jung.algorithms.util.RandomGraphs;
+import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
+
+public class TestApproximateBetweennessCentrality extends TestCase
+{
+    private void compare(BetweennessCentrality<Integer,Integer> expected,
+            ApproximateBetweennessCentrality<Integer,Integer> actual, Graph<Integer,Integer> graph)
+    {
+        for (Integer v : graph.getVertices())
+            assertEquals(expected.getVertexScore(v), actual.getVertexScore(v), actual.getErrorBound());
+    }
+
+    public void testUnweighted()
+    {
+        Graph<Integer,Integer> undirected =
+            RandomGraphs.populate(new UndirectedSparseMultigraph<Integer,Integer>(),
+                    200, 400, new Random(200));
+        ApproximateBetweennessCentrality<Integer,Integer> abc =
+            new ApproximateBetweennessCentrality<Integer,Integer>(undirected, 0.02, 0.1, new Random(1));
+        compare(new BetweennessCentrality<Integer,Integer>(undirected), abc, undirected);
+        // the search bound is tighter than the size of the component
+        assertTrue(abc.getVertexDiameterBound() < 100);
+        assertEquals(ApproximateBetweennessCentrality.getSampleCount(0.02, 0.1,
+                abc.getVertexDiameterBound()), abc.getSampleCount());
+
+        Graph<Integer,Integer> directed =
+            RandomGraphs.populate(new DirectedSparseMultigraph<Integer,Integer>(),
+                    150, 450, new Random(150));
+        abc = new ApproximateBetweennessCentrality<Integer,Integer>(directed, 0.02, 0.1, new Random(2));
+        compare(new BetweennessCentrality<Integer,Integer>(directed), abc, directed);
+    }
+
+    public void testWeighted()
+    {
+        final int[] weights = new int[450];
+        Random random = new Random(3);
+        for (int e = 0; e < weights.length; e++)
+            weights[e] = 1 + random.nextInt(3);
+        Transformer<Integer,Integer> edge_weights = new Transformer<Integer,Integer>()
+        {
+            public Integer transform(Integer e) { return weights[e]; }
+        };
+        Graph<Integer,Integer> directed =
+            RandomGraphs.populate(new DirectedSparseMultigraph<Integer,Integer>(),
+                    150, 450, new Random(150));
+        ApproximateBetweennessCentrality<Integer,Integer> abc =
+            new ApproximateBetweennessCentrality<Integer,Integer>(directed, edge_weights,
+                    0.02, 0.1, new Random(4));
+        compare(new BetweennessCentrality<Integer,Integer>(directed, edge_weights,
+                IntPriorityQueue.Type.D_ARY), abc, directed);
+    }
+
+    public void testTopScores()
+    {
+        // two stars whose centers are joined by an edge
+        Graph<Integer,Integer> graph = new UndirectedSparseMultigraph<Integer,Integer>();
+        graph.addEdge(0, 0, 1);
+        for (int i = 2; i < 60; i++)
+            graph.addEdge(i, i % 2, i);
+        ApproximateBetweennessCentrality<Integer,Integer> abc =
+            new ApproximateBetweennessCentrality<Integer,Integer>(graph, 0.05, 0.1, new Random(5));
+        // the search from one center bounds the diameter by twice its eccentricity
+        assertEquals(5, abc.getVertexDiameterBound());
+        Map<Integer,Double> top = abc.getTopScores(2);
+        assertEquals(2, top.size());
+        assertTrue(top.containsKey(0));
+        assertTrue(top.containsKey(1));
+        assertEquals(0.0, abc.getVertexScore(2));
+
+        try
+        {
+            abc.getVertexScore(60);
+            fail("should not score a vertex not in the graph");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        try
+        {
+            new ApproximateBetweennessCentrality<Integer,Integer>(graph, 0, 0.1, new Random());
+            fail("should not accept epsilon of 0");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        try
+        {
+            new ApproximateBetweennessCentrality<Integer,Integer>(graph, 0.1, 1, new Random());
+            fail("should not accept delta of 1");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.scoring;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Transformer;
+
+import edu.uci.ics.jung.algorithms.scoring.util.ScoringUtils;
+import edu.uci.ics.jung.algorithms.util.RandomGraphs;
+import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
+
+public class TestApproximatePersonalizedPageRank extends TestCase
+{
+    private PageRankWithPriors<Integer,Integer> getExpected(Graph<Integer,Integer> graph,
+            final Integer seed, double alpha)
+    {
+        Transformer<Integer,Double> priors = new Transformer<Integer,Double>()
+        {
+            public Double transform(Integer v)
+            {
+                return v.equals(seed) ? 1.0 : 0.0;
+            }
+        };
+        PageRankWithPriors<Integer,Integer> expected =
+            new PageRankWithPriors<Integer,Integer>(graph, priors, alpha);
+        expected.setTolerance(1.0e-12);
+        expected.setMaxIterations(10000);
+        expected.evaluate();
+        return expected;
+    }
+
+    private void checkSorted(Map<Integer,Double> scores)
+    {
+        double previous = Double.POSITIVE_INFINITY;
+        for (double score : scores.values())
+        {
+            assertTrue(score > 0);
+            assertTrue(score <= previous);
+            previous = score;
+        }
+    }
+
+    public void testPush()
+    {
+        Graph<Integer,Integer> graph =
+            RandomGraphs.populate(new UndirectedSparseMultigraph<Integer,Integer>(),
+                    300, 900, new Random(300));
+        PageRankWithPriors<Integer,Integer> expected = getExpected(graph, 7, 0.15);
+        ApproximatePersonalizedPageRank<Integer,Integer> ppr =
+            new ApproximatePersonalizedPageRank<Integer,Integer>(graph, 0.15);
+        ppr.setEpsilon(1.0e-6);
+        Map<Integer,Double> scores = ppr.getScores(7);
+        checkSorted(scores);
+        for (Integer v : graph.getVertices())
+        {
+            Double score = scores.get(v);
+            double actual = score == null ? 0 : score;
+            double error = expected.getVertexScore(v) - actual;
+            assertTrue(error > -1.0e-9);
+            assertTrue(error <= ppr.getEpsilon() * graph.degree(v) + 1.0e-9);
+        }
+
+        // a coarser epsilon reaches fewer vertices
+        ppr.setEpsilon(1.0e-3);
+        assertTrue(ppr.getScores(7).size() < scores.size());
+    }
+
+    public void testDirectedDangling()
+    {
+        // vertices with no out-edges return their potential to the seed
+        Graph<Integer,Integer> graph =
+            RandomGraphs.populate(new DirectedSparseMultigraph<Integer,Integer>(),
+                    200, 400, new Random(200));
+        PageRankWithPriors<Integer,Integer> expected = getExpected(graph, 3, 0.2);
+        ApproximatePersonalizedPageRank<Integer,Integer> ppr =
+            new ApproximatePersonalizedPageRank<Integer,Integer>(graph, 0.2);
+        ppr.setEpsilon(1.0e-9);
+        Map<Integer,Double> scores = ppr.getScores(3);
+        for (Integer v : graph.getVertices())
+        {
+            Double score = scores.get(v);
+            assertEquals(expected.getVertexScore(v), score == null ? 0 : score, 1.0e-6);
+        }
+
+        Map<Integer,Double> sampled = ppr.getSampledScores(3, 200000, new Random(1));
+        checkSorted(sampled);
+        for (Integer v : graph.getVertices())
+        {
+            Double score = sampled.get(v);
+            assertEquals(expected.getVertexScore(v), score == null ? 0 : score, 0.01);
+        }
+    }
+
+    public void testTopScores()
+    {
+        Graph<Integer,Integer> graph =
+            RandomGraphs.populate(new UndirectedSparseMultigraph<Integer,Integer>(),
+                    100, 300, new Random(100));
+        ApproximatePersonalizedPageRank<Integer,Integer> ppr =
+            new ApproximatePersonalizedPageRank<Integer,Integer>(graph, 0.15);
+        Map<Integer,Double> scores = ppr.getScores(0);
+        Map<Integer,Double> top = ScoringUtils.getTopScores(scores, 5);
+        assertEquals(5, top.size());
+        List<Integer> first = new ArrayList<Integer>();
+        Iterator<Integer> iterator = scores.keySet().iterator();
+        for (int i = 0; i < 5; i++)
+            first.add(iterator.next());
+        assertEquals(first, new ArrayList<Integer>(top.keySet()));
+        assertEquals(0, ScoringUtils.getTopScores(scores, 0).size());
+
+        try
+        {
+            ppr.getScores(100);
+            fail("should not accept a seed not in the graph");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        try
+        {
+            ppr.setEpsilon(0);
+            fail("should not accept epsilon of 0");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+    }
+}
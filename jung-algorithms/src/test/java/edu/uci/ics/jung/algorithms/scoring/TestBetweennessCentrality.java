@@ -11,14 +11,27 @@
  */
 package edu.uci.ics.jung.algorithms.scoring;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import junit.framework.Assert;
 import junit.framework.TestCase;
 
 import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.ConstantTransformer;
 
+import edu.uci.ics.jung.algorithms.cluster.WeakComponentClusterer;
+import edu.uci.ics.jung.algorithms.util.Indexer;
+import edu.uci.ics.jung.algorithms.util.IntPriorityQueue;
 import edu.uci.ics.jung.graph.DirectedGraph;
 import edu.uci.ics.jung.graph.DirectedSparseGraph;
+import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
 import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
 import edu.uci.ics.jung.graph.UndirectedGraph;
 import edu.uci.ics.jung.graph.UndirectedSparseGraph;
 
@@ -140,4 +153,281 @@ public class TestBetweennessCentrality extends TestCase
     				edge_weights.transform(e), bc.getEdgeScore(e)));
     	}
     }
+
+    public void testIndexed()
+    {
+    	Random random = new Random(3);
+    	Graph<Integer, Integer> directed = new DirectedSparseMultigraph<Integer, Integer>();
+    	Graph<Integer, Integer> undirected = new UndirectedSparseMultigraph<Integer, Integer>();
+    	for (int i = 0; i < 30; i++)
+    	{
+    		directed.addVertex(i);
+    		undirected.addVertex(i);
+    	}
+    	for (int e = 0; e < 80; e++)
+    	{
+    		directed.addEdge(e, random.nextInt(30), random.nextInt(30));
+    		undirected.addEdge(e, random.nextInt(30), random.nextInt(30));
+    	}
+    	
+    	List<Graph<Integer,Integer>> graphs = new ArrayList<Graph<Integer,Integer>>();
+    	graphs.add(directed);
+    	graphs.add(undirected);
+    	for (Graph<Integer, Integer> graph : graphs)
+    	{
+    		BetweennessCentrality<Integer,Integer> bc = 
+    			new BetweennessCentrality<Integer,Integer>(graph);
+    		BetweennessCentrality<Integer,Integer> indexed = 
+    			new BetweennessCentrality<Integer,Integer>(Indexer.createIndexedGraph(graph));
+    		for (Integer v : graph.getVertices())
+    			Assert.assertEquals(bc.getVertexScore(v), indexed.getVertexScore(v), .0001);
+    		for (Integer e : graph.getEdges())
+    			Assert.assertEquals(bc.getEdgeScore(e), indexed.getEdgeScore(e), .0001);
+    	}
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testPriorityQueueTypes()
+    {
+    	Random random = new Random(5);
+    	Graph<Integer, Integer> directed = new DirectedSparseMultigraph<Integer, Integer>();
+    	Graph<Integer, Integer> undirected = new UndirectedSparseMultigraph<Integer, Integer>();
+    	final int[] weights = new int[100];
+    	for (int i = 0; i < 30; i++)
+    	{
+    		directed.addVertex(i);
+    		undirected.addVertex(i);
+    	}
+    	for (int e = 0; e < weights.length; e++)
+    	{
+    		directed.addEdge(e, random.nextInt(30), random.nextInt(30));
+    		undirected.addEdge(e, random.nextInt(30), random.nextInt(30));
+    		weights[e] = 1 + random.nextInt(3);
+    	}
+    	Transformer<Integer, Integer> edge_weights = new Transformer<Integer, Integer>()
+    	{
+    		public Integer transform(Integer e) { return weights[e]; }
+    	};
+    	
+    	List<Graph<Integer,Integer>> graphs = new ArrayList<Graph<Integer,Integer>>();
+    	graphs.add(directed);
+    	graphs.add(undirected);
+    	for (Graph<Integer, Integer> graph : graphs)
+    	{
+    		// with unit weights, the scores are the unweighted scores
+    		BetweennessCentrality<Integer,Integer> unweighted = 
+    			new BetweennessCentrality<Integer,Integer>(graph);
+    		BetweennessCentrality<Integer,Integer> weighted = 
+    			new BetweennessCentrality<Integer,Integer>(graph, edge_weights, 
+    					IntPriorityQueue.Type.D_ARY);
+    		for (IntPriorityQueue.Type type : IntPriorityQueue.Type.values())
+    		{
+    			BetweennessCentrality<Integer,Integer> unit = 
+    				new BetweennessCentrality<Integer,Integer>(graph, 
+    						new ConstantTransformer(1), type);
+    			BetweennessCentrality<Integer,Integer> bc = 
+    				new BetweennessCentrality<Integer,Integer>(graph, edge_weights, type);
+    			for (Integer v : graph.getVertices())
+    			{
+    				Assert.assertEquals(unweighted.getVertexScore(v), unit.getVertexScore(v), .0001);
+    				Assert.assertEquals(weighted.getVertexScore(v), bc.getVertexScore(v), .0001);
+    			}
+    			for (Integer e : graph.getEdges())
+    			{
+    				Assert.assertEquals(unweighted.getEdgeScore(e), unit.getEdgeScore(e), .0001);
+    				Assert.assertEquals(weighted.getEdgeScore(e), bc.getEdgeScore(e), .0001);
+    			}
+    		}
+    	}
+    }
+
+    public void testWeightedTies()
+    {
+    	// s-a-b is 1 longer than s-b, but the sum rounds to the same length
+    	Graph<String, String> graph = new UndirectedSparseGraph<String, String>();
+    	graph.addEdge("sa", "s", "a");
+    	graph.addEdge("sb", "s", "b");
+    	graph.addEdge("ab", "a", "b");
+    	final double[] weights = { 1.0e16, 1.0e16, 1 };
+    	Transformer<String, Double> edge_weights = new Transformer<String, Double>()
+    	{
+    		public Double transform(String e) { return weights[e.equals("sa") ? 0 : e.equals("sb") ? 1 : 2]; }
+    	};
+    	for (IntPriorityQueue.Type type : new IntPriorityQueue.Type[] { 
+    			IntPriorityQueue.Type.D_ARY, IntPriorityQueue.Type.PAIRING })
+    	{
+    		BetweennessCentrality<String,String> bc = 
+    			new BetweennessCentrality<String,String>(graph, edge_weights, type);
+    		// each pair's paths have one more edge than interior vertices
+    		double edge_total = 0;
+    		for (String e : graph.getEdges())
+    		{
+    			assertTrue(bc.getEdgeScore(e) <= 3);
+    			edge_total += bc.getEdgeScore(e);
+    		}
+    		double vertex_total = 0;
+    		for (String v : graph.getVertices())
+    		{
+    			assertTrue(bc.getVertexScore(v) <= 1);
+    			vertex_total += bc.getVertexScore(v);
+    		}
+    		Assert.assertEquals(3, edge_total - vertex_total, .0001);
+    	}
+    	
+    	// zero-weight edges are rejected
+    	weights[2] = 0;
+    	for (IntPriorityQueue.Type type : IntPriorityQueue.Type.values())
+    	{
+    		try
+    		{
+    			new BetweennessCentrality<String,String>(graph, edge_weights, type);
+    			fail("should not accept a zero-weight edge");
+    		}
+    		catch (IllegalArgumentException iae)
+    		{
+    			// all is well
+    		}
+    	}
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testParallel()
+    {
+    	Random random = new Random(7);
+    	Graph<Integer, Integer> directed = new DirectedSparseMultigraph<Integer, Integer>();
+    	Graph<Integer, Integer> undirected = new UndirectedSparseMultigraph<Integer, Integer>();
+    	final double[] weights = new double[1200];
+    	for (int i = 0; i < 300; i++)
+    	{
+    		directed.addVertex(i);
+    		undirected.addVertex(i);
+    	}
+    	for (int e = 0; e < weights.length; e++)
+    	{
+    		directed.addEdge(e, random.nextInt(300), random.nextInt(300));
+    		undirected.addEdge(e, random.nextInt(300), random.nextInt(300));
+    		weights[e] = 1 + random.nextInt(3);
+    	}
+    	Transformer<Integer, Double> edge_weights = new Transformer<Integer, Double>()
+    	{
+    		public Double transform(Integer e) { return weights[e]; }
+    	};
+    	
+    	// the same threads may be shared by several calculations
+    	ExecutorService executor = Executors.newFixedThreadPool(3);
+    	List<Graph<Integer,Integer>> graphs = new ArrayList<Graph<Integer,Integer>>();
+    	graphs.add(directed);
+    	graphs.add(undirected);
+    	for (Graph<Integer, Integer> graph : graphs)
+    	{
+    		BetweennessCentrality<Integer,Integer> unweighted = 
+    			new BetweennessCentrality<Integer,Integer>(graph);
+    		BetweennessCentrality<Integer,Integer> weighted = 
+    			new BetweennessCentrality<Integer,Integer>(graph, edge_weights, 
+    					IntPriorityQueue.Type.D_ARY);
+    		for (int parallelism = 1; parallelism <= 4; parallelism++)
+    		{
+    			BetweennessCentrality<Integer,Integer> parallel_unweighted = 
+    				new BetweennessCentrality<Integer,Integer>(graph, parallelism);
+    			BetweennessCentrality<Integer,Integer> parallel_weighted = 
+    				new BetweennessCentrality<Integer,Integer>(graph, edge_weights, 
+    						IntPriorityQueue.Type.D_ARY, parallelism);
+    			BetweennessCentrality<Integer,Integer> shared_unweighted = 
+    				new BetweennessCentrality<Integer,Integer>(graph, parallelism, executor);
+    			BetweennessCentrality<Integer,Integer> shared_weighted = 
+    				new BetweennessCentrality<Integer,Integer>(graph, edge_weights, 
+    						IntPriorityQueue.Type.D_ARY, parallelism, executor);
+    			for (Integer v : graph.getVertices())
+    			{
+    				assertClose(unweighted.getVertexScore(v), parallel_unweighted.getVertexScore(v));
+    				assertClose(weighted.getVertexScore(v), parallel_weighted.getVertexScore(v));
+    				assertClose(unweighted.getVertexScore(v), shared_unweighted.getVertexScore(v));
+    				assertClose(weighted.getVertexScore(v), shared_weighted.getVertexScore(v));
+    			}
+    			for (Integer e : graph.getEdges())
+    			{
+    				assertClose(unweighted.getEdgeScore(e), parallel_unweighted.getEdgeScore(e));
+    				assertClose(weighted.getEdgeScore(e), parallel_weighted.getEdgeScore(e));
+    			}
+    		}
+    	}
+    	assertFalse(executor.isShutdown());
+    	executor.shutdown();
+    	
+    	try
+    	{
+    		new BetweennessCentrality<Integer,Integer>(directed, 0);
+    		fail("should not accept parallelism of 0");
+    	}
+    	catch (IllegalArgumentException iae)
+    	{
+    		// all is well
+    	}
+    }
+    
+    public void testParallelWeightedTies()
+    {
+    	// enough vertices for the passes to be divided among threads; 
+    	// paths through the unit-weight edges round to the same lengths as 
+    	// paths which avoid them
+    	Random random = new Random(11);
+    	Graph<Integer, Integer> graph = new UndirectedSparseMultigraph<Integer, Integer>();
+    	final double[] weights = new double[300];
+    	for (int i = 0; i < 100; i++)
+    		graph.addVertex(i);
+    	for (int e = 0; e < weights.length; e++)
+    	{
+    		graph.addEdge(e, random.nextInt(100), random.nextInt(100));
+    		weights[e] = random.nextInt(4) == 0 ? 1 : 1.0e16;
+    	}
+    	Transformer<Integer, Double> edge_weights = new Transformer<Integer, Double>()
+    	{
+    		public Double transform(Integer e) { return weights[e]; }
+    	};
+    	
+    	int pairs = 0;
+    	for (Set<Integer> component : new WeakComponentClusterer<Integer,Integer>().transform(graph))
+    		pairs += component.size() * (component.size() - 1) / 2;
+    	BetweennessCentrality<Integer,Integer> sequential = 
+    		new BetweennessCentrality<Integer,Integer>(graph, edge_weights, IntPriorityQueue.Type.D_ARY);
+    	for (int parallelism = 2; parallelism <= 4; parallelism++)
+    	{
+    		BetweennessCentrality<Integer,Integer> bc = 
+    			new BetweennessCentrality<Integer,Integer>(graph, edge_weights, 
+    					IntPriorityQueue.Type.D_ARY, parallelism);
+    		// each pair's paths have one more edge than interior vertices
+    		double edge_total = 0;
+    		for (Integer e : graph.getEdges())
+    		{
+    			assertClose(sequential.getEdgeScore(e), bc.getEdgeScore(e));
+    			edge_total += bc.getEdgeScore(e);
+    		}
+    		double vertex_total = 0;
+    		for (Integer v : graph.getVertices())
+    		{
+    			assertClose(sequential.getVertexScore(v), bc.getVertexScore(v));
+    			vertex_total += bc.getVertexScore(v);
+    		}
+    		Assert.assertEquals(pairs, edge_total - vertex_total, 1.0e-6 * pairs);
+    	}
+    	
+    	// zero-weight edges are rejected
+    	weights[0] = 0;
+    	try
+    	{
+    		new BetweennessCentrality<Integer,Integer>(graph, edge_weights, 
+    				IntPriorityQueue.Type.D_ARY, 3);
+    		fail("should not accept a zero-weight edge");
+    	}
+    	catch (IllegalArgumentException iae)
+    	{
+    		// all is well
+    	}
+    }
+    
+    private void assertClose(double expected, double actual)
+    {
+    	// the parallel scores are summed in a different order
+    	Assert.assertEquals(expected, actual, 1.0e-9 * Math.max(1, expected));
+    }
 }
@@ -9,6 +9,8 @@
 */
 package edu.uci.ics.jung.algorithms.scoring;
 
+import java.util.Random;
+
 import junit.framework.Assert;
 import junit.framework.Test;
 import junit.framework.TestCase;
@@ -116,4 +118,25 @@ public class TestHITS extends TestCase {
 //        Assert.assertEquals(ranker.getVertexScore(3).hub, 0.0, .0001);
     }
 
+    public void testParallel() {
+        graph = new DirectedSparseMultigraph<Number,Number>();
+        Random random = new Random(11);
+        for (int i = 0; i < 2000; i++)
+            graph.addVertex(i);
+        for (int i = 0; i < 8000; i++)
+            graph.addEdge(i, random.nextInt(2000), random.nextInt(2000));
+
+        HITS<Number,Number> expected = new HITS<Number,Number>(graph, 0.1);
+        expected.evaluate();
+        HITS<Number,Number> actual = new HITS<Number,Number>(graph, 0.1);
+        actual.setParallelism(4);
+        actual.evaluate();
+        Assert.assertEquals(expected.getIterations(), actual.getIterations());
+        for (Number v : graph.getVertices()) {
+            Assert.assertEquals(expected.getVertexScore(v).hub, actual.getVertexScore(v).hub);
+            Assert.assertEquals(expected.getVertexScore(v).authority, 
+                    actual.getVertexScore(v).authority);
+        }
+    }
+
 }
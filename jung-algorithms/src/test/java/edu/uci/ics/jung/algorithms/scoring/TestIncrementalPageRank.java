@@ -0,0 +1,159 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.scoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.MapTransformer;
+
+import edu.uci.ics.jung.algorithms.util.RandomGraphs;
+import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.ObservableGraph;
+import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
+
+public class TestIncrementalPageRank extends TestCase
+{
+    private Random random;
+    private ObservableGraph<Integer,Integer> graph;
+    private Map<Integer,Double> weights;
+    private int next_vertex;
+    private int next_edge;
+
+    private void createGraph(Graph<Integer,Integer> delegate, int vertex_count, int edge_count)
+    {
+        random = new Random(vertex_count + edge_count);
+        graph = RandomGraphs.populate(new ObservableGraph<Integer,Integer>(delegate),
+                vertex_count, edge_count, random);
+        weights = new HashMap<Integer,Double>();
+        for (Integer e : graph.getEdges())
+            weights.put(e, random.nextDouble() * 0.05);
+        next_vertex = vertex_count;
+        next_edge = edge_count;
+    }
+
+    private Integer pick(List<Integer> elements)
+    {
+        return elements.get(random.nextInt(elements.size()));
+    }
+
+    private void addEdge()
+    {
+        List<Integer> vertices = new ArrayList<Integer>(graph.getVertices());
+        weights.put(next_edge, random.nextDouble() * 0.05);
+        graph.addEdge(next_edge++, pick(vertices), pick(vertices));
+    }
+
+    /**
+     * Makes a random change of each kind: edges are added and removed, and
+     * a vertex is added (with an edge) and another removed.
+     */
+    private void change()
+    {
+        for (int i = 0; i < 3; i++)
+            addEdge();
+        for (int i = 0; i < 3; i++)
+            graph.removeEdge(pick(new ArrayList<Integer>(graph.getEdges())));
+        graph.addVertex(next_vertex);
+        weights.put(next_edge, random.nextDouble() * 0.05);
+        graph.addEdge(next_edge++, next_vertex++, pick(new ArrayList<Integer>(graph.getVertices())));
+        graph.removeVertex(pick(new ArrayList<Integer>(graph.getVertices())));
+    }
+
+    private void compare(PageRankWithPriors<Integer,Integer> expected,
+            IncrementalPageRank<Integer,Integer> actual)
+    {
+        expected.setTolerance(1.0e-13);
+        expected.setMaxIterations(10000);
+        expected.evaluate();
+        for (Integer v : graph.getVertices())
+            assertEquals(expected.getVertexScore(v), actual.getVertexScore(v), 1.0e-8);
+    }
+
+    public void testPageRank()
+    {
+        createGraph(new DirectedSparseMultigraph<Integer,Integer>(), 200, 500);
+        IncrementalPageRank<Integer,Integer> pr = new IncrementalPageRank<Integer,Integer>(graph, 0.15);
+        pr.setTolerance(1.0e-8);
+        compare(new PageRank<Integer,Integer>(graph, 0.15), pr);
+        for (int round = 0; round < 10; round++)
+        {
+            change();
+            compare(new PageRank<Integer,Integer>(graph, 0.15), pr);
+        }
+
+        // a batch of changes is delivered as a single event
+        graph.beginBatch();
+        for (int round = 0; round < 5; round++)
+            change();
+        graph.commitBatch();
+        compare(new PageRank<Integer,Integer>(graph, 0.15), pr);
+    }
+
+    public void testPageRankWithPriors()
+    {
+        createGraph(new UndirectedSparseMultigraph<Integer,Integer>(), 100, 200);
+        Transformer<Integer,Double> priors = new Transformer<Integer,Double>()
+        {
+            public Double transform(Integer v)
+            {
+                return (v % 3) / 100.0;
+            }
+        };
+        Transformer<Integer,Double> edge_weights = MapTransformer.getInstance(weights);
+        IncrementalPageRank<Integer,Integer> pr =
+            new IncrementalPageRank<Integer,Integer>(graph, edge_weights, priors, 0.2);
+        pr.setTolerance(1.0e-9);
+        compare(new PageRankWithPriors<Integer,Integer>(graph, edge_weights, priors, 0.2), pr);
+        for (int round = 0; round < 10; round++)
+        {
+            change();
+            Integer e = pick(new ArrayList<Integer>(graph.getEdges()));
+            weights.put(e, random.nextDouble() * 0.05);
+            pr.edgeWeightChanged(e);
+            compare(new PageRankWithPriors<Integer,Integer>(graph, edge_weights, priors, 0.2), pr);
+        }
+    }
+
+    public void testErrors()
+    {
+        createGraph(new DirectedSparseMultigraph<Integer,Integer>(), 5, 5);
+        try
+        {
+            new IncrementalPageRank<Integer,Integer>(graph, 0);
+            fail("should not accept alpha of 0");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        IncrementalPageRank<Integer,Integer> pr = new IncrementalPageRank<Integer,Integer>(graph, 0.15);
+        try
+        {
+            pr.getVertexScore(10);
+            fail("should not score a vertex not in the graph");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        try
+        {
+            pr.setTolerance(0);
+            fail("should not accept tolerance of 0");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+    }
+}
@@ -9,8 +9,16 @@
 */
 package edu.uci.ics.jung.algorithms.scoring;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import junit.framework.Assert;
 import junit.framework.Test;
@@ -20,9 +28,15 @@ import junit.framework.TestSuite;
 import org.apache.commons.collections15.Factory;
 import org.apache.commons.collections15.functors.MapTransformer;
 
+import edu.uci.ics.jung.algorithms.util.Indexer;
+import edu.uci.ics.jung.graph.CompactDirectedGraph;
+import edu.uci.ics.jung.graph.CompactHypergraph;
 import edu.uci.ics.jung.graph.DirectedGraph;
 import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
 import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.Hypergraph;
+import edu.uci.ics.jung.graph.SetHypergraph;
+import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
 
 /**
  * @author Joshua O'Madadhain
@@ -77,4 +91,135 @@ public class TestPageRank extends TestCase {
 //        Assert.assertTrue(NumericalPrecision.equal(((Ranking)ranker.getRankings().get(2)).rankScore,0.2,.001));
 //        Assert.assertTrue(NumericalPrecision.equal(((Ranking)ranker.getRankings().get(3)).rankScore,0,.001));
     }
+
+    public void testParallel() {
+        // large enough to be updated in parallel; some vertices have no out-edges
+        graph = new DirectedSparseMultigraph<Integer,Integer>();
+        Random random = new Random(7);
+        for (int i = 0; i < 3000; i++)
+            graph.addVertex(i);
+        for (int i = 0; i < 9000; i++)
+            addEdge(graph, random.nextInt(3000), random.nextInt(2500), random.nextDouble());
+
+        PageRank<Integer,Integer> expected = new PageRank<Integer,Integer>(graph, 0.15);
+        expected.evaluate();
+        PageRank<Integer,Integer> actual = new PageRank<Integer,Integer>(graph, 0.15);
+        actual.setParallelism(3);
+        actual.evaluate();
+        Assert.assertEquals(expected.getIterations(), actual.getIterations());
+        for (Integer v : graph.getVertices())
+            Assert.assertEquals(expected.getVertexScore(v), actual.getVertexScore(v));
+
+        try {
+            actual.setParallelism(0);
+            fail("should not accept a parallelism of 0");
+        } catch (IllegalArgumentException iae) {
+            // all is well
+        }
+    }
+
+    public void testExecutor() {
+        graph = new DirectedSparseMultigraph<Integer,Integer>();
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++)
+            graph.addVertex(i);
+        for (int i = 0; i < 6000; i++)
+            addEdge(graph, random.nextInt(2000), random.nextInt(1800), random.nextDouble());
+
+        PageRank<Integer,Integer> expected = new PageRank<Integer,Integer>(graph, 0.15);
+        PageRank<Integer,Integer> actual = new PageRank<Integer,Integer>(graph, 0.15);
+        actual.setParallelism(2);
+        final AtomicInteger submitted = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.SECONDS, 
+                new LinkedBlockingQueue<Runnable>()) {
+            @Override
+            public void execute(Runnable command) {
+                submitted.incrementAndGet();
+                super.execute(command);
+            }
+        };
+        try {
+            // steps taken one at a time share the supplied threads
+            actual.setExecutor(executor);
+            for (int i = 0; i < 3; i++) {
+                expected.step();
+                actual.step();
+            }
+            assertFalse(executor.isShutdown());
+            int count = submitted.get();
+            assertTrue(count >= 6);
+
+            // and then threads of its own, until they are released
+            actual.setExecutor(null);
+            for (int i = 0; i < 3; i++) {
+                expected.step();
+                actual.step();
+            }
+            actual.shutdown();
+            assertEquals(count, submitted.get());
+            for (Integer v : graph.getVertices())
+                Assert.assertEquals(expected.getVertexScore(v), actual.getVertexScore(v));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public void testIndexedGraph() {
+        graph = new DirectedSparseMultigraph<Integer,Integer>();
+        Random random = new Random(11);
+        // few enough vertices that the sparse graphs recognize self-loops
+        // on boxed ids by identity
+        for (int i = 0; i < 120; i++)
+            graph.addVertex(i);
+        for (int i = 0; i < 500; i++)
+            addEdge(graph, random.nextInt(120), random.nextInt(100), random.nextDouble());
+        addEdge(graph, 5, 5, 1.0);
+        Graph<Integer,Integer> undirected = new UndirectedSparseMultigraph<Integer,Integer>();
+        for (Integer e : graph.getEdges())
+            undirected.addEdge(e, graph.getSource(e), graph.getDest(e));
+        List<Graph<Integer,Integer>> graphs = new ArrayList<Graph<Integer,Integer>>();
+        graphs.add(graph);
+        graphs.add(undirected);
+
+        for (Graph<Integer,Integer> g : graphs) {
+            for (boolean self_loops : new boolean[] {false, true}) {
+                PageRank<Integer,Integer> expected = new PageRank<Integer,Integer>(g, 0.15);
+                expected.setHyperedgesAreSelfLoops(self_loops);
+                expected.evaluate();
+                List<Graph<Integer,Integer>> indexed = new ArrayList<Graph<Integer,Integer>>();
+                indexed.add(Indexer.createIndexedGraph(g));
+                if (g == graph)
+                    indexed.add(new CompactDirectedGraph<Integer,Integer>(g));
+                for (Graph<Integer,Integer> ig : indexed) {
+                    PageRank<Integer,Integer> actual = new PageRank<Integer,Integer>(ig, 0.15);
+                    actual.setHyperedgesAreSelfLoops(self_loops);
+                    actual.evaluate();
+                    Assert.assertEquals(expected.getIterations(), actual.getIterations());
+                    for (Integer v : g.getVertices()) {
+                        double score = expected.getVertexScore(v);
+                        Assert.assertEquals(score, actual.getVertexScore(v), 1e-12 * Math.max(1, Math.abs(score)));
+                    }
+                }
+            }
+        }
+    }
+
+    public void testCompactHypergraph() {
+        Hypergraph<Integer,Integer> hypergraph = new SetHypergraph<Integer,Integer>();
+        for (int i = 0; i < 6; i++)
+            hypergraph.addVertex(i);
+        hypergraph.addEdge(0, Arrays.asList(0, 1, 2));
+        hypergraph.addEdge(1, Arrays.asList(2, 3));
+        hypergraph.addEdge(2, Arrays.asList(1, 3, 4, 5));
+        hypergraph.addEdge(3, Arrays.asList(5, 0));
+        Hypergraph<Integer,Integer> compact = new CompactHypergraph<Integer,Integer>(hypergraph);
+
+        PageRank<Integer,Integer> expected = new PageRank<Integer,Integer>(hypergraph, 0.15);
+        expected.evaluate();
+        PageRank<Integer,Integer> actual = new PageRank<Integer,Integer>(compact, 0.15);
+        actual.evaluate();
+        Assert.assertEquals(expected.getIterations(), actual.getIterations());
+        for (Integer v : hypergraph.getVertices())
+            Assert.assertEquals(expected.getVertexScore(v), actual.getVertexScore(v), 1e-12);
+    }
 }
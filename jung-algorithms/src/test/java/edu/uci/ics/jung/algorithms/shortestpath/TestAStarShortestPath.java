@@ -0,0 +1,106 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.awt.geom.Point2D;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.ConstantTransformer;
+import org.apache.commons.collections15.functors.MapTransformer;
+
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseGraph;
+
+public class TestAStarShortestPath extends TestCase
+{
+    private Graph<Integer,Integer> graph;
+    private Map<Integer,Point2D> locations;
+    private Map<Integer,Double> weights;
+
+    /**
+     * Creates a 12x12 grid with some edges missing, whose vertices are at
+     * their grid positions, and whose edge weights are at least the
+     * distances between their endpoints.
+     */
+    @Override
+    protected void setUp()
+    {
+        Random random = new Random(29);
+        graph = new UndirectedSparseGraph<Integer,Integer>();
+        locations = new HashMap<Integer,Point2D>();
+        weights = new HashMap<Integer,Double>();
+        for (int i = 0; i < 144; i++)
+        {
+            graph.addVertex(i);
+            locations.put(i, new Point2D.Double(i % 12, i / 12));
+        }
+        int e = 0;
+        for (int i = 0; i < 144; i++)
+        {
+            int[] neighbors = {i % 12 < 11 ? i + 1 : -1, i + 12 < 144 ? i + 12 : -1,
+                    i % 12 < 11 && i + 13 < 144 ? i + 13 : -1};
+            for (int j : neighbors)
+            {
+                if (j < 0 || random.nextInt(6) == 0)
+                    continue;
+                graph.addEdge(e, i, j);
+                weights.put(e++, locations.get(i).distance(locations.get(j)) * (1 + random.nextInt(3)));
+            }
+        }
+    }
+
+    public void testEuclidean()
+    {
+        Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        DijkstraShortestPath<Integer,Integer> dsp = new DijkstraShortestPath<Integer,Integer>(graph, nev);
+        AStarShortestPath<Integer,Integer> astar = new AStarShortestPath<Integer,Integer>(graph, nev,
+                AStarShortestPath.euclidean(MapTransformer.getInstance(locations)));
+        for (int source = 0; source < 144; source += 7)
+        {
+            for (Integer target : graph.getVertices())
+            {
+                Number expected = dsp.getDistance(source, target);
+                Number actual = astar.getDistance(source, target);
+                List<Integer> path = astar.getPath(source, target);
+                if (expected == null)
+                {
+                    assertNull(actual);
+                    assertTrue(path.isEmpty());
+                }
+                else
+                {
+                    assertEquals(expected.doubleValue(), actual.doubleValue(), 1e-9);
+                    TestBidirectionalDijkstraShortestPath.checkPath(graph, nev, source, target,
+                            path, expected.doubleValue());
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testZeroHeuristic()
+    {
+        Transformer<Integer,Transformer<Integer,Double>> zero =
+            new ConstantTransformer(new ConstantTransformer(0.0));
+        AStarShortestPath<Integer,Integer> astar = new AStarShortestPath<Integer,Integer>(graph, zero);
+        UnweightedShortestPath<Integer,Integer> usp = new UnweightedShortestPath<Integer,Integer>(graph);
+        for (Integer target : graph.getVertices())
+        {
+            Number expected = usp.getDistance(5, target);
+            Number actual = astar.getDistance(5, target);
+            if (expected == null)
+                assertNull(actual);
+            else
+                assertEquals(expected.doubleValue(), actual.doubleValue());
+        }
+        assertTrue(astar.getPath(5, 5).isEmpty());
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.MapTransformer;
+
+import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
+
+public class TestAllPairsShortestPaths extends TestCase
+{
+    private Map<Integer,Double> weights;
+
+    private Graph<Integer,Integer> populate(Graph<Integer,Integer> graph, int edge_count)
+    {
+        Random random = new Random(17);
+        weights = new HashMap<Integer,Double>();
+        for (int i = 0; i < 80; i++)
+            graph.addVertex(i);
+        for (int e = 0; e < edge_count; e++)
+        {
+            graph.addEdge(e, random.nextInt(80), random.nextInt(80));
+            weights.put(e, (double)random.nextInt(10));
+        }
+        return graph;
+    }
+
+    private void checkStatistics(Graph<Integer,Integer> graph)
+    {
+        Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        for (int parallelism = 1; parallelism <= 4; parallelism += 3)
+        {
+            AllPairsShortestPaths<Integer,Integer> unweighted =
+                new AllPairsShortestPaths<Integer,Integer>(graph);
+            AllPairsShortestPaths<Integer,Integer> weighted =
+                new AllPairsShortestPaths<Integer,Integer>(graph, nev);
+            unweighted.setParallelism(parallelism);
+            weighted.setParallelism(parallelism);
+            for (boolean use_max : new boolean[] {true, false})
+            {
+                assertEquals(DistanceStatistics.diameter(graph,
+                        new UnweightedShortestPath<Integer,Integer>(graph), use_max),
+                        DistanceStatistics.diameter(unweighted, use_max));
+                assertEquals(DistanceStatistics.diameter(graph,
+                        new DijkstraDistance<Integer,Integer>(graph, nev), use_max),
+                        DistanceStatistics.diameter(weighted, use_max));
+            }
+            Transformer<Integer,Double> expected = DistanceStatistics.averageDistances(graph,
+                    new UnweightedShortestPath<Integer,Integer>(graph));
+            Transformer<Integer,Double> actual = DistanceStatistics.averageDistances(unweighted);
+            for (Integer v : graph.getVertices())
+                assertEquals(expected.transform(v), actual.transform(v));
+            expected = DistanceStatistics.averageDistances(graph,
+                    new DijkstraDistance<Integer,Integer>(graph, nev));
+            actual = DistanceStatistics.averageDistances(weighted);
+            for (Integer v : graph.getVertices())
+                assertEquals(expected.transform(v), actual.transform(v));
+
+            // the parallel overloads agree with the sequential defaults
+            assertEquals(DistanceStatistics.diameter(graph),
+                    DistanceStatistics.diameter(graph, parallelism));
+            expected = DistanceStatistics.averageDistances(graph);
+            actual = DistanceStatistics.averageDistances(graph, parallelism);
+            for (Integer v : graph.getVertices())
+                assertEquals(expected.transform(v), actual.transform(v));
+        }
+    }
+
+    public void testDirected()
+    {
+        checkStatistics(populate(new DirectedSparseMultigraph<Integer,Integer>(), 250));
+        checkStatistics(populate(new DirectedSparseMultigraph<Integer,Integer>(), 600));
+    }
+
+    public void testUndirected()
+    {
+        checkStatistics(populate(new UndirectedSparseMultigraph<Integer,Integer>(), 60));
+        checkStatistics(populate(new UndirectedSparseMultigraph<Integer,Integer>(), 300));
+    }
+
+    public void testExecutor()
+    {
+        Graph<Integer,Integer> graph = populate(new DirectedSparseMultigraph<Integer,Integer>(), 300);
+        Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            // the runs share the supplied threads, which are left running
+            AllPairsShortestPaths<Integer,Integer> paths =
+                new AllPairsShortestPaths<Integer,Integer>(graph, nev);
+            paths.setParallelism(3);
+            paths.setExecutor(executor);
+            for (boolean use_max : new boolean[] {true, false})
+                assertEquals(DistanceStatistics.diameter(graph,
+                        new DijkstraDistance<Integer,Integer>(graph, nev), use_max),
+                        DistanceStatistics.diameter(paths, use_max));
+            paths.shutdown();
+            assertFalse(executor.isShutdown());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    public void testHandler()
+    {
+        final Graph<Integer,Integer> graph = populate(new DirectedSparseMultigraph<Integer,Integer>(), 300);
+        final Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        final AllPairsShortestPaths<Integer,Integer> paths =
+            new AllPairsShortestPaths<Integer,Integer>(graph, nev);
+        paths.setParallelism(3);
+        final DijkstraDistance<Integer,Integer> dd = new DijkstraDistance<Integer,Integer>(graph, nev);
+        final boolean[] seen = new boolean[graph.getVertexCount()];
+        assertTrue(paths.run(new AllPairsShortestPaths.SourceHandler()
+        {
+            public boolean handleSource(int source, double[] distances)
+            {
+                Integer v = paths.getVertex(source);
+                Map<Integer,Number> expected;
+                synchronized (dd)
+                {
+                    expected = new HashMap<Integer,Number>(dd.getDistanceMap(v));
+                    dd.reset(v);
+                }
+                for (int i = 0; i < distances.length; i++)
+                {
+                    Number d = expected.get(paths.getVertex(i));
+                    if (d == null)
+                        assertEquals(Double.POSITIVE_INFINITY, distances[i]);
+                    else
+                        assertEquals(d.doubleValue(), distances[i]);
+                }
+                synchronized (seen)
+                {
+                    assertFalse(seen[source]);
+                    seen[source] = true;
+                }
+                return true;
+            }
+        }));
+        for (boolean s : seen)
+            assertTrue(s);
+
+        // a handler may stop the computation
+        final AtomicInteger count = new AtomicInteger();
+        assertFalse(paths.run(Arrays.asList(1, 2, 3, 4, 5, 6), new AllPairsShortestPaths.SourceHandler()
+        {
+            public boolean handleSource(int source, double[] distances)
+            {
+                count.incrementAndGet();
+                return false;
+            }
+        }));
+        assertTrue(count.get() >= 1 && count.get() <= paths.getParallelism());
+
+        try
+        {
+            paths.run(Arrays.asList(-1), null);
+            fail("should not be able to run from a missing source");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        weights.put(0, -1.0);
+        try
+        {
+            new AllPairsShortestPaths<Integer,Integer>(graph, nev);
+            fail("should not accept negative weights");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.MapTransformer;
+
+import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
+
+public class TestBidirectionalDijkstraShortestPath extends TestCase
+{
+    private Map<Integer,Double> weights;
+
+    private Graph<Integer,Integer> populate(Graph<Integer,Integer> graph, int edge_count)
+    {
+        Random random = new Random(23);
+        weights = new HashMap<Integer,Double>();
+        for (int i = 0; i < 60; i++)
+            graph.addVertex(i);
+        for (int e = 0; e < edge_count; e++)
+        {
+            graph.addEdge(e, random.nextInt(60), random.nextInt(60));
+            weights.put(e, random.nextInt(4) == 0 ? 0.0 : random.nextDouble() * 10);
+        }
+        return graph;
+    }
+
+    /**
+     * Checks that <code>path</code> leads from <code>source</code> to
+     * <code>target</code> and has length <code>distance</code>.
+     */
+    static <V,E> void checkPath(Graph<V,E> graph, Transformer<E,? extends Number> nev,
+            V source, V target, List<E> path, double distance)
+    {
+        V v = source;
+        double length = 0;
+        for (E e : path)
+        {
+            assertTrue(graph.getOutEdges(v).contains(e));
+            v = graph.getOpposite(v, e);
+            length += nev.transform(e).doubleValue();
+        }
+        assertEquals(target, v);
+        assertEquals(distance, length, 1e-9);
+    }
+
+    private void checkAllPairs(Graph<Integer,Integer> graph)
+    {
+        Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        DijkstraShortestPath<Integer,Integer> dsp = new DijkstraShortestPath<Integer,Integer>(graph, nev);
+        BidirectionalDijkstraShortestPath<Integer,Integer> bsp =
+            new BidirectionalDijkstraShortestPath<Integer,Integer>(graph, nev);
+        for (Integer source : graph.getVertices())
+        {
+            for (Integer target : graph.getVertices())
+            {
+                Number expected = dsp.getDistance(source, target);
+                Number actual = bsp.getDistance(source, target);
+                List<Integer> path = bsp.getPath(source, target);
+                if (expected == null)
+                {
+                    assertNull(actual);
+                    assertTrue(path.isEmpty());
+                }
+                else
+                {
+                    assertEquals(expected.doubleValue(), actual.doubleValue(), 1e-9);
+                    checkPath(graph, nev, source, target, path, expected.doubleValue());
+                }
+            }
+        }
+        assertEquals(dsp.getDistanceMap(0), bsp.getDistanceMap(0));
+    }
+
+    public void testDirected()
+    {
+        checkAllPairs(populate(new DirectedSparseMultigraph<Integer,Integer>(), 150));
+    }
+
+    public void testUndirected()
+    {
+        checkAllPairs(populate(new UndirectedSparseMultigraph<Integer,Integer>(), 70));
+    }
+
+    public void testUnweighted()
+    {
+        Graph<Integer,Integer> graph = populate(new DirectedSparseMultigraph<Integer,Integer>(), 150);
+        BidirectionalDijkstraShortestPath<Integer,Integer> bsp =
+            new BidirectionalDijkstraShortestPath<Integer,Integer>(graph);
+        UnweightedShortestPath<Integer,Integer> usp = new UnweightedShortestPath<Integer,Integer>(graph);
+        for (Integer target : graph.getVertices())
+        {
+            Number expected = usp.getDistance(0, target);
+            Number actual = bsp.getDistance(0, target);
+            if (expected == null)
+                assertNull(actual);
+            else
+                assertEquals(expected.doubleValue(), actual.doubleValue());
+        }
+        try
+        {
+            bsp.getPath(0, -1);
+            fail("should not accept a missing target");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+    }
+}
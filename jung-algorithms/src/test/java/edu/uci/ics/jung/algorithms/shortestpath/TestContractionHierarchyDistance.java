@@ -0,0 +1,210 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.MapTransformer;
+
+import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.SparseMultigraph;
+import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.util.EdgeType;
+
+public class TestContractionHierarchyDistance extends TestCase
+{
+    private Map<Integer,Double> weights;
+
+    private Graph<Integer,Integer> populate(Graph<Integer,Integer> graph, int edge_count, int max_weight)
+    {
+        Random random = new Random(23);
+        weights = new HashMap<Integer,Double>();
+        for (int i = 0; i < 100; i++)
+            graph.addVertex(i);
+        for (int e = 0; e < edge_count; e++)
+        {
+            if (graph instanceof SparseMultigraph)
+                graph.addEdge(e, random.nextInt(100), random.nextInt(100),
+                        random.nextBoolean() ? EdgeType.DIRECTED : EdgeType.UNDIRECTED);
+            else
+                graph.addEdge(e, random.nextInt(100), random.nextInt(100));
+            weights.put(e, (double)random.nextInt(max_weight));
+        }
+        return graph;
+    }
+
+    private void checkDistances(Graph<Integer,Integer> graph)
+    {
+        Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        checkDistances(graph, new ContractionHierarchyDistance<Integer>(graph, nev),
+                new DijkstraDistance<Integer,Integer>(graph, nev));
+        checkDistances(graph, new ContractionHierarchyDistance<Integer>(graph),
+                new DijkstraDistance<Integer,Integer>(graph));
+    }
+
+    private void checkDistances(Graph<Integer,Integer> graph, Distance<Integer> ch,
+            Distance<Integer> expected)
+    {
+        for (Integer source : graph.getVertices())
+        {
+            Map<Integer,Number> expected_map = expected.getDistanceMap(source);
+            for (Integer target : graph.getVertices())
+            {
+                Number distance = expected_map.get(target);
+                Number actual = ch.getDistance(source, target);
+                if (distance == null)
+                    assertNull(actual);
+                else
+                    assertEquals(distance.doubleValue(), actual.doubleValue());
+            }
+            Map<Integer,Number> actual_map = ch.getDistanceMap(source);
+            assertEquals(expected_map.keySet(), actual_map.keySet());
+            double last = 0;
+            for (Map.Entry<Integer,Number> entry : actual_map.entrySet())
+            {
+                assertEquals(expected_map.get(entry.getKey()).doubleValue(),
+                        entry.getValue().doubleValue());
+                assertTrue(entry.getValue().doubleValue() >= last);
+                last = entry.getValue().doubleValue();
+            }
+        }
+    }
+
+    public void testDirected()
+    {
+        checkDistances(populate(new DirectedSparseMultigraph<Integer,Integer>(), 200, 10));
+        checkDistances(populate(new DirectedSparseMultigraph<Integer,Integer>(), 600, 3));
+    }
+
+    public void testUndirected()
+    {
+        checkDistances(populate(new UndirectedSparseMultigraph<Integer,Integer>(), 80, 10));
+        checkDistances(populate(new UndirectedSparseMultigraph<Integer,Integer>(), 400, 10));
+    }
+
+    public void testMixed()
+    {
+        checkDistances(populate(new SparseMultigraph<Integer,Integer>(), 300, 10));
+    }
+
+    public void testGrid()
+    {
+        // the kind of graph for which contraction hierarchies are designed
+        Graph<Integer,Integer> graph = new UndirectedSparseMultigraph<Integer,Integer>();
+        weights = new HashMap<Integer,Double>();
+        Random random = new Random(5);
+        int e = 0;
+        for (int i = 0; i < 400; i++)
+        {
+            if (i % 20 != 0)
+            {
+                graph.addEdge(e, i - 1, i);
+                weights.put(e++, 1.0 + random.nextInt(4));
+            }
+            if (i >= 20)
+            {
+                graph.addEdge(e, i - 20, i);
+                weights.put(e++, 1.0 + random.nextInt(4));
+            }
+        }
+        checkDistances(graph);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testSerialization() throws Exception
+    {
+        Graph<Integer,Integer> graph = populate(new DirectedSparseMultigraph<Integer,Integer>(), 300, 10);
+        Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        ContractionHierarchyDistance<Integer> ch = new ContractionHierarchyDistance<Integer>(graph, nev);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(ch);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        ContractionHierarchyDistance<Integer> copy = (ContractionHierarchyDistance<Integer>)in.readObject();
+        assertEquals(ch.getArcCount(), copy.getArcCount());
+        checkDistances(graph, copy, new DijkstraDistance<Integer,Integer>(graph, nev));
+    }
+
+    public void testConcurrentQueries() throws Exception
+    {
+        final Graph<Integer,Integer> graph = populate(new DirectedSparseMultigraph<Integer,Integer>(), 300, 10);
+        final Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        final ContractionHierarchyDistance<Integer> ch = new ContractionHierarchyDistance<Integer>(graph, nev);
+        final List<Throwable> failures = new ArrayList<Throwable>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++)
+        {
+            threads[t] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        checkDistances(graph, ch, new DijkstraDistance<Integer,Integer>(graph, nev));
+                    }
+                    catch (Throwable x)
+                    {
+                        synchronized (failures)
+                        {
+                            failures.add(x);
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        assertTrue(failures.toString(), failures.isEmpty());
+    }
+
+    public void testErrors()
+    {
+        Graph<Integer,Integer> graph = populate(new DirectedSparseMultigraph<Integer,Integer>(), 100, 10);
+        ContractionHierarchyDistance<Integer> ch = new ContractionHierarchyDistance<Integer>(graph);
+        try
+        {
+            ch.getDistance(0, -1);
+            fail("should not accept a missing target");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        try
+        {
+            ch.getDistanceMap(-1);
+            fail("should not accept a missing source");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        weights.put(0, -1.0);
+        try
+        {
+            new ContractionHierarchyDistance<Integer>(graph, MapTransformer.getInstance(weights));
+            fail("should not accept negative weights");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+    }
+}
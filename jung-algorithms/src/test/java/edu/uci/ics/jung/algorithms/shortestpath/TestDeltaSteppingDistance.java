@@ -0,0 +1,138 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.MapTransformer;
+
+import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
+
+public class TestDeltaSteppingDistance extends TestCase
+{
+    private Map<Integer,Double> weights;
+
+    private Graph<Integer,Integer> populate(Graph<Integer,Integer> graph, int vertex_count, int edge_count)
+    {
+        Random random = new Random(31);
+        weights = new HashMap<Integer,Double>();
+        for (int i = 0; i < vertex_count; i++)
+            graph.addVertex(i);
+        for (int e = 0; e < edge_count; e++)
+        {
+            graph.addEdge(e, random.nextInt(vertex_count), random.nextInt(vertex_count));
+            weights.put(e, (double)random.nextInt(20));
+        }
+        return graph;
+    }
+
+    private void checkDistances(Graph<Integer,Integer> graph, int source_count)
+    {
+        Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        DijkstraDistance<Integer,Integer> dd = new DijkstraDistance<Integer,Integer>(graph, nev);
+        for (double delta : new double[] {-1, 0.5, 3, 100})
+        {
+            for (int parallelism = 1; parallelism <= 4; parallelism += 3)
+            {
+                DeltaSteppingDistance<Integer,Integer> ds =
+                    new DeltaSteppingDistance<Integer,Integer>(graph, nev, delta);
+                ds.setParallelism(parallelism);
+                for (int v = 0; v < source_count; v++)
+                {
+                    Map<Integer,Number> expected = dd.getDistanceMap(v);
+                    Map<Integer,Number> actual = ds.getDistanceMap(v);
+                    assertEquals(expected, actual);
+                    // the same values, in the same (nondecreasing) order
+                    assertEquals(new ArrayList<Number>(expected.values()),
+                            new ArrayList<Number>(actual.values()));
+                    assertEquals(expected.get(graph.getVertexCount() - 1),
+                            ds.getDistance(v, graph.getVertexCount() - 1));
+                }
+                ds.shutdown();
+            }
+        }
+    }
+
+    public void testSmall()
+    {
+        checkDistances(populate(new DirectedSparseMultigraph<Integer,Integer>(), 50, 150), 50);
+        checkDistances(populate(new UndirectedSparseMultigraph<Integer,Integer>(), 50, 80), 50);
+    }
+
+    public void testLarge()
+    {
+        // large enough that the frontiers are relaxed in parallel
+        checkDistances(populate(new DirectedSparseMultigraph<Integer,Integer>(), 3000, 30000), 5);
+        checkDistances(populate(new UndirectedSparseMultigraph<Integer,Integer>(), 3000, 20000), 5);
+    }
+
+    public void testExecutor()
+    {
+        Graph<Integer,Integer> graph = populate(new DirectedSparseMultigraph<Integer,Integer>(), 3000, 30000);
+        Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        DijkstraDistance<Integer,Integer> dd = new DijkstraDistance<Integer,Integer>(graph, nev);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            // the searches share the supplied threads, which are left running
+            DeltaSteppingDistance<Integer,Integer> ds = new DeltaSteppingDistance<Integer,Integer>(graph, nev);
+            ds.setParallelism(3);
+            ds.setExecutor(executor);
+            for (int v = 0; v < 3; v++)
+                assertEquals(dd.getDistanceMap(v), ds.getDistanceMap(v));
+            ds.shutdown();
+            assertFalse(executor.isShutdown());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    public void testErrors()
+    {
+        Graph<Integer,Integer> graph = populate(new DirectedSparseMultigraph<Integer,Integer>(), 10, 20);
+        DeltaSteppingDistance<Integer,Integer> ds = new DeltaSteppingDistance<Integer,Integer>(graph);
+        assertEquals(1.0, ds.getDelta());
+        try
+        {
+            ds.getDistanceMap(-1);
+            fail("should not accept a missing source");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        try
+        {
+            new DeltaSteppingDistance<Integer,Integer>(graph, MapTransformer.getInstance(weights), 0);
+            fail("should not accept a delta of 0");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        weights.put(0, -1.0);
+        try
+        {
+            new DeltaSteppingDistance<Integer,Integer>(graph, MapTransformer.getInstance(weights));
+            fail("should not accept negative weights");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+    }
+}
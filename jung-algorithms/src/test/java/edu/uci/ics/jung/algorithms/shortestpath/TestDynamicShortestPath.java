@@ -0,0 +1,179 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.MapTransformer;
+
+import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.ObservableGraph;
+import edu.uci.ics.jung.graph.SparseMultigraph;
+import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.util.EdgeType;
+
+public class TestDynamicShortestPath extends TestCase
+{
+    private static final int VERTEX_COUNT = 30;
+
+    private Random random;
+    private Map<Integer,Double> weights;
+    private int next_edge;
+    private int next_vertex;
+    private boolean mixed;
+
+    private void addEdge(ObservableGraph<Integer,Integer> graph)
+    {
+        List<Integer> vertices = new ArrayList<Integer>(graph.getVertices());
+        Integer v1 = vertices.get(random.nextInt(vertices.size()));
+        Integer v2 = vertices.get(random.nextInt(vertices.size()));
+        weights.put(next_edge, (double)random.nextInt(10));
+        if (mixed && random.nextInt(3) == 0)
+            graph.addEdge(next_edge++, v1, v2, EdgeType.UNDIRECTED);
+        else
+            graph.addEdge(next_edge++, v1, v2);
+    }
+
+    private void change(ObservableGraph<Integer,Integer> graph, DynamicShortestPath<Integer,Integer> dsp)
+    {
+        List<Integer> edges = new ArrayList<Integer>(graph.getEdges());
+        switch (random.nextInt(6))
+        {
+            case 0:
+            case 1:
+                addEdge(graph);
+                break;
+            case 2:
+                graph.removeEdge(edges.get(random.nextInt(edges.size())));
+                break;
+            case 3:
+            {
+                Integer e = edges.get(random.nextInt(edges.size()));
+                weights.put(e, (double)random.nextInt(10));
+                dsp.edgeWeightChanged(e);
+                break;
+            }
+            case 4:
+                if (random.nextInt(4) == 0)
+                {
+                    List<Integer> vertices = new ArrayList<Integer>(graph.getVertices());
+                    graph.removeVertex(vertices.get(random.nextInt(vertices.size())));
+                }
+                else
+                    graph.addVertex(VERTEX_COUNT + next_vertex++);
+                break;
+            default:
+                graph.beginBatch();
+                for (int i = 0; i < 4; i++)
+                {
+                    edges = new ArrayList<Integer>(graph.getEdges());
+                    if (random.nextBoolean())
+                        addEdge(graph);
+                    else
+                        graph.removeEdge(edges.get(random.nextInt(edges.size())));
+                }
+                graph.commitBatch();
+        }
+    }
+
+    private void checkDynamic(Graph<Integer,Integer> delegate, boolean mixed)
+    {
+        this.mixed = mixed;
+        random = new Random(13);
+        weights = new HashMap<Integer,Double>();
+        next_edge = 0;
+        next_vertex = 0;
+        ObservableGraph<Integer,Integer> graph = new ObservableGraph<Integer,Integer>(delegate);
+        for (int i = 0; i < VERTEX_COUNT; i++)
+            graph.addVertex(i);
+        for (int i = 0; i < 60; i++)
+            addEdge(graph);
+        Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        DynamicShortestPath<Integer,Integer> dsp = new DynamicShortestPath<Integer,Integer>(graph, nev);
+        for (int step = 0; step < 300; step++)
+        {
+            // keep trees for a changing set of sources
+            List<Integer> vertices = new ArrayList<Integer>(graph.getVertices());
+            for (int i = 0; i < 3; i++)
+                dsp.getDistanceMap(vertices.get(random.nextInt(vertices.size())));
+            change(graph, dsp);
+            DijkstraShortestPath<Integer,Integer> expected =
+                new DijkstraShortestPath<Integer,Integer>(graph, nev, false);
+            for (Integer source : new ArrayList<Integer>(dsp.trees.keySet()))
+            {
+                Map<Integer,Number> expected_distances = expected.getDistanceMap(source);
+                Map<Integer,Number> actual_distances = dsp.getDistanceMap(source);
+                assertEquals(expected_distances, actual_distances);
+                assertEquals(new ArrayList<Number>(expected_distances.values()),
+                        new ArrayList<Number>(actual_distances.values()));
+                assertEquals(expected_distances.keySet(), dsp.getIncomingEdgeMap(source).keySet());
+                for (Integer target : expected_distances.keySet())
+                {
+                    double length = 0;
+                    Integer v = source;
+                    for (Integer e : dsp.getPath(source, target))
+                    {
+                        assertTrue(graph.getOutEdges(v).contains(e));
+                        length += weights.get(e);
+                        v = graph.getOpposite(v, e);
+                    }
+                    assertEquals(target, v);
+                    assertEquals(expected_distances.get(target).doubleValue(), length);
+                }
+            }
+        }
+    }
+
+    public void testDirected()
+    {
+        checkDynamic(new DirectedSparseMultigraph<Integer,Integer>(), false);
+    }
+
+    public void testUndirected()
+    {
+        checkDynamic(new UndirectedSparseMultigraph<Integer,Integer>(), false);
+    }
+
+    public void testMixed()
+    {
+        checkDynamic(new SparseMultigraph<Integer,Integer>(), true);
+    }
+
+    public void testErrors()
+    {
+        ObservableGraph<Integer,Integer> graph =
+            new ObservableGraph<Integer,Integer>(new DirectedSparseMultigraph<Integer,Integer>());
+        graph.addEdge(0, 1, 2);
+        DynamicShortestPath<Integer,Integer> dsp = new DynamicShortestPath<Integer,Integer>(graph);
+        assertEquals(1.0, dsp.getDistance(1, 2));
+        assertNull(dsp.getDistance(2, 1));
+        try
+        {
+            dsp.getDistance(1, 3);
+            fail("should not accept a missing target");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        try
+        {
+            dsp.edgeWeightChanged(5);
+            fail("should not accept a missing edge");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+    }
+}
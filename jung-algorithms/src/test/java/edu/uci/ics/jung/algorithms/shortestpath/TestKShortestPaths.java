@@ -0,0 +1,214 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.MapTransformer;
+
+import edu.uci.ics.jung.algorithms.util.RandomGraphs;
+import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
+
+public class TestKShortestPaths extends TestCase
+{
+    private Map<Integer,Double> weights;
+
+    private Graph<Integer,Integer> createGraph(Graph<Integer,Integer> graph, int seed, int min_weight)
+    {
+        Random random = new Random(seed);
+        RandomGraphs.populate(graph, 7, 14, random);
+        weights = new HashMap<Integer,Double>();
+        for (Integer e : graph.getEdges())
+            weights.put(e, (double)(min_weight + random.nextInt(4)));
+        return graph;
+    }
+
+    private double length(List<Integer> path)
+    {
+        double length = 0;
+        for (Integer e : path)
+            length += weights.get(e);
+        return length;
+    }
+
+    /**
+     * Returns all of the simple paths from <code>v</code> to <code>target</code>.
+     */
+    private void enumerate(Graph<Integer,Integer> graph, Integer v, Integer target,
+            List<Integer> path, Set<Integer> visited, List<List<Integer>> paths)
+    {
+        if (v.equals(target))
+        {
+            paths.add(new ArrayList<Integer>(path));
+            return;
+        }
+        for (Integer e : graph.getOutEdges(v))
+        {
+            Integer w = graph.getOpposite(v, e);
+            if (visited.contains(w))
+                continue;
+            visited.add(w);
+            path.add(e);
+            enumerate(graph, w, target, path, visited, paths);
+            path.remove(path.size() - 1);
+            visited.remove(w);
+        }
+    }
+
+    private void checkPaths(Graph<Integer,Integer> graph)
+    {
+        Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        KShortestPaths<Integer,Integer> ksp = new KShortestPaths<Integer,Integer>(graph, nev);
+        for (Integer source : graph.getVertices())
+        {
+            for (Integer target : graph.getVertices())
+            {
+                List<List<Integer>> expected = new ArrayList<List<Integer>>();
+                Set<Integer> visited = new HashSet<Integer>();
+                visited.add(source);
+                enumerate(graph, source, target, new ArrayList<Integer>(), visited, expected);
+                List<Double> expected_lengths = new ArrayList<Double>();
+                for (List<Integer> path : expected)
+                    expected_lengths.add(length(path));
+                Collections.sort(expected_lengths);
+
+                List<List<Integer>> actual = new ArrayList<List<Integer>>();
+                List<Double> actual_lengths = new ArrayList<Double>();
+                for (Iterator<List<Integer>> iter = ksp.getPaths(source, target); iter.hasNext(); )
+                {
+                    List<Integer> path = iter.next();
+                    actual.add(path);
+                    actual_lengths.add(length(path));
+                }
+                assertEquals(expected_lengths, actual_lengths);
+                assertEquals(new HashSet<List<Integer>>(expected), new HashSet<List<Integer>>(actual));
+
+                Set<List<Integer>> shortest = new HashSet<List<Integer>>();
+                for (List<Integer> path : expected)
+                    if (length(path) == expected_lengths.get(0))
+                        shortest.add(path);
+                Set<List<Integer>> actual_shortest = new HashSet<List<Integer>>();
+                for (Iterator<List<Integer>> iter = ksp.getShortestPaths(source, target); iter.hasNext(); )
+                    assertTrue(actual_shortest.add(iter.next()));
+                assertEquals(shortest, actual_shortest);
+            }
+        }
+    }
+
+    public void testDirected()
+    {
+        for (int seed = 0; seed < 5; seed++)
+            checkPaths(createGraph(new DirectedSparseMultigraph<Integer,Integer>(), seed, 1));
+    }
+
+    public void testUndirected()
+    {
+        for (int seed = 0; seed < 5; seed++)
+            checkPaths(createGraph(new UndirectedSparseMultigraph<Integer,Integer>(), seed, 1));
+    }
+
+    public void testZeroWeights()
+    {
+        for (int seed = 0; seed < 5; seed++)
+            checkPaths(createGraph(new DirectedSparseMultigraph<Integer,Integer>(), seed, 0));
+    }
+
+    public void testFractionalWeights()
+    {
+        // 0.1 + 0.2 is not exactly 0.3 in floating point, but the paths tie
+        Graph<Integer,Integer> graph = new DirectedSparseMultigraph<Integer,Integer>();
+        weights = new HashMap<Integer,Double>();
+        graph.addEdge(0, 0, 1);
+        weights.put(0, 0.1);
+        graph.addEdge(1, 1, 2);
+        weights.put(1, 0.2);
+        graph.addEdge(2, 0, 2);
+        weights.put(2, 0.3);
+        graph.addEdge(3, 0, 2);
+        weights.put(3, 0.30001);
+        KShortestPaths<Integer,Integer> ksp =
+            new KShortestPaths<Integer,Integer>(graph, MapTransformer.getInstance(weights));
+        Set<List<Integer>> expected = new HashSet<List<Integer>>();
+        List<Integer> direct = new ArrayList<Integer>();
+        direct.add(2);
+        expected.add(direct);
+        List<Integer> indirect = new ArrayList<Integer>();
+        indirect.add(0);
+        indirect.add(1);
+        expected.add(indirect);
+        Set<List<Integer>> actual = new HashSet<List<Integer>>();
+        for (Iterator<List<Integer>> iter = ksp.getShortestPaths(0, 2); iter.hasNext(); )
+            assertTrue(actual.add(iter.next()));
+        assertEquals(expected, actual);
+    }
+
+    public void testLazy()
+    {
+        // a long chain of diamonds has 2^20 paths, of which only the first few are wanted
+        Graph<Integer,Integer> graph = new DirectedSparseMultigraph<Integer,Integer>();
+        weights = new HashMap<Integer,Double>();
+        int e = 0;
+        for (int i = 0; i < 20; i++)
+        {
+            weights.put(e, 1.0);
+            graph.addEdge(e++, 2 * i, 2 * i + 1);
+            weights.put(e, 1.0);
+            graph.addEdge(e++, 2 * i + 1, 2 * i + 2);
+            weights.put(e, 3.0);
+            graph.addEdge(e++, 2 * i, 2 * i + 2);
+        }
+        KShortestPaths<Integer,Integer> ksp =
+            new KShortestPaths<Integer,Integer>(graph, MapTransformer.getInstance(weights));
+        Iterator<List<Integer>> paths = ksp.getPaths(0, 40);
+        assertEquals(40.0, length(paths.next()));
+        for (int i = 0; i < 20; i++)
+            assertEquals(41.0, length(paths.next()));
+        assertEquals(42.0, length(paths.next()));
+        assertTrue(ksp.getShortestPaths(0, 40).hasNext());
+        assertFalse(ksp.getPaths(40, 0).hasNext());
+        assertEquals(Collections.EMPTY_LIST, ksp.getPaths(3, 3).next());
+    }
+
+    public void testErrors()
+    {
+        Graph<Integer,Integer> graph = new DirectedSparseMultigraph<Integer,Integer>();
+        graph.addEdge(0, 1, 2);
+        KShortestPaths<Integer,Integer> ksp = new KShortestPaths<Integer,Integer>(graph);
+        try
+        {
+            ksp.getPaths(1, 3);
+            fail("should not accept a missing target");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        Iterator<List<Integer>> paths = ksp.getPaths(1, 2);
+        paths.next();
+        assertFalse(paths.hasNext());
+        try
+        {
+            paths.next();
+            fail("should not return more paths than there are");
+        }
+        catch (java.util.NoSuchElementException nsee)
+        {
+            // all is well
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.MapTransformer;
+
+import edu.uci.ics.jung.algorithms.cluster.WeakComponentClusterer;
+import edu.uci.ics.jung.algorithms.util.RandomGraphs;
+import edu.uci.ics.jung.graph.DelegateForest;
+import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.Forest;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
+
+public class TestParallelMinimumSpanningForest extends TestCase
+{
+    private Map<Integer,Double> weights;
+
+    private Graph<Integer,Integer> createGraph(Graph<Integer,Integer> graph, int vertex_count, int edge_count)
+    {
+        Random random = new Random(vertex_count);
+        RandomGraphs.populate(graph, vertex_count, edge_count, random);
+        weights = new HashMap<Integer,Double>();
+        for (Integer e : graph.getEdges())
+            weights.put(e, random.nextDouble());
+        return graph;
+    }
+
+    private double totalWeight(Graph<Integer,Integer> graph)
+    {
+        double total = 0;
+        for (Integer e : graph.getEdges())
+            total += weights.get(e);
+        return total;
+    }
+
+    private Integer find(Map<Integer,Integer> parents, Integer v)
+    {
+        while (parents.containsKey(v))
+            v = parents.get(v);
+        return v;
+    }
+
+    private Set<Integer> getRoots(Forest<Integer,Integer> forest)
+    {
+        Set<Integer> roots = new HashSet<Integer>();
+        for (Integer v : forest.getVertices())
+            if (forest.getPredecessorCount(v) == 0)
+                roots.add(v);
+        return roots;
+    }
+
+    private void checkForest(Graph<Integer,Integer> graph, Forest<Integer,Integer> forest, Integer root)
+    {
+        int components = new WeakComponentClusterer<Integer,Integer>().transform(graph).size();
+        assertEquals(graph.getVertexCount(), forest.getVertexCount());
+        assertEquals(graph.getVertexCount() - components, forest.getEdgeCount());
+        assertEquals(components, forest.getTrees().size());
+        if (root != null)
+            assertTrue(getRoots(forest).contains(root));
+        for (Integer e : forest.getEdges())
+        {
+            // each edge joins the same vertices as in the graph
+            assertEquals(new HashSet<Integer>(graph.getEndpoints(e)),
+                    new HashSet<Integer>(forest.getEndpoints(e)));
+        }
+    }
+
+    public void testMatchesMinimumSpanningForest()
+    {
+        // the weights are distinct, so the minimum spanning forest is unique
+        Graph<Integer,Integer> graph =
+            createGraph(new UndirectedSparseMultigraph<Integer,Integer>(), 60, 70);
+        Forest<Integer,Integer> expected = new MinimumSpanningForest<Integer,Integer>(graph,
+                new DelegateForest<Integer,Integer>(), 3, weights).getForest();
+        Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        for (int parallelism = 1; parallelism <= 3; parallelism++)
+        {
+            Forest<Integer,Integer> forest = new ParallelMinimumSpanningForest<Integer,Integer>(graph,
+                    new DelegateForest<Integer,Integer>(), 3, nev, parallelism).getForest();
+            checkForest(graph, forest, 3);
+            assertEquals(new HashSet<Integer>(expected.getEdges()),
+                    new HashSet<Integer>(forest.getEdges()));
+        }
+    }
+
+    public void testLarge()
+    {
+        Graph<Integer,Integer> graph =
+            createGraph(new DirectedSparseMultigraph<Integer,Integer>(), 20000, 60000);
+        Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+        Forest<Integer,Integer> sequential = new ParallelMinimumSpanningForest<Integer,Integer>(graph,
+                new DelegateForest<Integer,Integer>(), null, nev, 1).getForest();
+        Forest<Integer,Integer> parallel = new ParallelMinimumSpanningForest<Integer,Integer>(graph,
+                new DelegateForest<Integer,Integer>(), null, nev, 4).getForest();
+        checkForest(graph, parallel, null);
+        assertEquals(new HashSet<Integer>(sequential.getEdges()),
+                new HashSet<Integer>(parallel.getEdges()));
+
+        // a supplied executor is used, and is not shut down
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            Forest<Integer,Integer> shared = new ParallelMinimumSpanningForest<Integer,Integer>(graph,
+                    new DelegateForest<Integer,Integer>(), null, nev, 4, executor).getForest();
+            assertEquals(new HashSet<Integer>(sequential.getEdges()),
+                    new HashSet<Integer>(shared.getEdges()));
+            assertFalse(executor.isShutdown());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        // the directions of the edges are ignored; compare with Kruskal's algorithm
+        List<Integer> edges = new ArrayList<Integer>(graph.getEdges());
+        Collections.sort(edges, new Comparator<Integer>()
+        {
+            public int compare(Integer e1, Integer e2)
+            {
+                return weights.get(e1).compareTo(weights.get(e2));
+            }
+        });
+        Map<Integer,Integer> parents = new HashMap<Integer,Integer>();
+        double expected = 0;
+        for (Integer e : edges)
+        {
+            Integer a = find(parents, graph.getEndpoints(e).getFirst());
+            Integer b = find(parents, graph.getEndpoints(e).getSecond());
+            if (!a.equals(b))
+            {
+                parents.put(a, b);
+                expected += weights.get(e);
+            }
+        }
+        assertEquals(expected, totalWeight(parallel), 1e-6);
+    }
+
+    public void testUnweighted()
+    {
+        Graph<Integer,Integer> graph = new UndirectedSparseMultigraph<Integer,Integer>();
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(1, 2, 3);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 1, 1);
+        graph.addVertex(4);
+        Forest<Integer,Integer> forest = new ParallelMinimumSpanningForest<Integer,Integer>(graph,
+                new DelegateForest<Integer,Integer>(), 3, null).getForest();
+        checkForest(graph, forest, 3);
+        assertEquals(new HashSet<Integer>(Arrays.asList(3, 4)),
+                getRoots(forest));
+        try
+        {
+            new ParallelMinimumSpanningForest<Integer,Integer>(graph, forest, null, null);
+            fail("should not accept a nonempty forest");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.shortestpath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.TestCase;
+import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.Graph;
+import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
+
+public class TestParallelUnweightedShortestPath extends TestCase
+{
+    private void addRandomEdges(Graph<Integer,Integer> graph, int vertex_count, int edge_count)
+    {
+        Random random = new Random(vertex_count);
+        for (int i = 0; i < vertex_count; i++)
+            graph.addVertex(i);
+        for (int i = 0; i < edge_count; i++)
+            graph.addEdge(i, random.nextInt(vertex_count), random.nextInt(vertex_count));
+    }
+
+    private void checkMatches(Graph<Integer,Integer> graph, int parallelism, int sources)
+    {
+        checkMatches(graph, parallelism, sources, null);
+    }
+
+    private void checkMatches(Graph<Integer,Integer> graph, int parallelism, int sources,
+            ExecutorService executor)
+    {
+        ParallelUnweightedShortestPath<Integer,Integer> parallel =
+            new ParallelUnweightedShortestPath<Integer,Integer>(graph);
+        parallel.setParallelism(parallelism);
+        parallel.setExecutor(executor);
+        UnweightedShortestPath<Integer,Integer> usp = new UnweightedShortestPath<Integer,Integer>(graph);
+        List<Integer> vertices = new ArrayList<Integer>(graph.getVertices());
+        Random random = new Random(7);
+        for (int i = 0; i < sources; i++)
+        {
+            Integer source = vertices.get(random.nextInt(vertices.size()));
+            Map<Integer,Number> distances = parallel.getDistanceMap(source);
+            assertEquals(usp.getDistanceMap(source), distances);
+            assertEquals(usp.getIncomingEdgeMap(source), parallel.getIncomingEdgeMap(source));
+            int last = 0;
+            for (Number distance : distances.values())
+            {
+                assertTrue(distance.intValue() >= last);
+                last = distance.intValue();
+            }
+
+            BFSDistanceLabeler<Integer,Integer> labeler = new BFSDistanceLabeler<Integer,Integer>();
+            labeler.labelDistances(graph, source);
+            for (int j = 0; j < 20; j++)
+            {
+                Integer target = vertices.get(random.nextInt(vertices.size()));
+                assertEquals(labeler.getPredecessors(target), parallel.getPredecessors(source, target));
+                int distance = labeler.getDistance(graph, target);
+                assertEquals(distance < 0 ? null : distance, parallel.getDistance(source, target));
+            }
+        }
+        parallel.shutdown();
+    }
+
+    public void testSmall()
+    {
+        Graph<Integer,Integer> graph = new UndirectedSparseMultigraph<Integer,Integer>();
+        for (int i = 0; i < 6; i++)
+            graph.addVertex(i);
+        int j = 0;
+        graph.addEdge(j++, 0, 1);
+        graph.addEdge(j++, 0, 5);
+        graph.addEdge(j++, 0, 3);
+        graph.addEdge(j++, 0, 4);
+        graph.addEdge(j++, 1, 5);
+        graph.addEdge(j++, 3, 4);
+        graph.addEdge(j++, 3, 2);
+        graph.addEdge(j++, 5, 2);
+        ParallelUnweightedShortestPath<Integer,Integer> parallel =
+            new ParallelUnweightedShortestPath<Integer,Integer>(graph);
+        assertEquals(2, parallel.getDistance(0, 2).intValue());
+        assertEquals(2, parallel.getPredecessors(0, 2).size());
+        assertEquals(0, parallel.getPredecessors(0, 0).size());
+        assertNull(parallel.getIncomingEdgeMap(0).get(0));
+        assertEquals(6, parallel.getDistanceMap(0).size());
+        checkMatches(graph, 1, 6);
+    }
+
+    public void testDirected()
+    {
+        Graph<Integer,Integer> graph = new DirectedSparseMultigraph<Integer,Integer>();
+        addRandomEdges(graph, 20000, 100000);
+        checkMatches(graph, 4, 3);
+        checkMatches(graph, 1, 3);
+    }
+
+    public void testUndirected()
+    {
+        Graph<Integer,Integer> graph = new UndirectedSparseMultigraph<Integer,Integer>();
+        addRandomEdges(graph, 10000, 15000);
+        checkMatches(graph, 4, 3);
+
+        // the searches may share threads supplied by the caller, which are left running
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            checkMatches(graph, 3, 3, executor);
+            assertFalse(executor.isShutdown());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    public void testErrors()
+    {
+        Graph<Integer,Integer> graph = new DirectedSparseMultigraph<Integer,Integer>();
+        graph.addEdge(0, 1, 2);
+        ParallelUnweightedShortestPath<Integer,Integer> parallel =
+            new ParallelUnweightedShortestPath<Integer,Integer>(graph);
+        assertNull(parallel.getDistance(2, 1));
+        try
+        {
+            parallel.getDistanceMap(3);
+            fail("should not accept a missing source");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        try
+        {
+            parallel.setParallelism(0);
+            fail("should not accept a parallelism of 0");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+    }
+}
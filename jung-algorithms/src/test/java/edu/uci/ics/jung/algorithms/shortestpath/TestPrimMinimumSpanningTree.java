@@ -1,6 +1,16 @@
 package edu.uci.ics.jung.algorithms.shortestpath;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
 import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Transformer;
+import org.apache.commons.collections15.functors.MapTransformer;
+
+import edu.uci.ics.jung.algorithms.util.IntPriorityQueue;
 import edu.uci.ics.jung.graph.DirectedGraph;
 import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
 import edu.uci.ics.jung.graph.Graph;
@@ -57,4 +67,36 @@ public class TestPrimMinimumSpanningTree extends TestCase {
 		
 	}
 
+	public void testPriorityQueueTypes() {
+		Random random = new Random(7);
+		UndirectedGraph<Integer,Integer> graph = new UndirectedSparseMultigraph<Integer,Integer>();
+		Map<Integer,Double> weights = new HashMap<Integer,Double>();
+		for(int i=0; i<40; i++) {
+			graph.addVertex(i);
+		}
+		for(int e=0; e<150; e++) {
+			graph.addEdge(e, random.nextInt(40), random.nextInt(40));
+			weights.put(e, random.nextDouble());
+		}
+		Transformer<Integer,Double> nev = MapTransformer.getInstance(weights);
+		Graph<Integer,Integer> expected = new PrimMinimumSpanningTree<Integer,Integer>(
+				UndirectedSparseMultigraph.<Integer,Integer>getFactory(), nev).transform(graph);
+		for(IntPriorityQueue.Type type : new IntPriorityQueue.Type[] { 
+				IntPriorityQueue.Type.D_ARY, IntPriorityQueue.Type.PAIRING }) {
+			Graph<Integer,Integer> mst = new PrimMinimumSpanningTree<Integer,Integer>(
+				UndirectedSparseMultigraph.<Integer,Integer>getFactory(), nev, type).transform(graph);
+			// the weights are distinct, so the minimum spanning tree is unique
+			assertEquals(expected.getVertices().size(), mst.getVertexCount());
+			assertEquals(new HashSet<Integer>(expected.getEdges()), 
+					new HashSet<Integer>(mst.getEdges()));
+		}
+		try {
+			new PrimMinimumSpanningTree<Integer,Integer>(
+					UndirectedSparseMultigraph.<Integer,Integer>getFactory(), nev, IntPriorityQueue.Type.RADIX);
+			fail("should not accept a radix heap");
+		} catch (IllegalArgumentException iae) {
+			// all is well
+		}
+	}
+
 }
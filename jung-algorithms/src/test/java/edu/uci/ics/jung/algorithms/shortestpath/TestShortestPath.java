@@ -4,12 +4,15 @@
  */
 package edu.uci.ics.jung.algorithms.shortestpath;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
 import junit.framework.TestCase;
@@ -20,6 +23,7 @@ import org.apache.commons.collections15.Transformer;
 import org.apache.commons.collections15.functors.MapTransformer;
 
 import edu.uci.ics.jung.algorithms.util.Indexer;
+import edu.uci.ics.jung.algorithms.util.IntPriorityQueue;
 import edu.uci.ics.jung.graph.DirectedGraph;
 import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
 import edu.uci.ics.jung.graph.Graph;
@@ -305,7 +309,200 @@ public class TestShortestPath extends TestCase
             setUp();
             weightedTest(ug, uid, i, false);
         }
-        
+
+    }
+
+    /**
+     * Returns an empty directed and an empty undirected multigraph.
+     */
+    private static List<Graph<Integer,Integer>> emptyGraphs()
+    {
+        List<Graph<Integer,Integer>> graphs = new ArrayList<Graph<Integer,Integer>>();
+        graphs.add(new DirectedSparseMultigraph<Integer,Integer>());
+        graphs.add(new UndirectedSparseMultigraph<Integer,Integer>());
+        return graphs;
+    }
+
+    public void testPriorityQueueTypes()
+    {
+        Random random = new Random(19);
+        for (Graph<Integer,Integer> graph : emptyGraphs())
+        {
+            Map<Integer,Integer> weights = new HashMap<Integer,Integer>();
+            for (int i = 0; i < 60; i++)
+                graph.addVertex(i);
+            for (int e = 0; e < 200; e++)
+            {
+                graph.addEdge(e, random.nextInt(60), random.nextInt(60));
+                weights.put(e, random.nextInt(20));
+            }
+            Transformer<Integer,Integer> nev = MapTransformer.getInstance(weights);
+            DijkstraShortestPath<Integer,Integer> expected = 
+                new DijkstraShortestPath<Integer,Integer>(graph, nev);
+            for (IntPriorityQueue.Type type : IntPriorityQueue.Type.values())
+            {
+                DijkstraShortestPath<Integer,Integer> dsp = 
+                    new DijkstraShortestPath<Integer,Integer>(graph, nev);
+                dsp.setPriorityQueueType(type);
+                assertEquals(type, dsp.getPriorityQueueType());
+                for (Integer v : graph.getVertices())
+                {
+                    // extend a partial search, as well as running a full one
+                    dsp.getDistanceMap(v, 10);
+                    assertEquals(new ArrayList<Number>(expected.getDistanceMap(v).values()),
+                            new ArrayList<Number>(dsp.getDistanceMap(v).values()));
+                    for (Integer w : graph.getVertices())
+                        assertEquals(expected.getDistance(v, w), dsp.getDistance(v, w));
+                }
+            }
+        }
+    }
+
+    public void testIndexedGraph()
+    {
+        Random random = new Random(29);
+        for (Graph<Integer,Integer> graph : emptyGraphs())
+        {
+            final Map<Integer,Integer> weights = new HashMap<Integer,Integer>();
+            for (int i = 0; i < 60; i++)
+                graph.addVertex(i);
+            for (int e = 0; e < 200; e++)
+            {
+                graph.addEdge(e, random.nextInt(60), random.nextInt(60));
+                weights.put(e, random.nextInt(20));
+            }
+            Transformer<Integer,Integer> nev = MapTransformer.getInstance(weights);
+            DijkstraShortestPath<Integer,Integer> expected =
+                new DijkstraShortestPath<Integer,Integer>(graph, nev);
+            Graph<Integer,Integer> indexed = Indexer.createIndexedGraph(graph);
+            List<IntPriorityQueue.Type> types = new ArrayList<IntPriorityQueue.Type>();
+            types.add(null);
+            for (IntPriorityQueue.Type type : IntPriorityQueue.Type.values())
+                types.add(type);
+            for (IntPriorityQueue.Type type : types)
+            {
+                DijkstraShortestPath<Integer,Integer> dsp =
+                    new DijkstraShortestPath<Integer,Integer>(indexed, nev);
+                dsp.setPriorityQueueType(type);
+                for (Integer v : graph.getVertices())
+                {
+                    // extend a partial search, as well as running a full one
+                    dsp.getDistanceMap(v, 10);
+                    Map<Integer,Number> distances = dsp.getDistanceMap(v);
+                    assertEquals(expected.getDistanceMap(v), distances);
+                    double previous = 0;
+                    for (Number d : distances.values())
+                    {
+                        assertTrue(d.doubleValue() >= previous);
+                        previous = d.doubleValue();
+                    }
+                    for (Integer w : graph.getVertices())
+                    {
+                        int length = 0;
+                        for (Integer e : dsp.getPath(v, w))
+                            length += weights.get(e);
+                        if (distances.containsKey(w))
+                            assertEquals(distances.get(w).intValue(), length);
+                    }
+                }
+
+                // a distance limit leaves the farther vertices unsettled
+                dsp.reset();
+                dsp.setMaxDistance(10);
+                for (Number d : dsp.getDistanceMap(0).values())
+                    assertTrue(d.doubleValue() <= 10);
+                dsp.setMaxDistance(Double.POSITIVE_INFINITY);
+                assertEquals(expected.getDistanceMap(0), dsp.getDistanceMap(0));
+            }
+        }
+    }
+
+    public void testOverriddenEdgesToCheck()
+    {
+        Random random = new Random(31);
+        DirectedGraph<Integer,Integer> graph = new DirectedSparseMultigraph<Integer,Integer>();
+        DirectedGraph<Integer,Integer> reversed = new DirectedSparseMultigraph<Integer,Integer>();
+        Map<Integer,Integer> weights = new HashMap<Integer,Integer>();
+        for (int i = 0; i < 60; i++)
+        {
+            graph.addVertex(i);
+            reversed.addVertex(i);
+        }
+        for (int e = 0; e < 200; e++)
+        {
+            int from = random.nextInt(60);
+            int to = random.nextInt(60);
+            graph.addEdge(e, from, to);
+            reversed.addEdge(e, to, from);
+            weights.put(e, random.nextInt(20));
+        }
+        Transformer<Integer,Integer> nev = MapTransformer.getInstance(weights);
+        DijkstraShortestPath<Integer,Integer> expected =
+            new DijkstraShortestPath<Integer,Integer>(reversed, nev);
+        List<Graph<Integer,Integer>> graphs = new ArrayList<Graph<Integer,Integer>>();
+        graphs.add(graph);
+        graphs.add(Indexer.createIndexedGraph(graph));
+        for (final Graph<Integer,Integer> g : graphs)
+        {
+            // searches backwards, along the incoming edges
+            DijkstraShortestPath<Integer,Integer> dsp =
+                new DijkstraShortestPath<Integer,Integer>(g, nev)
+            {
+                @Override
+                protected Collection<Integer> getEdgesToCheck(Integer v)
+                {
+                    return g.getInEdges(v);
+                }
+            };
+            for (Integer v : graph.getVertices())
+                assertEquals(expected.getDistanceMap(v), dsp.getDistanceMap(v));
+        }
+    }
+
+    public void testCacheLimit()
+    {
+        Random random = new Random(23);
+        Graph<Integer,Integer> graph = new DirectedSparseMultigraph<Integer,Integer>();
+        for (int i = 0; i < 30; i++)
+            graph.addVertex(i);
+        for (int e = 0; e < 100; e++)
+            graph.addEdge(e, random.nextInt(30), random.nextInt(30));
+        DijkstraShortestPath<Integer,Integer> expected =
+            new DijkstraShortestPath<Integer,Integer>(graph);
+        DijkstraShortestPath<Integer,Integer> dsp =
+            new DijkstraShortestPath<Integer,Integer>(graph);
+        dsp.setCacheLimit(3);
+        assertEquals(3, dsp.getCacheLimit());
+
+        // 0, 1, 2 are cached; querying 0 makes 1 the least recently used
+        for (int v = 0; v < 3; v++)
+            assertEquals(expected.getDistanceMap(v), dsp.getDistanceMap(v));
+        dsp.getDistance(0, 5);
+        assertEquals(3, dsp.getCacheMissCount());
+        assertEquals(1, dsp.getCacheHitCount());
+        assertEquals(0, dsp.getCacheEvictionCount());
+        assertEquals(expected.getPath(3, 7), dsp.getPath(3, 7));
+        assertEquals(1, dsp.getCacheEvictionCount());
+        dsp.getIncomingEdgeMap(2);
+        assertEquals(2, dsp.getCacheHitCount());
+        dsp.getIncomingEdgeMap(1);
+        assertEquals(5, dsp.getCacheMissCount());
+        assertEquals(2, dsp.getCacheEvictionCount());
+
+        // results are unaffected by eviction, or by soft references
+        dsp.setSoftCaching(true);
+        assertTrue(dsp.isSoftCaching());
+        dsp.setCacheLimit(1);
+        for (int v = 0; v < 30; v++)
+        {
+            assertEquals(expected.getDistanceMap(v), dsp.getDistanceMap(v));
+            assertEquals(expected.getIncomingEdgeMap(v), dsp.getIncomingEdgeMap(v));
+        }
+        dsp.resetCacheStatistics();
+        assertEquals(0, dsp.getCacheHitCount());
+        dsp.setCacheLimit(0);
+        assertEquals(expected.getDistance(4, 9), dsp.getDistance(4, 9));
+        assertEquals(1, dsp.getCacheMissCount());
     }
 
     private void getPathTest(Graph<String,Integer> g, BidiMap<String,Integer> indexer, int index)
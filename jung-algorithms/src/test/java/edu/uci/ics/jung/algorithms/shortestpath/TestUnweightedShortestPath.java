@@ -4,6 +4,10 @@
  */
 package edu.uci.ics.jung.algorithms.shortestpath;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import junit.framework.Assert;
 import junit.framework.Test;
 import junit.framework.TestCase;
@@ -13,8 +17,10 @@ import org.apache.commons.collections15.BidiMap;
 import org.apache.commons.collections15.Factory;
 
 import edu.uci.ics.jung.algorithms.util.Indexer;
+import edu.uci.ics.jung.algorithms.util.RandomGraphs;
 import edu.uci.ics.jung.graph.DirectedGraph;
 import edu.uci.ics.jung.graph.DirectedSparseMultigraph;
+import edu.uci.ics.jung.graph.Graph;
 import edu.uci.ics.jung.graph.UndirectedGraph;
 import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
 
@@ -92,4 +98,56 @@ public class TestUnweightedShortestPath extends TestCase
 			Assert.assertNotNull(usp.getIncomingEdgeMap(id.getKey(0)).get(id.getKey(3)));
 
 		}
+
+	public void testIndexed() {
+		DirectedGraph<String,Integer> dg = 
+			new DirectedSparseMultigraph<String,Integer>();
+		for(int i=0; i<5; i++) {
+			dg.addVertex(vertexFactory.create());
+		}
+		id = Indexer.<String>create(dg.getVertices());
+		dg.addEdge(edgeFactory.create(), id.getKey(0), id.getKey(1));
+		dg.addEdge(edgeFactory.create(), id.getKey(1), id.getKey(2));
+		dg.addEdge(edgeFactory.create(), id.getKey(2), id.getKey(3));
+		dg.addEdge(edgeFactory.create(), id.getKey(0), id.getKey(4));
+		dg.addEdge(edgeFactory.create(), id.getKey(4), id.getKey(3));
+		dg.addEdge(edgeFactory.create(), id.getKey(3), id.getKey(0));
+
+		UnweightedShortestPath<String,Integer> usp = 
+			new UnweightedShortestPath<String,Integer>(dg);
+		UnweightedShortestPath<String,Integer> indexed = 
+			new UnweightedShortestPath<String,Integer>(Indexer.createIndexedGraph(dg));
+		for (String source : dg.getVertices()) {
+			Assert.assertEquals(usp.getDistanceMap(source), indexed.getDistanceMap(source));
+			Assert.assertEquals(usp.getIncomingEdgeMap(source), indexed.getIncomingEdgeMap(source));
+			for (String target : dg.getVertices()) {
+				Integer edge = indexed.getIncomingEdgeMap(source).get(target);
+				if (target.equals(source))
+					Assert.assertNull(edge);
+				else
+					Assert.assertEquals(usp.getDistance(source, target).intValue(), 
+						usp.getDistance(source, dg.getSource(edge)).intValue() + 1);
+			}
+		}
+	}
+
+	public void testIndexedIncomingEdges() {
+		// many vertices are reached by several shortest paths, so that the
+		// choice of incoming edge matters
+		List<Graph<Integer,Integer>> graphs = new ArrayList<Graph<Integer,Integer>>();
+		graphs.add(RandomGraphs.populate(new DirectedSparseMultigraph<Integer,Integer>(), 
+				50, 300, new Random(50)));
+		graphs.add(RandomGraphs.populate(new UndirectedSparseMultigraph<Integer,Integer>(), 
+				50, 150, new Random(50)));
+		for (Graph<Integer,Integer> graph : graphs) {
+			UnweightedShortestPath<Integer,Integer> usp = 
+				new UnweightedShortestPath<Integer,Integer>(graph);
+			UnweightedShortestPath<Integer,Integer> indexed = 
+				new UnweightedShortestPath<Integer,Integer>(Indexer.createIndexedGraph(graph));
+			for (Integer source : graph.getVertices()) {
+				Assert.assertEquals(usp.getDistanceMap(source), indexed.getDistanceMap(source));
+				Assert.assertEquals(usp.getIncomingEdgeMap(source), indexed.getIncomingEdgeMap(source));
+			}
+		}
+	}
 }
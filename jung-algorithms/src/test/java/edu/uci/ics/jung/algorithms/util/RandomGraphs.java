@@ -0,0 +1,35 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.util;
+
+import java.util.Random;
+
+import edu.uci.ics.jung.graph.Graph;
+
+/**
+ * Populates graphs with random edges for tests which compare algorithms
+ * on arbitrary graphs.  The graphs are determined by the state of the
+ * supplied {@code Random}, so a test which seeds it sees the same graph
+ * on every run.
+ */
+public class RandomGraphs
+{
+    /**
+     * Adds the vertices 0 through {@code vertex_count - 1} to {@code graph},
+     * and the edges 0 through {@code edge_count - 1}, each of whose
+     * endpoints is chosen uniformly at random (so that there may be
+     * self-loops and parallel edges).
+     * @return {@code graph}
+     */
+    public static <G extends Graph<Integer,Integer>> G populate(G graph,
+            int vertex_count, int edge_count, Random random)
+    {
+        for (int i = 0; i < vertex_count; i++)
+            graph.addVertex(i);
+        for (int e = 0; e < edge_count; e++)
+            graph.addEdge(e, random.nextInt(vertex_count), random.nextInt(vertex_count));
+        return graph;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+public class TestCacheMap extends TestCase
+{
+    public void testLeastRecentlyUsed()
+    {
+        CacheMap<String,Integer> cache = new CacheMap<String,Integer>(2, false);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        cache.put("c", 3);
+        assertFalse(cache.containsKey("b"));
+        assertEquals(Arrays.asList("a", "c"), new ArrayList<String>(cache.keySet()));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+
+        assertEquals(Integer.valueOf(3), cache.put("c", 4));
+        assertEquals(2, cache.size());
+        cache.setMaxSize(1);
+        assertEquals(Arrays.asList(4), new ArrayList<Integer>(cache.values()));
+        assertEquals(2, cache.getEvictionCount());
+
+        assertEquals(Integer.valueOf(4), cache.put("c", null));
+        assertTrue(cache.isEmpty());
+        cache.resetStatistics();
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    public void testSoft()
+    {
+        CacheMap<String,Integer> cache = new CacheMap<String,Integer>();
+        cache.put("a", 1);
+        cache.setSoft(true);
+        assertTrue(cache.isSoft());
+        // the value is strongly reachable here, so it cannot have been collected
+        Integer a = 1000;
+        cache.put("b", a);
+        assertSame(a, cache.get("b"));
+        cache.setSoft(false);
+        assertSame(a, cache.get("b"));
+        cache.clear();
+        assertEquals(0, cache.size());
+        try
+        {
+            new CacheMap<String,Integer>(-1, true);
+            fail("should not accept a negative size");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+    }
+}
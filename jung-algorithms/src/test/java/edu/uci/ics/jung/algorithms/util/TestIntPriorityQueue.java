@@ -0,0 +1,137 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.algorithms.util;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class TestIntPriorityQueue extends TestCase
+{
+    /**
+     * Performs a random monotone sequence of operations, as Dijkstra's
+     * algorithm would, and checks each result against a linear scan.
+     */
+    private void checkQueue(IntPriorityQueue queue, int capacity)
+    {
+        Random random = new Random(11);
+        double[] keys = new double[capacity];
+        boolean[] present = new boolean[capacity];
+        int size = 0;
+        double last_min = 0;
+        for (int step = 0; step < 20000; step++)
+        {
+            int id = random.nextInt(capacity);
+            int op = random.nextInt(3);
+            if (op == 0 && !present[id])
+            {
+                keys[id] = last_min + random.nextInt(100);
+                queue.add(id, keys[id]);
+                present[id] = true;
+                size++;
+            }
+            else if (op == 1 && present[id] && keys[id] > last_min)
+            {
+                keys[id] = last_min + random.nextInt((int)(keys[id] - last_min) + 1);
+                queue.decreaseKey(id, keys[id]);
+            }
+            else if (op == 2 && size > 0)
+            {
+                double min = Double.POSITIVE_INFINITY;
+                for (int i = 0; i < capacity; i++)
+                    if (present[i])
+                        min = Math.min(min, keys[i]);
+                assertEquals(min, queue.peekKey());
+                int polled = queue.poll();
+                assertTrue(present[polled]);
+                assertEquals(min, keys[polled]);
+                present[polled] = false;
+                size--;
+                last_min = min;
+            }
+            assertEquals(size, queue.size());
+            assertEquals(present[id], queue.contains(id));
+            if (present[id])
+                assertEquals(keys[id], queue.getKey(id));
+            if (step % 5000 == 4999)
+            {
+                queue.clear();
+                assertTrue(queue.isEmpty());
+                present = new boolean[capacity];
+                size = 0;
+                last_min = 0;
+            }
+        }
+        while (size-- > 0)
+            queue.poll();
+        try
+        {
+            queue.poll();
+            fail("should not be able to poll an empty queue");
+        }
+        catch (NoSuchElementException nsee)
+        {
+            // all is well
+        }
+    }
+
+    public void testQueues()
+    {
+        for (IntPriorityQueue.Type type : IntPriorityQueue.Type.values())
+            checkQueue(type.create(200), 200);
+        checkQueue(new IndexedDaryHeap(200, 2), 200);
+        checkQueue(new IndexedDaryHeap(200, 7), 200);
+    }
+
+    public void testErrors()
+    {
+        for (IntPriorityQueue.Type type : IntPriorityQueue.Type.values())
+        {
+            IntPriorityQueue queue = type.create(10);
+            queue.add(3, 5);
+            try
+            {
+                queue.add(3, 4);
+                fail("should not be able to add an id twice");
+            }
+            catch (IllegalArgumentException iae)
+            {
+                // all is well
+            }
+            try
+            {
+                queue.decreaseKey(3, 6);
+                fail("should not be able to increase a key");
+            }
+            catch (IllegalArgumentException iae)
+            {
+                // all is well
+            }
+        }
+        RadixHeap heap = new RadixHeap(10);
+        try
+        {
+            heap.add(0, 1.5);
+            fail("should not accept a nonintegral key");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+        heap.add(0, 4);
+        heap.add(1, 6);
+        heap.poll();
+        try
+        {
+            heap.add(2, 3);
+            fail("should not accept a key less than the last minimum");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all is well
+        }
+    }
+}
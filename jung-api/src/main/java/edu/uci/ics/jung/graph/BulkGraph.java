@@ -0,0 +1,65 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph;
+
+import org.apache.commons.collections15.Transformer;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
+
+/**
+ * A graph that supports efficient construction of large graphs: its
+ * internal tables may be sized in advance, and edges may be added in
+ * batches, optionally without the per-edge checks done by <code>addEdge</code>.
+ *
+ * <p>Graph importers and generators may test for this interface and, if
+ * it is present, use it in place of repeated calls to <code>addEdge</code>.
+ */
+public interface BulkGraph<V,E> extends Graph<V,E>
+{
+    /**
+     * Advises this graph that it is about to hold at least
+     * <code>vertex_count</code> vertices and <code>edge_count</code> edges,
+     * so that it can size its internal tables once rather than growing
+     * them incrementally.  This is only a hint; it does not change the
+     * contents of the graph.  It is most effective when called once,
+     * before the graph is populated.
+     * @param vertex_count the expected number of vertices
+     * @param edge_count the expected number of edges
+     */
+    void ensureCapacity(int vertex_count, int edge_count);
+
+    /**
+     * Adds each of <code>edges</code> to this graph, with the endpoints
+     * supplied by <code>endpoints</code> and the type <code>edge_type</code>.
+     * Endpoints that are not already in the graph are added to it.
+     *
+     * <p>If <code>check</code> is <code>true</code>, each edge is added
+     * exactly as by <code>addEdge(edge, endpoints.transform(edge), edge_type)</code>.
+     * If <code>check</code> is <code>false</code>, the caller guarantees
+     * that none of the edges is already in this graph and that adding them
+     * would not create parallel edges that this graph does not permit;
+     * these conditions are then not checked, and the behavior of this graph
+     * is unspecified if they do not hold.
+     *
+     * @param edges the edges to add
+     * @param endpoints the endpoints of each edge
+     * @param edge_type the type of all the edges; must be a type that this
+     * graph accepts
+     * @param check whether to check each edge as <code>addEdge</code> does
+     * @return the number of edges that were added
+     * @throws IllegalArgumentException if <code>edge_type</code> is not
+     * accepted by this graph, or if any edge or endpoint is <code>null</code>
+     */
+    int addEdges(Iterable<? extends E> edges, Transformer<? super E, Pair<V>> endpoints,
+            EdgeType edge_type, boolean check);
+}
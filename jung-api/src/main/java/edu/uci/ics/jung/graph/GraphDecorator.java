@@ -3,6 +3,8 @@ package edu.uci.ics.jung.graph;
 import java.io.Serializable;
 import java.util.Collection;
 
+import org.apache.commons.collections15.Closure;
+
 import edu.uci.ics.jung.graph.util.EdgeType;
 import edu.uci.ics.jung.graph.util.Pair;
 
@@ -246,6 +248,48 @@ public class GraphDecorator<V,E> implements Graph<V,E>, Serializable {
 		return delegate.getSuccessors(vertex);
 	}
 
+	/**
+	 * @see edu.uci.ics.jung.graph.Hypergraph#forEachIncidentEdge(java.lang.Object, org.apache.commons.collections15.Closure)
+	 */
+	public boolean forEachIncidentEdge(V vertex, Closure<? super E> visitor) {
+		return delegate.forEachIncidentEdge(vertex, visitor);
+	}
+
+	/**
+	 * @see edu.uci.ics.jung.graph.Hypergraph#forEachNeighbor(java.lang.Object, org.apache.commons.collections15.Closure)
+	 */
+	public boolean forEachNeighbor(V vertex, Closure<? super V> visitor) {
+		return delegate.forEachNeighbor(vertex, visitor);
+	}
+
+	/**
+	 * @see edu.uci.ics.jung.graph.Hypergraph#forEachInEdge(java.lang.Object, org.apache.commons.collections15.Closure)
+	 */
+	public boolean forEachInEdge(V vertex, Closure<? super E> visitor) {
+		return delegate.forEachInEdge(vertex, visitor);
+	}
+
+	/**
+	 * @see edu.uci.ics.jung.graph.Hypergraph#forEachOutEdge(java.lang.Object, org.apache.commons.collections15.Closure)
+	 */
+	public boolean forEachOutEdge(V vertex, Closure<? super E> visitor) {
+		return delegate.forEachOutEdge(vertex, visitor);
+	}
+
+	/**
+	 * @see edu.uci.ics.jung.graph.Hypergraph#forEachPredecessor(java.lang.Object, org.apache.commons.collections15.Closure)
+	 */
+	public boolean forEachPredecessor(V vertex, Closure<? super V> visitor) {
+		return delegate.forEachPredecessor(vertex, visitor);
+	}
+
+	/**
+	 * @see edu.uci.ics.jung.graph.Hypergraph#forEachSuccessor(java.lang.Object, org.apache.commons.collections15.Closure)
+	 */
+	public boolean forEachSuccessor(V vertex, Closure<? super V> visitor) {
+		return delegate.forEachSuccessor(vertex, visitor);
+	}
+
 	/**
 	 * @see edu.uci.ics.jung.graph.Hypergraph#getVertexCount()
 	 */
@@ -13,6 +13,8 @@ package edu.uci.ics.jung.graph;
 
 import java.util.Collection;
 
+import org.apache.commons.collections15.Closure;
+
 import edu.uci.ics.jung.graph.util.EdgeType;
 
 /**
@@ -433,4 +435,73 @@ public interface Hypergraph<V, E>
      * <code>vertex</code> in this graph
      */
     Collection<V> getSuccessors(V vertex);
+
+    /**
+     * Passes each edge incident to <code>vertex</code> to <code>visitor</code>.
+     * The edges visited are those in <code>getIncidentEdges(vertex)</code>,
+     * each exactly once.  Implementations avoid creating intermediate 
+     * collections where possible, so this method (and the other 
+     * <code>forEach</code> methods) is preferred in inner loops.
+     * The outcome of modifying this graph during the visit is undefined.
+     * @param vertex    the vertex whose incident edges are to be visited
+     * @param visitor   the closure to execute on each incident edge
+     * @return  <code>false</code> if <code>vertex</code> is not present in 
+     * this graph, and <code>true</code> otherwise
+     */
+    boolean forEachIncidentEdge(V vertex, Closure<? super E> visitor);
+
+    /**
+     * Passes each vertex in <code>getNeighbors(vertex)</code> to 
+     * <code>visitor</code>, exactly once.
+     * @param vertex    the vertex whose neighbors are to be visited
+     * @param visitor   the closure to execute on each neighbor
+     * @return  <code>false</code> if <code>vertex</code> is not present in 
+     * this graph, and <code>true</code> otherwise
+     * @see #forEachIncidentEdge(Object, Closure)
+     */
+    boolean forEachNeighbor(V vertex, Closure<? super V> visitor);
+
+    /**
+     * Passes each edge in <code>getInEdges(vertex)</code> to 
+     * <code>visitor</code>, exactly once.
+     * @param vertex    the vertex whose incoming edges are to be visited
+     * @param visitor   the closure to execute on each incoming edge
+     * @return  <code>false</code> if <code>vertex</code> is not present in 
+     * this graph, and <code>true</code> otherwise
+     * @see #forEachIncidentEdge(Object, Closure)
+     */
+    boolean forEachInEdge(V vertex, Closure<? super E> visitor);
+
+    /**
+     * Passes each edge in <code>getOutEdges(vertex)</code> to 
+     * <code>visitor</code>, exactly once.
+     * @param vertex    the vertex whose outgoing edges are to be visited
+     * @param visitor   the closure to execute on each outgoing edge
+     * @return  <code>false</code> if <code>vertex</code> is not present in 
+     * this graph, and <code>true</code> otherwise
+     * @see #forEachIncidentEdge(Object, Closure)
+     */
+    boolean forEachOutEdge(V vertex, Closure<? super E> visitor);
+
+    /**
+     * Passes each vertex in <code>getPredecessors(vertex)</code> to 
+     * <code>visitor</code>, exactly once.
+     * @param vertex    the vertex whose predecessors are to be visited
+     * @param visitor   the closure to execute on each predecessor
+     * @return  <code>false</code> if <code>vertex</code> is not present in 
+     * this graph, and <code>true</code> otherwise
+     * @see #forEachIncidentEdge(Object, Closure)
+     */
+    boolean forEachPredecessor(V vertex, Closure<? super V> visitor);
+
+    /**
+     * Passes each vertex in <code>getSuccessors(vertex)</code> to 
+     * <code>visitor</code>, exactly once.
+     * @param vertex    the vertex whose successors are to be visited
+     * @param visitor   the closure to execute on each successor
+     * @return  <code>false</code> if <code>vertex</code> is not present in 
+     * this graph, and <code>true</code> otherwise
+     * @see #forEachIncidentEdge(Object, Closure)
+     */
+    boolean forEachSuccessor(V vertex, Closure<? super V> visitor);
 }
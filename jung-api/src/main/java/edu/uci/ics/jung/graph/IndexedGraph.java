@@ -0,0 +1,87 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph;
+
+/**
+ * A graph whose vertices and edges are identified by dense integer indices
+ * (<code>0..getVertexCount()-1</code> and <code>0..getEdgeCount()-1</code>,
+ * respectively), and whose adjacency structure can be traversed in terms
+ * of those indices.
+ *
+ * <p>Algorithms may test for this interface and, if it is present, keep
+ * their per-vertex and per-edge state in arrays rather than in maps keyed
+ * by vertex and edge objects.  The index-based methods do not allocate.
+ *
+ * <p>The out-edges (respectively in-edges) of a vertex are the same edges,
+ * in the same order, as those returned by <code>getOutEdges</code>
+ * (respectively <code>getInEdges</code>); thus for undirected edges, both
+ * include every incident edge.
+ */
+public interface IndexedGraph<V,E> extends Graph<V,E>
+{
+    /**
+     * Returns the index of <code>vertex</code>, or -1 if it is not in this graph.
+     * @param vertex the vertex whose index is to be returned
+     */
+    int getVertexIndex(V vertex);
+
+    /**
+     * Returns the vertex with the specified index.
+     * @param vertex_index an index in <code>[0, getVertexCount())</code>
+     */
+    V getVertex(int vertex_index);
+
+    /**
+     * Returns the index of <code>edge</code>, or -1 if it is not in this graph.
+     * @param edge the edge whose index is to be returned
+     */
+    int getEdgeIndex(E edge);
+
+    /**
+     * Returns the edge with the specified index.
+     * @param edge_index an index in <code>[0, getEdgeCount())</code>
+     */
+    E getEdge(int edge_index);
+
+    /**
+     * Returns the number of out-edges of the vertex with index <code>vertex_index</code>.
+     */
+    int getOutEdgeCount(int vertex_index);
+
+    /**
+     * Returns the index of the <code>i</code>th out-edge of the vertex
+     * with index <code>vertex_index</code>.
+     * @param vertex_index the index of the vertex
+     * @param i the position of the edge, in <code>[0, getOutEdgeCount(vertex_index))</code>
+     */
+    int getOutEdgeIndex(int vertex_index, int i);
+
+    /**
+     * Returns the number of in-edges of the vertex with index <code>vertex_index</code>.
+     */
+    int getInEdgeCount(int vertex_index);
+
+    /**
+     * Returns the index of the <code>i</code>th in-edge of the vertex
+     * with index <code>vertex_index</code>.
+     * @param vertex_index the index of the vertex
+     * @param i the position of the edge, in <code>[0, getInEdgeCount(vertex_index))</code>
+     */
+    int getInEdgeIndex(int vertex_index, int i);
+
+    /**
+     * Returns the index of the vertex at the other end of the edge with index
+     * <code>edge_index</code> from the vertex with index <code>vertex_index</code>.
+     * @throws IllegalArgumentException if the vertex is not incident to the edge
+     */
+    int getOppositeIndex(int vertex_index, int edge_index);
+}
@@ -2,9 +2,14 @@ package edu.uci.ics.jung.graph;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import edu.uci.ics.jung.graph.event.GraphEvent;
 import edu.uci.ics.jung.graph.event.GraphEventListener;
@@ -13,13 +18,32 @@ import edu.uci.ics.jung.graph.util.EdgeType;
 /**
  * A decorator class for graphs which generates events 
  * 
+ * <p>By default, one event is delivered to each listener, on the mutating
+ * thread, for every vertex or edge that is added or removed.  Mutations
+ * that are bracketed by <code>beginBatch()</code> and <code>commitBatch()</code>
+ * instead generate a single <code>GraphEvent.ChangeSet</code> when the
+ * batch is committed.  If an <code>Executor</code> is supplied with
+ * <code>setEventExecutor</code>, events are delivered by that executor,
+ * in the order in which they were generated, rather than by the mutating
+ * thread.
+ * 
  * @author Joshua O'Madadhain
  */
 @SuppressWarnings("serial")
 public class ObservableGraph<V,E> extends GraphDecorator<V,E> {
 
 	List<GraphEventListener<V,E>> listenerList = 
-		Collections.synchronizedList(new LinkedList<GraphEventListener<V,E>>());
+		new CopyOnWriteArrayList<GraphEventListener<V,E>>();
+
+	private int batch_depth;
+	private Set<V> added_vertices;
+	private Set<V> removed_vertices;
+	private Set<E> added_edges;
+	private Set<E> removed_edges;
+
+	private transient volatile Executor executor;
+	private transient Queue<GraphEvent<V,E>> pending_events;
+	private transient AtomicBoolean dispatching;
 
     /**
      * Creates a new instance based on the provided {@code delegate}.
@@ -42,12 +66,177 @@ public class ObservableGraph<V,E> extends GraphDecorator<V,E> {
 		listenerList.remove(l);
 	}
 
+	/**
+	 * Starts a batch of changes.  Until the matching call to
+	 * <code>commitBatch()</code>, vertex and edge additions and removals do not
+	 * generate individual events; they are instead recorded, and delivered
+	 * as a single <code>GraphEvent.ChangeSet</code> when the batch is committed.
+	 * Batches may be nested; the change set is delivered when the outermost
+	 * batch is committed.
+	 * 
+	 * <p>The batch belongs to this graph, not to the calling thread: a batch
+	 * records every change made through this graph, by any thread, while it
+	 * is open.  (Concurrent changes also require a delegate that permits them.)
+	 * A change made while another thread commits the batch is either included
+	 * in the change set or, if it comes later, delivered as an individual event.
+	 */
+	public synchronized void beginBatch() {
+		if (batch_depth++ == 0) {
+			added_vertices = new LinkedHashSet<V>();
+			removed_vertices = new LinkedHashSet<V>();
+			added_edges = new LinkedHashSet<E>();
+			removed_edges = new LinkedHashSet<E>();
+		}
+	}
+
+	/**
+	 * Ends a batch of changes started by <code>beginBatch()</code>.  If this
+	 * ends the outermost batch, and any changes were made that did not cancel
+	 * each other out, a single <code>GraphEvent.ChangeSet</code> describing them is
+	 * delivered to the listeners.
+	 * @throws IllegalStateException if no batch is in progress
+	 */
+	public void commitBatch() {
+		GraphEvent.ChangeSet<V,E> evt;
+		synchronized (this) {
+			if (batch_depth == 0)
+				throw new IllegalStateException("No batch is in progress");
+			if (--batch_depth > 0)
+				return;
+			evt = new GraphEvent.ChangeSet<V,E>(delegate, 
+					added_vertices, removed_vertices, added_edges, removed_edges);
+			added_vertices = removed_vertices = null;
+			added_edges = removed_edges = null;
+		}
+		// the listeners are not called while this graph is locked
+		if (!evt.isEmpty())
+			fireGraphEvent(evt);
+	}
+
+	/**
+	 * Returns <code>true</code> if a batch of changes is in progress.
+	 */
+	public synchronized boolean isBatching() {
+		return batch_depth > 0;
+	}
+
+	/**
+	 * Specifies the executor that is to deliver events to the listeners.
+	 * If <code>executor</code> is <code>null</code> (the default), events are
+	 * delivered synchronously by the thread that generated them.  Otherwise
+	 * the mutating thread only queues each event, and the listeners are
+	 * called by the executor, one event at a time and in the order in which
+	 * the events were generated; listeners should then be prepared to 
+	 * find that the graph has changed further since the event was generated.
+	 * An exception thrown by a listener is passed to the uncaught exception
+	 * handler of the delivering thread, and delivery continues.
+	 * 
+	 * <p>Events still queued when the executor is changed (or removed) are
+	 * delivered before any later events.  The executor is not retained when
+	 * this graph is serialized.
+	 */
+	public synchronized void setEventExecutor(Executor executor) {
+		// the queue is in place before the executor is published
+		if (executor != null && pending_events == null) {
+			pending_events = new ConcurrentLinkedQueue<GraphEvent<V,E>>();
+			dispatching = new AtomicBoolean();
+		}
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the executor that delivers events to the listeners, or
+	 * <code>null</code> if they are delivered synchronously.
+	 */
+	public Executor getEventExecutor() {
+		return executor;
+	}
+
 	protected void fireGraphEvent(GraphEvent<V,E> evt) {
+		Executor executor = this.executor;
+		if (executor == null && (pending_events == null || 
+				(!dispatching.get() && pending_events.isEmpty()))) {
+			deliver(evt);
+			return;
+		}
+		// events queued for an earlier executor go first
+		pending_events.add(evt);
+		if (dispatching.compareAndSet(false, true)) {
+			if (executor == null)
+				new Dispatcher().run();
+			else
+				executor.execute(new Dispatcher());
+		}
+	}
+
+	private void deliver(GraphEvent<V,E> evt) {
 		for(GraphEventListener<V,E> listener : listenerList) {
 			listener.handleGraphEvent(evt);
 		 }
 	 }
 
+	/**
+	 * Delivers a queued event; exceptions thrown by listeners are reported 
+	 * rather than allowed to stop the dispatcher.
+	 */
+	private void deliverQueued(GraphEvent<V,E> evt) {
+		for (GraphEventListener<V,E> listener : listenerList) {
+			try {
+				listener.handleGraphEvent(evt);
+			} catch (RuntimeException re) {
+				Thread thread = Thread.currentThread();
+				thread.getUncaughtExceptionHandler().uncaughtException(thread, re);
+			}
+		}
+	}
+
+	/**
+	 * Drains the queue of pending events.  At most one of these is scheduled
+	 * at a time, so that events are delivered in order even by an executor
+	 * with several threads.
+	 */
+	private class Dispatcher implements Runnable {
+		public void run() {
+			do {
+				try {
+					GraphEvent<V,E> evt;
+					while ((evt = pending_events.poll()) != null)
+						deliverQueued(evt);
+				} finally {
+					dispatching.set(false);
+				}
+				// an event may have been queued after the queue was found empty
+				// but before the flag was cleared
+			} while (!pending_events.isEmpty() && dispatching.compareAndSet(false, true));
+		}
+	}
+
+	private void vertexChanged(V vertex, GraphEvent.Type type) {
+		synchronized (this) {
+			if (batch_depth > 0) {
+				if (type == GraphEvent.Type.VERTEX_ADDED)
+					added_vertices.add(vertex);
+				else if (!added_vertices.remove(vertex))
+					removed_vertices.add(vertex);
+				return;
+			}
+		}
+		fireGraphEvent(new GraphEvent.Vertex<V,E>(delegate, type, vertex));
+	}
+
+	private void edgeChanged(E edge, GraphEvent.Type type) {
+		synchronized (this) {
+			if (batch_depth > 0) {
+				if (type == GraphEvent.Type.EDGE_ADDED)
+					added_edges.add(edge);
+				else if (!added_edges.remove(edge))
+					removed_edges.add(edge);
+				return;
+			}
+		}
+		fireGraphEvent(new GraphEvent.Edge<V,E>(delegate, type, edge));
+	}
+
 	/**
 	 * @see edu.uci.ics.jung.graph.Hypergraph#addEdge(java.lang.Object, java.util.Collection)
 	 */
@@ -55,8 +244,7 @@ public class ObservableGraph<V,E> extends GraphDecorator<V,E> {
 	public boolean addEdge(E edge, Collection<? extends V> vertices) {
 		boolean state = super.addEdge(edge, vertices);
 		if(state) {
-			GraphEvent<V,E> evt = new GraphEvent.Edge<V,E>(delegate, GraphEvent.Type.EDGE_ADDED, edge);
-			fireGraphEvent(evt);
+			edgeChanged(edge, GraphEvent.Type.EDGE_ADDED);
 		}
 		return state;
 	}
@@ -68,8 +256,7 @@ public class ObservableGraph<V,E> extends GraphDecorator<V,E> {
   public boolean addEdge(E e, V v1, V v2, EdgeType edgeType) {
 		boolean state = super.addEdge(e, v1, v2, edgeType);
 		if(state) {
-			GraphEvent<V,E> evt = new GraphEvent.Edge<V,E>(delegate, GraphEvent.Type.EDGE_ADDED, e);
-			fireGraphEvent(evt);
+			edgeChanged(e, GraphEvent.Type.EDGE_ADDED);
 		}
 		return state;
 	}
@@ -81,8 +268,7 @@ public class ObservableGraph<V,E> extends GraphDecorator<V,E> {
   public boolean addEdge(E e, V v1, V v2) {
 		boolean state = super.addEdge(e, v1, v2);
 		if(state) {
-			GraphEvent<V,E> evt = new GraphEvent.Edge<V,E>(delegate, GraphEvent.Type.EDGE_ADDED, e);
-			fireGraphEvent(evt);
+			edgeChanged(e, GraphEvent.Type.EDGE_ADDED);
 		}
 		return state;
 	}
@@ -94,8 +280,7 @@ public class ObservableGraph<V,E> extends GraphDecorator<V,E> {
   public boolean addVertex(V vertex) {
 		boolean state = super.addVertex(vertex);
 		if(state) {
-			GraphEvent<V,E> evt = new GraphEvent.Vertex<V,E>(delegate, GraphEvent.Type.VERTEX_ADDED, vertex);
-			fireGraphEvent(evt);
+			vertexChanged(vertex, GraphEvent.Type.VERTEX_ADDED);
 		}
 		return state;
 	}
@@ -107,8 +292,7 @@ public class ObservableGraph<V,E> extends GraphDecorator<V,E> {
   public boolean removeEdge(E edge) {
 		boolean state = delegate.removeEdge(edge);
 		if(state) {
-			GraphEvent<V,E> evt = new GraphEvent.Edge<V,E>(delegate, GraphEvent.Type.EDGE_REMOVED, edge);
-			fireGraphEvent(evt);
+			edgeChanged(edge, GraphEvent.Type.EDGE_REMOVED);
 		}
 		return state;
 	}
@@ -127,8 +311,7 @@ public class ObservableGraph<V,E> extends GraphDecorator<V,E> {
 		
 		boolean state = delegate.removeVertex(vertex);
 		if(state) {
-			GraphEvent<V,E> evt = new GraphEvent.Vertex<V,E>(delegate, GraphEvent.Type.VERTEX_REMOVED, vertex);
-			fireGraphEvent(evt);
+			vertexChanged(vertex, GraphEvent.Type.VERTEX_REMOVED);
 		}
 		return state;
 	}
@@ -1,5 +1,8 @@
 package edu.uci.ics.jung.graph.event;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import edu.uci.ics.jung.graph.Graph;
 
 /**
@@ -31,7 +34,8 @@ public abstract class GraphEvent<V,E> {
 		VERTEX_ADDED,
 		VERTEX_REMOVED,
 		EDGE_ADDED,
-		EDGE_REMOVED
+		EDGE_REMOVED,
+		CHANGE_SET
 	}
 	
     /**
@@ -90,6 +94,76 @@ public abstract class GraphEvent<V,E> {
 		
 	}
 	
+	/**
+	 * An event that summarizes a batch of vertex and edge additions and
+	 * removals.  Changes that cancel out within the batch (an element that was
+	 * added and then removed) are omitted.  An element that was removed and
+	 * then added again appears among both the removals and the additions, so
+	 * listeners that maintain their own state should apply the removals first.
+	 */
+	public static class ChangeSet<V,E> extends GraphEvent<V,E> {
+		protected Collection<V> added_vertices;
+		protected Collection<V> removed_vertices;
+		protected Collection<E> added_edges;
+		protected Collection<E> removed_edges;
+
+		/**
+		 * Creates a change-set event for the specified graph and changes.
+		 */
+		public ChangeSet(Graph<V,E> source, Collection<V> added_vertices,
+				Collection<V> removed_vertices, Collection<E> added_edges,
+				Collection<E> removed_edges) {
+			super(source, Type.CHANGE_SET);
+			this.added_vertices = Collections.unmodifiableCollection(added_vertices);
+			this.removed_vertices = Collections.unmodifiableCollection(removed_vertices);
+			this.added_edges = Collections.unmodifiableCollection(added_edges);
+			this.removed_edges = Collections.unmodifiableCollection(removed_edges);
+		}
+
+		/**
+		 * Retrieves the vertices that were added, in the order of their addition.
+		 */
+		public Collection<V> getAddedVertices() {
+			return added_vertices;
+		}
+
+		/**
+		 * Retrieves the vertices that were removed, in the order of their removal.
+		 */
+		public Collection<V> getRemovedVertices() {
+			return removed_vertices;
+		}
+
+		/**
+		 * Retrieves the edges that were added, in the order of their addition.
+		 */
+		public Collection<E> getAddedEdges() {
+			return added_edges;
+		}
+
+		/**
+		 * Retrieves the edges that were removed, in the order of their removal.
+		 */
+		public Collection<E> getRemovedEdges() {
+			return removed_edges;
+		}
+
+		/**
+		 * Returns <code>true</code> if this event records no changes.
+		 */
+		public boolean isEmpty() {
+			return added_vertices.isEmpty() && removed_vertices.isEmpty() &&
+				added_edges.isEmpty() && removed_edges.isEmpty();
+		}
+
+		@Override
+		public String toString() {
+			return "GraphEvent type:"+type+" adding "+added_vertices.size()+" vertices, "+
+				added_edges.size()+" edges; removing "+removed_vertices.size()+" vertices, "+
+				removed_edges.size()+" edges";
+		}
+	}
+
 	/**
 	 * @return the source
 	 */
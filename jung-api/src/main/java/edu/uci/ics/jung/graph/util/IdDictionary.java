@@ -0,0 +1,226 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph.util;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A compact bidirectional mapping between objects and dense integer ids
+ * <code>0..size()-1</code>, assigned in the order in which the objects are
+ * added.  Objects are compared using <code>equals</code>.
+ *
+ * <p>Unlike a <code>HashMap&lt;T,Integer&gt;</code>, this class uses an
+ * open-addressing table of <code>int</code>s and does not allocate an
+ * entry or an <code>Integer</code> per element, so it costs roughly
+ * 12 to 20 bytes per element.  Elements cannot be removed.
+ */
+@SuppressWarnings("serial")
+public class IdDictionary<T> implements Serializable
+{
+    private static final int MIN_CAPACITY = 16;
+
+    private Object[] elements;  // id -> element
+    private int[] table;        // hash slot -> (id + 1); 0 marks an empty slot
+    private int size;
+
+    /**
+     * Creates an empty instance.
+     */
+    public IdDictionary()
+    {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty instance that can hold <code>expected_size</code>
+     * elements without resizing.
+     * @param expected_size the expected number of elements
+     */
+    public IdDictionary(int expected_size)
+    {
+        if (expected_size < 0)
+            throw new IllegalArgumentException("expected size must be non-negative: " + expected_size);
+        elements = new Object[Math.max(expected_size, MIN_CAPACITY)];
+        table = new int[tableSizeFor(elements.length)];
+    }
+
+    /**
+     * Adds <code>element</code> if it is not already present.
+     * @param element the element to add
+     * @return the id of <code>element</code>
+     */
+    public int add(T element)
+    {
+        if (element == null)
+            throw new IllegalArgumentException("element may not be null");
+        int slot = findSlot(element);
+        if (table[slot] != 0)
+            return table[slot] - 1;
+        if (size == elements.length)
+        {
+            elements = resize(elements, Math.max(MIN_CAPACITY, size + (size >> 1)));
+            if (table.length < tableSizeFor(elements.length))
+            {
+                rehash(tableSizeFor(elements.length));
+                slot = findSlot(element);
+            }
+        }
+        int id = size++;
+        elements[id] = element;
+        table[slot] = id + 1;
+        return id;
+    }
+
+    /**
+     * Returns the id of <code>element</code>, or -1 if it is not present.
+     * @param element the element whose id is requested
+     */
+    public int getId(Object element)
+    {
+        if (element == null)
+            return -1;
+        return table[findSlot(element)] - 1;
+    }
+
+    /**
+     * Returns <code>true</code> if <code>element</code> is present.
+     */
+    public boolean contains(Object element)
+    {
+        return getId(element) >= 0;
+    }
+
+    /**
+     * Returns the element with the specified id.
+     * @param id the id of the element to return
+     * @throws IndexOutOfBoundsException if <code>id</code> is not in
+     * <code>[0, size())</code>
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int id)
+    {
+        if (id < 0 || id >= size)
+            throw new IndexOutOfBoundsException("id " + id + " not in [0, " + size + ")");
+        return (T)elements[id];
+    }
+
+    /**
+     * Returns the number of elements.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns an unmodifiable view of the elements, in id order.
+     */
+    public List<T> elements()
+    {
+        return new ElementList();
+    }
+
+    /**
+     * Releases any spare capacity; intended to be called once no further
+     * elements will be added.
+     */
+    public void trimToSize()
+    {
+        if (elements.length > size)
+            elements = resize(elements, size);
+    }
+
+    private int findSlot(Object element)
+    {
+        int mask = table.length - 1;
+        int slot = spread(element.hashCode()) & mask;
+        while (true)
+        {
+            int entry = table[slot];
+            if (entry == 0 || elements[entry - 1].equals(element))
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void rehash(int new_length)
+    {
+        table = new int[new_length];
+        int mask = new_length - 1;
+        for (int id = 0; id < size; id++)
+        {
+            int slot = spread(elements[id].hashCode()) & mask;
+            while (table[slot] != 0)
+                slot = (slot + 1) & mask;
+            table[slot] = id + 1;
+        }
+    }
+
+    private static Object[] resize(Object[] array, int length)
+    {
+        Object[] resized = new Object[length];
+        System.arraycopy(array, 0, resized, 0, Math.min(array.length, length));
+        return resized;
+    }
+
+    private static int spread(int h)
+    {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the smallest power of 2 that keeps the load factor at or
+     * below 1/2 for <code>capacity</code> elements.
+     */
+    private static int tableSizeFor(int capacity)
+    {
+        int n = Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1) << 1;
+        return Math.max(n, MIN_CAPACITY * 2);
+    }
+
+    private class ElementList extends AbstractList<T> implements RandomAccess
+    {
+        @Override
+        public T get(int index)
+        {
+            return IdDictionary.this.get(index);
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return IdDictionary.this.contains(o);
+        }
+
+        @Override
+        public int indexOf(Object o)
+        {
+            return getId(o);
+        }
+
+        @Override
+        public int lastIndexOf(Object o)
+        {
+            return getId(o);
+        }
+    }
+}
@@ -0,0 +1,501 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable hash map whose update operations return a new map, leaving
+ * the original unchanged.  The new map shares all but O(log n) of its
+ * structure with the original (a hash array mapped trie), so that many
+ * versions of a large map may be retained cheaply.
+ *
+ * <p>The <code>java.util.Map</code> mutators (<code>put</code>,
+ * <code>remove</code>, etc.) throw <code>UnsupportedOperationException</code>;
+ * use <code>plus</code> and <code>minus</code> instead.  Null keys are not
+ * permitted.
+ */
+@SuppressWarnings("serial")
+public final class PersistentHashMap<K,V> extends AbstractMap<K,V>
+    implements Serializable
+{
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    @SuppressWarnings("unchecked")
+    private static final PersistentHashMap EMPTY = new PersistentHashMap(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size)
+    {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns an empty map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K,V> PersistentHashMap<K,V> empty()
+    {
+        return (PersistentHashMap<K,V>)EMPTY;
+    }
+
+    /**
+     * Returns a map with the mappings of this map, and with <code>key</code>
+     * mapped to <code>value</code>.  Returns this map if <code>key</code>
+     * is already mapped to <code>value</code>.
+     * @param key the key to map
+     * @param value the value to which <code>key</code> is to be mapped
+     */
+    public PersistentHashMap<K,V> plus(K key, V value)
+    {
+        if (key == null)
+            throw new IllegalArgumentException("key may not be null");
+        int hash = hash(key);
+        if (root == null)
+            return new PersistentHashMap<K,V>(new Leaf(hash, key, value), 1);
+        boolean[] added = new boolean[1];
+        Node new_root = root.plus(hash, key, value, 0, added);
+        if (new_root == root)
+            return this;
+        return new PersistentHashMap<K,V>(new_root, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map with the mappings of this map, except for any mapping
+     * for <code>key</code>.  Returns this map if <code>key</code> is not
+     * mapped.
+     * @param key the key whose mapping is to be omitted
+     */
+    public PersistentHashMap<K,V> minus(Object key)
+    {
+        if (key == null || root == null)
+            return this;
+        Node new_root = root.minus(hash(key), key, 0);
+        if (new_root == root)
+            return this;
+        if (new_root == null)
+            return empty();
+        return new PersistentHashMap<K,V>(new_root, size - 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key)
+    {
+        if (key == null || root == null)
+            return null;
+        Leaf leaf = root.find(hash(key), key, 0);
+        return leaf == null ? null : (V)leaf.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return key != null && root != null && root.find(hash(key), key, 0) != null;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<K,V>> entrySet()
+    {
+        return new AbstractSet<Map.Entry<K,V>>()
+        {
+            @Override
+            public Iterator<Map.Entry<K,V>> iterator()
+            {
+                return new EntryIterator<K,V>(root);
+            }
+
+            @Override
+            public int size()
+            {
+                return size;
+            }
+        };
+    }
+
+    private static int hash(Object key)
+    {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * A node of the trie.  Update operations return the receiver if
+     * nothing changed.
+     */
+    private static abstract class Node implements Serializable
+    {
+        abstract Leaf find(int hash, Object key, int shift);
+
+        abstract Node plus(int hash, Object key, Object value, int shift, boolean[] added);
+
+        /**
+         * Returns the updated node, or <code>null</code> if it is now empty.
+         */
+        abstract Node minus(int hash, Object key, int shift);
+    }
+
+    /**
+     * A single mapping.  Also serves as the map entry returned by iterators.
+     */
+    private static final class Leaf extends Node implements Map.Entry<Object,Object>
+    {
+        final int hash;
+        final Object key;
+        final Object value;
+
+        Leaf(int hash, Object key, Object value)
+        {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        Leaf find(int hash, Object key, int shift)
+        {
+            return this.hash == hash && this.key.equals(key) ? this : null;
+        }
+
+        @Override
+        Node plus(int hash, Object key, Object value, int shift, boolean[] added)
+        {
+            if (this.hash == hash)
+            {
+                if (this.key.equals(key))
+                    return this.value == value ? this : new Leaf(hash, key, value);
+                added[0] = true;
+                return new Collision(hash, new Leaf[] {this, new Leaf(hash, key, value)});
+            }
+            added[0] = true;
+            return Branch.merge(this, new Leaf(hash, key, value), shift);
+        }
+
+        @Override
+        Node minus(int hash, Object key, int shift)
+        {
+            return find(hash, key, shift) != null ? null : this;
+        }
+
+        public Object getKey()
+        {
+            return key;
+        }
+
+        public Object getValue()
+        {
+            return value;
+        }
+
+        public Object setValue(Object value)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+            return key.equals(e.getKey()) &&
+                (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * The mappings for distinct keys that have the same hash.
+     */
+    private static final class Collision extends Node
+    {
+        final int hash;
+        final Leaf[] leaves;
+
+        Collision(int hash, Leaf[] leaves)
+        {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        private int indexOf(Object key)
+        {
+            for (int i = 0; i < leaves.length; i++)
+                if (leaves[i].key.equals(key))
+                    return i;
+            return -1;
+        }
+
+        @Override
+        Leaf find(int hash, Object key, int shift)
+        {
+            if (this.hash != hash)
+                return null;
+            int i = indexOf(key);
+            return i < 0 ? null : leaves[i];
+        }
+
+        @Override
+        Node plus(int hash, Object key, Object value, int shift, boolean[] added)
+        {
+            if (this.hash != hash)
+            {
+                added[0] = true;
+                return Branch.merge(this, new Leaf(hash, key, value), shift);
+            }
+            int i = indexOf(key);
+            Leaf[] new_leaves;
+            if (i >= 0)
+            {
+                if (leaves[i].value == value)
+                    return this;
+                new_leaves = leaves.clone();
+            }
+            else
+            {
+                added[0] = true;
+                i = leaves.length;
+                new_leaves = new Leaf[i + 1];
+                System.arraycopy(leaves, 0, new_leaves, 0, i);
+            }
+            new_leaves[i] = new Leaf(hash, key, value);
+            return new Collision(hash, new_leaves);
+        }
+
+        @Override
+        Node minus(int hash, Object key, int shift)
+        {
+            int i = this.hash == hash ? indexOf(key) : -1;
+            if (i < 0)
+                return this;
+            if (leaves.length == 2)
+                return leaves[1 - i];
+            Leaf[] new_leaves = new Leaf[leaves.length - 1];
+            System.arraycopy(leaves, 0, new_leaves, 0, i);
+            System.arraycopy(leaves, i + 1, new_leaves, i, new_leaves.length - i);
+            return new Collision(hash, new_leaves);
+        }
+    }
+
+    /**
+     * An interior node; <code>bitmap</code> records which of the 32
+     * possible children are present, and <code>children</code> holds them
+     * in order.
+     */
+    private static final class Branch extends Node
+    {
+        final int bitmap;
+        final Node[] children;
+
+        Branch(int bitmap, Node[] children)
+        {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        /**
+         * Returns a node containing <code>n1</code> and <code>n2</code>, which
+         * must be leaves or collisions with different hashes.
+         */
+        static Node merge(Node n1, Node n2, int shift)
+        {
+            int h1 = hashOf(n1);
+            int h2 = hashOf(n2);
+            int i1 = (h1 >>> shift) & MASK;
+            int i2 = (h2 >>> shift) & MASK;
+            if (i1 == i2)
+                return new Branch(1 << i1, new Node[] {merge(n1, n2, shift + BITS)});
+            return new Branch((1 << i1) | (1 << i2),
+                i1 < i2 ? new Node[] {n1, n2} : new Node[] {n2, n1});
+        }
+
+        private static int hashOf(Node node)
+        {
+            return node instanceof Leaf ? ((Leaf)node).hash : ((Collision)node).hash;
+        }
+
+        @Override
+        Leaf find(int hash, Object key, int shift)
+        {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0)
+                return null;
+            return children[Integer.bitCount(bitmap & (bit - 1))].find(hash, key, shift + BITS);
+        }
+
+        @Override
+        Node plus(int hash, Object key, Object value, int shift, boolean[] added)
+        {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int i = Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0)
+            {
+                added[0] = true;
+                Node[] new_children = new Node[children.length + 1];
+                System.arraycopy(children, 0, new_children, 0, i);
+                new_children[i] = new Leaf(hash, key, value);
+                System.arraycopy(children, i, new_children, i + 1, children.length - i);
+                return new Branch(bitmap | bit, new_children);
+            }
+            Node child = children[i].plus(hash, key, value, shift + BITS, added);
+            if (child == children[i])
+                return this;
+            Node[] new_children = children.clone();
+            new_children[i] = child;
+            return new Branch(bitmap, new_children);
+        }
+
+        @Override
+        Node minus(int hash, Object key, int shift)
+        {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0)
+                return this;
+            int i = Integer.bitCount(bitmap & (bit - 1));
+            Node child = children[i].minus(hash, key, shift + BITS);
+            if (child == children[i])
+                return this;
+            if (child == null)
+            {
+                if (children.length == 1)
+                    return null;
+                // a lone leaf or collision can be found at any depth
+                if (children.length == 2 && !(children[1 - i] instanceof Branch))
+                    return children[1 - i];
+                Node[] new_children = new Node[children.length - 1];
+                System.arraycopy(children, 0, new_children, 0, i);
+                System.arraycopy(children, i + 1, new_children, i, new_children.length - i);
+                return new Branch(bitmap & ~bit, new_children);
+            }
+            if (children.length == 1 && !(child instanceof Branch))
+                return child;
+            Node[] new_children = children.clone();
+            new_children[i] = child;
+            return new Branch(bitmap, new_children);
+        }
+    }
+
+    /**
+     * Depth-first iterator over the leaves of a trie.
+     */
+    private static final class EntryIterator<K,V> implements Iterator<Map.Entry<K,V>>
+    {
+        // a trie over 32-bit hashes has at most 7 levels of branches
+        private final Node[][] stack = new Node[8][];
+        private final int[] positions = new int[8];
+        private int depth = -1;
+        private Leaf[] collision;
+        private int collision_position;
+        private Leaf next;
+
+        EntryIterator(Node root)
+        {
+            if (root != null)
+                push(root);
+            if (next == null)
+                advance();
+        }
+
+        private void push(Node node)
+        {
+            if (node instanceof Leaf)
+                next = (Leaf)node;
+            else if (node instanceof Collision)
+            {
+                collision = ((Collision)node).leaves;
+                collision_position = 1;
+                next = collision[0];
+            }
+            else
+            {
+                stack[++depth] = ((Branch)node).children;
+                positions[depth] = 0;
+            }
+        }
+
+        private void advance()
+        {
+            next = null;
+            if (collision != null)
+            {
+                if (collision_position < collision.length)
+                {
+                    next = collision[collision_position++];
+                    return;
+                }
+                collision = null;
+            }
+            while (next == null && depth >= 0)
+            {
+                if (positions[depth] == stack[depth].length)
+                {
+                    stack[depth--] = null;
+                    continue;
+                }
+                push(stack[depth][positions[depth]++]);
+            }
+        }
+
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K,V> next()
+        {
+            if (next == null)
+                throw new NoSuchElementException();
+            Map.Entry<K,V> entry = (Map.Entry<K,V>)(Map.Entry<?,?>)next;
+            advance();
+            return entry;
+        }
+
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
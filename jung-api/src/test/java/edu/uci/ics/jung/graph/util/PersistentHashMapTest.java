@@ -0,0 +1,98 @@
+package edu.uci.ics.jung.graph.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class PersistentHashMapTest extends TestCase {
+
+    /**
+     * A key with a poor hash function, to exercise hash collisions.
+     */
+    static class Key {
+        final int id;
+        Key(int id) { this.id = id; }
+        @Override
+        public int hashCode() { return id % 7; }
+        @Override
+        public boolean equals(Object o) { return o instanceof Key && ((Key)o).id == id; }
+        @Override
+        public String toString() { return "k" + id; }
+    }
+
+    public void testAgainstHashMap() {
+        Random random = new Random(5);
+        Map<Integer,Integer> expected = new HashMap<Integer,Integer>();
+        PersistentHashMap<Integer,Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 5000; i++) {
+            Integer key = random.nextInt(1000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                expected.put(key, i);
+                map = map.plus(key, i);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected, map);
+        assertEquals(expected.keySet(), map.keySet());
+        for (Integer key : expected.keySet())
+            assertEquals(expected.get(key), map.get(key));
+    }
+
+    public void testCollisions() {
+        PersistentHashMap<Key,String> map = PersistentHashMap.empty();
+        for (int i = 0; i < 50; i++)
+            map = map.plus(new Key(i), "v" + i);
+        assertEquals(50, map.size());
+        for (int i = 0; i < 50; i++)
+            assertEquals("v" + i, map.get(new Key(i)));
+        for (int i = 0; i < 50; i += 2)
+            map = map.minus(new Key(i));
+        assertEquals(25, map.size());
+        for (int i = 0; i < 50; i++)
+            assertEquals(i % 2 == 0 ? null : "v" + i, map.get(new Key(i)));
+        int count = 0;
+        for (Map.Entry<Key,String> entry : map.entrySet()) {
+            assertEquals("v" + entry.getKey().id, entry.getValue());
+            count++;
+        }
+        assertEquals(25, count);
+    }
+
+    public void testPersistence() {
+        PersistentHashMap<String,Integer> empty = PersistentHashMap.empty();
+        PersistentHashMap<String,Integer> one = empty.plus("a", 1);
+        PersistentHashMap<String,Integer> two = one.plus("b", 2);
+        PersistentHashMap<String,Integer> changed = two.plus("a", 3);
+        PersistentHashMap<String,Integer> removed = changed.minus("b");
+        assertTrue(empty.isEmpty());
+        assertEquals(1, one.size());
+        assertEquals(Integer.valueOf(1), two.get("a"));
+        assertEquals(Integer.valueOf(3), changed.get("a"));
+        assertEquals(Integer.valueOf(2), changed.get("b"));
+        assertFalse(removed.containsKey("b"));
+        assertTrue(changed.containsKey("b"));
+        assertSame(two, two.plus("b", 2));
+        assertSame(two, two.minus("c"));
+    }
+
+    public void testImmutable() {
+        PersistentHashMap<String,Integer> map = PersistentHashMap.<String,Integer>empty().plus("a", 1);
+        try {
+            map.put("b", 2);
+            fail("should not be able to put");
+        } catch (UnsupportedOperationException uoe) {
+            // all is well
+        }
+        try {
+            map.keySet().remove("a");
+            fail("should not be able to remove");
+        } catch (UnsupportedOperationException uoe) {
+            // all is well
+        }
+    }
+}
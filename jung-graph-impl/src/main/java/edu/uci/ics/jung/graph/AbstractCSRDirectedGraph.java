@@ -0,0 +1,765 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.collections15.Closure;
+import org.apache.commons.collections15.Transformer;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
+
+/**
+ * An abstract immutable <code>DirectedGraph</code> whose adjacency structure
+ * is stored in compressed sparse row (CSR) form.
+ *
+ * <p>The outgoing edges of vertex <i>v</i> are the edges with ids
+ * <code>outOffset(v) .. outOffset(v+1)-1</code>, sorted by destination;
+ * the incoming edges of <i>v</i> are <code>inEdge(i)</code> for
+ * <code>i</code> in <code>inOffset(v) .. inOffset(v+1)-1</code>, sorted
+ * by source.  Subclasses supply these arrays, and the mapping between
+ * ids and vertex and edge objects; this class implements the graph
+ * accessors over them.  The collections returned by the accessors are
+ * read-only views.  All mutators throw
+ * <code>UnsupportedOperationException</code>.
+ *
+ * @see CompactDirectedGraph
+ * @see MappedDirectedGraph
+ */
+@SuppressWarnings("serial")
+public abstract class AbstractCSRDirectedGraph<V,E> extends AbstractTypedGraph<V,E>
+    implements DirectedGraph<V,E>, IndexedGraph<V,E>
+{
+    protected AbstractCSRDirectedGraph()
+    {
+        super(EdgeType.DIRECTED);
+    }
+
+    /**
+     * Returns the id of <code>vertex</code>, or -1 if it is not in this graph.
+     */
+    protected abstract int vertexId(Object vertex);
+
+    /**
+     * Returns the id of <code>edge</code>, or -1 if it is not in this graph.
+     */
+    protected abstract int edgeId(Object edge);
+
+    /**
+     * Returns the id of the first out-edge of vertex <code>v</code>;
+     * <code>outOffset(getVertexCount())</code> is the number of edges.
+     */
+    protected abstract int outOffset(int v);
+
+    /**
+     * Returns the position in the in-edge array of the first in-edge of
+     * vertex <code>v</code>; <code>inOffset(getVertexCount())</code> is
+     * the number of edges.
+     */
+    protected abstract int inOffset(int v);
+
+    /**
+     * Returns the id of the source of edge <code>e</code>.
+     */
+    protected abstract int edgeSource(int e);
+
+    /**
+     * Returns the id of the destination of edge <code>e</code>.
+     */
+    protected abstract int edgeDest(int e);
+
+    /**
+     * Returns the id of the edge at position <code>i</code> in the in-edge array.
+     */
+    protected abstract int inEdge(int i);
+
+    /**
+     * Returns the id of the first out-edge of vertex <code>v</code>
+     * whose destination is at least <code>w</code>.
+     */
+    protected int lowerBoundOut(int v, int w)
+    {
+        int low = outOffset(v);
+        int high = outOffset(v + 1);
+        while (low < high)
+        {
+            int mid = (low + high) >>> 1;
+            if (edgeDest(mid) < w)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Returns the position in the in-edge array of the first in-edge
+     * of vertex <code>v</code> whose source is at least <code>w</code>.
+     */
+    protected int lowerBoundIn(int v, int w)
+    {
+        int low = inOffset(v);
+        int high = inOffset(v + 1);
+        while (low < high)
+        {
+            int mid = (low + high) >>> 1;
+            if (edgeSource(inEdge(mid)) < w)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of self-loops incident to vertex <code>v</code>.
+     */
+    protected int selfLoopCount(int v)
+    {
+        int start = lowerBoundOut(v, v);
+        int end = start;
+        int limit = outOffset(v + 1);
+        while (end < limit && edgeDest(end) == v)
+            end++;
+        return end - start;
+    }
+
+    private int checkedVertexId(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            throw new IllegalArgumentException(vertex + " is not a vertex in this graph");
+        return v;
+    }
+
+    public int getVertexIndex(V vertex)
+    {
+        return vertexId(vertex);
+    }
+
+    public int getEdgeIndex(E edge)
+    {
+        return edgeId(edge);
+    }
+
+    public int getOutEdgeCount(int vertex_index)
+    {
+        return outOffset(vertex_index + 1) - outOffset(vertex_index);
+    }
+
+    public int getOutEdgeIndex(int vertex_index, int i)
+    {
+        return outOffset(vertex_index) + i;
+    }
+
+    public int getInEdgeCount(int vertex_index)
+    {
+        return inOffset(vertex_index + 1) - inOffset(vertex_index);
+    }
+
+    public int getInEdgeIndex(int vertex_index, int i)
+    {
+        return inEdge(inOffset(vertex_index) + i);
+    }
+
+    public int getOppositeIndex(int vertex_index, int edge_index)
+    {
+        int source = edgeSource(edge_index);
+        int dest = edgeDest(edge_index);
+        if (source == vertex_index)
+            return dest;
+        else if (dest == vertex_index)
+            return source;
+        else
+            throw new IllegalArgumentException("vertex " + vertex_index +
+                " is not incident to edge " + edge_index);
+    }
+
+    public boolean containsVertex(V vertex)
+    {
+        return vertexId(vertex) >= 0;
+    }
+
+    public boolean containsEdge(E edge)
+    {
+        return edgeId(edge) >= 0;
+    }
+
+    public Collection<E> getInEdges(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        return new EdgeRange(true, inOffset(v), inOffset(v + 1));
+    }
+
+    public Collection<E> getOutEdges(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        return new EdgeRange(false, outOffset(v), outOffset(v + 1));
+    }
+
+    public Collection<V> getPredecessors(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        return new VertexSet(v, false, true);
+    }
+
+    public Collection<V> getSuccessors(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        return new VertexSet(v, true, false);
+    }
+
+    public Collection<V> getNeighbors(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        return new VertexSet(v, true, true);
+    }
+
+    public Collection<E> getIncidentEdges(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        return new IncidentEdges(v);
+    }
+
+    @Override
+    public boolean forEachInEdge(V vertex, Closure<? super E> visitor)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return false;
+        for (int i = inOffset(v), end = inOffset(v + 1); i < end; i++)
+            visitor.execute(getEdge(inEdge(i)));
+        return true;
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, Closure<? super E> visitor)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return false;
+        for (int e = outOffset(v), end = outOffset(v + 1); e < end; e++)
+            visitor.execute(getEdge(e));
+        return true;
+    }
+
+    @Override
+    public boolean forEachIncidentEdge(V vertex, Closure<? super E> visitor)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return false;
+        for (int e = outOffset(v), end = outOffset(v + 1); e < end; e++)
+            visitor.execute(getEdge(e));
+        for (int i = inOffset(v), end = inOffset(v + 1); i < end; i++)
+        {
+            int e = inEdge(i);
+            if (edgeSource(e) != v)
+                visitor.execute(getEdge(e));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean forEachPredecessor(V vertex, Closure<? super V> visitor)
+    {
+        return visitAdjacent(vertex, false, true, visitor);
+    }
+
+    @Override
+    public boolean forEachSuccessor(V vertex, Closure<? super V> visitor)
+    {
+        return visitAdjacent(vertex, true, false, visitor);
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Closure<? super V> visitor)
+    {
+        return visitAdjacent(vertex, true, true, visitor);
+    }
+
+    /**
+     * Visits the distinct successors and/or predecessors of <code>vertex</code>
+     * by merging its sorted out- and in-rows, as {@link VertexSet} does.
+     */
+    private boolean visitAdjacent(V vertex, boolean successors, boolean predecessors,
+            Closure<? super V> visitor)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return false;
+        for (AdjacentIterator iter = new AdjacentIterator(v, successors, predecessors); iter.hasNext(); )
+            visitor.execute(getVertex(iter.nextId()));
+        return true;
+    }
+
+    @Override
+    public int inDegree(V vertex)
+    {
+        return getInEdgeCount(checkedVertexId(vertex));
+    }
+
+    @Override
+    public int outDegree(V vertex)
+    {
+        return getOutEdgeCount(checkedVertexId(vertex));
+    }
+
+    @Override
+    public int degree(V vertex)
+    {
+        int v = checkedVertexId(vertex);
+        return getOutEdgeCount(v) + getInEdgeCount(v) - selfLoopCount(v);
+    }
+
+    @Override
+    public int getPredecessorCount(V vertex)
+    {
+        return new VertexSet(checkedVertexId(vertex), false, true).size();
+    }
+
+    @Override
+    public int getSuccessorCount(V vertex)
+    {
+        return new VertexSet(checkedVertexId(vertex), true, false).size();
+    }
+
+    @Override
+    public int getNeighborCount(V vertex)
+    {
+        return new VertexSet(checkedVertexId(vertex), true, true).size();
+    }
+
+    @Override
+    public boolean isSuccessor(V v1, V v2)
+    {
+        return isPredecessor(v2, v1);
+    }
+
+    @Override
+    public boolean isPredecessor(V v1, V v2)
+    {
+        int v = vertexId(v1);
+        int w = vertexId(v2);
+        if (v < 0 || w < 0)
+            return false;
+        int i = lowerBoundOut(w, v);
+        return i < outOffset(w + 1) && edgeDest(i) == v;
+    }
+
+    @Override
+    public boolean isNeighbor(V v1, V v2)
+    {
+        if (!containsVertex(v1) || !containsVertex(v2))
+            throw new IllegalArgumentException("At least one of these not in this graph: " + v1 + ", " + v2);
+        return isPredecessor(v1, v2) || isPredecessor(v2, v1);
+    }
+
+    @Override
+    public boolean isIncident(V vertex, E edge)
+    {
+        int v = vertexId(vertex);
+        int e = edgeId(edge);
+        if (v < 0 || e < 0)
+            throw new IllegalArgumentException("At least one of these not in this graph: " + vertex + ", " + edge);
+        return edgeSource(e) == v || edgeDest(e) == v;
+    }
+
+    @Override
+    public E findEdge(V v1, V v2)
+    {
+        int v = vertexId(v1);
+        int w = vertexId(v2);
+        if (v < 0 || w < 0)
+            return null;
+        int i = lowerBoundOut(v, w);
+        if (i < outOffset(v + 1) && edgeDest(i) == w)
+            return getEdge(i);
+        return null;
+    }
+
+    @Override
+    public Collection<E> findEdgeSet(V v1, V v2)
+    {
+        int v = vertexId(v1);
+        int w = vertexId(v2);
+        if (v < 0 || w < 0)
+            return null;
+        int start = lowerBoundOut(v, w);
+        int end = start;
+        int limit = outOffset(v + 1);
+        while (end < limit && edgeDest(end) == w)
+            end++;
+        return new EdgeRange(false, start, end);
+    }
+
+    public Pair<V> getEndpoints(E edge)
+    {
+        int e = edgeId(edge);
+        if (e < 0)
+            return null;
+        return new Pair<V>(getVertex(edgeSource(e)), getVertex(edgeDest(e)));
+    }
+
+    public V getSource(E directed_edge)
+    {
+        int e = edgeId(directed_edge);
+        if (e < 0)
+            return null;
+        return getVertex(edgeSource(e));
+    }
+
+    public V getDest(E directed_edge)
+    {
+        int e = edgeId(directed_edge);
+        if (e < 0)
+            return null;
+        return getVertex(edgeDest(e));
+    }
+
+    public boolean isSource(V vertex, E edge)
+    {
+        int v = vertexId(vertex);
+        int e = edgeId(edge);
+        if (v < 0 || e < 0)
+            return false;
+        return edgeSource(e) == v;
+    }
+
+    public boolean isDest(V vertex, E edge)
+    {
+        int v = vertexId(vertex);
+        int e = edgeId(edge);
+        if (v < 0 || e < 0)
+            return false;
+        return edgeDest(e) == v;
+    }
+
+    @Override
+    public V getOpposite(V vertex, E edge)
+    {
+        int e = edgeId(edge);
+        if (e < 0)
+            throw new IllegalArgumentException(edge + " is not an edge in this graph");
+        int v = vertexId(vertex);
+        if (v < 0 || (edgeSource(e) != v && edgeDest(e) != v))
+            throw new IllegalArgumentException(vertex + " is not incident to " + edge + " in this graph");
+        return getVertex(getOppositeIndex(v, e));
+    }
+
+    @Override
+    public int getIncidentCount(E edge)
+    {
+        int e = edgeId(edge);
+        if (e < 0)
+            return 0;
+        return edgeSource(e) == edgeDest(e) ? 1 : 2;
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    public boolean addVertex(V vertex)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    @Override
+    public boolean addEdge(E edge, Pair<? extends V> endpoints, EdgeType edgeType)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    public boolean removeVertex(V vertex)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    public boolean removeEdge(E edge)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    @Override
+    public int addEdges(Iterable<? extends E> edges, Transformer<? super E, Pair<V>> endpoints,
+            EdgeType edge_type, boolean check)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * A read-only view of the edges whose ids are either <code>start..end-1</code>
+     * (if <code>in_row</code> is false) or <code>inEdge(start)..inEdge(end-1)</code>.
+     */
+    private class EdgeRange extends AbstractCollection<E>
+    {
+        private final boolean in_row;
+        private final int start;
+        private final int end;
+
+        EdgeRange(boolean in_row, int start, int end)
+        {
+            this.in_row = in_row;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int size()
+        {
+            return end - start;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            int e = edgeId(o);
+            if (e < 0)
+                return false;
+            if (!in_row)
+                return e >= start && e < end;
+            for (int i = start; i < end; i++)
+                if (inEdge(i) == e)
+                    return true;
+            return false;
+        }
+
+        @Override
+        public Iterator<E> iterator()
+        {
+            return new Iterator<E>()
+            {
+                private int position = start;
+
+                public boolean hasNext()
+                {
+                    return position < end;
+                }
+
+                public E next()
+                {
+                    if (position >= end)
+                        throw new NoSuchElementException();
+                    int e = in_row ? inEdge(position) : position;
+                    position++;
+                    return getEdge(e);
+                }
+
+                public void remove()
+                {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+
+    /**
+     * A read-only view of the edges incident to a vertex: its out-edges,
+     * followed by its in-edges that are not self-loops.
+     */
+    private class IncidentEdges extends AbstractCollection<E>
+    {
+        private final int v;
+
+        IncidentEdges(int v)
+        {
+            this.v = v;
+        }
+
+        @Override
+        public int size()
+        {
+            return getOutEdgeCount(v) + getInEdgeCount(v) - selfLoopCount(v);
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            int e = edgeId(o);
+            return e >= 0 && (edgeSource(e) == v || edgeDest(e) == v);
+        }
+
+        @Override
+        public Iterator<E> iterator()
+        {
+            return new Iterator<E>()
+            {
+                private final int out_end = outOffset(v + 1);
+                private final int in_end = inOffset(v + 1);
+                private int out_position = outOffset(v);
+                private int in_position = skipLoops(inOffset(v));
+
+                private int skipLoops(int position)
+                {
+                    while (position < in_end && edgeSource(inEdge(position)) == v)
+                        position++;
+                    return position;
+                }
+
+                public boolean hasNext()
+                {
+                    return out_position < out_end || in_position < in_end;
+                }
+
+                public E next()
+                {
+                    if (out_position < out_end)
+                        return getEdge(out_position++);
+                    if (in_position >= in_end)
+                        throw new NoSuchElementException();
+                    E edge = getEdge(inEdge(in_position));
+                    in_position = skipLoops(in_position + 1);
+                    return edge;
+                }
+
+                public void remove()
+                {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+
+    /**
+     * A read-only view of the distinct successors and/or predecessors
+     * of a vertex, produced by merging the sorted out- and in-rows.
+     */
+    private class VertexSet extends AbstractCollection<V>
+    {
+        private final int v;
+        private final boolean successors;
+        private final boolean predecessors;
+
+        VertexSet(int v, boolean successors, boolean predecessors)
+        {
+            this.v = v;
+            this.successors = successors;
+            this.predecessors = predecessors;
+        }
+
+        @Override
+        public int size()
+        {
+            int count = 0;
+            for (AdjacentIterator iter = new AdjacentIterator(v, successors, predecessors); iter.hasNext(); iter.nextId())
+                count++;
+            return count;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            int w = vertexId(o);
+            if (w < 0)
+                return false;
+            if (successors)
+            {
+                int i = lowerBoundOut(v, w);
+                if (i < outOffset(v + 1) && edgeDest(i) == w)
+                    return true;
+            }
+            if (predecessors)
+            {
+                int i = lowerBoundIn(v, w);
+                if (i < inOffset(v + 1) && edgeSource(inEdge(i)) == w)
+                    return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Iterator<V> iterator()
+        {
+            return new AdjacentIterator(v, successors, predecessors);
+        }
+    }
+
+    /**
+     * Iterates over the distinct successors and/or predecessors of a
+     * vertex by merging its sorted out- and in-rows.
+     */
+    private class AdjacentIterator implements Iterator<V>
+    {
+        private final int out_end;
+        private final int in_end;
+        private int out_position;
+        private int in_position;
+
+        AdjacentIterator(int v, boolean successors, boolean predecessors)
+        {
+            out_end = outOffset(v + 1);
+            in_end = inOffset(v + 1);
+            out_position = successors ? outOffset(v) : out_end;
+            in_position = predecessors ? inOffset(v) : in_end;
+        }
+
+        public boolean hasNext()
+        {
+            return out_position < out_end || in_position < in_end;
+        }
+
+        /**
+         * Returns the id of the next vertex.
+         */
+        int nextId()
+        {
+            int next_out = out_position < out_end ? edgeDest(out_position) : Integer.MAX_VALUE;
+            int next_in = in_position < in_end ? edgeSource(inEdge(in_position)) : Integer.MAX_VALUE;
+            int w = Math.min(next_out, next_in);
+            if (w == Integer.MAX_VALUE)
+                throw new NoSuchElementException();
+            while (out_position < out_end && edgeDest(out_position) == w)
+                out_position++;
+            while (in_position < in_end && edgeSource(inEdge(in_position)) == w)
+                in_position++;
+            return w;
+        }
+
+        public V next()
+        {
+            return getVertex(nextId());
+        }
+
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,612 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.collections15.Closure;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
+
+/**
+ * An abstract thread-safe implementation of <code>Graph</code> that is
+ * suitable for sparse graphs and permits parallel edges.
+ *
+ * <p>All state is kept in concurrent maps, so reads never block and never
+ * throw <code>ConcurrentModificationException</code>.  Mutations are
+ * serialized per vertex by a fixed array of lock stripes: adding or
+ * removing an edge holds the locks for the edge and both of its endpoints,
+ * so writers that touch disjoint parts of the graph proceed in parallel.
+ * An edge's type and endpoints are recorded before it is added to the 
+ * incidence sets of its endpoints, and are forgotten only after it has been
+ * removed from them, so a reader that finds an edge incident to a vertex
+ * also finds its type and endpoints.
+ *
+ * <p>The collections returned by the accessors are either read-only views
+ * whose iterators are <i>weakly consistent</i> (they reflect the graph at
+ * some point at or after their creation, and may or may not reflect
+ * later changes), or copies.  In either case they may be iterated while
+ * the graph is being modified.  A reader may still encounter an edge or
+ * vertex that is removed before it is examined; for such an edge
+ * <code>getEndpoints</code>, <code>getOpposite</code> and 
+ * <code>getIncidentVertices</code> return <code>null</code>, and 
+ * <code>isIncident</code> returns <code>false</code>.  Callers that must 
+ * see a fixed version of the graph should copy it.
+ */
+@SuppressWarnings("serial")
+public abstract class AbstractConcurrentSparseMultigraph<V,E>
+    extends AbstractGraph<V,E>
+    implements MultiGraph<V,E>
+{
+    /**
+     * The default number of lock stripes.
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 64;
+
+    protected ConcurrentMap<V, Pair<Set<E>>> vertices; // Map of vertices to Pair of adjacency sets {incoming, outgoing}
+    protected ConcurrentMap<E, Pair<V>> edges;         // Map of edges to incident vertex pairs
+    protected Set<E> directedEdges;
+
+    private final ReentrantLock[] locks;
+
+    /**
+     * Creates a new instance with the specified number of lock stripes.
+     * @param concurrency_level the estimated number of concurrently
+     * mutating threads; rounded up to a power of 2
+     */
+    protected AbstractConcurrentSparseMultigraph(int concurrency_level)
+    {
+        if (concurrency_level < 1)
+            throw new IllegalArgumentException("concurrency level must be positive: " + concurrency_level);
+        vertices = new ConcurrentHashMap<V, Pair<Set<E>>>();
+        edges = new ConcurrentHashMap<E, Pair<V>>();
+        directedEdges = new ConcurrentHashSet<E>();
+        locks = new ReentrantLock[Integer.highestOneBit(concurrency_level * 2 - 1)];
+        for (int i = 0; i < locks.length; i++)
+            locks[i] = new ReentrantLock();
+    }
+
+    /**
+     * Returns the index of the lock stripe for <code>element</code>, a vertex or edge.
+     */
+    private int stripeFor(Object element)
+    {
+        int h = element.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (locks.length - 1);
+    }
+
+    /**
+     * Acquires the lock stripes for an edge and its endpoints, each once, 
+     * lowest stripe first.
+     */
+    private void lock(int s1, int s2, int s3)
+    {
+        int low = Math.min(s1, Math.min(s2, s3));
+        int high = Math.max(s1, Math.max(s2, s3));
+        int middle = s1 + s2 + s3 - low - high;
+        locks[low].lock();
+        if (middle != low)
+            locks[middle].lock();
+        if (high != middle)
+            locks[high].lock();
+    }
+
+    private void unlock(int s1, int s2, int s3)
+    {
+        int low = Math.min(s1, Math.min(s2, s3));
+        int high = Math.max(s1, Math.max(s2, s3));
+        int middle = s1 + s2 + s3 - low - high;
+        if (high != middle)
+            locks[high].unlock();
+        if (middle != low)
+            locks[middle].unlock();
+        locks[low].unlock();
+    }
+
+    public Collection<E> getEdges()
+    {
+        return Collections.unmodifiableCollection(edges.keySet());
+    }
+
+    public Collection<V> getVertices()
+    {
+        return Collections.unmodifiableCollection(vertices.keySet());
+    }
+
+    public boolean containsVertex(V vertex)
+    {
+        return vertex != null && vertices.containsKey(vertex);
+    }
+
+    public boolean containsEdge(E edge)
+    {
+        return edge != null && edges.containsKey(edge);
+    }
+
+    public int getEdgeCount()
+    {
+        return edges.size();
+    }
+
+    public int getVertexCount()
+    {
+        return vertices.size();
+    }
+
+    public boolean addVertex(V vertex)
+    {
+        if(vertex == null) {
+            throw new IllegalArgumentException("vertex may not be null");
+        }
+        if (vertices.containsKey(vertex))
+            return false;
+        return vertices.putIfAbsent(vertex, createAdjacency()) == null;
+    }
+
+    private Pair<Set<E>> createAdjacency()
+    {
+        return new Pair<Set<E>>(new ConcurrentHashSet<E>(), new ConcurrentHashSet<E>());
+    }
+
+    /**
+     * Returns the adjacency sets for <code>vertex</code>, adding the vertex
+     * if necessary.  Must be called with the lock for <code>vertex</code> held.
+     */
+    private Pair<Set<E>> getOrAddAdjacency(V vertex)
+    {
+        Pair<Set<E>> adjacency = vertices.get(vertex);
+        if (adjacency == null)
+        {
+            adjacency = createAdjacency();
+            Pair<Set<E>> existing = vertices.putIfAbsent(vertex, adjacency);
+            if (existing != null)
+                adjacency = existing;
+        }
+        return adjacency;
+    }
+
+    public boolean removeVertex(V vertex)
+    {
+        if (vertex == null)
+            return false;
+        while (true)
+        {
+            Pair<Set<E>> adjacency = vertices.get(vertex);
+            if (adjacency == null)
+                return false;
+
+            // edges are removed without holding this vertex's lock,
+            // since removeEdge must acquire the locks of both endpoints in order
+            for (E edge : adjacency.getFirst())
+                removeEdge(edge);
+            for (E edge : adjacency.getSecond())
+                removeEdge(edge);
+
+            ReentrantLock lock = locks[stripeFor(vertex)];
+            lock.lock();
+            try
+            {
+                if (vertices.get(vertex) != adjacency)
+                    return false;
+                // retry if edges were added concurrently
+                if (adjacency.getFirst().isEmpty() && adjacency.getSecond().isEmpty())
+                {
+                    vertices.remove(vertex);
+                    return true;
+                }
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public boolean addEdge(E edge, Pair<? extends V> endpoints, EdgeType edgeType)
+    {
+        if (edge == null)
+            throw new IllegalArgumentException("input edge may not be null");
+        if (endpoints == null)
+            throw new IllegalArgumentException("endpoints may not be null");
+        Pair<V> new_endpoints = new Pair<V>(endpoints.getFirst(), endpoints.getSecond());
+        V v1 = new_endpoints.getFirst();
+        V v2 = new_endpoints.getSecond();
+
+        // the edge's own stripe keeps it from being added concurrently with other endpoints
+        int s1 = stripeFor(v1);
+        int s2 = stripeFor(v2);
+        int se = stripeFor(edge);
+        lock(s1, s2, se);
+        try
+        {
+            Pair<V> existing_endpoints = edges.get(edge);
+            if (existing_endpoints != null)
+            {
+                if (existing_endpoints.equals(new_endpoints))
+                    return false;
+                throw new IllegalArgumentException("edge " + edge +
+                        " already exists in this graph with endpoints " + existing_endpoints +
+                        " and cannot be added with endpoints " + endpoints);
+            }
+
+            // record the edge's type and endpoints before publishing its incidence
+            Pair<Set<E>> adjacency1 = getOrAddAdjacency(v1);
+            Pair<Set<E>> adjacency2 = getOrAddAdjacency(v2);
+            if (edgeType == EdgeType.DIRECTED)
+                directedEdges.add(edge);
+            edges.put(edge, new_endpoints);
+            adjacency1.getSecond().add(edge);
+            adjacency2.getFirst().add(edge);
+            if (edgeType != EdgeType.DIRECTED)
+            {
+                adjacency1.getFirst().add(edge);
+                adjacency2.getSecond().add(edge);
+            }
+            return true;
+        }
+        finally
+        {
+            unlock(s1, s2, se);
+        }
+    }
+
+    public boolean removeEdge(E edge)
+    {
+        if (edge == null)
+            return false;
+        while (true)
+        {
+            Pair<V> endpoints = edges.get(edge);
+            if (endpoints == null)
+                return false;
+            V v1 = endpoints.getFirst();
+            V v2 = endpoints.getSecond();
+            int s1 = stripeFor(v1);
+            int s2 = stripeFor(v2);
+            int se = stripeFor(edge);
+            lock(s1, s2, se);
+            try
+            {
+                // the edge may have been removed, and possibly re-added elsewhere,
+                // before the locks were acquired
+                if (edges.get(edge) != endpoints)
+                    continue;
+
+                // withdraw the edge's incidence before forgetting its endpoints and type
+                Pair<Set<E>> adjacency1 = vertices.get(v1);
+                Pair<Set<E>> adjacency2 = vertices.get(v2);
+                adjacency1.getSecond().remove(edge);
+                adjacency2.getFirst().remove(edge);
+                adjacency2.getSecond().remove(edge);
+                adjacency1.getFirst().remove(edge);
+                edges.remove(edge);
+                directedEdges.remove(edge);
+                return true;
+            }
+            finally
+            {
+                unlock(s1, s2, se);
+            }
+        }
+    }
+
+    public Collection<E> getInEdges(V vertex)
+    {
+        Pair<Set<E>> adjacency = vertex == null ? null : vertices.get(vertex);
+        if (adjacency == null)
+            return null;
+        return Collections.unmodifiableCollection(adjacency.getFirst());
+    }
+
+    public Collection<E> getOutEdges(V vertex)
+    {
+        Pair<Set<E>> adjacency = vertex == null ? null : vertices.get(vertex);
+        if (adjacency == null)
+            return null;
+        return Collections.unmodifiableCollection(adjacency.getSecond());
+    }
+
+    /**
+     * Adds to <code>collection</code> the vertex opposite <code>vertex</code>
+     * on each edge in <code>incident</code>, skipping edges that have been
+     * removed concurrently.
+     */
+    private void addOpposites(V vertex, Collection<E> incident, Collection<V> collection)
+    {
+        for (E edge : incident)
+        {
+            Pair<V> endpoints = edges.get(edge);
+            if (endpoints == null)
+                continue;
+            collection.add(vertex.equals(endpoints.getFirst()) ?
+                    endpoints.getSecond() : endpoints.getFirst());
+        }
+    }
+
+    public Collection<V> getPredecessors(V vertex)
+    {
+        Pair<Set<E>> adjacency = vertex == null ? null : vertices.get(vertex);
+        if (adjacency == null)
+            return null;
+        Set<V> preds = new HashSet<V>();
+        addOpposites(vertex, adjacency.getFirst(), preds);
+        return Collections.unmodifiableCollection(preds);
+    }
+
+    public Collection<V> getSuccessors(V vertex)
+    {
+        Pair<Set<E>> adjacency = vertex == null ? null : vertices.get(vertex);
+        if (adjacency == null)
+            return null;
+        Set<V> succs = new HashSet<V>();
+        addOpposites(vertex, adjacency.getSecond(), succs);
+        return Collections.unmodifiableCollection(succs);
+    }
+
+    public Collection<V> getNeighbors(V vertex)
+    {
+        Pair<Set<E>> adjacency = vertex == null ? null : vertices.get(vertex);
+        if (adjacency == null)
+            return null;
+        Set<V> neighbors = new HashSet<V>();
+        addOpposites(vertex, adjacency.getFirst(), neighbors);
+        addOpposites(vertex, adjacency.getSecond(), neighbors);
+        return Collections.unmodifiableCollection(neighbors);
+    }
+
+    public Collection<E> getIncidentEdges(V vertex)
+    {
+        Pair<Set<E>> adjacency = vertex == null ? null : vertices.get(vertex);
+        if (adjacency == null)
+            return null;
+        Set<E> incident = new HashSet<E>(adjacency.getFirst());
+        incident.addAll(adjacency.getSecond());
+        return Collections.unmodifiableCollection(incident);
+    }
+
+    @Override
+    public E findEdge(V v1, V v2)
+    {
+        Pair<Set<E>> adjacency = v1 == null ? null : vertices.get(v1);
+        if (adjacency == null || !containsVertex(v2))
+            return null;
+        for (E edge : adjacency.getSecond())
+        {
+            Pair<V> endpoints = edges.get(edge);
+            if (endpoints == null)
+                continue;
+            V opposite = v1.equals(endpoints.getFirst()) ? endpoints.getSecond() : endpoints.getFirst();
+            if (opposite.equals(v2))
+                return edge;
+        }
+        return null;
+    }
+
+    @Override
+    public Collection<E> findEdgeSet(V v1, V v2)
+    {
+        Pair<Set<E>> adjacency = v1 == null ? null : vertices.get(v1);
+        if (adjacency == null || !containsVertex(v2))
+            return null;
+        Collection<E> edge_set = new HashSet<E>();
+        for (E edge : adjacency.getSecond())
+        {
+            Pair<V> endpoints = edges.get(edge);
+            if (endpoints == null)
+                continue;
+            V opposite = v1.equals(endpoints.getFirst()) ? endpoints.getSecond() : endpoints.getFirst();
+            if (opposite.equals(v2))
+                edge_set.add(edge);
+        }
+        return Collections.unmodifiableCollection(edge_set);
+    }
+
+    public Pair<V> getEndpoints(E edge)
+    {
+        return edge == null ? null : edges.get(edge);
+    }
+
+    @Override
+    public V getOpposite(V vertex, E edge)
+    {
+        Pair<V> endpoints = getEndpoints(edge);
+        if (endpoints == null)
+            return null;
+        if (vertex.equals(endpoints.getFirst()))
+            return endpoints.getSecond();
+        else if (vertex.equals(endpoints.getSecond()))
+            return endpoints.getFirst();
+        else
+            throw new IllegalArgumentException(vertex + " is not incident to " + edge + " in this graph");
+    }
+
+    @Override
+    public boolean isIncident(V vertex, E edge)
+    {
+        Pair<V> endpoints = getEndpoints(edge);
+        if (endpoints == null || vertex == null)
+            return false;
+        return vertex.equals(endpoints.getFirst()) || vertex.equals(endpoints.getSecond());
+    }
+
+    @Override
+    public Collection<V> getIncidentVertices(E edge)
+    {
+        Pair<V> endpoints = getEndpoints(edge);
+        if (endpoints == null)
+            return null;
+        Collection<V> incident = new ArrayList<V>(2);
+        incident.add(endpoints.getFirst());
+        incident.add(endpoints.getSecond());
+        return Collections.unmodifiableCollection(incident);
+    }
+
+    public V getSource(E edge)
+    {
+        Pair<V> endpoints = getEndpoints(edge);
+        if (endpoints == null || !directedEdges.contains(edge))
+            return null;
+        return endpoints.getFirst();
+    }
+
+    public V getDest(E edge)
+    {
+        Pair<V> endpoints = getEndpoints(edge);
+        if (endpoints == null || !directedEdges.contains(edge))
+            return null;
+        return endpoints.getSecond();
+    }
+
+    public boolean isSource(V vertex, E edge)
+    {
+        V source = getSource(edge);
+        return source != null && source.equals(vertex);
+    }
+
+    public boolean isDest(V vertex, E edge)
+    {
+        V dest = getDest(edge);
+        return dest != null && dest.equals(vertex);
+    }
+
+    public EdgeType getEdgeType(E edge)
+    {
+        if (!containsEdge(edge))
+            return null;
+        if (directedEdges.contains(edge))
+            return EdgeType.DIRECTED;
+        // a directed edge leaves directedEdges only after it has left the edge set
+        return containsEdge(edge) ? EdgeType.UNDIRECTED : null;
+    }
+
+    public Collection<E> getEdges(EdgeType edge_type)
+    {
+        Collection<E> edges_of_type = new HashSet<E>();
+        if (edge_type == EdgeType.DIRECTED)
+        {
+            // edges being added or removed may be in directedEdges but not in the edge set
+            for (E edge : directedEdges)
+                if (containsEdge(edge))
+                    edges_of_type.add(edge);
+        }
+        else if (edge_type == EdgeType.UNDIRECTED)
+        {
+            for (E edge : edges.keySet())
+                if (getEdgeType(edge) == EdgeType.UNDIRECTED)
+                    edges_of_type.add(edge);
+        }
+        return Collections.unmodifiableCollection(edges_of_type);
+    }
+
+    public int getEdgeCount(EdgeType edge_type)
+    {
+        return getEdges(edge_type).size();
+    }
+
+    /**
+     * A <code>Set</code> backed by a <code>ConcurrentHashMap</code>.
+     */
+    protected static class ConcurrentHashSet<T> extends AbstractSet<T>
+        implements java.io.Serializable
+    {
+        private final ConcurrentMap<T, Boolean> map = new ConcurrentHashMap<T, Boolean>();
+
+        @Override
+        public boolean add(T element)
+        {
+            return map.putIfAbsent(element, Boolean.TRUE) == null;
+        }
+
+        @Override
+        public boolean remove(Object element)
+        {
+            return map.remove(element) != null;
+        }
+
+        @Override
+        public boolean contains(Object element)
+        {
+            return map.containsKey(element);
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return map.isEmpty();
+        }
+
+        @Override
+        public int size()
+        {
+            return map.size();
+        }
+
+        @Override
+        public Iterator<T> iterator()
+        {
+            return map.keySet().iterator();
+        }
+    }
+
+    @Override
+    public boolean forEachInEdge(V vertex, Closure<? super E> visitor)
+    {
+        Pair<Set<E>> adjacency = vertex == null ? null : vertices.get(vertex);
+        if (adjacency == null)
+            return false;
+        for (E edge : adjacency.getFirst())
+            visitor.execute(edge);
+        return true;
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, Closure<? super E> visitor)
+    {
+        Pair<Set<E>> adjacency = vertex == null ? null : vertices.get(vertex);
+        if (adjacency == null)
+            return false;
+        for (E edge : adjacency.getSecond())
+            visitor.execute(edge);
+        return true;
+    }
+
+    /**
+     * Visits the incident edges of <code>vertex</code> without building an
+     * intermediate set.  Like the other read methods, the traversal is weakly
+     * consistent with respect to concurrent mutation.
+     */
+    @Override
+    public boolean forEachIncidentEdge(V vertex, Closure<? super E> visitor)
+    {
+        Pair<Set<E>> adjacency = vertex == null ? null : vertices.get(vertex);
+        if (adjacency == null)
+            return false;
+        Set<E> incoming = adjacency.getFirst();
+        for (E edge : incoming)
+            visitor.execute(edge);
+        for (E edge : adjacency.getSecond())
+            if (!incoming.contains(edge))
+                visitor.execute(edge);
+        return true;
+    }
+}
@@ -15,6 +15,15 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.collections15.Closure;
+import org.apache.commons.collections15.Transformer;
 
 import edu.uci.ics.jung.graph.util.EdgeType;
 import edu.uci.ics.jung.graph.util.Pair;
@@ -26,7 +35,7 @@ import edu.uci.ics.jung.graph.util.Pair;
  * @author Joshua O'Madadhain
  */
 @SuppressWarnings("serial")
-public abstract class AbstractGraph<V, E> implements Graph<V,E>, Serializable 
+public abstract class AbstractGraph<V, E> implements BulkGraph<V,E>, Serializable 
 {
 	public boolean addEdge(E edge, Collection<? extends V> vertices) 
 	{
@@ -77,6 +86,7 @@ public abstract class AbstractGraph<V, E> implements Graph<V,E>, Serializable
      */
 	public abstract boolean addEdge(E edge, Pair<? extends V> endpoints, EdgeType edgeType);
 
+    @SuppressWarnings("unchecked")
     protected Pair<V> getValidatedEndpoints(E edge, Pair<? extends V> endpoints)
     {
         if (edge == null)
@@ -85,7 +95,8 @@ public abstract class AbstractGraph<V, E> implements Graph<V,E>, Serializable
         if (endpoints == null)
             throw new IllegalArgumentException("endpoints may not be null");
         
-        Pair<V> new_endpoints = new Pair<V>(endpoints.getFirst(), endpoints.getSecond());
+        // Pair is immutable, so it can be stored as is rather than copied
+        Pair<V> new_endpoints = (Pair<V>)endpoints;
         if (containsEdge(edge))
         {
             Pair<V> existing_endpoints = getEndpoints(edge);
@@ -100,6 +111,105 @@ public abstract class AbstractGraph<V, E> implements Graph<V,E>, Serializable
         return new_endpoints;
     }
     
+    /**
+     * Does nothing.  Subclasses whose internal tables can be sized in
+     * advance should override this method.
+     */
+    public void ensureCapacity(int vertex_count, int edge_count)
+    {
+    }
+
+    public int addEdges(Iterable<? extends E> edges, Transformer<? super E, Pair<V>> endpoints,
+            EdgeType edge_type, boolean check)
+    {
+        if (edge_type == null)
+            throw new IllegalArgumentException("edge type may not be null");
+        int count = 0;
+        for (E edge : edges)
+        {
+            Pair<V> edge_endpoints = endpoints.transform(edge);
+            if (check)
+            {
+                if (addEdge(edge, edge_endpoints, edge_type))
+                    count++;
+                continue;
+            }
+            if (edge == null)
+                throw new IllegalArgumentException("input edge may not be null");
+            if (edge_endpoints == null)
+                throw new IllegalArgumentException("endpoints may not be null");
+            addEdgeUnchecked(edge, edge_endpoints, edge_type);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Adds <code>edge</code> to this graph without checking whether it is
+     * already present, whether it would be a disallowed parallel edge, or
+     * whether <code>edge_type</code> is acceptable; called by
+     * <code>addEdges</code> when its checks are disabled.  The default
+     * implementation simply calls <code>addEdge</code>.
+     * @param edge the edge to add; not <code>null</code>
+     * @param endpoints the endpoints of the edge; not <code>null</code>
+     * @param edge_type the type of the edge; already validated
+     */
+    protected void addEdgeUnchecked(E edge, Pair<V> endpoints, EdgeType edge_type)
+    {
+        addEdge(edge, endpoints, edge_type);
+    }
+
+    /**
+     * Returns a map with the same contents as <code>map</code> that can hold
+     * <code>capacity</code> entries without being rehashed.  Returns
+     * <code>map</code> itself if it already has at least that many entries,
+     * or if it is not a <code>HashMap</code> or <code>LinkedHashMap</code>.
+     */
+    protected static <K,T> Map<K,T> presize(Map<K,T> map, int capacity)
+    {
+        if (capacity <= map.size())
+            return map;
+        Map<K,T> resized;
+        if (map.getClass() == HashMap.class)
+            resized = new HashMap<K,T>(tableSize(capacity));
+        else if (map.getClass() == LinkedHashMap.class)
+            resized = new LinkedHashMap<K,T>(tableSize(capacity));
+        else
+            return map;
+        resized.putAll(map);
+        return resized;
+    }
+
+    /**
+     * Returns a set with the same contents as <code>set</code> that can hold
+     * <code>capacity</code> elements without being rehashed.  Returns
+     * <code>set</code> itself if it already has at least that many elements,
+     * or if it is not a <code>HashSet</code> or <code>LinkedHashSet</code>.
+     */
+    protected static <T> Set<T> presize(Set<T> set, int capacity)
+    {
+        if (capacity <= set.size())
+            return set;
+        Set<T> resized;
+        if (set.getClass() == HashSet.class)
+            resized = new HashSet<T>(tableSize(capacity));
+        else if (set.getClass() == LinkedHashSet.class)
+            resized = new LinkedHashSet<T>(tableSize(capacity));
+        else
+            return set;
+        resized.addAll(set);
+        return resized;
+    }
+
+    /**
+     * Returns the initial capacity at which a hash table with the default
+     * load factor holds <code>entries</code> entries without rehashing.
+     */
+    private static int tableSize(int entries)
+    {
+        return (int)Math.min(entries / 0.75 + 1, Integer.MAX_VALUE);
+    }
+
     public int inDegree(V vertex)
     {
         return this.getInEdges(vertex).size();
@@ -219,6 +329,52 @@ public abstract class AbstractGraph<V, E> implements Graph<V,E>, Serializable
         return Collections.unmodifiableCollection(incident);
     }
     
+    public boolean forEachIncidentEdge(V vertex, Closure<? super E> visitor)
+    {
+        return visit(getIncidentEdges(vertex), visitor);
+    }
+
+    public boolean forEachNeighbor(V vertex, Closure<? super V> visitor)
+    {
+        return visit(getNeighbors(vertex), visitor);
+    }
+
+    public boolean forEachInEdge(V vertex, Closure<? super E> visitor)
+    {
+        return visit(getInEdges(vertex), visitor);
+    }
+
+    public boolean forEachOutEdge(V vertex, Closure<? super E> visitor)
+    {
+        return visit(getOutEdges(vertex), visitor);
+    }
+
+    public boolean forEachPredecessor(V vertex, Closure<? super V> visitor)
+    {
+        return visit(getPredecessors(vertex), visitor);
+    }
+
+    public boolean forEachSuccessor(V vertex, Closure<? super V> visitor)
+    {
+        return visit(getSuccessors(vertex), visitor);
+    }
+
+    /**
+     * Passes each element of <code>elements</code> to <code>visitor</code>.
+     * Returns <code>false</code> if <code>elements</code> is <code>null</code>,
+     * so that the <code>forEach</code> methods may be implemented in terms 
+     * of the corresponding accessors, which return <code>null</code> for 
+     * vertices that are not present.
+     */
+    protected static <T> boolean visit(Collection<? extends T> elements, Closure<? super T> visitor)
+    {
+        if (elements == null)
+            return false;
+        for (T element : elements)
+            visitor.execute(element);
+        return true;
+    }
+
     @Override
     public String toString() {
     	StringBuffer sb = new StringBuffer("Vertices:");
@@ -14,7 +14,10 @@ package edu.uci.ics.jung.graph;
 import java.util.Collection;
 import java.util.Collections;
 
+import org.apache.commons.collections15.Transformer;
+
 import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
 
 /**
  * An abstract class for graphs whose edges all have the same {@code EdgeType}.
@@ -94,4 +97,16 @@ public abstract class AbstractTypedGraph<V,E> extends AbstractGraph<V, E>
     				"' does not match the default edge type for this graph: '" + 
     				this.edge_type + "'");
     }
+
+    /**
+     * Validates <code>edge_type</code> once for the whole batch, then adds
+     * <code>edges</code> as specified by <code>BulkGraph</code>.
+     */
+    @Override
+    public int addEdges(Iterable<? extends E> edges, Transformer<? super E, Pair<V>> endpoints,
+            EdgeType edge_type, boolean check)
+    {
+        validateEdgeType(edge_type);
+        return super.addEdges(edges, endpoints, edge_type, check);
+    }
 }
@@ -0,0 +1,316 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph;
+
+import java.util.Collection;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.IdDictionary;
+
+/**
+ * An immutable implementation of <code>DirectedGraph</code> that stores its
+ * adjacency structure in compressed sparse row (CSR) form.
+ *
+ * <p>Vertices and edges are each assigned a dense integer id.  The outgoing
+ * edges of each vertex occupy a contiguous range of edge ids (sorted by
+ * destination), and the incoming edges of each vertex are listed in a
+ * second offset/edge array pair (sorted by source).  This costs a few
+ * dozen bytes per edge rather than the several hundred used by the
+ * <code>HashMap</code>-based graphs, and lets <code>findEdge</code>,
+ * <code>isSuccessor</code> and the degree methods run without allocating.
+ * The collections returned by the accessors are read-only views over
+ * these arrays.
+ *
+ * <p>The vertex and edge ids are exposed through the {@link IndexedGraph}
+ * methods.  The accessors themselves are implemented by
+ * {@link AbstractCSRDirectedGraph}.
+ *
+ * <p>Instances are created either from an existing graph, or incrementally
+ * with a {@link Builder}.  Parallel edges and self-loops are permitted;
+ * undirected edges are not.  All mutators throw
+ * <code>UnsupportedOperationException</code>.
+ */
+@SuppressWarnings("serial")
+public class CompactDirectedGraph<V,E> extends AbstractCSRDirectedGraph<V,E>
+{
+    protected final IdDictionary<V> vertex_ids;
+    protected final IdDictionary<E> edge_ids;   // edges are numbered in (source, dest) order
+
+    protected final int[] out_offsets;  // out-edges of vertex i: edge ids out_offsets[i] .. out_offsets[i+1]-1
+    protected final int[] edge_sources; // edge id -> source vertex id
+    protected final int[] edge_dests;   // edge id -> destination vertex id
+
+    protected final int[] in_offsets;   // in-edges of vertex i: in_edges[in_offsets[i]] .. in_edges[in_offsets[i+1]-1]
+    protected final int[] in_edges;     // edge ids, sorted by (dest, source)
+
+    /**
+     * Creates an immutable copy of <code>graph</code>.
+     * @param graph the graph to copy
+     * @throws IllegalArgumentException if <code>graph</code> contains
+     * undirected edges
+     */
+    public CompactDirectedGraph(Graph<V,E> graph)
+    {
+        this(new Builder<V,E>(graph.getVertexCount(), graph.getEdgeCount()).addGraph(graph));
+    }
+
+    /**
+     * Creates an instance from the contents of <code>builder</code>.
+     */
+    protected CompactDirectedGraph(Builder<V,E> builder)
+    {
+        int vertex_count = builder.vertices.size();
+        int edge_count = builder.edges.size();
+
+        // sort the builder's edges by (source, dest) with two stable counting sorts
+        int[] by_dest = countingSort(identity(edge_count), builder.dests, vertex_count);
+        int[] order = countingSort(by_dest, builder.sources, vertex_count);
+
+        builder.vertices.trimToSize();
+        this.vertex_ids = builder.vertices;
+        this.edge_ids = new IdDictionary<E>(edge_count);
+        this.edge_sources = new int[edge_count];
+        this.edge_dests = new int[edge_count];
+        this.out_offsets = new int[vertex_count + 1];
+        for (int i = 0; i < edge_count; i++)
+        {
+            int old_id = order[i];
+            edge_ids.add(builder.edges.get(old_id));
+            edge_sources[i] = builder.sources[old_id];
+            edge_dests[i] = builder.dests[old_id];
+            out_offsets[edge_sources[i] + 1]++;
+        }
+        edge_ids.trimToSize();
+        for (int i = 0; i < vertex_count; i++)
+            out_offsets[i + 1] += out_offsets[i];
+
+        // edge ids are in source order, so a stable sort by dest yields (dest, source) order
+        this.in_edges = countingSort(identity(edge_count), edge_dests, vertex_count);
+        this.in_offsets = new int[vertex_count + 1];
+        for (int i = 0; i < edge_count; i++)
+            in_offsets[edge_dests[i] + 1]++;
+        for (int i = 0; i < vertex_count; i++)
+            in_offsets[i + 1] += in_offsets[i];
+    }
+
+    private static int[] identity(int length)
+    {
+        int[] ids = new int[length];
+        for (int i = 0; i < length; i++)
+            ids[i] = i;
+        return ids;
+    }
+
+    /**
+     * Returns the elements of <code>ids</code>, stably sorted by
+     * <code>keys[id]</code>, where each key is in <code>[0, key_count)</code>.
+     */
+    private static int[] countingSort(int[] ids, int[] keys, int key_count)
+    {
+        int[] start = new int[key_count + 1];
+        for (int id : ids)
+            start[keys[id] + 1]++;
+        for (int i = 0; i < key_count; i++)
+            start[i + 1] += start[i];
+        int[] sorted = new int[ids.length];
+        for (int id : ids)
+            sorted[start[keys[id]]++] = id;
+        return sorted;
+    }
+
+    @Override
+    protected int vertexId(Object vertex)
+    {
+        return vertex_ids.getId(vertex);
+    }
+
+    @Override
+    protected int edgeId(Object edge)
+    {
+        return edge_ids.getId(edge);
+    }
+
+    @Override
+    protected int outOffset(int v)
+    {
+        return out_offsets[v];
+    }
+
+    @Override
+    protected int inOffset(int v)
+    {
+        return in_offsets[v];
+    }
+
+    @Override
+    protected int edgeSource(int e)
+    {
+        return edge_sources[e];
+    }
+
+    @Override
+    protected int edgeDest(int e)
+    {
+        return edge_dests[e];
+    }
+
+    @Override
+    protected int inEdge(int i)
+    {
+        return in_edges[i];
+    }
+
+    public V getVertex(int vertex_index)
+    {
+        return vertex_ids.get(vertex_index);
+    }
+
+    public E getEdge(int edge_index)
+    {
+        return edge_ids.get(edge_index);
+    }
+
+    public Collection<E> getEdges()
+    {
+        return edge_ids.elements();
+    }
+
+    public Collection<V> getVertices()
+    {
+        return vertex_ids.elements();
+    }
+
+    public int getEdgeCount()
+    {
+        return edge_ids.size();
+    }
+
+    public int getVertexCount()
+    {
+        return vertex_ids.size();
+    }
+
+    /**
+     * Accumulates vertices and edges for a <code>CompactDirectedGraph</code>
+     * in primitive arrays, without building an intermediate graph.
+     * Vertices are added implicitly when an edge incident to them is added.
+     */
+    public static class Builder<V,E>
+    {
+        private final IdDictionary<V> vertices;
+        private final IdDictionary<E> edges;
+        private int[] sources;
+        private int[] dests;
+
+        /**
+         * Creates an empty builder.
+         */
+        public Builder()
+        {
+            this(16, 16);
+        }
+
+        /**
+         * Creates an empty builder sized to hold the specified number of
+         * vertices and edges without resizing.
+         * @param vertex_capacity the expected number of vertices
+         * @param edge_capacity the expected number of edges
+         */
+        public Builder(int vertex_capacity, int edge_capacity)
+        {
+            vertices = new IdDictionary<V>(vertex_capacity);
+            edges = new IdDictionary<E>(edge_capacity);
+            sources = new int[Math.max(edge_capacity, 16)];
+            dests = new int[sources.length];
+        }
+
+        /**
+         * Adds <code>vertex</code> if it has not already been added.
+         * @return this builder
+         */
+        public Builder<V,E> addVertex(V vertex)
+        {
+            vertices.add(vertex);
+            return this;
+        }
+
+        /**
+         * Adds a directed edge from <code>source</code> to <code>dest</code>,
+         * adding the endpoints if necessary.  Adding the same edge again
+         * with the same endpoints has no effect.
+         * @return this builder
+         * @throws IllegalArgumentException if <code>edge</code> has already
+         * been added with different endpoints
+         */
+        public Builder<V,E> addEdge(E edge, V source, V dest)
+        {
+            if (edge == null)
+                throw new IllegalArgumentException("input edge may not be null");
+            int s = vertices.add(source);
+            int d = vertices.add(dest);
+            int e = edges.getId(edge);
+            if (e >= 0)
+            {
+                if (sources[e] != s || dests[e] != d)
+                    throw new IllegalArgumentException("edge " + edge +
+                        " has already been added with endpoints <" + vertices.get(sources[e]) +
+                        ", " + vertices.get(dests[e]) + ">");
+                return this;
+            }
+            e = edges.add(edge);
+            if (e == sources.length)
+            {
+                int length = sources.length + (sources.length >> 1);
+                sources = resize(sources, length);
+                dests = resize(dests, length);
+            }
+            sources[e] = s;
+            dests[e] = d;
+            return this;
+        }
+
+        /**
+         * Adds all vertices and edges of <code>graph</code>.
+         * @return this builder
+         * @throws IllegalArgumentException if <code>graph</code> contains
+         * undirected edges
+         */
+        public Builder<V,E> addGraph(Graph<V,E> graph)
+        {
+            for (V v : graph.getVertices())
+                addVertex(v);
+            for (E e : graph.getEdges())
+            {
+                if (graph.getEdgeType(e) != EdgeType.DIRECTED)
+                    throw new IllegalArgumentException("edge " + e + " is not directed");
+                addEdge(e, graph.getSource(e), graph.getDest(e));
+            }
+            return this;
+        }
+
+        /**
+         * Returns a new graph containing the vertices and edges added so far.
+         * The builder should not be used afterwards.
+         */
+        public CompactDirectedGraph<V,E> build()
+        {
+            return new CompactDirectedGraph<V,E>(this);
+        }
+
+        private static int[] resize(int[] array, int length)
+        {
+            int[] resized = new int[length];
+            System.arraycopy(array, 0, resized, 0, Math.min(array.length, length));
+            return resized;
+        }
+    }
+}
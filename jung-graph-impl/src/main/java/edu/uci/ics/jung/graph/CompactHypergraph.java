@@ -0,0 +1,689 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.RandomAccess;
+
+import org.apache.commons.collections15.Closure;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.IdDictionary;
+
+/**
+ * An immutable <code>Hypergraph</code> that stores its incidence matrix in
+ * compressed form: the vertices of each hyperedge, and the hyperedges of
+ * each vertex, are kept as sorted <code>int</code> arrays of dense ids.
+ * This takes 8 bytes per incidence (plus the dictionaries mapping vertices
+ * and hyperedges to ids), rather than a pair of hash set entries, which
+ * makes it suitable for hypergraphs with very large hyperedges.
+ *
+ * <p>Hyperedges that contain at least a specified fraction of all vertices
+ * may also be given a bitmap over the vertex ids (see
+ * {@link Builder#setBitmapDensity(double)}), so that membership tests on
+ * them take constant time; otherwise they use binary search.
+ *
+ * <p>As in {@link SetHypergraph}, all hyperedges are of type
+ * <code>EdgeType.UNDIRECTED</code>, and the neighbors of a vertex include
+ * the vertex itself if it is incident to any hyperedge.
+ * Instances are created either from an existing hypergraph, or incrementally
+ * with a {@link Builder}.  All mutators throw
+ * <code>UnsupportedOperationException</code>.
+ */
+@SuppressWarnings("serial")
+public class CompactHypergraph<V,H> implements Hypergraph<V,H>, MultiGraph<V,H>, Serializable
+{
+    protected final IdDictionary<V> vertex_ids;
+    protected final IdDictionary<H> edge_ids;
+
+    protected final int[] edge_offsets;     // vertices of hyperedge h: edge_members[edge_offsets[h]] .. edge_members[edge_offsets[h+1]-1]
+    protected final int[] edge_members;     // vertex ids, sorted within each hyperedge
+    protected final int[] vertex_offsets;   // hyperedges of vertex v: vertex_edges[vertex_offsets[v]] .. vertex_edges[vertex_offsets[v+1]-1]
+    protected final int[] vertex_edges;     // hyperedge ids, sorted within each vertex
+    protected final long[][] edge_bitmaps;  // hyperedge id -> bitmap of its vertex ids, or null if it has none
+
+    /**
+     * Creates an immutable copy of <code>hypergraph</code>.
+     * @param hypergraph the hypergraph to copy
+     */
+    public CompactHypergraph(Hypergraph<V,H> hypergraph)
+    {
+        this(new Builder<V,H>(hypergraph.getVertexCount(), hypergraph.getEdgeCount()).addHypergraph(hypergraph));
+    }
+
+    /**
+     * Creates an instance from the contents of <code>builder</code>.
+     */
+    protected CompactHypergraph(Builder<V,H> builder)
+    {
+        int vertex_count = builder.vertices.size();
+        int edge_count = builder.edges.size();
+
+        builder.vertices.trimToSize();
+        builder.edges.trimToSize();
+        this.vertex_ids = builder.vertices;
+        this.edge_ids = builder.edges;
+        this.edge_offsets = Builder.resize(builder.offsets, edge_count + 1);
+        this.edge_members = Builder.resize(builder.members, edge_offsets[edge_count]);
+
+        // transpose: visiting hyperedges in id order leaves each vertex's row sorted
+        this.vertex_offsets = new int[vertex_count + 1];
+        for (int member : edge_members)
+            vertex_offsets[member + 1]++;
+        for (int i = 0; i < vertex_count; i++)
+            vertex_offsets[i + 1] += vertex_offsets[i];
+        this.vertex_edges = new int[edge_members.length];
+        int[] next = new int[vertex_count];
+        System.arraycopy(vertex_offsets, 0, next, 0, vertex_count);
+        for (int h = 0; h < edge_count; h++)
+            for (int i = edge_offsets[h]; i < edge_offsets[h + 1]; i++)
+                vertex_edges[next[edge_members[i]]++] = h;
+
+        this.edge_bitmaps = new long[edge_count][];
+        for (int h = 0; h < edge_count; h++)
+        {
+            int size = edge_offsets[h + 1] - edge_offsets[h];
+            if (size > 0 && size >= builder.bitmap_density * vertex_count)
+            {
+                long[] bitmap = new long[(vertex_count + 63) >>> 6];
+                for (int i = edge_offsets[h]; i < edge_offsets[h + 1]; i++)
+                    bitmap[edge_members[i] >>> 6] |= 1L << edge_members[i];
+                edge_bitmaps[h] = bitmap;
+            }
+        }
+    }
+
+    /**
+     * Returns the id of <code>vertex</code>, or -1 if it is not in this graph.
+     */
+    protected int vertexId(Object vertex)
+    {
+        return vertex_ids.getId(vertex);
+    }
+
+    /**
+     * Returns the id of <code>edge</code>, or -1 if it is not in this graph.
+     */
+    protected int edgeId(Object edge)
+    {
+        return edge_ids.getId(edge);
+    }
+
+    /**
+     * Returns <code>true</code> if the vertex with id <code>v</code> is
+     * incident to the hyperedge with id <code>h</code>.
+     */
+    protected boolean isMember(int v, int h)
+    {
+        long[] bitmap = edge_bitmaps[h];
+        if (bitmap != null)
+            return (bitmap[v >>> 6] & (1L << v)) != 0;
+        // search whichever of the two sorted rows is shorter
+        if (edge_offsets[h + 1] - edge_offsets[h] <= vertex_offsets[v + 1] - vertex_offsets[v])
+            return contains(edge_members, edge_offsets[h], edge_offsets[h + 1], v);
+        return contains(vertex_edges, vertex_offsets[v], vertex_offsets[v + 1], h);
+    }
+
+    /**
+     * Returns <code>true</code> if the sorted range <code>ids[start..end-1]</code>
+     * contains <code>id</code>.
+     */
+    private static boolean contains(int[] ids, int start, int end, int id)
+    {
+        int low = start;
+        int high = end - 1;
+        while (low <= high)
+        {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] < id)
+                low = mid + 1;
+            else if (ids[mid] > id)
+                high = mid - 1;
+            else
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the ids of the vertices that share a hyperedge with the
+     * vertex with id <code>v</code> (including <code>v</code>, if it
+     * is incident to any hyperedge), in increasing order.
+     */
+    protected int[] neighborIds(int v)
+    {
+        int start = vertex_offsets[v];
+        int end = vertex_offsets[v + 1];
+        if (end - start == 1)
+        {
+            int h = vertex_edges[start];
+            return Builder.slice(edge_members, edge_offsets[h], edge_offsets[h + 1]);
+        }
+        BitSet neighbors = new BitSet(vertex_ids.size());
+        for (int i = start; i < end; i++)
+        {
+            int h = vertex_edges[i];
+            for (int j = edge_offsets[h]; j < edge_offsets[h + 1]; j++)
+                neighbors.set(edge_members[j]);
+        }
+        int[] ids = new int[neighbors.cardinality()];
+        for (int i = 0, w = neighbors.nextSetBit(0); w >= 0; i++, w = neighbors.nextSetBit(w + 1))
+            ids[i] = w;
+        return ids;
+    }
+
+    public int getVertexCount()
+    {
+        return vertex_ids.size();
+    }
+
+    public int getEdgeCount()
+    {
+        return edge_ids.size();
+    }
+
+    public int getEdgeCount(EdgeType edge_type)
+    {
+        return edge_type == EdgeType.UNDIRECTED ? edge_ids.size() : 0;
+    }
+
+    public Collection<V> getVertices()
+    {
+        return vertex_ids.elements();
+    }
+
+    public Collection<H> getEdges()
+    {
+        return edge_ids.elements();
+    }
+
+    public Collection<H> getEdges(EdgeType edge_type)
+    {
+        if (edge_type == EdgeType.UNDIRECTED)
+            return edge_ids.elements();
+        return null;
+    }
+
+    public boolean containsVertex(V vertex)
+    {
+        return vertexId(vertex) >= 0;
+    }
+
+    public boolean containsEdge(H edge)
+    {
+        return edgeId(edge) >= 0;
+    }
+
+    public EdgeType getEdgeType(H edge)
+    {
+        return containsEdge(edge) ? EdgeType.UNDIRECTED : null;
+    }
+
+    public EdgeType getDefaultEdgeType()
+    {
+        return EdgeType.UNDIRECTED;
+    }
+
+    public Collection<V> getIncidentVertices(H edge)
+    {
+        int h = edgeId(edge);
+        if (h < 0)
+            return null;
+        return new IdList<V>(vertex_ids, edge_members, edge_offsets[h], edge_offsets[h + 1]);
+    }
+
+    public Collection<H> getIncidentEdges(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        return new IdList<H>(edge_ids, vertex_edges, vertex_offsets[v], vertex_offsets[v + 1]);
+    }
+
+    public Collection<V> getNeighbors(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        int[] ids = neighborIds(v);
+        return new IdList<V>(vertex_ids, ids, 0, ids.length);
+    }
+
+    public Collection<H> getInEdges(V vertex)
+    {
+        return getIncidentEdges(vertex);
+    }
+
+    public Collection<H> getOutEdges(V vertex)
+    {
+        return getIncidentEdges(vertex);
+    }
+
+    public Collection<V> getPredecessors(V vertex)
+    {
+        return getNeighbors(vertex);
+    }
+
+    public Collection<V> getSuccessors(V vertex)
+    {
+        return getNeighbors(vertex);
+    }
+
+    public int getIncidentCount(H edge)
+    {
+        int h = edgeId(edge);
+        if (h < 0)
+            return 0;
+        return edge_offsets[h + 1] - edge_offsets[h];
+    }
+
+    public int degree(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return 0;
+        return vertex_offsets[v + 1] - vertex_offsets[v];
+    }
+
+    public int inDegree(V vertex)
+    {
+        return degree(vertex);
+    }
+
+    public int outDegree(V vertex)
+    {
+        return degree(vertex);
+    }
+
+    public int getNeighborCount(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return 0;
+        return neighborIds(v).length;
+    }
+
+    public int getPredecessorCount(V vertex)
+    {
+        return getNeighborCount(vertex);
+    }
+
+    public int getSuccessorCount(V vertex)
+    {
+        return getNeighborCount(vertex);
+    }
+
+    public boolean isIncident(V vertex, H edge)
+    {
+        int v = vertexId(vertex);
+        int h = edgeId(edge);
+        return v >= 0 && h >= 0 && isMember(v, h);
+    }
+
+    public boolean isNeighbor(V v1, V v2)
+    {
+        return findEdge(v1, v2) != null;
+    }
+
+    public boolean isPredecessor(V v1, V v2)
+    {
+        return isNeighbor(v1, v2);
+    }
+
+    public boolean isSuccessor(V v1, V v2)
+    {
+        return isNeighbor(v1, v2);
+    }
+
+    public boolean isSource(V vertex, H edge)
+    {
+        return false;
+    }
+
+    public boolean isDest(V vertex, H edge)
+    {
+        return false;
+    }
+
+    public V getSource(H edge)
+    {
+        return null;
+    }
+
+    public V getDest(H edge)
+    {
+        return null;
+    }
+
+    /**
+     * Returns a hyperedge incident to both <code>v1</code> and <code>v2</code>,
+     * or <code>null</code> if there is none.  Tests each hyperedge of
+     * whichever vertex has fewer for membership of the other.
+     */
+    public H findEdge(V v1, V v2)
+    {
+        int v = vertexId(v1);
+        int w = vertexId(v2);
+        if (v < 0 || w < 0)
+            return null;
+        if (vertex_offsets[v + 1] - vertex_offsets[v] > vertex_offsets[w + 1] - vertex_offsets[w])
+        {
+            int tmp = v;
+            v = w;
+            w = tmp;
+        }
+        for (int i = vertex_offsets[v]; i < vertex_offsets[v + 1]; i++)
+            if (isMember(w, vertex_edges[i]))
+                return edge_ids.get(vertex_edges[i]);
+        return null;
+    }
+
+    public Collection<H> findEdgeSet(V v1, V v2)
+    {
+        int v = vertexId(v1);
+        int w = vertexId(v2);
+        if (v < 0 || w < 0)
+            return null;
+        if (vertex_offsets[v + 1] - vertex_offsets[v] > vertex_offsets[w + 1] - vertex_offsets[w])
+        {
+            int tmp = v;
+            v = w;
+            w = tmp;
+        }
+        Collection<H> edges = new ArrayList<H>();
+        for (int i = vertex_offsets[v]; i < vertex_offsets[v + 1]; i++)
+            if (isMember(w, vertex_edges[i]))
+                edges.add(edge_ids.get(vertex_edges[i]));
+        return Collections.unmodifiableCollection(edges);
+    }
+
+    public boolean forEachIncidentEdge(V vertex, Closure<? super H> visitor)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return false;
+        for (int i = vertex_offsets[v]; i < vertex_offsets[v + 1]; i++)
+            visitor.execute(edge_ids.get(vertex_edges[i]));
+        return true;
+    }
+
+    public boolean forEachInEdge(V vertex, Closure<? super H> visitor)
+    {
+        return forEachIncidentEdge(vertex, visitor);
+    }
+
+    public boolean forEachOutEdge(V vertex, Closure<? super H> visitor)
+    {
+        return forEachIncidentEdge(vertex, visitor);
+    }
+
+    public boolean forEachNeighbor(V vertex, Closure<? super V> visitor)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return false;
+        for (int w : neighborIds(v))
+            visitor.execute(vertex_ids.get(w));
+        return true;
+    }
+
+    public boolean forEachPredecessor(V vertex, Closure<? super V> visitor)
+    {
+        return forEachNeighbor(vertex, visitor);
+    }
+
+    public boolean forEachSuccessor(V vertex, Closure<? super V> visitor)
+    {
+        return forEachNeighbor(vertex, visitor);
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    public boolean addVertex(V vertex)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    public boolean addEdge(H edge, Collection<? extends V> vertices)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    public boolean addEdge(H edge, Collection<? extends V> vertices, EdgeType edge_type)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    public boolean removeVertex(V vertex)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    public boolean removeEdge(H edge)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * A read-only list view of the elements of <code>dictionary</code> whose
+     * ids are <code>ids[start..end-1]</code>, sorted in increasing order.
+     */
+    private static class IdList<T> extends AbstractList<T> implements RandomAccess
+    {
+        private final IdDictionary<T> dictionary;
+        private final int[] ids;
+        private final int start;
+        private final int end;
+
+        IdList(IdDictionary<T> dictionary, int[] ids, int start, int end)
+        {
+            this.dictionary = dictionary;
+            this.ids = ids;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public T get(int index)
+        {
+            if (index < 0 || index >= end - start)
+                throw new IndexOutOfBoundsException("index: " + index + ", size: " + (end - start));
+            return dictionary.get(ids[start + index]);
+        }
+
+        @Override
+        public int size()
+        {
+            return end - start;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            int id = dictionary.getId(o);
+            return id >= 0 && CompactHypergraph.contains(ids, start, end, id);
+        }
+    }
+
+    /**
+     * Accumulates vertices and hyperedges for a <code>CompactHypergraph</code>
+     * in primitive arrays, without building an intermediate hypergraph.
+     * Vertices are added implicitly when a hyperedge incident to them is added.
+     */
+    public static class Builder<V,H>
+    {
+        private final IdDictionary<V> vertices;
+        private final IdDictionary<H> edges;
+        private int[] offsets;
+        private int[] members;
+        private double bitmap_density = Double.POSITIVE_INFINITY;
+
+        /**
+         * Creates an empty builder.
+         */
+        public Builder()
+        {
+            this(16, 16);
+        }
+
+        /**
+         * Creates an empty builder sized to hold the specified number of
+         * vertices and hyperedges without resizing.
+         * @param vertex_capacity the expected number of vertices
+         * @param edge_capacity the expected number of hyperedges
+         */
+        public Builder(int vertex_capacity, int edge_capacity)
+        {
+            vertices = new IdDictionary<V>(vertex_capacity);
+            edges = new IdDictionary<H>(edge_capacity);
+            offsets = new int[Math.max(edge_capacity, 16) + 1];
+            members = new int[Math.max(edge_capacity, 16)];
+        }
+
+        /**
+         * Specifies that each hyperedge whose size is at least
+         * <code>density</code> times the number of vertices is to be given
+         * a bitmap for constant-time membership tests.  A bitmap takes
+         * 1 bit per vertex in the graph, so it is no larger than the
+         * hyperedge's <code>int</code> array when <code>density</code> is
+         * 1/32 or more.  By default no bitmaps are built.
+         * @param density the minimum fraction of all vertices that a
+         * hyperedge must contain to be given a bitmap
+         * @return this builder
+         */
+        public Builder<V,H> setBitmapDensity(double density)
+        {
+            if (!(density > 0))
+                throw new IllegalArgumentException("density must be positive: " + density);
+            this.bitmap_density = density;
+            return this;
+        }
+
+        /**
+         * Adds <code>vertex</code> if it has not already been added.
+         * @return this builder
+         */
+        public Builder<V,H> addVertex(V vertex)
+        {
+            if (vertex == null)
+                throw new IllegalArgumentException("cannot add a null vertex");
+            vertices.add(vertex);
+            return this;
+        }
+
+        /**
+         * Adds a hyperedge connecting <code>to_attach</code>, adding the
+         * vertices if necessary.  Vertices that appear more than once in
+         * <code>to_attach</code> are attached only once.  Adding the same
+         * hyperedge again with the same vertices has no effect.
+         * @return this builder
+         * @throws IllegalArgumentException if <code>edge</code> has already
+         * been added with different vertices
+         */
+        public Builder<V,H> addEdge(H edge, Collection<? extends V> to_attach)
+        {
+            if (edge == null)
+                throw new IllegalArgumentException("input hyperedge may not be null");
+            if (to_attach == null)
+                throw new IllegalArgumentException("endpoints may not be null");
+            int[] ids = new int[to_attach.size()];
+            int count = 0;
+            for (V v : to_attach)
+            {
+                if (v == null)
+                    throw new IllegalArgumentException("cannot add an edge with a null endpoint");
+                ids[count++] = vertices.add(v);
+            }
+            Arrays.sort(ids);
+            count = 0;
+            for (int i = 0; i < ids.length; i++)
+                if (i == 0 || ids[i] != ids[i - 1])
+                    ids[count++] = ids[i];
+
+            int h = edges.getId(edge);
+            if (h >= 0)
+            {
+                int[] existing = slice(members, offsets[h], offsets[h + 1]);
+                if (!Arrays.equals(existing, slice(ids, 0, count)))
+                    throw new IllegalArgumentException("Edge " + edge +
+                        " has already been added with different endpoints");
+                return this;
+            }
+            h = edges.add(edge);
+            if (h + 1 == offsets.length)
+                offsets = resize(offsets, offsets.length + (offsets.length >> 1));
+            int start = offsets[h];
+            if (start + count > members.length)
+                members = resize(members, Math.max(start + count, members.length + (members.length >> 1)));
+            System.arraycopy(ids, 0, members, start, count);
+            offsets[h + 1] = start + count;
+            return this;
+        }
+
+        /**
+         * Adds all vertices and hyperedges of <code>hypergraph</code>.
+         * @return this builder
+         */
+        public Builder<V,H> addHypergraph(Hypergraph<V,H> hypergraph)
+        {
+            for (V v : hypergraph.getVertices())
+                addVertex(v);
+            for (H h : hypergraph.getEdges())
+                addEdge(h, hypergraph.getIncidentVertices(h));
+            return this;
+        }
+
+        /**
+         * Returns a new hypergraph containing the vertices and hyperedges
+         * added so far.  The builder should not be used afterwards.
+         */
+        public CompactHypergraph<V,H> build()
+        {
+            return new CompactHypergraph<V,H>(this);
+        }
+
+        static int[] slice(int[] array, int start, int end)
+        {
+            int[] slice = new int[end - start];
+            System.arraycopy(array, start, slice, 0, slice.length);
+            return slice;
+        }
+
+        static int[] resize(int[] array, int length)
+        {
+            if (array.length == length)
+                return array;
+            int[] resized = new int[length];
+            System.arraycopy(array, 0, resized, 0, Math.min(array.length, length));
+            return resized;
+        }
+    }
+}
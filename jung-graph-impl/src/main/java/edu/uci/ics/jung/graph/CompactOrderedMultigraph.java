@@ -0,0 +1,1104 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.apache.commons.collections15.Closure;
+import org.apache.commons.collections15.Transformer;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.IdDictionary;
+import edu.uci.ics.jung.graph.util.Pair;
+
+/**
+ * An immutable multigraph, with the same ordering semantics as
+ * <code>OrderedSparseMultigraph</code> and <code>SortedSparseMultigraph</code>,
+ * that stores its incidence lists as compressed arrays of primitives.
+ *
+ * <p>Vertices and edges are numbered in the order in which they are
+ * added (or, for a copy, in the iteration order of the original graph's
+ * <code>getVertices()</code> and <code>getEdges()</code>), and every
+ * collection returned by this graph is ordered by these numbers.  Copying
+ * an <code>OrderedSparseMultigraph</code> thus preserves its insertion order,
+ * and copying a <code>SortedSparseMultigraph</code> preserves its sorted order.
+ *
+ * <p>Each vertex has three lists of edge ids (its incoming directed edges,
+ * its outgoing directed edges, and its undirected edges), which are kept in
+ * ascending order and stored as variable-length deltas in a single byte array.
+ * Every 64th entry of a long list is also recorded in a skip table, so that
+ * <code>findEdge</code> and <code>findEdgeSet</code> can intersect two lists
+ * by galloping over the skip tables rather than decoding either list in full.
+ * A typical incidence entry takes one to three bytes, rather than the
+ * several dozen used by the entries of a <code>TreeSet</code> or
+ * <code>LinkedHashSet</code>.  The encoded lists must fit in a single
+ * array, so their total size is limited to about 2 GB.
+ *
+ * <p>The edge collections returned by the accessors are read-only views over
+ * the encoded lists; the vertex collections are copies.  Instances are
+ * created either from an existing graph, or incrementally with a
+ * {@link Builder}.  All mutators throw <code>UnsupportedOperationException</code>.
+ */
+@SuppressWarnings("serial")
+public class CompactOrderedMultigraph<V,E> extends AbstractGraph<V,E>
+    implements MultiGraph<V,E>
+{
+    /**
+     * The number of entries between consecutive skip table entries.
+     */
+    protected static final int BLOCK_SIZE = 64;
+
+    // the kinds of incidence list; the lists of vertex v are 3*v .. 3*v+2
+    private static final int IN = 0;
+    private static final int OUT = 1;
+    private static final int UNDIRECTED = 2;
+
+    // the kinds of edge collection
+    private static final int IN_EDGES = 0;
+    private static final int OUT_EDGES = 1;
+    private static final int INCIDENT_EDGES = 2;
+
+    protected final IdDictionary<V> vertex_ids;
+    protected final IdDictionary<E> edge_ids;
+
+    protected final int[] edge_firsts;    // edge id -> first endpoint (source) id
+    protected final int[] edge_seconds;   // edge id -> second endpoint (destination) id
+    protected final BitSet directed;      // ids of the directed edges
+    protected final int directed_count;
+
+    /**
+     * The encoded incidence lists.  List <code>i</code> starts at
+     * <code>list_offsets[i]</code> with its entry count (as a varint),
+     * followed by its skip table (for each block after the first, the
+     * entry that starts the block and the position, relative to the start
+     * of the entries, of the entry after it, as 4-byte integers), followed
+     * by its entries (the first as a varint, the rest as varint deltas).
+     */
+    protected final byte[] lists;
+    protected final int[] list_offsets;
+
+    /**
+     * Creates an immutable copy of <code>graph</code>, whose vertices and edges
+     * are ordered as in <code>graph.getVertices()</code> and <code>graph.getEdges()</code>.
+     * @param graph the graph to copy
+     */
+    public CompactOrderedMultigraph(Graph<V,E> graph)
+    {
+        this(new Builder<V,E>(graph.getVertexCount(), graph.getEdgeCount()).addGraph(graph));
+    }
+
+    /**
+     * Creates an instance from the contents of <code>builder</code>.
+     */
+    protected CompactOrderedMultigraph(Builder<V,E> builder)
+    {
+        int vertex_count = builder.vertices.size();
+        int edge_count = builder.edges.size();
+        builder.vertices.trimToSize();
+        builder.edges.trimToSize();
+        this.vertex_ids = builder.vertices;
+        this.edge_ids = builder.edges;
+        this.edge_firsts = Builder.resize(builder.firsts, edge_count);
+        this.edge_seconds = Builder.resize(builder.seconds, edge_count);
+        this.directed = builder.directed;
+        this.directed_count = directed.cardinality();
+
+        // measure each list, then lay the lists out and fill them in a second pass;
+        // edges are visited in id order, so each list is filled in ascending order
+        int list_count = 3 * vertex_count;
+        int[] counts = new int[list_count];
+        int[] sizes = new int[list_count];
+        int[] previous = new int[list_count];
+        for (int e = 0; e < edge_count; e++)
+        {
+            for (int k = 0; k < 2; k++)
+            {
+                int list = listOf(e, k);
+                if (list < 0)
+                    continue;
+                sizes[list] += varintLength(counts[list] == 0 ? e : e - previous[list]);
+                previous[list] = e;
+                counts[list]++;
+            }
+        }
+        this.list_offsets = new int[list_count + 1];
+        long offset = 0;
+        for (int list = 0; list < list_count; list++)
+        {
+            offset += headerLength(counts[list]) + sizes[list];
+            if (offset > Integer.MAX_VALUE - 8)
+                throw new IllegalArgumentException("graph is too large to encode");
+            list_offsets[list + 1] = (int)offset;
+        }
+        this.lists = new byte[(int)offset];
+
+        int[] positions = sizes;
+        int[] filled = new int[list_count];
+        for (int list = 0; list < list_count; list++)
+            positions[list] = writeVarint(list_offsets[list], counts[list]) + 8 * skipCount(counts[list]);
+        for (int e = 0; e < edge_count; e++)
+        {
+            for (int k = 0; k < 2; k++)
+            {
+                int list = listOf(e, k);
+                if (list < 0)
+                    continue;
+                int index = filled[list]++;
+                positions[list] = writeVarint(positions[list], index == 0 ? e : e - previous[list]);
+                previous[list] = e;
+                if (index > 0 && index % BLOCK_SIZE == 0)
+                {
+                    int skip = list_offsets[list] + varintLength(counts[list]);
+                    int data = skip + 8 * skipCount(counts[list]);
+                    skip += 8 * (index / BLOCK_SIZE - 1);
+                    writeInt(skip, e);
+                    writeInt(skip + 4, positions[list] - data);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the <code>k</code>th (0 or 1) incidence list to which edge
+     * <code>e</code> belongs, or -1 if it belongs to fewer than
+     * <code>k+1</code> lists.
+     */
+    private int listOf(int e, int k)
+    {
+        if (directed.get(e))
+            return k == 0 ? 3 * edge_firsts[e] + OUT : 3 * edge_seconds[e] + IN;
+        if (k == 0)
+            return 3 * edge_firsts[e] + UNDIRECTED;
+        // an undirected self-loop appears only once in its vertex's list
+        return edge_seconds[e] == edge_firsts[e] ? -1 : 3 * edge_seconds[e] + UNDIRECTED;
+    }
+
+    private static int skipCount(int count)
+    {
+        return count == 0 ? 0 : (count - 1) / BLOCK_SIZE;
+    }
+
+    private static int headerLength(int count)
+    {
+        return varintLength(count) + 8 * skipCount(count);
+    }
+
+    private static int varintLength(int value)
+    {
+        int length = 1;
+        while ((value >>>= 7) != 0)
+            length++;
+        return length;
+    }
+
+    /**
+     * Writes <code>value</code> as a varint at <code>position</code>,
+     * and returns the position after it.
+     */
+    private int writeVarint(int position, int value)
+    {
+        while ((value & ~0x7f) != 0)
+        {
+            lists[position++] = (byte)((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        lists[position++] = (byte)value;
+        return position;
+    }
+
+    private int readVarint(int position)
+    {
+        int value = 0;
+        for (int shift = 0; ; shift += 7)
+        {
+            byte b = lists[position++];
+            value |= (b & 0x7f) << shift;
+            if (b >= 0)
+                return value;
+        }
+    }
+
+    private void writeInt(int position, int value)
+    {
+        lists[position] = (byte)(value >>> 24);
+        lists[position + 1] = (byte)(value >>> 16);
+        lists[position + 2] = (byte)(value >>> 8);
+        lists[position + 3] = (byte)value;
+    }
+
+    private int readInt(int position)
+    {
+        return (lists[position] << 24) | ((lists[position + 1] & 0xff) << 16) |
+            ((lists[position + 2] & 0xff) << 8) | (lists[position + 3] & 0xff);
+    }
+
+    /**
+     * Returns the number of entries in the specified list.
+     */
+    private int count(int list)
+    {
+        return readVarint(list_offsets[list]);
+    }
+
+    /**
+     * Returns the id of <code>vertex</code>, or -1 if it is not in this graph.
+     */
+    protected int vertexId(Object vertex)
+    {
+        return vertex_ids.getId(vertex);
+    }
+
+    /**
+     * Returns the id of <code>edge</code>, or -1 if it is not in this graph.
+     */
+    protected int edgeId(Object edge)
+    {
+        return edge_ids.getId(edge);
+    }
+
+    /**
+     * Returns the endpoint of edge <code>e</code> opposite to vertex <code>v</code>.
+     */
+    private int opposite(int v, int e)
+    {
+        return edge_firsts[e] == v ? edge_seconds[e] : edge_firsts[e];
+    }
+
+    /**
+     * Returns the smallest edge id common to the specified lists, or -1
+     * if there is none.
+     */
+    private int firstCommon(int list_a, int list_b)
+    {
+        Cursor a = new Cursor(list_a);
+        Cursor b = new Cursor(list_b);
+        if (!a.hasNext())
+            return -1;
+        int e = a.next();
+        while (true)
+        {
+            int f = b.seek(e);
+            if (f < 0 || f == e)
+                return f;
+            e = a.seek(f);
+            if (e < 0 || e == f)
+                return e;
+        }
+    }
+
+    /**
+     * Returns the edge ids common to the specified lists, in ascending order.
+     */
+    private int[] common(int list_a, int list_b)
+    {
+        Cursor a = new Cursor(list_a);
+        Cursor b = new Cursor(list_b);
+        int[] found = new int[0];
+        int found_count = 0;
+        int e = a.hasNext() ? a.next() : -1;
+        while (e >= 0)
+        {
+            int f = b.seek(e);
+            if (f < 0)
+                break;
+            if (f == e)
+            {
+                if (found_count == found.length)
+                    found = Builder.resize(found, Math.max(4, 2 * found_count));
+                found[found_count++] = e;
+                e = a.hasNext() ? a.next() : -1;
+            }
+            else
+                e = a.seek(f);
+        }
+        return Builder.resize(found, found_count);
+    }
+
+    /**
+     * Returns the number of directed self-loops incident to vertex <code>v</code>.
+     */
+    private int directedLoopCount(int v)
+    {
+        if (count(3 * v + IN) == 0 || count(3 * v + OUT) == 0)
+            return 0;
+        return common(3 * v + OUT, 3 * v + IN).length;
+    }
+
+    public Collection<E> getEdges()
+    {
+        return edge_ids.elements();
+    }
+
+    public Collection<V> getVertices()
+    {
+        return vertex_ids.elements();
+    }
+
+    public boolean containsVertex(V vertex)
+    {
+        return vertexId(vertex) >= 0;
+    }
+
+    public boolean containsEdge(E edge)
+    {
+        return edgeId(edge) >= 0;
+    }
+
+    public int getEdgeCount()
+    {
+        return edge_ids.size();
+    }
+
+    public int getVertexCount()
+    {
+        return vertex_ids.size();
+    }
+
+    public Collection<E> getEdges(EdgeType edge_type)
+    {
+        if (edge_type != EdgeType.DIRECTED && edge_type != EdgeType.UNDIRECTED)
+            return Collections.emptySet();
+        boolean want_directed = edge_type == EdgeType.DIRECTED;
+        Collection<E> edges = new ArrayList<E>(getEdgeCount(edge_type));
+        for (int e = 0; e < edge_ids.size(); e++)
+            if (directed.get(e) == want_directed)
+                edges.add(edge_ids.get(e));
+        return Collections.unmodifiableCollection(edges);
+    }
+
+    public int getEdgeCount(EdgeType edge_type)
+    {
+        if (edge_type == EdgeType.DIRECTED)
+            return directed_count;
+        if (edge_type == EdgeType.UNDIRECTED)
+            return edge_ids.size() - directed_count;
+        return 0;
+    }
+
+    public EdgeType getDefaultEdgeType()
+    {
+        return EdgeType.UNDIRECTED;
+    }
+
+    public EdgeType getEdgeType(E edge)
+    {
+        int e = edgeId(edge);
+        if (e < 0)
+            return null;
+        return directed.get(e) ? EdgeType.DIRECTED : EdgeType.UNDIRECTED;
+    }
+
+    public Collection<E> getInEdges(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        return new EdgeView(v, IN_EDGES);
+    }
+
+    public Collection<E> getOutEdges(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        return new EdgeView(v, OUT_EDGES);
+    }
+
+    public Collection<E> getIncidentEdges(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        return new EdgeView(v, INCIDENT_EDGES);
+    }
+
+    public Collection<V> getPredecessors(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        Set<V> preds = new LinkedHashSet<V>();
+        addAdjacent(v, IN_EDGES, preds);
+        return Collections.unmodifiableCollection(preds);
+    }
+
+    public Collection<V> getSuccessors(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        Set<V> succs = new LinkedHashSet<V>();
+        addAdjacent(v, OUT_EDGES, succs);
+        return Collections.unmodifiableCollection(succs);
+    }
+
+    public Collection<V> getNeighbors(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return null;
+        Set<V> neighbors = new LinkedHashSet<V>();
+        addAdjacent(v, IN_EDGES, neighbors);
+        addAdjacent(v, OUT_EDGES, neighbors);
+        return Collections.unmodifiableCollection(neighbors);
+    }
+
+    /**
+     * Adds to <code>adjacent</code> the vertex opposite to <code>v</code> on
+     * each of its in-edges or out-edges, in order.
+     */
+    private void addAdjacent(int v, int kind, Collection<V> adjacent)
+    {
+        for (EdgeIdIterator iter = new EdgeIdIterator(v, kind); iter.hasNext(); )
+            adjacent.add(vertex_ids.get(opposite(v, iter.nextId())));
+    }
+
+    @Override
+    public boolean forEachInEdge(V vertex, Closure<? super E> visitor)
+    {
+        return visitEdges(vertex, IN_EDGES, visitor);
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, Closure<? super E> visitor)
+    {
+        return visitEdges(vertex, OUT_EDGES, visitor);
+    }
+
+    @Override
+    public boolean forEachIncidentEdge(V vertex, Closure<? super E> visitor)
+    {
+        return visitEdges(vertex, INCIDENT_EDGES, visitor);
+    }
+
+    private boolean visitEdges(V vertex, int kind, Closure<? super E> visitor)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            return false;
+        for (EdgeIdIterator iter = new EdgeIdIterator(v, kind); iter.hasNext(); )
+            visitor.execute(edge_ids.get(iter.nextId()));
+        return true;
+    }
+
+    @Override
+    public int inDegree(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            throw new IllegalArgumentException(vertex + " is not a vertex in this graph");
+        return count(3 * v + IN) + count(3 * v + UNDIRECTED);
+    }
+
+    @Override
+    public int outDegree(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            throw new IllegalArgumentException(vertex + " is not a vertex in this graph");
+        return count(3 * v + OUT) + count(3 * v + UNDIRECTED);
+    }
+
+    @Override
+    public int degree(V vertex)
+    {
+        int v = vertexId(vertex);
+        if (v < 0)
+            throw new IllegalArgumentException(vertex + " is not a vertex in this graph");
+        return new EdgeView(v, INCIDENT_EDGES).size();
+    }
+
+    @Override
+    public boolean isPredecessor(V v1, V v2)
+    {
+        return findEdgeId(vertexId(v2), vertexId(v1)) >= 0;
+    }
+
+    @Override
+    public boolean isSuccessor(V v1, V v2)
+    {
+        return findEdgeId(vertexId(v1), vertexId(v2)) >= 0;
+    }
+
+    @Override
+    public boolean isNeighbor(V v1, V v2)
+    {
+        int v = vertexId(v1);
+        int w = vertexId(v2);
+        if (v < 0 || w < 0)
+            throw new IllegalArgumentException("At least one of these not in this graph: " + v1 + ", " + v2);
+        return findEdgeId(v, w) >= 0 || findEdgeId(w, v) >= 0;
+    }
+
+    @Override
+    public boolean isIncident(V vertex, E edge)
+    {
+        int v = vertexId(vertex);
+        int e = edgeId(edge);
+        if (v < 0 || e < 0)
+            throw new IllegalArgumentException("At least one of these not in this graph: " + vertex + ", " + edge);
+        return edge_firsts[e] == v || edge_seconds[e] == v;
+    }
+
+    /**
+     * Returns the first out-edge of <code>v1</code> whose opposite endpoint
+     * is <code>v2</code>, as <code>OrderedSparseMultigraph</code> does.
+     */
+    @Override
+    public E findEdge(V v1, V v2)
+    {
+        int e = findEdgeId(vertexId(v1), vertexId(v2));
+        return e < 0 ? null : edge_ids.get(e);
+    }
+
+    /**
+     * Returns the id of the first edge from <code>v</code> to <code>w</code>,
+     * or -1 if there is none (or if either id is negative).  The directed
+     * edges from <code>v</code> to <code>w</code> are the intersection of the
+     * out-list of <code>v</code> and the in-list of <code>w</code>; the
+     * undirected edges between them are the intersection of their
+     * undirected lists, except that the undirected self-loops of <code>v</code>
+     * must be picked out of its undirected list by their endpoints.
+     */
+    private int findEdgeId(int v, int w)
+    {
+        if (v < 0 || w < 0)
+            return -1;
+        int e = firstCommon(3 * v + OUT, 3 * w + IN);
+        int f = -1;
+        if (v != w)
+            f = firstCommon(3 * v + UNDIRECTED, 3 * w + UNDIRECTED);
+        else
+            for (Cursor c = new Cursor(3 * v + UNDIRECTED); f < 0 && c.hasNext(); )
+            {
+                int g = c.next();
+                if (edge_firsts[g] == edge_seconds[g])
+                    f = g;
+            }
+        if (e < 0 || (f >= 0 && f < e))
+            return f;
+        return e;
+    }
+
+    @Override
+    public Collection<E> findEdgeSet(V v1, V v2)
+    {
+        int v = vertexId(v1);
+        int w = vertexId(v2);
+        if (v < 0)
+            throw new IllegalArgumentException(v1 + " is not an element of this graph");
+        if (w < 0)
+            throw new IllegalArgumentException(v2 + " is not an element of this graph");
+        int[] directed_edges = common(3 * v + OUT, 3 * w + IN);
+        int[] undirected_edges;
+        if (v != w)
+            undirected_edges = common(3 * v + UNDIRECTED, 3 * w + UNDIRECTED);
+        else
+        {
+            int[] loops = new int[count(3 * v + UNDIRECTED)];
+            int loop_count = 0;
+            for (Cursor c = new Cursor(3 * v + UNDIRECTED); c.hasNext(); )
+            {
+                int e = c.next();
+                if (edge_firsts[e] == edge_seconds[e])
+                    loops[loop_count++] = e;
+            }
+            undirected_edges = Builder.resize(loops, loop_count);
+        }
+        // merge the two ascending lists
+        Collection<E> edges = new ArrayList<E>(directed_edges.length + undirected_edges.length);
+        int i = 0;
+        int j = 0;
+        while (i < directed_edges.length || j < undirected_edges.length)
+        {
+            if (j == undirected_edges.length ||
+                (i < directed_edges.length && directed_edges[i] < undirected_edges[j]))
+                edges.add(edge_ids.get(directed_edges[i++]));
+            else
+                edges.add(edge_ids.get(undirected_edges[j++]));
+        }
+        return Collections.unmodifiableCollection(edges);
+    }
+
+    public Pair<V> getEndpoints(E edge)
+    {
+        int e = edgeId(edge);
+        if (e < 0)
+            return null;
+        return new Pair<V>(vertex_ids.get(edge_firsts[e]), vertex_ids.get(edge_seconds[e]));
+    }
+
+    public V getSource(E directed_edge)
+    {
+        int e = edgeId(directed_edge);
+        if (e < 0 || !directed.get(e))
+            return null;
+        return vertex_ids.get(edge_firsts[e]);
+    }
+
+    public V getDest(E directed_edge)
+    {
+        int e = edgeId(directed_edge);
+        if (e < 0 || !directed.get(e))
+            return null;
+        return vertex_ids.get(edge_seconds[e]);
+    }
+
+    public boolean isSource(V vertex, E edge)
+    {
+        int v = vertexId(vertex);
+        int e = edgeId(edge);
+        if (v < 0 || e < 0 || !directed.get(e))
+            return false;
+        return edge_firsts[e] == v;
+    }
+
+    public boolean isDest(V vertex, E edge)
+    {
+        int v = vertexId(vertex);
+        int e = edgeId(edge);
+        if (v < 0 || e < 0 || !directed.get(e))
+            return false;
+        return edge_seconds[e] == v;
+    }
+
+    @Override
+    public V getOpposite(V vertex, E edge)
+    {
+        int v = vertexId(vertex);
+        int e = edgeId(edge);
+        if (e < 0)
+            throw new IllegalArgumentException(edge + " is not an edge in this graph");
+        if (v < 0 || (edge_firsts[e] != v && edge_seconds[e] != v))
+            throw new IllegalArgumentException(vertex + " is not incident to " + edge + " in this graph");
+        return vertex_ids.get(opposite(v, e));
+    }
+
+    @Override
+    public int getIncidentCount(E edge)
+    {
+        int e = edgeId(edge);
+        if (e < 0)
+            return 0;
+        return edge_firsts[e] == edge_seconds[e] ? 1 : 2;
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    public boolean addVertex(V vertex)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    @Override
+    public boolean addEdge(E edge, Pair<? extends V> endpoints, EdgeType edgeType)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    public boolean removeVertex(V vertex)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    public boolean removeEdge(E edge)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Throws <code>UnsupportedOperationException</code>; this graph is immutable.
+     */
+    @Override
+    public int addEdges(Iterable<? extends E> edges, Transformer<? super E, Pair<V>> endpoints,
+            EdgeType edge_type, boolean check)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * A position in an encoded incidence list.
+     */
+    private class Cursor
+    {
+        private final int count;
+        private final int skip;     // start of the skip table
+        private final int data;     // start of the entries
+        private int index;          // number of entries decoded so far
+        private int value;          // the last entry decoded
+        private int position;       // position of the next entry
+
+        Cursor(int list)
+        {
+            count = readVarint(list_offsets[list]);
+            skip = list_offsets[list] + varintLength(count);
+            data = skip + 8 * skipCount(count);
+            position = data;
+        }
+
+        boolean hasNext()
+        {
+            return index < count;
+        }
+
+        int next()
+        {
+            int delta = 0;
+            for (int shift = 0; ; shift += 7)
+            {
+                byte b = lists[position++];
+                delta |= (b & 0x7f) << shift;
+                if (b >= 0)
+                    break;
+            }
+            value = index++ == 0 ? delta : value + delta;
+            return value;
+        }
+
+        /**
+         * Advances to the first entry at least <code>target</code>, which
+         * may be the current entry, and returns it; returns -1 if there is
+         * no such entry.  Whole blocks are skipped by galloping over the
+         * skip table.
+         */
+        int seek(int target)
+        {
+            if (index == 0)
+            {
+                if (count == 0)
+                    return -1;
+                next();
+            }
+            if (value >= target)
+                return value;
+            int skip_count = skipCount(count);
+            int block = (index - 1) / BLOCK_SIZE;
+            if (block < skip_count && skipValue(block + 1) <= target)
+            {
+                // find the last block whose first entry is at most target
+                int low = block + 1;
+                int step = 1;
+                while (low + step <= skip_count && skipValue(low + step) <= target)
+                {
+                    low += step;
+                    step <<= 1;
+                }
+                int high = Math.min(low + step, skip_count + 1);
+                while (high - low > 1)
+                {
+                    int mid = (low + high) >>> 1;
+                    if (skipValue(mid) <= target)
+                        low = mid;
+                    else
+                        high = mid;
+                }
+                index = low * BLOCK_SIZE + 1;
+                value = skipValue(low);
+                position = data + readInt(skip + 8 * (low - 1) + 4);
+            }
+            while (value < target)
+            {
+                if (index >= count)
+                    return -1;
+                next();
+            }
+            return value;
+        }
+
+        private int skipValue(int block)
+        {
+            return readInt(skip + 8 * (block - 1));
+        }
+    }
+
+    /**
+     * Iterates over the ids of the in-edges, out-edges or incident edges of a
+     * vertex, in ascending order for in-edges and out-edges.  The incident
+     * edges are the in-edges followed by the out-edges that are not also
+     * in-edges, as in <code>OrderedSparseMultigraph</code>.
+     */
+    private class EdgeIdIterator
+    {
+        private final int v;
+        private final Cursor directed_edges;
+        private final Cursor undirected_edges;
+        private final Cursor out_edges;     // for incident edges only
+        private int next_directed;
+        private int next_undirected;
+        private int next_out;
+
+        EdgeIdIterator(int v, int kind)
+        {
+            this.v = v;
+            directed_edges = new Cursor(3 * v + (kind == OUT_EDGES ? OUT : IN));
+            undirected_edges = new Cursor(3 * v + UNDIRECTED);
+            out_edges = kind == INCIDENT_EDGES ? new Cursor(3 * v + OUT) : null;
+            next_directed = directed_edges.hasNext() ? directed_edges.next() : -1;
+            next_undirected = undirected_edges.hasNext() ? undirected_edges.next() : -1;
+            next_out = nextOut();
+        }
+
+        /**
+         * Returns the next directed out-edge that is not a self-loop (and
+         * hence not also an in-edge), or -1 if there is none.
+         */
+        private int nextOut()
+        {
+            if (out_edges == null)
+                return -1;
+            while (out_edges.hasNext())
+            {
+                int e = out_edges.next();
+                if (edge_seconds[e] != v)
+                    return e;
+            }
+            return -1;
+        }
+
+        boolean hasNext()
+        {
+            return next_directed >= 0 || next_undirected >= 0 || next_out >= 0;
+        }
+
+        int nextId()
+        {
+            int e;
+            if (next_directed >= 0 && (next_undirected < 0 || next_directed < next_undirected))
+            {
+                e = next_directed;
+                next_directed = directed_edges.hasNext() ? directed_edges.next() : -1;
+            }
+            else if (next_undirected >= 0)
+            {
+                e = next_undirected;
+                next_undirected = undirected_edges.hasNext() ? undirected_edges.next() : -1;
+            }
+            else if (next_out >= 0)
+            {
+                e = next_out;
+                next_out = nextOut();
+            }
+            else
+                throw new NoSuchElementException();
+            return e;
+        }
+    }
+
+    /**
+     * A read-only view of the in-edges, out-edges or incident edges of a vertex.
+     */
+    private class EdgeView extends AbstractCollection<E>
+    {
+        private final int v;
+        private final int kind;
+
+        EdgeView(int v, int kind)
+        {
+            this.v = v;
+            this.kind = kind;
+        }
+
+        @Override
+        public int size()
+        {
+            int undirected_count = count(3 * v + UNDIRECTED);
+            if (kind == IN_EDGES)
+                return count(3 * v + IN) + undirected_count;
+            if (kind == OUT_EDGES)
+                return count(3 * v + OUT) + undirected_count;
+            return count(3 * v + IN) + count(3 * v + OUT) + undirected_count - directedLoopCount(v);
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            int e = edgeId(o);
+            if (e < 0)
+                return false;
+            if (kind == IN_EDGES && directed.get(e))
+                return edge_seconds[e] == v;
+            if (kind == OUT_EDGES && directed.get(e))
+                return edge_firsts[e] == v;
+            return edge_firsts[e] == v || edge_seconds[e] == v;
+        }
+
+        @Override
+        public Iterator<E> iterator()
+        {
+            return new Iterator<E>()
+            {
+                private final EdgeIdIterator ids = new EdgeIdIterator(v, kind);
+
+                public boolean hasNext()
+                {
+                    return ids.hasNext();
+                }
+
+                public E next()
+                {
+                    return edge_ids.get(ids.nextId());
+                }
+
+                public void remove()
+                {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+
+    /**
+     * Accumulates vertices and edges for a <code>CompactOrderedMultigraph</code>
+     * in primitive arrays, without building an intermediate graph.
+     * Vertices and edges are ordered by the order in which they are first
+     * added; vertices are added implicitly when an edge incident to them
+     * is added.
+     */
+    public static class Builder<V,E>
+    {
+        private final IdDictionary<V> vertices;
+        private final IdDictionary<E> edges;
+        private int[] firsts;
+        private int[] seconds;
+        private final BitSet directed;
+
+        /**
+         * Creates an empty builder.
+         */
+        public Builder()
+        {
+            this(16, 16);
+        }
+
+        /**
+         * Creates an empty builder sized to hold the specified number of
+         * vertices and edges without resizing.
+         * @param vertex_capacity the expected number of vertices
+         * @param edge_capacity the expected number of edges
+         */
+        public Builder(int vertex_capacity, int edge_capacity)
+        {
+            vertices = new IdDictionary<V>(vertex_capacity);
+            edges = new IdDictionary<E>(edge_capacity);
+            firsts = new int[Math.max(edge_capacity, 16)];
+            seconds = new int[firsts.length];
+            directed = new BitSet(edge_capacity);
+        }
+
+        /**
+         * Adds <code>vertex</code> if it has not already been added.
+         * @return this builder
+         */
+        public Builder<V,E> addVertex(V vertex)
+        {
+            vertices.add(vertex);
+            return this;
+        }
+
+        /**
+         * Adds an edge of the specified type connecting <code>v1</code> to
+         * <code>v2</code>, adding the endpoints if necessary.  Adding the
+         * same edge again with the same endpoints and type has no effect.
+         * @return this builder
+         * @throws IllegalArgumentException if <code>edge</code> has already
+         * been added with different endpoints or a different type
+         */
+        public Builder<V,E> addEdge(E edge, V v1, V v2, EdgeType edge_type)
+        {
+            if (edge == null)
+                throw new IllegalArgumentException("input edge may not be null");
+            if (edge_type == null)
+                throw new IllegalArgumentException("edge type may not be null");
+            int first = vertices.add(v1);
+            int second = vertices.add(v2);
+            boolean is_directed = edge_type == EdgeType.DIRECTED;
+            int e = edges.getId(edge);
+            if (e >= 0)
+            {
+                boolean same = directed.get(e) == is_directed &&
+                    ((firsts[e] == first && seconds[e] == second) ||
+                     (!is_directed && firsts[e] == second && seconds[e] == first));
+                if (!same)
+                    throw new IllegalArgumentException("edge " + edge +
+                        " has already been added with endpoints <" + vertices.get(firsts[e]) +
+                        ", " + vertices.get(seconds[e]) + "> and type " +
+                        (directed.get(e) ? EdgeType.DIRECTED : EdgeType.UNDIRECTED));
+                return this;
+            }
+            e = edges.add(edge);
+            if (e == firsts.length)
+            {
+                int length = firsts.length + (firsts.length >> 1);
+                firsts = resize(firsts, length);
+                seconds = resize(seconds, length);
+            }
+            firsts[e] = first;
+            seconds[e] = second;
+            if (is_directed)
+                directed.set(e);
+            return this;
+        }
+
+        /**
+         * Adds all vertices and edges of <code>graph</code>, in the order
+         * in which <code>graph</code> returns them.
+         * @return this builder
+         */
+        public Builder<V,E> addGraph(Graph<V,E> graph)
+        {
+            for (V v : graph.getVertices())
+                addVertex(v);
+            for (E e : graph.getEdges())
+            {
+                Pair<V> endpoints = graph.getEndpoints(e);
+                addEdge(e, endpoints.getFirst(), endpoints.getSecond(), graph.getEdgeType(e));
+            }
+            return this;
+        }
+
+        /**
+         * Returns a new graph containing the vertices and edges added so far.
+         * The builder should not be used afterwards.
+         */
+        public CompactOrderedMultigraph<V,E> build()
+        {
+            return new CompactOrderedMultigraph<V,E>(this);
+        }
+
+        static int[] resize(int[] array, int length)
+        {
+            if (array.length == length)
+                return array;
+            int[] resized = new int[length];
+            System.arraycopy(array, 0, resized, 0, Math.min(array.length, length));
+            return resized;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph;
+
+import org.apache.commons.collections15.Factory;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
+
+/**
+ * A thread-safe implementation of <code>DirectedGraph</code>, suitable for sparse
+ * graphs, that permits parallel edges.
+ *
+ * @see AbstractConcurrentSparseMultigraph
+ */
+@SuppressWarnings("serial")
+public class ConcurrentDirectedSparseMultigraph<V,E>
+    extends AbstractConcurrentSparseMultigraph<V,E>
+    implements DirectedGraph<V,E>
+{
+    /**
+     * Returns a {@code Factory} that creates an instance of this graph type.
+     * @param <V> the vertex type for the graph factory
+     * @param <E> the edge type for the graph factory
+     */
+    public static <V,E> Factory<DirectedGraph<V,E>> getFactory()
+    {
+        return new Factory<DirectedGraph<V,E>> () {
+            public DirectedGraph<V,E> create() {
+                return new ConcurrentDirectedSparseMultigraph<V,E>();
+            }
+        };
+    }
+
+    /**
+     * Creates a new instance with the default number of lock stripes.
+     */
+    public ConcurrentDirectedSparseMultigraph()
+    {
+        this(DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Creates a new instance.
+     * @param concurrency_level the estimated number of concurrently
+     * mutating threads
+     */
+    public ConcurrentDirectedSparseMultigraph(int concurrency_level)
+    {
+        super(concurrency_level);
+    }
+
+    public EdgeType getDefaultEdgeType()
+    {
+        return EdgeType.DIRECTED;
+    }
+
+    @Override
+    public boolean addEdge(E edge, Pair<? extends V> endpoints, EdgeType edgeType)
+    {
+        if (edgeType != EdgeType.DIRECTED)
+            throw new IllegalArgumentException("Edge type '" + edgeType +
+                    "' does not match the default edge type for this graph: '" +
+                    EdgeType.DIRECTED + "'");
+        return super.addEdge(edge, endpoints, edgeType);
+    }
+}
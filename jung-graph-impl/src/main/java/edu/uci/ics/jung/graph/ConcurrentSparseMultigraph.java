@@ -0,0 +1,64 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph;
+
+import org.apache.commons.collections15.Factory;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+
+/**
+ * A thread-safe implementation of <code>Graph</code> that is suitable for sparse
+ * graphs and permits directed, undirected, and parallel edges.
+ *
+ * @see AbstractConcurrentSparseMultigraph
+ */
+@SuppressWarnings("serial")
+public class ConcurrentSparseMultigraph<V,E>
+    extends AbstractConcurrentSparseMultigraph<V,E>
+{
+    /**
+     * Returns a {@code Factory} that creates an instance of this graph type.
+     * @param <V> the vertex type for the graph factory
+     * @param <E> the edge type for the graph factory
+     */
+    public static <V,E> Factory<Graph<V,E>> getFactory()
+    {
+        return new Factory<Graph<V,E>> () {
+            public Graph<V,E> create() {
+                return new ConcurrentSparseMultigraph<V,E>();
+            }
+        };
+    }
+
+    /**
+     * Creates a new instance with the default number of lock stripes.
+     */
+    public ConcurrentSparseMultigraph()
+    {
+        this(DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Creates a new instance.
+     * @param concurrency_level the estimated number of concurrently
+     * mutating threads
+     */
+    public ConcurrentSparseMultigraph(int concurrency_level)
+    {
+        super(concurrency_level);
+    }
+
+    public EdgeType getDefaultEdgeType()
+    {
+        return EdgeType.UNDIRECTED;
+    }
+}
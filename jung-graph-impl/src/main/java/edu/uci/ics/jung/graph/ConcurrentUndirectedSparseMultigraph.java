@@ -0,0 +1,76 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph;
+
+import org.apache.commons.collections15.Factory;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
+
+/**
+ * A thread-safe implementation of <code>UndirectedGraph</code>, suitable for sparse
+ * graphs, that permits parallel edges.
+ *
+ * @see AbstractConcurrentSparseMultigraph
+ */
+@SuppressWarnings("serial")
+public class ConcurrentUndirectedSparseMultigraph<V,E>
+    extends AbstractConcurrentSparseMultigraph<V,E>
+    implements UndirectedGraph<V,E>
+{
+    /**
+     * Returns a {@code Factory} that creates an instance of this graph type.
+     * @param <V> the vertex type for the graph factory
+     * @param <E> the edge type for the graph factory
+     */
+    public static <V,E> Factory<UndirectedGraph<V,E>> getFactory()
+    {
+        return new Factory<UndirectedGraph<V,E>> () {
+            public UndirectedGraph<V,E> create() {
+                return new ConcurrentUndirectedSparseMultigraph<V,E>();
+            }
+        };
+    }
+
+    /**
+     * Creates a new instance with the default number of lock stripes.
+     */
+    public ConcurrentUndirectedSparseMultigraph()
+    {
+        this(DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Creates a new instance.
+     * @param concurrency_level the estimated number of concurrently
+     * mutating threads
+     */
+    public ConcurrentUndirectedSparseMultigraph(int concurrency_level)
+    {
+        super(concurrency_level);
+    }
+
+    public EdgeType getDefaultEdgeType()
+    {
+        return EdgeType.UNDIRECTED;
+    }
+
+    @Override
+    public boolean addEdge(E edge, Pair<? extends V> endpoints, EdgeType edgeType)
+    {
+        if (edgeType != EdgeType.UNDIRECTED)
+            throw new IllegalArgumentException("Edge type '" + edgeType +
+                    "' does not match the default edge type for this graph: '" +
+                    EdgeType.UNDIRECTED + "'");
+        return super.addEdge(edge, endpoints, edgeType);
+    }
+}
@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 
+import org.apache.commons.collections15.Closure;
 import org.apache.commons.collections15.Factory;
 
 import edu.uci.ics.jung.graph.util.EdgeType;
@@ -86,6 +87,27 @@ public class DirectedSparseGraph<V,E> extends AbstractTypedGraph<V, E> implement
         return true;
     }
 
+    @Override
+    public void ensureCapacity(int vertex_count, int edge_count)
+    {
+        vertices = presize(vertices, vertex_count);
+        edges = presize(edges, edge_count);
+    }
+
+    @Override
+    protected void addEdgeUnchecked(E edge, Pair<V> endpoints, EdgeType edge_type)
+    {
+        V source = endpoints.getFirst();
+        V dest = endpoints.getSecond();
+        if (!vertices.containsKey(source))
+            this.addVertex(source);
+        if (!vertices.containsKey(dest))
+            this.addVertex(dest);
+        edges.put(edge, endpoints);
+        vertices.get(source).getSecond().put(dest, edge);
+        vertices.get(dest).getFirst().put(source, edge);
+    }
+
     @Override
     public E findEdge(V v1, V v2)
     {
@@ -286,4 +308,78 @@ public class DirectedSparseGraph<V,E> extends AbstractTypedGraph<V, E> implement
         edges.remove(edge);
         return true;
     }
+
+    @Override
+    public boolean forEachInEdge(V vertex, Closure<? super E> visitor)
+    {
+        Pair<Map<V,E>> adjacency = vertices.get(vertex);
+        if (adjacency == null)
+            return false;
+        for (E edge : adjacency.getFirst().values())
+            visitor.execute(edge);
+        return true;
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, Closure<? super E> visitor)
+    {
+        Pair<Map<V,E>> adjacency = vertices.get(vertex);
+        if (adjacency == null)
+            return false;
+        for (E edge : adjacency.getSecond().values())
+            visitor.execute(edge);
+        return true;
+    }
+
+    @Override
+    public boolean forEachIncidentEdge(V vertex, Closure<? super E> visitor)
+    {
+        Pair<Map<V,E>> adjacency = vertices.get(vertex);
+        if (adjacency == null)
+            return false;
+        for (E edge : adjacency.getFirst().values())
+            visitor.execute(edge);
+        // a self-loop is both an incoming and an outgoing edge
+        for (Map.Entry<V,E> entry : adjacency.getSecond().entrySet())
+            if (!entry.getKey().equals(vertex))
+                visitor.execute(entry.getValue());
+        return true;
+    }
+
+    @Override
+    public boolean forEachPredecessor(V vertex, Closure<? super V> visitor)
+    {
+        Pair<Map<V,E>> adjacency = vertices.get(vertex);
+        if (adjacency == null)
+            return false;
+        for (V v : adjacency.getFirst().keySet())
+            visitor.execute(v);
+        return true;
+    }
+
+    @Override
+    public boolean forEachSuccessor(V vertex, Closure<? super V> visitor)
+    {
+        Pair<Map<V,E>> adjacency = vertices.get(vertex);
+        if (adjacency == null)
+            return false;
+        for (V v : adjacency.getSecond().keySet())
+            visitor.execute(v);
+        return true;
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Closure<? super V> visitor)
+    {
+        Pair<Map<V,E>> adjacency = vertices.get(vertex);
+        if (adjacency == null)
+            return false;
+        Map<V,E> preds = adjacency.getFirst();
+        for (V v : preds.keySet())
+            visitor.execute(v);
+        for (V v : adjacency.getSecond().keySet())
+            if (!preds.containsKey(v))
+                visitor.execute(v);
+        return true;
+    }
 }
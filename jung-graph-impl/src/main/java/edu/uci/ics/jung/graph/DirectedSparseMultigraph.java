@@ -18,6 +18,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.collections15.Closure;
 import org.apache.commons.collections15.Factory;
 
 import edu.uci.ics.jung.graph.util.EdgeType;
@@ -223,6 +224,27 @@ public class DirectedSparseMultigraph<V,E>
         return true;
 	}
 
+    @Override
+    public void ensureCapacity(int vertex_count, int edge_count)
+    {
+        vertices = presize(vertices, vertex_count);
+        edges = presize(edges, edge_count);
+    }
+
+    @Override
+    protected void addEdgeUnchecked(E edge, Pair<V> endpoints, EdgeType edge_type)
+    {
+        V source = endpoints.getFirst();
+        V dest = endpoints.getSecond();
+        if (!containsVertex(source))
+            this.addVertex(source);
+        if (!containsVertex(dest))
+            this.addVertex(dest);
+        edges.put(edge, endpoints);
+        getIncoming_internal(dest).add(edge);
+        getOutgoing_internal(source).add(edge);
+    }
+
     
     public V getSource(E edge) {
         if (!containsEdge(edge))
@@ -259,4 +281,38 @@ public class DirectedSparseMultigraph<V,E>
 	public int getVertexCount() {
 		return vertices.size();
 	}
+
+    @Override
+    public boolean forEachInEdge(V vertex, Closure<? super E> visitor)
+    {
+        if (!containsVertex(vertex))
+            return false;
+        for (E edge : getIncoming_internal(vertex))
+            visitor.execute(edge);
+        return true;
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, Closure<? super E> visitor)
+    {
+        if (!containsVertex(vertex))
+            return false;
+        for (E edge : getOutgoing_internal(vertex))
+            visitor.execute(edge);
+        return true;
+    }
+
+    @Override
+    public boolean forEachIncidentEdge(V vertex, Closure<? super E> visitor)
+    {
+        if (!containsVertex(vertex))
+            return false;
+        Collection<E> incoming = getIncoming_internal(vertex);
+        for (E edge : incoming)
+            visitor.execute(edge);
+        for (E edge : getOutgoing_internal(vertex))
+            if (!incoming.contains(edge))
+                visitor.execute(edge);
+        return true;
+    }
 }
@@ -0,0 +1,506 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.RandomAccessFile;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.IdDictionary;
+
+/**
+ * An immutable <code>DirectedGraph</code> whose adjacency structure is
+ * stored in compressed sparse row (CSR) form in a memory-mapped file,
+ * rather than on the Java heap.
+ *
+ * <p>The vertices are the <code>Integer</code>s <code>0..getVertexCount()-1</code>,
+ * and the edges are the <code>Integer</code>s <code>0..getEdgeCount()-1</code>;
+ * the outgoing edges of each vertex occupy a contiguous range of edge ids,
+ * sorted by destination.  The layout is otherwise the same as that of
+ * {@link CompactDirectedGraph}, and, like that class, this one implements
+ * {@link IndexedGraph} (with each index equal to the corresponding
+ * vertex or edge) and inherits its accessors from
+ * {@link AbstractCSRDirectedGraph}.
+ *
+ * <p>Opening a file maps it without reading it; pages are loaded (and
+ * evicted) on demand by the operating system.  The heap footprint is
+ * therefore independent of the size of the graph, which may be far
+ * larger than the maximum heap size.
+ *
+ * <p>Files are created with a {@link Builder}, which accepts edges as pairs
+ * of vertex ids in any order, or with {@link #write(Graph, File)}.
+ * All mutators throw <code>UnsupportedOperationException</code>.
+ */
+@SuppressWarnings("serial")
+public class MappedDirectedGraph extends AbstractCSRDirectedGraph<Integer,Integer>
+{
+    private static final int MAGIC = 0x4A554E47;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private final File file;
+
+    private transient int vertex_count;
+    private transient int edge_count;
+    private transient MappedIntArray out_offsets;  // out-edges of vertex i: edge ids out_offsets[i] .. out_offsets[i+1]-1
+    private transient MappedIntArray edge_dests;   // edge id -> destination vertex id
+    private transient MappedIntArray edge_sources; // edge id -> source vertex id
+    private transient MappedIntArray in_offsets;   // in-edges of vertex i: in_edges[in_offsets[i]] .. in_edges[in_offsets[i+1]-1]
+    private transient MappedIntArray in_edges;     // edge ids, sorted by (dest, source)
+
+    /**
+     * Opens the graph stored in <code>file</code>.
+     * @param file a file created by a <code>Builder</code>
+     * @throws IOException if the file cannot be read or is not in the expected format
+     */
+    public MappedDirectedGraph(File file) throws IOException
+    {
+        this.file = file;
+        map();
+    }
+
+    private void map() throws IOException
+    {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try
+        {
+            FileChannel channel = raf.getChannel();
+            if (channel.size() < HEADER_BYTES)
+                throw new IOException(file + " is not a mapped graph file");
+            IntBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).asIntBuffer();
+            if (header.get(0) != MAGIC || header.get(1) != FORMAT_VERSION)
+                throw new IOException(file + " is not a mapped graph file");
+            vertex_count = header.get(2);
+            edge_count = header.get(3);
+            long[] sections = layout(vertex_count, edge_count);
+            if (channel.size() != sections[5])
+                throw new IOException(file + " has length " + channel.size() + "; expected " + sections[5]);
+            FileChannel.MapMode mode = FileChannel.MapMode.READ_ONLY;
+            out_offsets = new MappedIntArray(channel, mode, sections[0], vertex_count + 1L);
+            edge_dests = new MappedIntArray(channel, mode, sections[1], edge_count);
+            edge_sources = new MappedIntArray(channel, mode, sections[2], edge_count);
+            in_offsets = new MappedIntArray(channel, mode, sections[3], vertex_count + 1L);
+            in_edges = new MappedIntArray(channel, mode, sections[4], edge_count);
+        }
+        finally
+        {
+            // the mappings remain valid after the channel is closed
+            raf.close();
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        map();
+    }
+
+    /**
+     * Returns the starting byte offsets of the five sections of a file
+     * with the specified vertex and edge counts, followed by the file length.
+     */
+    private static long[] layout(int vertex_count, int edge_count)
+    {
+        long[] sizes = {vertex_count + 1L, edge_count, edge_count, vertex_count + 1L, edge_count};
+        long[] sections = new long[sizes.length + 1];
+        sections[0] = HEADER_BYTES;
+        for (int i = 0; i < sizes.length; i++)
+            sections[i + 1] = sections[i] + sizes[i] * 4;
+        return sections;
+    }
+
+    /**
+     * Writes the vertices and edges of <code>graph</code> to <code>file</code>,
+     * and returns a graph that maps it.  The vertex with index <i>i</i> in
+     * the returned graph is the <i>i</i>th vertex returned by
+     * <code>graph.getVertices()</code>.
+     * @throws IllegalArgumentException if <code>graph</code> contains
+     * undirected edges
+     */
+    public static <V,E> MappedDirectedGraph write(Graph<V,E> graph, File file) throws IOException
+    {
+        IdDictionary<V> vertex_ids = new IdDictionary<V>(graph.getVertexCount());
+        for (V v : graph.getVertices())
+            vertex_ids.add(v);
+        Builder builder = new Builder(file, vertex_ids.size());
+        for (E e : graph.getEdges())
+        {
+            if (graph.getEdgeType(e) != EdgeType.DIRECTED)
+            {
+                builder.abort();
+                throw new IllegalArgumentException("edge " + e + " is not directed");
+            }
+            builder.addEdge(vertex_ids.getId(graph.getSource(e)), vertex_ids.getId(graph.getDest(e)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the file that this graph maps.
+     */
+    public File getFile()
+    {
+        return file;
+    }
+
+    @Override
+    protected int vertexId(Object vertex)
+    {
+        if (!(vertex instanceof Integer))
+            return -1;
+        int v = (Integer)vertex;
+        return v >= 0 && v < vertex_count ? v : -1;
+    }
+
+    @Override
+    protected int edgeId(Object edge)
+    {
+        if (!(edge instanceof Integer))
+            return -1;
+        int e = (Integer)edge;
+        return e >= 0 && e < edge_count ? e : -1;
+    }
+
+    @Override
+    protected int outOffset(int v)
+    {
+        return out_offsets.get(v);
+    }
+
+    @Override
+    protected int inOffset(int v)
+    {
+        return in_offsets.get(v);
+    }
+
+    @Override
+    protected int edgeSource(int e)
+    {
+        return edge_sources.get(e);
+    }
+
+    @Override
+    protected int edgeDest(int e)
+    {
+        return edge_dests.get(e);
+    }
+
+    @Override
+    protected int inEdge(int i)
+    {
+        return in_edges.get(i);
+    }
+
+    public Integer getVertex(int vertex_index)
+    {
+        if (vertex_index < 0 || vertex_index >= vertex_count)
+            throw new IndexOutOfBoundsException("vertex index " + vertex_index + " not in [0, " + vertex_count + ")");
+        return vertex_index;
+    }
+
+    public Integer getEdge(int edge_index)
+    {
+        if (edge_index < 0 || edge_index >= edge_count)
+            throw new IndexOutOfBoundsException("edge index " + edge_index + " not in [0, " + edge_count + ")");
+        return edge_index;
+    }
+
+    public Collection<Integer> getEdges()
+    {
+        return new IdRange(edge_count);
+    }
+
+    public Collection<Integer> getVertices()
+    {
+        return new IdRange(vertex_count);
+    }
+
+    public int getEdgeCount()
+    {
+        return edge_count;
+    }
+
+    public int getVertexCount()
+    {
+        return vertex_count;
+    }
+
+    /**
+     * An array of <code>int</code>s in a file region, mapped in chunks
+     * since a single mapping is limited to 2 GB.
+     */
+    private static final class MappedIntArray
+    {
+        private static final int CHUNK_SHIFT = 28;     // 2^28 ints (1 GB) per mapping
+        private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+        private final MappedByteBuffer[] buffers;
+        private final IntBuffer[] chunks;
+
+        MappedIntArray(FileChannel channel, FileChannel.MapMode mode, long position, long length)
+            throws IOException
+        {
+            int chunk_count = (int)((length + CHUNK_MASK) >>> CHUNK_SHIFT);
+            buffers = new MappedByteBuffer[chunk_count];
+            chunks = new IntBuffer[chunk_count];
+            for (int i = 0; i < chunk_count; i++)
+            {
+                long start = (long)i << CHUNK_SHIFT;
+                long chunk_length = Math.min(CHUNK_MASK + 1L, length - start);
+                buffers[i] = channel.map(mode, position + start * 4, chunk_length * 4);
+                chunks[i] = buffers[i].asIntBuffer();
+            }
+        }
+
+        int get(int index)
+        {
+            return chunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+        }
+
+        void set(int index, int value)
+        {
+            chunks[index >>> CHUNK_SHIFT].put(index & CHUNK_MASK, value);
+        }
+
+        void force()
+        {
+            for (MappedByteBuffer buffer : buffers)
+                buffer.force();
+        }
+    }
+
+    /**
+     * A read-only view of the ids <code>0..size-1</code>.
+     */
+    private static class IdRange extends AbstractList<Integer> implements RandomAccess
+    {
+        private final int size;
+
+        IdRange(int size)
+        {
+            this.size = size;
+        }
+
+        @Override
+        public Integer get(int index)
+        {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("index " + index + " not in [0, " + size + ")");
+            return index;
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return o instanceof Integer && (Integer)o >= 0 && (Integer)o < size;
+        }
+    }
+
+    /**
+     * Writes a <code>MappedDirectedGraph</code> file from a stream of edges,
+     * given as pairs of vertex ids.  Edges may be added in any order; the
+     * id of each edge in the resulting graph is its position when the
+     * edges are sorted by (source, destination).  Heap usage is
+     * proportional to the number of vertices, not the number of edges:
+     * edges are staged in a temporary file next to the output file.
+     */
+    public static class Builder
+    {
+        private final File file;
+        private final File staging_file;
+        private final DataOutputStream staging;
+        private final int[] out_degrees;
+        private final int[] in_degrees;
+        private int edge_count;
+
+        /**
+         * Creates a builder that will write a graph with the specified number
+         * of vertices to <code>file</code>.
+         * @param file the file to be written
+         * @param vertex_count the number of vertices; vertex ids are in
+         * <code>[0, vertex_count)</code>
+         */
+        public Builder(File file, int vertex_count) throws IOException
+        {
+            if (vertex_count < 0 || vertex_count == Integer.MAX_VALUE)
+                throw new IllegalArgumentException("invalid vertex count: " + vertex_count);
+            this.file = file;
+            File directory = file.getAbsoluteFile().getParentFile();
+            this.staging_file = File.createTempFile("graph", ".edges", directory);
+            this.staging = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(staging_file), 1 << 16));
+            this.out_degrees = new int[vertex_count];
+            this.in_degrees = new int[vertex_count];
+        }
+
+        /**
+         * Adds an edge from the vertex with id <code>source</code> to the
+         * vertex with id <code>dest</code>.
+         * @return this builder
+         */
+        public Builder addEdge(int source, int dest) throws IOException
+        {
+            if (source < 0 || source >= out_degrees.length || dest < 0 || dest >= out_degrees.length)
+                throw new IllegalArgumentException("vertex ids <" + source + ", " + dest +
+                    "> not in [0, " + out_degrees.length + ")");
+            if (edge_count == Integer.MAX_VALUE)
+                throw new IllegalStateException("too many edges");
+            staging.writeInt(source);
+            staging.writeInt(dest);
+            out_degrees[source]++;
+            in_degrees[dest]++;
+            edge_count++;
+            return this;
+        }
+
+        /**
+         * Discards the edges added so far, without writing the output file.
+         */
+        public void abort() throws IOException
+        {
+            staging.close();
+            staging_file.delete();
+        }
+
+        /**
+         * Writes the output file and returns a graph that maps it.
+         * The builder should not be used afterwards.
+         */
+        public MappedDirectedGraph build() throws IOException
+        {
+            staging.close();
+            try
+            {
+                write();
+            }
+            finally
+            {
+                staging_file.delete();
+            }
+            return new MappedDirectedGraph(file);
+        }
+
+        private void write() throws IOException
+        {
+            int vertex_count = out_degrees.length;
+            long[] sections = layout(vertex_count, edge_count);
+            RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            try
+            {
+                raf.setLength(0);
+                raf.setLength(sections[5]);
+                FileChannel channel = raf.getChannel();
+                FileChannel.MapMode mode = FileChannel.MapMode.READ_WRITE;
+                MappedIntArray out_offsets = new MappedIntArray(channel, mode, sections[0], vertex_count + 1L);
+                MappedIntArray edge_dests = new MappedIntArray(channel, mode, sections[1], edge_count);
+                MappedIntArray edge_sources = new MappedIntArray(channel, mode, sections[2], edge_count);
+                MappedIntArray in_offsets = new MappedIntArray(channel, mode, sections[3], vertex_count + 1L);
+                MappedIntArray in_edges = new MappedIntArray(channel, mode, sections[4], edge_count);
+
+                int max_out_degree = 0;
+                for (int degree : out_degrees)
+                    max_out_degree = Math.max(max_out_degree, degree);
+
+                // the degree arrays are reused as insertion cursors
+                int[] out_cursors = toOffsets(out_degrees, out_offsets);
+                int[] in_cursors = toOffsets(in_degrees, in_offsets);
+
+                DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(staging_file), 1 << 16));
+                try
+                {
+                    for (int i = 0; i < edge_count; i++)
+                    {
+                        int source = in.readInt();
+                        int dest = in.readInt();
+                        int position = out_cursors[source]++;
+                        edge_sources.set(position, source);
+                        edge_dests.set(position, dest);
+                    }
+                }
+                finally
+                {
+                    in.close();
+                }
+
+                // sort each out-row by destination, copying it through a single buffer
+                int[] row = new int[max_out_degree];
+                for (int v = 0; v < vertex_count; v++)
+                {
+                    int start = out_offsets.get(v);
+                    int length = out_offsets.get(v + 1) - start;
+                    for (int i = 0; i < length; i++)
+                        row[i] = edge_dests.get(start + i);
+                    Arrays.sort(row, 0, length);
+                    for (int i = 0; i < length; i++)
+                        edge_dests.set(start + i, row[i]);
+                }
+
+                // edge ids are in source order, so this yields (dest, source) order
+                for (int e = 0; e < edge_count; e++)
+                    in_edges.set(in_cursors[edge_dests.get(e)]++, e);
+
+                out_offsets.force();
+                edge_dests.force();
+                edge_sources.force();
+                in_offsets.force();
+                in_edges.force();
+
+                // the header is written last, so that an incomplete file cannot be opened
+                MappedByteBuffer header = channel.map(mode, 0, HEADER_BYTES);
+                header.asIntBuffer().put(MAGIC).put(FORMAT_VERSION).put(vertex_count).put(edge_count);
+                header.force();
+            }
+            finally
+            {
+                raf.close();
+            }
+        }
+
+        /**
+         * Writes the running sums of <code>degrees</code> to <code>offsets</code>,
+         * and replaces each degree with the corresponding starting offset.
+         */
+        private static int[] toOffsets(int[] degrees, MappedIntArray offsets)
+        {
+            int sum = 0;
+            for (int v = 0; v < degrees.length; v++)
+            {
+                int degree = degrees[v];
+                offsets.set(v, sum);
+                degrees[v] = sum;
+                sum += degree;
+            }
+            offsets.set(degrees.length, sum);
+            return degrees;
+        }
+    }
+}
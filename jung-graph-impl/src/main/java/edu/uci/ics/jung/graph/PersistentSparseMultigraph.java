@@ -0,0 +1,502 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+package edu.uci.ics.jung.graph;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.collections15.Closure;
+import org.apache.commons.collections15.Factory;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
+import edu.uci.ics.jung.graph.util.PersistentHashMap;
+
+/**
+ * An implementation of <code>Graph</code> that is suitable for sparse graphs,
+ * permits directed, undirected, and parallel edges, and can provide
+ * immutable snapshots of itself in constant time.
+ *
+ * <p>The graph's state is held in persistent (immutable) maps: each
+ * mutation creates a new {@link Version} that shares all but a logarithmic
+ * amount of its structure with the previous one.  {@link #snapshot()}
+ * simply captures the current version, so a long-running analysis can work
+ * on a stable graph without copying it and without blocking writers.
+ *
+ * <p>Mutations are serialized; reads do not block.  Each read operates on
+ * a single version, and the collections that it returns are never
+ * affected by subsequent mutations.
+ */
+@SuppressWarnings("serial")
+public class PersistentSparseMultigraph<V,E>
+    extends AbstractGraph<V,E>
+    implements MultiGraph<V,E>
+{
+    /**
+     * Returns a {@code Factory} that creates an instance of this graph type.
+     * @param <V> the vertex type for the graph factory
+     * @param <E> the edge type for the graph factory
+     */
+    public static <V,E> Factory<Graph<V,E>> getFactory()
+    {
+        return new Factory<Graph<V,E>> () {
+            public Graph<V,E> create() {
+                return new PersistentSparseMultigraph<V,E>();
+            }
+        };
+    }
+
+    /**
+     * The current state of this graph.
+     */
+    protected volatile Version<V,E> version;
+
+    /**
+     * Creates a new instance.
+     */
+    public PersistentSparseMultigraph()
+    {
+        this(new Version<V,E>(PersistentHashMap.<V, Pair<PersistentHashMap<E,V>>>empty(),
+                PersistentHashMap.<E, Pair<V>>empty(), PersistentHashMap.<E, Boolean>empty(), 0));
+    }
+
+    private PersistentSparseMultigraph(Version<V,E> version)
+    {
+        this.version = version;
+    }
+
+    /**
+     * Returns an immutable view of the current state of this graph.  The
+     * view is not affected by subsequent changes to this graph.
+     */
+    public Graph<V,E> snapshot()
+    {
+        return new Snapshot<V,E>(version);
+    }
+
+    /**
+     * Returns the number of mutations that have been applied to this graph
+     * (or, for a snapshot, to the graph from which it was taken).
+     */
+    public long getVersionNumber()
+    {
+        return version.number;
+    }
+
+    public Collection<E> getEdges()
+    {
+        return Collections.unmodifiableCollection(version.edges.keySet());
+    }
+
+    public Collection<V> getVertices()
+    {
+        return Collections.unmodifiableCollection(version.vertices.keySet());
+    }
+
+    public boolean containsVertex(V vertex)
+    {
+        return version.vertices.containsKey(vertex);
+    }
+
+    public boolean containsEdge(E edge)
+    {
+        return version.edges.containsKey(edge);
+    }
+
+    public int getEdgeCount()
+    {
+        return version.edges.size();
+    }
+
+    public int getVertexCount()
+    {
+        return version.vertices.size();
+    }
+
+    public synchronized boolean addVertex(V vertex)
+    {
+        if(vertex == null) {
+            throw new IllegalArgumentException("vertex may not be null");
+        }
+        Version<V,E> current = version;
+        if (current.vertices.containsKey(vertex))
+            return false;
+        version = new Version<V,E>(current.vertices.plus(vertex, Version.<V,E>emptyIncidence()),
+                current.edges, current.directed_edges, current.number + 1);
+        return true;
+    }
+
+    public synchronized boolean removeVertex(V vertex)
+    {
+        if (!containsVertex(vertex))
+            return false;
+
+        Version<V,E> current = version;
+        Pair<PersistentHashMap<E,V>> incidence = current.vertices.get(vertex);
+        Set<E> incident = new HashSet<E>(incidence.getFirst().keySet());
+        incident.addAll(incidence.getSecond().keySet());
+        for (E edge : incident)
+            current = current.minusEdge(edge);
+
+        version = new Version<V,E>(current.vertices.minus(vertex), current.edges,
+                current.directed_edges, version.number + 1);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean addEdge(E edge, Pair<? extends V> endpoints, EdgeType edgeType)
+    {
+        Pair<V> new_endpoints = getValidatedEndpoints(edge, endpoints);
+        if (new_endpoints == null)
+            return false;
+
+        V v1 = new_endpoints.getFirst();
+        V v2 = new_endpoints.getSecond();
+        Version<V,E> current = version;
+        PersistentHashMap<V, Pair<PersistentHashMap<E,V>>> vertices = current.vertices;
+
+        Pair<PersistentHashMap<E,V>> incidence1 = current.getIncidence(v1);
+        if (edgeType == EdgeType.DIRECTED)
+            incidence1 = new Pair<PersistentHashMap<E,V>>(incidence1.getFirst(),
+                    incidence1.getSecond().plus(edge, v2));
+        else
+            incidence1 = new Pair<PersistentHashMap<E,V>>(incidence1.getFirst().plus(edge, v2),
+                    incidence1.getSecond().plus(edge, v2));
+        vertices = vertices.plus(v1, incidence1);
+
+        Pair<PersistentHashMap<E,V>> incidence2 = v1.equals(v2) ? incidence1 : vertices.get(v2);
+        if (incidence2 == null)
+            incidence2 = Version.<V,E>emptyIncidence();
+        if (edgeType == EdgeType.DIRECTED)
+            incidence2 = new Pair<PersistentHashMap<E,V>>(incidence2.getFirst().plus(edge, v1),
+                    incidence2.getSecond());
+        else
+            incidence2 = new Pair<PersistentHashMap<E,V>>(incidence2.getFirst().plus(edge, v1),
+                    incidence2.getSecond().plus(edge, v1));
+        vertices = vertices.plus(v2, incidence2);
+
+        version = new Version<V,E>(vertices, current.edges.plus(edge, new_endpoints),
+                edgeType == EdgeType.DIRECTED ?
+                    current.directed_edges.plus(edge, Boolean.TRUE) : current.directed_edges,
+                current.number + 1);
+        return true;
+    }
+
+    public synchronized boolean removeEdge(E edge)
+    {
+        if (!containsEdge(edge))
+            return false;
+        Version<V,E> current = version;
+        Version<V,E> removed = current.minusEdge(edge);
+        version = new Version<V,E>(removed.vertices, removed.edges, removed.directed_edges,
+                current.number + 1);
+        return true;
+    }
+
+    public Collection<E> getInEdges(V vertex)
+    {
+        Pair<PersistentHashMap<E,V>> incidence = version.vertices.get(vertex);
+        if (incidence == null)
+            return null;
+        return Collections.unmodifiableCollection(incidence.getFirst().keySet());
+    }
+
+    public Collection<E> getOutEdges(V vertex)
+    {
+        Pair<PersistentHashMap<E,V>> incidence = version.vertices.get(vertex);
+        if (incidence == null)
+            return null;
+        return Collections.unmodifiableCollection(incidence.getSecond().keySet());
+    }
+
+    public Collection<V> getPredecessors(V vertex)
+    {
+        Pair<PersistentHashMap<E,V>> incidence = version.vertices.get(vertex);
+        if (incidence == null)
+            return null;
+        return Collections.unmodifiableCollection(new HashSet<V>(incidence.getFirst().values()));
+    }
+
+    public Collection<V> getSuccessors(V vertex)
+    {
+        Pair<PersistentHashMap<E,V>> incidence = version.vertices.get(vertex);
+        if (incidence == null)
+            return null;
+        return Collections.unmodifiableCollection(new HashSet<V>(incidence.getSecond().values()));
+    }
+
+    public Collection<V> getNeighbors(V vertex)
+    {
+        Pair<PersistentHashMap<E,V>> incidence = version.vertices.get(vertex);
+        if (incidence == null)
+            return null;
+        Set<V> neighbors = new HashSet<V>(incidence.getFirst().values());
+        neighbors.addAll(incidence.getSecond().values());
+        return Collections.unmodifiableCollection(neighbors);
+    }
+
+    public Collection<E> getIncidentEdges(V vertex)
+    {
+        Pair<PersistentHashMap<E,V>> incidence = version.vertices.get(vertex);
+        if (incidence == null)
+            return null;
+        Set<E> incident = new HashSet<E>(incidence.getFirst().keySet());
+        incident.addAll(incidence.getSecond().keySet());
+        return Collections.unmodifiableCollection(incident);
+    }
+
+    @Override
+    public E findEdge(V v1, V v2)
+    {
+        Version<V,E> current = version;
+        Pair<PersistentHashMap<E,V>> incidence = current.vertices.get(v1);
+        if (incidence == null || !current.vertices.containsKey(v2))
+            return null;
+        for (Map.Entry<E,V> entry : incidence.getSecond().entrySet())
+            if (entry.getValue().equals(v2))
+                return entry.getKey();
+        return null;
+    }
+
+    @Override
+    public Collection<E> findEdgeSet(V v1, V v2)
+    {
+        Version<V,E> current = version;
+        Pair<PersistentHashMap<E,V>> incidence = current.vertices.get(v1);
+        if (incidence == null || !current.vertices.containsKey(v2))
+            return null;
+        Collection<E> edge_set = new HashSet<E>();
+        for (Map.Entry<E,V> entry : incidence.getSecond().entrySet())
+            if (entry.getValue().equals(v2))
+                edge_set.add(entry.getKey());
+        return Collections.unmodifiableCollection(edge_set);
+    }
+
+    public Pair<V> getEndpoints(E edge)
+    {
+        return version.edges.get(edge);
+    }
+
+    public V getSource(E edge)
+    {
+        Version<V,E> current = version;
+        if (current.directed_edges.containsKey(edge))
+            return current.edges.get(edge).getFirst();
+        return null;
+    }
+
+    public V getDest(E edge)
+    {
+        Version<V,E> current = version;
+        if (current.directed_edges.containsKey(edge))
+            return current.edges.get(edge).getSecond();
+        return null;
+    }
+
+    public boolean isSource(V vertex, E edge)
+    {
+        V source = getSource(edge);
+        return source != null && source.equals(vertex);
+    }
+
+    public boolean isDest(V vertex, E edge)
+    {
+        V dest = getDest(edge);
+        return dest != null && dest.equals(vertex);
+    }
+
+    public EdgeType getEdgeType(E edge)
+    {
+        Version<V,E> current = version;
+        if (!current.edges.containsKey(edge))
+            return null;
+        return current.directed_edges.containsKey(edge) ? EdgeType.DIRECTED : EdgeType.UNDIRECTED;
+    }
+
+    public Collection<E> getEdges(EdgeType edge_type)
+    {
+        Version<V,E> current = version;
+        if (edge_type == EdgeType.DIRECTED)
+            return Collections.unmodifiableCollection(current.directed_edges.keySet());
+        Collection<E> undirected = new HashSet<E>();
+        if (edge_type == EdgeType.UNDIRECTED)
+        {
+            for (E edge : current.edges.keySet())
+                if (!current.directed_edges.containsKey(edge))
+                    undirected.add(edge);
+        }
+        return Collections.unmodifiableCollection(undirected);
+    }
+
+    public int getEdgeCount(EdgeType edge_type)
+    {
+        Version<V,E> current = version;
+        if (edge_type == EdgeType.DIRECTED)
+            return current.directed_edges.size();
+        if (edge_type == EdgeType.UNDIRECTED)
+            return current.edges.size() - current.directed_edges.size();
+        return 0;
+    }
+
+    public EdgeType getDefaultEdgeType()
+    {
+        return EdgeType.UNDIRECTED;
+    }
+
+    /**
+     * An immutable state of a <code>PersistentSparseMultigraph</code>.
+     */
+    protected static final class Version<V,E> implements Serializable
+    {
+        /**
+         * Map of vertices to Pair of incidence maps {incoming, outgoing}; each
+         * incidence map takes an edge to the opposite endpoint.
+         */
+        protected final PersistentHashMap<V, Pair<PersistentHashMap<E,V>>> vertices;
+        /**
+         * Map of edges to incident vertex pairs.
+         */
+        protected final PersistentHashMap<E, Pair<V>> edges;
+        /**
+         * The directed edges, each mapped to <code>Boolean.TRUE</code>.
+         */
+        protected final PersistentHashMap<E, Boolean> directed_edges;
+        /**
+         * The number of mutations that produced this version.
+         */
+        protected final long number;
+
+        Version(PersistentHashMap<V, Pair<PersistentHashMap<E,V>>> vertices,
+                PersistentHashMap<E, Pair<V>> edges, PersistentHashMap<E, Boolean> directed_edges,
+                long number)
+        {
+            this.vertices = vertices;
+            this.edges = edges;
+            this.directed_edges = directed_edges;
+            this.number = number;
+        }
+
+        static <V,E> Pair<PersistentHashMap<E,V>> emptyIncidence()
+        {
+            return new Pair<PersistentHashMap<E,V>>(PersistentHashMap.<E,V>empty(),
+                    PersistentHashMap.<E,V>empty());
+        }
+
+        Pair<PersistentHashMap<E,V>> getIncidence(V vertex)
+        {
+            Pair<PersistentHashMap<E,V>> incidence = vertices.get(vertex);
+            return incidence == null ? Version.<V,E>emptyIncidence() : incidence;
+        }
+
+        /**
+         * Returns a version without <code>edge</code>, with the same version number.
+         */
+        Version<V,E> minusEdge(E edge)
+        {
+            Pair<V> endpoints = edges.get(edge);
+            PersistentHashMap<V, Pair<PersistentHashMap<E,V>>> new_vertices = vertices;
+            for (V v : new HashSet<V>(endpoints))
+            {
+                Pair<PersistentHashMap<E,V>> incidence = new_vertices.get(v);
+                new_vertices = new_vertices.plus(v, new Pair<PersistentHashMap<E,V>>(
+                        incidence.getFirst().minus(edge), incidence.getSecond().minus(edge)));
+            }
+            return new Version<V,E>(new_vertices, edges.minus(edge), directed_edges.minus(edge), number);
+        }
+    }
+
+    /**
+     * An immutable view of a single version of a <code>PersistentSparseMultigraph</code>.
+     */
+    private static class Snapshot<V,E> extends PersistentSparseMultigraph<V,E>
+    {
+        Snapshot(Version<V,E> version)
+        {
+            super(version);
+        }
+
+        @Override
+        public Graph<V,E> snapshot()
+        {
+            return this;
+        }
+
+        @Override
+        public boolean addVertex(V vertex)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean removeVertex(V vertex)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean addEdge(E edge, Pair<? extends V> endpoints, EdgeType edgeType)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean removeEdge(E edge)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Override
+    public boolean forEachInEdge(V vertex, Closure<? super E> visitor)
+    {
+        Pair<PersistentHashMap<E,V>> incidence = version.vertices.get(vertex);
+        if (incidence == null)
+            return false;
+        for (E edge : incidence.getFirst().keySet())
+            visitor.execute(edge);
+        return true;
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, Closure<? super E> visitor)
+    {
+        Pair<PersistentHashMap<E,V>> incidence = version.vertices.get(vertex);
+        if (incidence == null)
+            return false;
+        for (E edge : incidence.getSecond().keySet())
+            visitor.execute(edge);
+        return true;
+    }
+
+    /**
+     * Visits the incident edges of <code>vertex</code> in the current version
+     * without copying them; mutations made by the visitor are not seen.
+     */
+    @Override
+    public boolean forEachIncidentEdge(V vertex, Closure<? super E> visitor)
+    {
+        Pair<PersistentHashMap<E,V>> incidence = version.vertices.get(vertex);
+        if (incidence == null)
+            return false;
+        PersistentHashMap<E,V> incoming = incidence.getFirst();
+        for (E edge : incoming.keySet())
+            visitor.execute(edge);
+        for (E edge : incidence.getSecond().keySet())
+            if (!incoming.containsKey(edge))
+                visitor.execute(edge);
+        return true;
+    }
+}
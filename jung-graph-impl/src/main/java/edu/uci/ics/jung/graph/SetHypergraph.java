@@ -20,6 +20,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.collections15.Closure;
 import org.apache.commons.collections15.Factory;
 
 import edu.uci.ics.jung.graph.util.EdgeType;
@@ -34,6 +35,13 @@ public class SetHypergraph<V,H>
 {
     protected Map<V, Set<H>> vertices; // Map of vertices to incident hyperedge sets
     protected Map<H, Set<V>> edges;    // Map of hyperedges to incident vertex sets
+
+    /**
+     * The largest number of incident hyperedges for which
+     * <code>forEachNeighbor</code> removes duplicate neighbors by checking
+     * the earlier hyperedges, rather than by collecting the neighbors.
+     */
+    private static final int MAX_SCANNED_DEGREE = 8;
  
     /**
      * Returns a <code>Factory</code> which creates instances of this class.
@@ -341,4 +349,73 @@ public class SetHypergraph<V,H>
 	{
 		return getNeighbors(vertex);
 	}
+
+	public boolean forEachIncidentEdge(V vertex, Closure<? super H> visitor)
+	{
+		Set<H> incident = vertices.get(vertex);
+		if (incident == null)
+			return false;
+		for (H hyperedge : incident)
+			visitor.execute(hyperedge);
+		return true;
+	}
+
+	public boolean forEachInEdge(V vertex, Closure<? super H> visitor)
+	{
+		return forEachIncidentEdge(vertex, visitor);
+	}
+
+	public boolean forEachOutEdge(V vertex, Closure<? super H> visitor)
+	{
+		return forEachIncidentEdge(vertex, visitor);
+	}
+
+	public boolean forEachNeighbor(V vertex, Closure<? super V> visitor)
+	{
+		Set<H> incident = vertices.get(vertex);
+		if (incident == null)
+			return false;
+		if (incident.size() > MAX_SCANNED_DEGREE)
+		{
+			for (V v : getNeighbors(vertex))
+				visitor.execute(v);
+			return true;
+		}
+		// each neighbor is visited from the first incident hyperedge that contains it
+		int index = 0;
+		for (H hyperedge : incident)
+		{
+			for (V v : edges.get(hyperedge))
+				if (!containedBefore(incident, index, v))
+					visitor.execute(v);
+			index++;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns <code>true</code> if any of the first <code>count</code>
+	 * hyperedges in <code>incident</code> contains <code>v</code>.
+	 */
+	private boolean containedBefore(Set<H> incident, int count, V v)
+	{
+		for (H hyperedge : incident)
+		{
+			if (count-- == 0)
+				return false;
+			if (edges.get(hyperedge).contains(v))
+				return true;
+		}
+		return false;
+	}
+
+	public boolean forEachPredecessor(V vertex, Closure<? super V> visitor)
+	{
+		return forEachNeighbor(vertex, visitor);
+	}
+
+	public boolean forEachSuccessor(V vertex, Closure<? super V> visitor)
+	{
+		return forEachNeighbor(vertex, visitor);
+	}
 }
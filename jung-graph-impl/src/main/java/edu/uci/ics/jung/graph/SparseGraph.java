@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 
+import org.apache.commons.collections15.Closure;
 import org.apache.commons.collections15.Factory;
 
 import edu.uci.ics.jung.graph.util.EdgeType;
@@ -132,6 +133,40 @@ public class SparseGraph<V,E>
         return true;
     }
 
+    /**
+     * Sizes the table of edges of the default edge type (undirected) for
+     * <code>edge_count</code> edges.
+     */
+    @Override
+    public void ensureCapacity(int vertex_count, int edge_count)
+    {
+        vertex_maps = presize(vertex_maps, vertex_count);
+        undirected_edges = presize(undirected_edges, edge_count);
+    }
+
+    @Override
+    protected void addEdgeUnchecked(E edge, Pair<V> endpoints, EdgeType edge_type)
+    {
+        V v1 = endpoints.getFirst();
+        V v2 = endpoints.getSecond();
+        if (!containsVertex(v1))
+            this.addVertex(v1);
+        if (!containsVertex(v2))
+            this.addVertex(v2);
+        if (edge_type == EdgeType.DIRECTED)
+        {
+            vertex_maps.get(v1)[OUTGOING].put(v2, edge);
+            vertex_maps.get(v2)[INCOMING].put(v1, edge);
+            directed_edges.put(edge, endpoints);
+        }
+        else
+        {
+            vertex_maps.get(v1)[INCIDENT].put(v2, edge);
+            vertex_maps.get(v2)[INCIDENT].put(v1, edge);
+            undirected_edges.put(edge, endpoints);
+        }
+    }
+
     
     
     public Collection<E> getInEdges(V vertex)
@@ -370,4 +405,93 @@ public class SparseGraph<V,E>
 	{
 		return EdgeType.UNDIRECTED;
 	}
+
+    @Override
+    public boolean forEachInEdge(V vertex, Closure<? super E> visitor)
+    {
+        Map<V,E>[] maps = vertex_maps.get(vertex);
+        if (maps == null)
+            return false;
+        // directed and undirected edges are disjoint
+        for (E edge : maps[INCOMING].values())
+            visitor.execute(edge);
+        for (E edge : maps[INCIDENT].values())
+            visitor.execute(edge);
+        return true;
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, Closure<? super E> visitor)
+    {
+        Map<V,E>[] maps = vertex_maps.get(vertex);
+        if (maps == null)
+            return false;
+        for (E edge : maps[OUTGOING].values())
+            visitor.execute(edge);
+        for (E edge : maps[INCIDENT].values())
+            visitor.execute(edge);
+        return true;
+    }
+
+    @Override
+    public boolean forEachIncidentEdge(V vertex, Closure<? super E> visitor)
+    {
+        Map<V,E>[] maps = vertex_maps.get(vertex);
+        if (maps == null)
+            return false;
+        for (E edge : maps[INCOMING].values())
+            visitor.execute(edge);
+        // a directed self-loop is both an incoming and an outgoing edge
+        for (Map.Entry<V,E> entry : maps[OUTGOING].entrySet())
+            if (!entry.getKey().equals(vertex))
+                visitor.execute(entry.getValue());
+        for (E edge : maps[INCIDENT].values())
+            visitor.execute(edge);
+        return true;
+    }
+
+    @Override
+    public boolean forEachPredecessor(V vertex, Closure<? super V> visitor)
+    {
+        Map<V,E>[] maps = vertex_maps.get(vertex);
+        if (maps == null)
+            return false;
+        for (V v : maps[INCOMING].keySet())
+            visitor.execute(v);
+        for (V v : maps[INCIDENT].keySet())
+            if (!maps[INCOMING].containsKey(v))
+                visitor.execute(v);
+        return true;
+    }
+
+    @Override
+    public boolean forEachSuccessor(V vertex, Closure<? super V> visitor)
+    {
+        Map<V,E>[] maps = vertex_maps.get(vertex);
+        if (maps == null)
+            return false;
+        for (V v : maps[OUTGOING].keySet())
+            visitor.execute(v);
+        for (V v : maps[INCIDENT].keySet())
+            if (!maps[OUTGOING].containsKey(v))
+                visitor.execute(v);
+        return true;
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Closure<? super V> visitor)
+    {
+        Map<V,E>[] maps = vertex_maps.get(vertex);
+        if (maps == null)
+            return false;
+        for (V v : maps[INCOMING].keySet())
+            visitor.execute(v);
+        for (V v : maps[OUTGOING].keySet())
+            if (!maps[INCOMING].containsKey(v))
+                visitor.execute(v);
+        for (V v : maps[INCIDENT].keySet())
+            if (!maps[INCOMING].containsKey(v) && !maps[OUTGOING].containsKey(v))
+                visitor.execute(v);
+        return true;
+    }
 }
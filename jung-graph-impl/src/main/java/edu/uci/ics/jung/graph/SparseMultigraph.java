@@ -18,6 +18,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.collections15.Closure;
 import org.apache.commons.collections15.Factory;
 
 import edu.uci.ics.jung.graph.util.EdgeType;
@@ -145,6 +146,33 @@ public class SparseMultigraph<V,E>
         }
         return true;
     }
+
+    @Override
+    public void ensureCapacity(int vertex_count, int edge_count)
+    {
+        vertices = presize(vertices, vertex_count);
+        edges = presize(edges, edge_count);
+    }
+
+    @Override
+    protected void addEdgeUnchecked(E edge, Pair<V> endpoints, EdgeType edge_type)
+    {
+        V v1 = endpoints.getFirst();
+        V v2 = endpoints.getSecond();
+        if (!vertices.containsKey(v1))
+            this.addVertex(v1);
+        if (!vertices.containsKey(v2))
+            this.addVertex(v2);
+        vertices.get(v1).getSecond().add(edge);
+        vertices.get(v2).getFirst().add(edge);
+        edges.put(edge, endpoints);
+        if (edge_type == EdgeType.DIRECTED) {
+            directedEdges.add(edge);
+        } else {
+            vertices.get(v1).getFirst().add(edge);
+            vertices.get(v2).getSecond().add(edge);
+        }
+    }
     
     public boolean removeEdge(E edge)
     {
@@ -317,4 +345,38 @@ public class SparseMultigraph<V,E>
 	{
 		return EdgeType.UNDIRECTED;
 	}
+
+    @Override
+    public boolean forEachInEdge(V vertex, Closure<? super E> visitor)
+    {
+        if (!containsVertex(vertex))
+            return false;
+        for (E edge : getIncoming_internal(vertex))
+            visitor.execute(edge);
+        return true;
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, Closure<? super E> visitor)
+    {
+        if (!containsVertex(vertex))
+            return false;
+        for (E edge : getOutgoing_internal(vertex))
+            visitor.execute(edge);
+        return true;
+    }
+
+    @Override
+    public boolean forEachIncidentEdge(V vertex, Closure<? super E> visitor)
+    {
+        if (!containsVertex(vertex))
+            return false;
+        Collection<E> incoming = getIncoming_internal(vertex);
+        for (E edge : incoming)
+            visitor.execute(edge);
+        for (E edge : getOutgoing_internal(vertex))
+            if (!incoming.contains(edge))
+                visitor.execute(edge);
+        return true;
+    }
 }
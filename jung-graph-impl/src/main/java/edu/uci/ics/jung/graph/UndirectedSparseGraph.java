@@ -17,6 +17,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.commons.collections15.Closure;
 import org.apache.commons.collections15.Factory;
 
 import edu.uci.ics.jung.graph.util.EdgeType;
@@ -86,6 +87,27 @@ public class UndirectedSparseGraph<V, E> extends AbstractTypedGraph<V, E>
         return true;
     }
 
+    @Override
+    public void ensureCapacity(int vertex_count, int edge_count)
+    {
+        vertices = presize(vertices, vertex_count);
+        edges = presize(edges, edge_count);
+    }
+
+    @Override
+    protected void addEdgeUnchecked(E edge, Pair<V> endpoints, EdgeType edge_type)
+    {
+        V v1 = endpoints.getFirst();
+        V v2 = endpoints.getSecond();
+        if (!vertices.containsKey(v1))
+            this.addVertex(v1);
+        if (!vertices.containsKey(v2))
+            this.addVertex(v2);
+        edges.put(edge, endpoints);
+        vertices.get(v1).put(v2, edge);
+        vertices.get(v2).put(v1, edge);
+    }
+
     public Collection<E> getInEdges(V vertex)
     {
         return this.getIncidentEdges(vertex);
@@ -240,4 +262,50 @@ public class UndirectedSparseGraph<V, E> extends AbstractTypedGraph<V, E>
         edges.remove(edge);
         return true;
     }
+
+    @Override
+    public boolean forEachIncidentEdge(V vertex, Closure<? super E> visitor)
+    {
+        Map<V,E> adjacency = vertices.get(vertex);
+        if (adjacency == null)
+            return false;
+        for (E edge : adjacency.values())
+            visitor.execute(edge);
+        return true;
+    }
+
+    @Override
+    public boolean forEachNeighbor(V vertex, Closure<? super V> visitor)
+    {
+        Map<V,E> adjacency = vertices.get(vertex);
+        if (adjacency == null)
+            return false;
+        for (V v : adjacency.keySet())
+            visitor.execute(v);
+        return true;
+    }
+
+    @Override
+    public boolean forEachInEdge(V vertex, Closure<? super E> visitor)
+    {
+        return forEachIncidentEdge(vertex, visitor);
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, Closure<? super E> visitor)
+    {
+        return forEachIncidentEdge(vertex, visitor);
+    }
+
+    @Override
+    public boolean forEachPredecessor(V vertex, Closure<? super V> visitor)
+    {
+        return forEachNeighbor(vertex, visitor);
+    }
+
+    @Override
+    public boolean forEachSuccessor(V vertex, Closure<? super V> visitor)
+    {
+        return forEachNeighbor(vertex, visitor);
+    }
 }
@@ -30,6 +30,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.collections15.Closure;
 import org.apache.commons.collections15.Factory;
 
 import edu.uci.ics.jung.graph.util.EdgeType;
@@ -146,6 +147,27 @@ public class UndirectedSparseMultigraph<V,E>
         return true;
     }
 
+    @Override
+    public void ensureCapacity(int vertex_count, int edge_count)
+    {
+        vertices = presize(vertices, vertex_count);
+        edges = presize(edges, edge_count);
+    }
+
+    @Override
+    protected void addEdgeUnchecked(E edge, Pair<V> endpoints, EdgeType edge_type)
+    {
+        V v1 = endpoints.getFirst();
+        V v2 = endpoints.getSecond();
+        if (!containsVertex(v1))
+            this.addVertex(v1);
+        if (!containsVertex(v2))
+            this.addVertex(v2);
+        edges.put(edge, endpoints);
+        vertices.get(v1).add(edge);
+        vertices.get(v2).add(edge);
+    }
+
     public boolean removeEdge(E edge) {
         if (!containsEdge(edge))
             return false;
@@ -246,4 +268,25 @@ public class UndirectedSparseMultigraph<V,E>
         return vertices.size();
     }
 
+    @Override
+    public boolean forEachIncidentEdge(V vertex, Closure<? super E> visitor)
+    {
+        if (!containsVertex(vertex))
+            return false;
+        for (E edge : getIncident_internal(vertex))
+            visitor.execute(edge);
+        return true;
+    }
+
+    @Override
+    public boolean forEachInEdge(V vertex, Closure<? super E> visitor)
+    {
+        return forEachIncidentEdge(vertex, visitor);
+    }
+
+    @Override
+    public boolean forEachOutEdge(V vertex, Closure<? super E> visitor)
+    {
+        return forEachIncidentEdge(vertex, visitor);
+    }
 }
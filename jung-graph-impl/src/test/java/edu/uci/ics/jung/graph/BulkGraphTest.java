@@ -0,0 +1,122 @@
+package edu.uci.ics.jung.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Factory;
+import org.apache.commons.collections15.functors.MapTransformer;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+import edu.uci.ics.jung.graph.util.Pair;
+
+public class BulkGraphTest extends TestCase {
+
+    private List<Integer> edges;
+    private Map<Integer,Pair<Integer>> endpoints;
+
+    @Override
+    protected void setUp() {
+        edges = new ArrayList<Integer>();
+        endpoints = new HashMap<Integer,Pair<Integer>>();
+        Random random = new Random(3);
+        HashSet<Pair<Integer>> used = new HashSet<Pair<Integer>>();
+        while (edges.size() < 300) {
+            int v1 = random.nextInt(50);
+            int v2 = random.nextInt(50);
+            // distinct unordered pairs, so that the edges are valid for every graph type
+            if (!used.add(new Pair<Integer>(v1, v2)) || !used.add(new Pair<Integer>(v2, v1)))
+                continue;
+            endpoints.put(edges.size(), new Pair<Integer>(v1, v2));
+            edges.add(edges.size());
+        }
+    }
+
+    private void checkBulkLoad(Factory<? extends Graph<Integer,Integer>> factory, EdgeType edge_type) {
+        Graph<Integer,Integer> expected = factory.create();
+        for (Integer e : edges)
+            expected.addEdge(e, endpoints.get(e), edge_type);
+
+        for (boolean check : new boolean[] {true, false}) {
+            BulkGraph<Integer,Integer> graph = (BulkGraph<Integer,Integer>)factory.create();
+            graph.addVertex(-1);
+            graph.ensureCapacity(100, 1000);
+            assertTrue(graph.containsVertex(-1));
+            assertEquals(edges.size(), graph.addEdges(edges,
+                    MapTransformer.getInstance(endpoints), edge_type, check));
+            graph.ensureCapacity(200, 2000);
+            graph.removeVertex(-1);
+            assertEquals(new HashSet<Integer>(expected.getVertices()), new HashSet<Integer>(graph.getVertices()));
+            assertEquals(new HashSet<Integer>(expected.getEdges()), new HashSet<Integer>(graph.getEdges()));
+            for (Integer v : expected.getVertices()) {
+                assertEquals(new HashSet<Integer>(expected.getInEdges(v)), new HashSet<Integer>(graph.getInEdges(v)));
+                assertEquals(new HashSet<Integer>(expected.getOutEdges(v)), new HashSet<Integer>(graph.getOutEdges(v)));
+                assertEquals(new HashSet<Integer>(expected.getNeighbors(v)), new HashSet<Integer>(graph.getNeighbors(v)));
+            }
+            for (Integer e : edges) {
+                assertEquals(edge_type, graph.getEdgeType(e));
+                assertEquals(expected.getEndpoints(e), graph.getEndpoints(e));
+            }
+        }
+    }
+
+    public void testDirectedSparseGraph() {
+        checkBulkLoad(DirectedSparseGraph.<Integer,Integer>getFactory(), EdgeType.DIRECTED);
+    }
+
+    public void testUndirectedSparseGraph() {
+        checkBulkLoad(UndirectedSparseGraph.<Integer,Integer>getFactory(), EdgeType.UNDIRECTED);
+    }
+
+    public void testSparseGraph() {
+        checkBulkLoad(SparseGraph.<Integer,Integer>getFactory(), EdgeType.DIRECTED);
+        checkBulkLoad(SparseGraph.<Integer,Integer>getFactory(), EdgeType.UNDIRECTED);
+    }
+
+    public void testSparseMultigraph() {
+        checkBulkLoad(SparseMultigraph.<Integer,Integer>getFactory(), EdgeType.DIRECTED);
+        checkBulkLoad(SparseMultigraph.<Integer,Integer>getFactory(), EdgeType.UNDIRECTED);
+    }
+
+    public void testDirectedSparseMultigraph() {
+        checkBulkLoad(DirectedSparseMultigraph.<Integer,Integer>getFactory(), EdgeType.DIRECTED);
+    }
+
+    public void testUndirectedSparseMultigraph() {
+        checkBulkLoad(UndirectedSparseMultigraph.<Integer,Integer>getFactory(), EdgeType.UNDIRECTED);
+    }
+
+    public void testOrderedSparseMultigraph() {
+        checkBulkLoad(OrderedSparseMultigraph.<Integer,Integer>getFactory(), EdgeType.DIRECTED);
+        OrderedSparseMultigraph<Integer,Integer> graph = new OrderedSparseMultigraph<Integer,Integer>();
+        graph.addEdges(edges, MapTransformer.getInstance(endpoints), EdgeType.UNDIRECTED, false);
+        graph.ensureCapacity(1000, 1000);
+        assertEquals(edges, new ArrayList<Integer>(graph.getEdges()));
+    }
+
+    public void testChecks() {
+        Graph<Integer,Integer> graph = new DirectedSparseGraph<Integer,Integer>();
+        graph.addEdge(0, endpoints.get(0));
+        DirectedSparseGraph<Integer,Integer> bulk = (DirectedSparseGraph<Integer,Integer>)graph;
+        assertEquals(edges.size() - 1, bulk.addEdges(edges, MapTransformer.getInstance(endpoints),
+                EdgeType.DIRECTED, true));
+        try {
+            bulk.addEdges(edges, MapTransformer.getInstance(endpoints), EdgeType.UNDIRECTED, false);
+            fail("should not be able to add undirected edges");
+        } catch (IllegalArgumentException iae) {
+            // all is well
+        }
+        try {
+            new SparseGraph<Integer,Integer>().addEdges(edges,
+                    MapTransformer.getInstance(new HashMap<Integer,Pair<Integer>>()), EdgeType.DIRECTED, false);
+            fail("should not be able to add edges without endpoints");
+        } catch (IllegalArgumentException iae) {
+            // all is well
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package edu.uci.ics.jung.graph;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class CompactDirectedGraphTest extends TestCase {
+
+    protected DirectedGraph<Integer,Integer> original;
+    protected CompactDirectedGraph<Integer,Integer> graph;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        original = new DirectedSparseMultigraph<Integer,Integer>();
+        Random random = new Random(17);
+        for (int i = 0; i < 40; i++)
+            original.addVertex(i);
+        for (int e = 0; e < 200; e++)
+            original.addEdge(e, random.nextInt(40), random.nextInt(40));
+        original.addEdge(200, 3, 3);    // self-loop
+        original.addEdge(201, 3, 4);    // parallel edges
+        original.addEdge(202, 3, 4);
+        graph = new CompactDirectedGraph<Integer,Integer>(original);
+    }
+
+    public void testCounts() {
+        assertEquals(original.getVertexCount(), graph.getVertexCount());
+        assertEquals(original.getEdgeCount(), graph.getEdgeCount());
+        assertEquals(new HashSet<Integer>(original.getVertices()), new HashSet<Integer>(graph.getVertices()));
+        assertEquals(new HashSet<Integer>(original.getEdges()), new HashSet<Integer>(graph.getEdges()));
+    }
+
+    public void testAdjacency() {
+        for (Integer v : original.getVertices()) {
+            assertEquals(new HashSet<Integer>(original.getOutEdges(v)), new HashSet<Integer>(graph.getOutEdges(v)));
+            assertEquals(new HashSet<Integer>(original.getInEdges(v)), new HashSet<Integer>(graph.getInEdges(v)));
+            assertEquals(new HashSet<Integer>(original.getIncidentEdges(v)), new HashSet<Integer>(graph.getIncidentEdges(v)));
+            assertEquals(new HashSet<Integer>(original.getSuccessors(v)), new HashSet<Integer>(graph.getSuccessors(v)));
+            assertEquals(new HashSet<Integer>(original.getPredecessors(v)), new HashSet<Integer>(graph.getPredecessors(v)));
+            assertEquals(new HashSet<Integer>(original.getNeighbors(v)), new HashSet<Integer>(graph.getNeighbors(v)));
+            assertEquals(original.getSuccessorCount(v), graph.getSuccessorCount(v));
+            assertEquals(original.getPredecessorCount(v), graph.getPredecessorCount(v));
+            assertEquals(original.getNeighborCount(v), graph.getNeighborCount(v));
+            assertEquals(original.getIncidentEdges(v).size(), graph.getIncidentEdges(v).size());
+            assertEquals(original.degree(v), graph.degree(v));
+            assertEquals(original.inDegree(v), graph.inDegree(v));
+            assertEquals(original.outDegree(v), graph.outDegree(v));
+        }
+    }
+
+    public void testFindEdge() {
+        for (Integer v : original.getVertices()) {
+            for (Integer w : original.getVertices()) {
+                assertEquals(new HashSet<Integer>(original.findEdgeSet(v, w)), new HashSet<Integer>(graph.findEdgeSet(v, w)));
+                assertEquals(original.isSuccessor(v, w), graph.isSuccessor(v, w));
+                assertEquals(original.isPredecessor(v, w), graph.isPredecessor(v, w));
+                Integer e = graph.findEdge(v, w);
+                if (e == null)
+                    assertNull(original.findEdge(v, w));
+                else
+                    assertTrue(original.findEdgeSet(v, w).contains(e));
+            }
+        }
+    }
+
+    public void testEndpoints() {
+        for (Integer e : original.getEdges()) {
+            assertEquals(original.getEndpoints(e), graph.getEndpoints(e));
+            assertEquals(original.getSource(e), graph.getSource(e));
+            assertEquals(original.getDest(e), graph.getDest(e));
+            assertEquals(original.getIncidentCount(e), graph.getIncidentCount(e));
+        }
+        assertNull(graph.getEndpoints(-1));
+        assertFalse(graph.containsVertex(-1));
+    }
+
+    public void testIndices() {
+        for (Integer v : original.getVertices()) {
+            int i = graph.getVertexIndex(v);
+            assertEquals(v, graph.getVertex(i));
+            HashSet<Integer> out = new HashSet<Integer>();
+            for (int j = 0; j < graph.getOutEdgeCount(i); j++) {
+                Integer e = graph.getEdge(graph.getOutEdgeIndex(i, j));
+                out.add(e);
+                assertEquals(original.getDest(e), graph.getVertex(graph.getOppositeIndex(i, graph.getEdgeIndex(e))));
+            }
+            assertEquals(new HashSet<Integer>(original.getOutEdges(v)), out);
+            HashSet<Integer> in = new HashSet<Integer>();
+            for (int j = 0; j < graph.getInEdgeCount(i); j++)
+                in.add(graph.getEdge(graph.getInEdgeIndex(i, j)));
+            assertEquals(new HashSet<Integer>(original.getInEdges(v)), in);
+        }
+        assertEquals(-1, graph.getVertexIndex(-1));
+        assertEquals(-1, graph.getEdgeIndex(-1));
+    }
+
+    public void testBuilder() {
+        CompactDirectedGraph<String,String> g = new CompactDirectedGraph.Builder<String,String>()
+            .addVertex("isolated")
+            .addEdge("ab", "a", "b")
+            .addEdge("ab", "a", "b")
+            .addEdge("ca", "c", "a")
+            .build();
+        assertEquals(4, g.getVertexCount());
+        assertEquals(2, g.getEdgeCount());
+        assertEquals(0, g.degree("isolated"));
+        assertEquals("ca", g.findEdge("c", "a"));
+        assertNull(g.findEdge("a", "c"));
+        try {
+            new CompactDirectedGraph.Builder<String,String>().addEdge("ab", "a", "b").addEdge("ab", "b", "a");
+            fail("should not be able to add an edge with different endpoints");
+        } catch (IllegalArgumentException iae) {
+            // all is well
+        }
+    }
+
+    public void testImmutable() {
+        try {
+            graph.addEdge(1000, 0, 1);
+            fail("should not be able to add an edge");
+        } catch (UnsupportedOperationException uoe) {
+            // all is well
+        }
+        try {
+            graph.removeVertex(0);
+            fail("should not be able to remove a vertex");
+        } catch (UnsupportedOperationException uoe) {
+            // all is well
+        }
+    }
+
+    public void testUndirectedEdges() {
+        Graph<Integer,Integer> undirected = new UndirectedSparseGraph<Integer,Integer>();
+        undirected.addEdge(0, 1, 2);
+        try {
+            new CompactDirectedGraph<Integer,Integer>(undirected);
+            fail("should not be able to copy undirected edges");
+        } catch (IllegalArgumentException iae) {
+            // all is well
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package edu.uci.ics.jung.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Closure;
+
+public class CompactHypergraphTest extends TestCase {
+
+    protected Hypergraph<Integer,String> original;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        original = new SetHypergraph<Integer,String>();
+        Random random = new Random(11);
+        for (int i = 0; i < 200; i++)
+            original.addVertex(i);
+        for (int e = 0; e < 60; e++) {
+            // mostly small hyperedges, with a few that cover much of the graph
+            int size = e % 10 == 0 ? 50 + random.nextInt(100) : 1 + random.nextInt(6);
+            List<Integer> members = new ArrayList<Integer>();
+            for (int i = 0; i < size; i++)
+                members.add(random.nextInt(190));
+            original.addEdge("h" + e, members);
+        }
+        original.addEdge("empty", new ArrayList<Integer>());
+    }
+
+    private void checkCopy(Hypergraph<Integer,String> graph) {
+        assertEquals(original.getVertexCount(), graph.getVertexCount());
+        assertEquals(original.getEdgeCount(), graph.getEdgeCount());
+        assertEquals(new HashSet<Integer>(original.getVertices()), new HashSet<Integer>(graph.getVertices()));
+        assertEquals(new HashSet<String>(original.getEdges()), new HashSet<String>(graph.getEdges()));
+        for (String h : original.getEdges()) {
+            assertEquals(new HashSet<Integer>(original.getIncidentVertices(h)), new HashSet<Integer>(graph.getIncidentVertices(h)));
+            assertEquals(original.getIncidentCount(h), graph.getIncidentCount(h));
+        }
+        for (Integer v : original.getVertices()) {
+            assertEquals(new HashSet<String>(original.getIncidentEdges(v)), new HashSet<String>(graph.getIncidentEdges(v)));
+            assertEquals(new HashSet<Integer>(original.getNeighbors(v)), new HashSet<Integer>(graph.getNeighbors(v)));
+            assertEquals(original.getNeighborCount(v), graph.getNeighborCount(v));
+            assertEquals(original.degree(v), graph.degree(v));
+            final List<Integer> visited = new ArrayList<Integer>();
+            graph.forEachNeighbor(v, new Closure<Integer>() {
+                public void execute(Integer w) {
+                    visited.add(w);
+                }
+            });
+            assertEquals(new ArrayList<Integer>(graph.getNeighbors(v)), visited);
+            for (String h : original.getEdges())
+                assertEquals(original.isIncident(v, h), graph.isIncident(v, h));
+        }
+        for (int v = 0; v < 200; v += 3) {
+            for (int w = 0; w < 200; w += 7) {
+                assertEquals(new HashSet<String>(original.findEdgeSet(v, w)), new HashSet<String>(graph.findEdgeSet(v, w)));
+                assertEquals(original.isNeighbor(v, w), graph.isNeighbor(v, w));
+                String h = graph.findEdge(v, w);
+                if (h == null)
+                    assertNull(original.findEdge(v, w));
+                else
+                    assertTrue(original.findEdgeSet(v, w).contains(h));
+            }
+        }
+        assertNull(graph.getIncidentEdges(-1));
+        assertNull(graph.findEdgeSet(-1, 0));
+        assertFalse(graph.isIncident(-1, "h0"));
+        assertEquals(0, graph.getIncidentCount("missing"));
+    }
+
+    public void testCopy() {
+        checkCopy(new CompactHypergraph<Integer,String>(original));
+    }
+
+    public void testBitmaps() {
+        CompactHypergraph<Integer,String> graph = new CompactHypergraph.Builder<Integer,String>()
+            .setBitmapDensity(1.0 / 32)
+            .addHypergraph(original)
+            .build();
+        checkCopy(graph);
+    }
+
+    public void testBuilder() {
+        CompactHypergraph<String,String> g = new CompactHypergraph.Builder<String,String>()
+            .addVertex("isolated")
+            .addEdge("abc", Arrays.asList("a", "b", "c", "a"))
+            .addEdge("abc", Arrays.asList("c", "b", "a"))
+            .addEdge("cd", Arrays.asList("c", "d"))
+            .build();
+        assertEquals(5, g.getVertexCount());
+        assertEquals(2, g.getEdgeCount());
+        assertEquals(3, g.getIncidentCount("abc"));
+        assertEquals(0, g.degree("isolated"));
+        assertEquals(0, g.getNeighborCount("isolated"));
+        assertEquals(new HashSet<String>(Arrays.asList("a", "b", "c", "d")), new HashSet<String>(g.getNeighbors("c")));
+        assertEquals("cd", g.findEdge("d", "c"));
+        assertNull(g.findEdge("a", "d"));
+        try {
+            new CompactHypergraph.Builder<String,String>()
+                .addEdge("ab", Arrays.asList("a", "b"))
+                .addEdge("ab", Arrays.asList("a", "c"));
+            fail("should not be able to add an edge with different endpoints");
+        } catch (IllegalArgumentException iae) {
+            // all is well
+        }
+    }
+
+    public void testImmutable() {
+        Hypergraph<Integer,String> graph = new CompactHypergraph<Integer,String>(original);
+        try {
+            graph.addEdge("new", Arrays.asList(1, 2, 3));
+            fail("should not be able to add an edge");
+        } catch (UnsupportedOperationException uoe) {
+            // all is well
+        }
+        try {
+            graph.removeVertex(0);
+            fail("should not be able to remove a vertex");
+        } catch (UnsupportedOperationException uoe) {
+            // all is well
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package edu.uci.ics.jung.graph;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Closure;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+
+public class CompactOrderedMultigraphTest extends TestCase {
+
+    private void populate(Graph<Integer,Integer> graph) {
+        Random random = new Random(5);
+        // vertices in an order other than their natural order
+        for (int i = 0; i < 120; i++)
+            graph.addVertex((i * 37) % 120);
+        int edge = 1000;
+        for (int i = 0; i < 1500; i++) {
+            // vertex 0 is a hub, so that its lists span many skip blocks
+            int v1 = random.nextInt(4) == 0 ? 0 : random.nextInt(120);
+            int v2 = random.nextInt(10) == 0 ? v1 : random.nextInt(120);
+            EdgeType type = random.nextBoolean() ? EdgeType.DIRECTED : EdgeType.UNDIRECTED;
+            // edge objects in decreasing order, so that sorted and insertion order differ
+            graph.addEdge(edge--, v1, v2, type);
+            if (i % 7 == 0) // parallel edge
+                graph.addEdge(edge--, v1, v2, type);
+        }
+        for (int e = 1000; e > edge; e -= 11)
+            graph.removeEdge(e);
+    }
+
+    private <T> List<T> list(Collection<T> c) {
+        return c == null ? null : new ArrayList<T>(c);
+    }
+
+    private void checkCopy(Graph<Integer,Integer> original, Graph<Integer,Integer> graph) {
+        assertEquals(list(original.getVertices()), list(graph.getVertices()));
+        assertEquals(list(original.getEdges()), list(graph.getEdges()));
+        assertEquals(original.getEdgeCount(EdgeType.DIRECTED), graph.getEdgeCount(EdgeType.DIRECTED));
+        assertEquals(original.getEdgeCount(EdgeType.UNDIRECTED), graph.getEdgeCount(EdgeType.UNDIRECTED));
+        assertEquals(list(original.getEdges(EdgeType.DIRECTED)), list(graph.getEdges(EdgeType.DIRECTED)));
+        for (Integer e : original.getEdges()) {
+            assertEquals(original.getEndpoints(e), graph.getEndpoints(e));
+            assertEquals(original.getEdgeType(e), graph.getEdgeType(e));
+            assertEquals(original.getSource(e), graph.getSource(e));
+            assertEquals(original.getDest(e), graph.getDest(e));
+            assertEquals(original.getIncidentCount(e), graph.getIncidentCount(e));
+        }
+        for (Integer v : original.getVertices()) {
+            assertEquals(list(original.getInEdges(v)), list(graph.getInEdges(v)));
+            assertEquals(list(original.getOutEdges(v)), list(graph.getOutEdges(v)));
+            assertEquals(list(original.getIncidentEdges(v)), list(graph.getIncidentEdges(v)));
+            assertEquals(list(original.getPredecessors(v)), list(graph.getPredecessors(v)));
+            assertEquals(list(original.getSuccessors(v)), list(graph.getSuccessors(v)));
+            assertEquals(list(original.getNeighbors(v)), list(graph.getNeighbors(v)));
+            assertEquals(original.inDegree(v), graph.inDegree(v));
+            assertEquals(original.outDegree(v), graph.outDegree(v));
+            assertEquals(original.degree(v), graph.degree(v));
+            assertEquals(original.getIncidentEdges(v).size(), graph.getIncidentEdges(v).size());
+            for (Integer e : original.getEdges()) {
+                assertEquals(original.getInEdges(v).contains(e), graph.getInEdges(v).contains(e));
+                assertEquals(original.getOutEdges(v).contains(e), graph.getOutEdges(v).contains(e));
+                assertEquals(original.isIncident(v, e), graph.isIncident(v, e));
+            }
+            final List<Integer> visited = new ArrayList<Integer>();
+            graph.forEachIncidentEdge(v, new Closure<Integer>() {
+                public void execute(Integer e) {
+                    visited.add(e);
+                }
+            });
+            assertEquals(list(original.getIncidentEdges(v)), visited);
+            for (Integer w : original.getVertices()) {
+                assertEquals(original.findEdge(v, w), graph.findEdge(v, w));
+                assertEquals(list(original.findEdgeSet(v, w)), list(graph.findEdgeSet(v, w)));
+                assertEquals(original.isNeighbor(v, w), graph.isNeighbor(v, w));
+                assertEquals(original.isSuccessor(v, w), graph.isSuccessor(v, w));
+                assertEquals(original.isPredecessor(v, w), graph.isPredecessor(v, w));
+            }
+        }
+        assertNull(graph.getInEdges(-1));
+        assertNull(graph.findEdge(-1, 0));
+        assertNull(graph.getEndpoints(-1));
+    }
+
+    public void testOrdered() {
+        Graph<Integer,Integer> original = new OrderedSparseMultigraph<Integer,Integer>();
+        populate(original);
+        checkCopy(original, new CompactOrderedMultigraph<Integer,Integer>(original));
+    }
+
+    public void testSorted() {
+        Graph<Integer,Integer> original = new SortedSparseMultigraph<Integer,Integer>();
+        populate(original);
+        checkCopy(original, new CompactOrderedMultigraph<Integer,Integer>(original));
+    }
+
+    public void testSerialization() throws Exception {
+        Graph<Integer,Integer> original = new OrderedSparseMultigraph<Integer,Integer>();
+        populate(original);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(new CompactOrderedMultigraph<Integer,Integer>(original));
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        @SuppressWarnings("unchecked")
+        Graph<Integer,Integer> copy = (Graph<Integer,Integer>)in.readObject();
+        checkCopy(original, copy);
+    }
+
+    public void testBuilder() {
+        CompactOrderedMultigraph<String,String> g = new CompactOrderedMultigraph.Builder<String,String>()
+            .addVertex("isolated")
+            .addEdge("ab", "a", "b", EdgeType.UNDIRECTED)
+            .addEdge("ab", "b", "a", EdgeType.UNDIRECTED)
+            .addEdge("ba", "b", "a", EdgeType.DIRECTED)
+            .addEdge("aa", "a", "a", EdgeType.UNDIRECTED)
+            .build();
+        assertEquals(3, g.getVertexCount());
+        assertEquals(3, g.getEdgeCount());
+        assertEquals("ab", g.findEdge("b", "a"));
+        assertEquals("aa", g.findEdge("a", "a"));
+        assertEquals(0, g.degree("isolated"));
+        assertEquals(3, g.degree("a"));
+        try {
+            new CompactOrderedMultigraph.Builder<String,String>()
+                .addEdge("ab", "a", "b", EdgeType.DIRECTED)
+                .addEdge("ab", "b", "a", EdgeType.DIRECTED);
+            fail("should not be able to add an edge with different endpoints");
+        } catch (IllegalArgumentException iae) {
+            // all is well
+        }
+        try {
+            g.addEdge("bc", "b", "c");
+            fail("should not be able to add an edge");
+        } catch (UnsupportedOperationException uoe) {
+            // all is well
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package edu.uci.ics.jung.graph;
+
+public class ConcurrentDirectedSparseMultigraphTest 
+	extends AbstractDirectedSparseMultigraphTest {
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        graph = new ConcurrentDirectedSparseMultigraph<Integer,Number>();
+        graph.addEdge(e01, v0, v1);
+        graph.addEdge(e10, v1, v0);
+        graph.addEdge(e12, v1, v2);
+        graph.addEdge(e21, v2, v1);
+
+    }
+
+}
@@ -0,0 +1,297 @@
+package edu.uci.ics.jung.graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+
+public class ConcurrentSparseMultigraphTest 
+	extends AbstractSparseMultigraphTest {
+
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        graph = new ConcurrentSparseMultigraph<Number,Number>();
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(2, 1, 2);
+        graph.addEdge(3, 0, 2);
+        graph.addEdge(4, 2, 1);
+        graph.addEdge(5, 3, 1);
+        graph.addEdge(6, 0, 4, EdgeType.DIRECTED);
+        graph.addEdge(7, 0, 5, EdgeType.DIRECTED);
+        graph.addEdge(8, 5, 1, EdgeType.DIRECTED);
+        graph.addEdge(9, 6, 1, EdgeType.DIRECTED);
+        graph.addEdge(10, 4, 3, EdgeType.DIRECTED);
+        graph.addEdge(11, 2, 7);
+        graph.addEdge(12, 1, 5);
+        graph.addEdge(13, 2, 6);
+        graph.addEdge(14, 6, 4);
+        graph.addEdge(15, 7, 8);
+        graph.addEdge(16, 8, 3);
+        graph.addEdge(17, 5, 7);
+
+        smallGraph = new ConcurrentSparseMultigraph<Integer,Number>();
+        smallGraph.addVertex(v0);
+        smallGraph.addVertex(v1);
+        smallGraph.addVertex(v2);
+        smallGraph.addEdge(e01, v0, v1);
+        smallGraph.addEdge(e10, v1, v0);
+        smallGraph.addEdge(e12, v1, v2);
+        smallGraph.addEdge(e21, v2, v1, EdgeType.DIRECTED);
+
+    }
+
+    public void testConcurrentMutation() throws Exception {
+        final Graph<Integer,Integer> g = new ConcurrentDirectedSparseMultigraph<Integer,Integer>();
+        final int writers = 4;
+        final int edges_per_writer = 2000;
+        final List<Throwable> failures = new ArrayList<Throwable>();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int w = 0; w < writers; w++) {
+            final int offset = w * edges_per_writer;
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < edges_per_writer; i++) {
+                        int e = offset + i;
+                        g.addEdge(e, e % 50, (e * 7) % 50);
+                        if (i % 3 == 0)
+                            g.removeEdge(e);
+                    }
+                }
+            });
+        }
+        final AtomicBoolean done = new AtomicBoolean();
+        Thread reader = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    while (!done.get()) {
+                        for (Integer v : g.getVertices()) {
+                            for (Integer e : g.getOutEdges(v))
+                                g.getEndpoints(e);
+                            g.getSuccessors(v);
+                        }
+                    }
+                } catch (Throwable t) {
+                    synchronized (failures) {
+                        failures.add(t);
+                    }
+                }
+            }
+        };
+        reader.start();
+        for (Thread t : threads)
+            t.start();
+        for (Thread t : threads)
+            t.join();
+        done.set(true);
+        reader.join();
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        int expected = writers * (edges_per_writer - (edges_per_writer + 2) / 3);
+        assertEquals(expected, g.getEdgeCount());
+        int out = 0;
+        int in = 0;
+        for (Integer v : g.getVertices()) {
+            out += g.outDegree(v);
+            in += g.inDegree(v);
+        }
+        assertEquals(expected, out);
+        assertEquals(expected, in);
+        for (Integer v : new ArrayList<Integer>(g.getVertices()))
+            assertTrue(g.removeVertex(v));
+        assertEquals(0, g.getEdgeCount());
+    }
+
+    public void testConsistentReads() throws Exception {
+        // edge e joins e % 500 and (e * 7) % 500, is directed if e is even, and
+        // is removed again if e % 3 == 0
+        final Graph<Integer,Integer> g = new ConcurrentSparseMultigraph<Integer,Integer>();
+        final int writers = 4;
+        final int edges_per_writer = 20000;
+        final List<Throwable> failures = new ArrayList<Throwable>();
+        final AtomicIntegerArray progress = new AtomicIntegerArray(writers);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int w = 0; w < writers; w++) {
+            final int writer = w;
+            final int offset = w * edges_per_writer;
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < edges_per_writer; i++) {
+                        int e = offset + i;
+                        progress.set(writer, i);
+                        g.addEdge(e, e % 500, (e * 7) % 500, 
+                                e % 2 == 0 ? EdgeType.DIRECTED : EdgeType.UNDIRECTED);
+                        if (e % 3 == 0)
+                            g.removeEdge(e);
+                    }
+                }
+            });
+        }
+        final AtomicBoolean done = new AtomicBoolean();
+        List<Thread> readers = new ArrayList<Thread>();
+        for (int r = 0; r < 2; r++) {
+            readers.add(new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        // look at the edges that the writers are adding and removing
+                        while (!done.get()) {
+                            for (int w = 0; w < writers; w++) {
+                                int first = w * edges_per_writer + progress.get(w);
+                                int last = Math.min(first + 4, (w + 1) * edges_per_writer);
+                                for (int e = first; e < last; e++)
+                                    if (g.containsEdge(e))
+                                        checkEdge(g, e, false);
+                            }
+                        }
+                    } catch (Throwable t) {
+                        synchronized (failures) {
+                            failures.add(t);
+                        }
+                    }
+                }
+            });
+        }
+        for (Thread t : readers)
+            t.start();
+        for (Thread t : threads)
+            t.start();
+        for (Thread t : threads)
+            t.join();
+        done.set(true);
+        for (Thread t : readers)
+            t.join();
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        for (Integer e : g.getEdges())
+            checkEdge(g, e, true);
+        int directed = 0;
+        int undirected = 0;
+        for (int e = 0; e < writers * edges_per_writer; e++) {
+            if (e % 3 == 0)
+                continue;
+            if (e % 2 == 0)
+                directed++;
+            else
+                undirected++;
+        }
+        assertEquals(directed, g.getEdgeCount(EdgeType.DIRECTED));
+        assertEquals(undirected, g.getEdgeCount(EdgeType.UNDIRECTED));
+    }
+
+    public void testConcurrentOpposites() throws Exception {
+        final Graph<Integer,Integer> g = new ConcurrentSparseMultigraph<Integer,Integer>();
+        final int writers = 4;
+        final int edges_per_writer = 20000;
+        final List<Throwable> failures = new ArrayList<Throwable>();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int w = 0; w < writers; w++) {
+            final int offset = w * edges_per_writer;
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < edges_per_writer; i++) {
+                        int e = offset + i;
+                        g.addEdge(e, e % 20, (e * 7) % 20, 
+                                e % 2 == 0 ? EdgeType.DIRECTED : EdgeType.UNDIRECTED);
+                        if (i >= 10)
+                            g.removeEdge(e - 10);
+                    }
+                }
+            });
+        }
+        final AtomicBoolean done = new AtomicBoolean();
+        List<Thread> readers = new ArrayList<Thread>();
+        for (int r = 0; r < 2; r++) {
+            readers.add(new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        // follow the edges of each vertex while they are being removed
+                        while (!done.get()) {
+                            for (Integer v = 0; v < 20; v++) {
+                                Collection<Integer> out = g.getOutEdges(v);
+                                Collection<Integer> in = g.getInEdges(v);
+                                if (out == null || in == null)
+                                    continue;
+                                for (Integer e : out)
+                                    checkOpposite(g, v, e);
+                                for (Integer e : in)
+                                    checkOpposite(g, v, e);
+                            }
+                        }
+                    } catch (Throwable t) {
+                        synchronized (failures) {
+                            failures.add(t);
+                        }
+                    }
+                }
+            });
+        }
+        for (Thread t : readers)
+            t.start();
+        for (Thread t : threads)
+            t.start();
+        for (Thread t : threads)
+            t.join();
+        done.set(true);
+        for (Thread t : readers)
+            t.join();
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertEquals(writers * 10, g.getEdgeCount());
+        for (Integer v : g.getVertices())
+            for (Integer e : g.getIncidentEdges(v))
+                checkOpposite(g, v, e);
+    }
+
+    /**
+     * Checks that <code>v</code> is incident to <code>e</code>, unless 
+     * <code>e</code> has been removed.
+     */
+    private void checkOpposite(Graph<Integer,Integer> g, Integer v, Integer e) {
+        Integer opposite = g.getOpposite(v, e);
+        boolean incident = g.isIncident(v, e);
+        if (opposite == null)
+            return;
+        Integer v1 = e % 20;
+        Integer v2 = (e * 7) % 20;
+        assertEquals(v.equals(v1) ? v2 : v1, opposite);
+        Collection<Integer> vertices = g.getIncidentVertices(e);
+        assertTrue(vertices == null || vertices.contains(v));
+        assertTrue(incident || !g.containsEdge(e));
+    }
+
+    /**
+     * Checks that an edge found in <code>g</code> has its type and endpoints,
+     * and its incidence if no writer may still be adding it; an edge that 
+     * may have been removed since is only checked for consistency.
+     */
+    private void checkEdge(Graph<Integer,Integer> g, Integer e, boolean added) {
+        Integer v1 = e % 500;
+        Integer v2 = (e * 7) % 500;
+        EdgeType expected_type = e % 2 == 0 ? EdgeType.DIRECTED : EdgeType.UNDIRECTED;
+        EdgeType type = g.getEdgeType(e);
+        Integer source = g.getSource(e);
+        if (e % 3 == 0) {
+            assertTrue(type == null || type == expected_type);
+            assertTrue(source == null || (expected_type == EdgeType.DIRECTED && source.equals(v1)));
+            return;
+        }
+        assertEquals(expected_type, type);
+        assertEquals(expected_type == EdgeType.DIRECTED ? v1 : null, source);
+        if (!added)
+            return;
+        assertTrue(g.getIncidentEdges(v1).contains(e));
+        assertTrue(g.getIncidentEdges(v2).contains(e));
+        assertTrue(g.getOutEdges(v1).contains(e));
+        assertTrue(g.getInEdges(v2).contains(e));
+    }
+}
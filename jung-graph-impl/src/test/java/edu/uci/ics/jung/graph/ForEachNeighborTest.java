@@ -0,0 +1,171 @@
+package edu.uci.ics.jung.graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.collections15.Closure;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+
+/**
+ * Checks that the <code>forEach</code> visitors of each graph implementation
+ * visit exactly the elements returned by the corresponding getters.
+ */
+public class ForEachNeighborTest extends TestCase {
+
+    private static final int VERTEX_COUNT = 20;
+
+    private static class Collector<T> implements Closure<T> {
+        List<T> visited = new ArrayList<T>();
+
+        public void execute(T t) {
+            visited.add(t);
+        }
+    }
+
+    private void populate(Graph<Integer,Integer> graph, boolean directed, boolean undirected, boolean multi) {
+        Random random = new Random(5);
+        for (int i = 0; i < VERTEX_COUNT; i++)
+            graph.addVertex(i);
+        int e = 0;
+        for (int i = 0; i < 80; i++) {
+            int v1 = random.nextInt(VERTEX_COUNT);
+            int v2 = random.nextInt(VERTEX_COUNT);
+            if (!multi && graph.findEdge(v1, v2) != null)
+                continue;
+            EdgeType type = directed && (!undirected || random.nextBoolean())
+                ? EdgeType.DIRECTED : EdgeType.UNDIRECTED;
+            if (!multi && type == EdgeType.UNDIRECTED && graph.findEdge(v2, v1) != null)
+                continue;
+            graph.addEdge(e++, v1, v2, type);
+        }
+        if (multi) {
+            graph.addEdge(e++, 0, 0, directed ? EdgeType.DIRECTED : EdgeType.UNDIRECTED);
+            graph.addEdge(e++, 1, 2, directed ? EdgeType.DIRECTED : EdgeType.UNDIRECTED);
+            graph.addEdge(e++, 1, 2, directed ? EdgeType.DIRECTED : EdgeType.UNDIRECTED);
+        }
+    }
+
+    private <T> void assertVisits(Collection<T> expected, Collector<T> collector, boolean found) {
+        assertTrue(found);
+        assertEquals(expected.size(), collector.visited.size());
+        assertEquals(new HashSet<T>(expected), new HashSet<T>(collector.visited));
+    }
+
+    private void checkVisitors(Graph<Integer,Integer> graph) {
+        for (Integer v : graph.getVertices()) {
+            Collector<Integer> c = new Collector<Integer>();
+            assertVisits(graph.getIncidentEdges(v), c, graph.forEachIncidentEdge(v, c));
+            c = new Collector<Integer>();
+            assertVisits(graph.getInEdges(v), c, graph.forEachInEdge(v, c));
+            c = new Collector<Integer>();
+            assertVisits(graph.getOutEdges(v), c, graph.forEachOutEdge(v, c));
+            c = new Collector<Integer>();
+            assertVisits(graph.getNeighbors(v), c, graph.forEachNeighbor(v, c));
+            c = new Collector<Integer>();
+            assertVisits(graph.getPredecessors(v), c, graph.forEachPredecessor(v, c));
+            c = new Collector<Integer>();
+            assertVisits(graph.getSuccessors(v), c, graph.forEachSuccessor(v, c));
+        }
+        Collector<Integer> c = new Collector<Integer>();
+        assertFalse(graph.forEachNeighbor(-1, c));
+        assertFalse(graph.forEachIncidentEdge(-1, c));
+        assertTrue(c.visited.isEmpty());
+    }
+
+    public void testSetHypergraph() {
+        Hypergraph<Integer,Integer> hypergraph = new SetHypergraph<Integer,Integer>();
+        Random random = new Random(5);
+        for (int i = 0; i < VERTEX_COUNT; i++)
+            hypergraph.addVertex(i);
+        // vertex 0 is in enough overlapping hyperedges to have its
+        // neighbors collected; the others are scanned
+        for (int e = 0; e < 30; e++) {
+            List<Integer> members = new ArrayList<Integer>();
+            if (e < 12)
+                members.add(0);
+            for (int i = 0; i < 4; i++)
+                members.add(1 + random.nextInt(VERTEX_COUNT - 1));
+            hypergraph.addEdge(e, members);
+        }
+        hypergraph.addEdge(30, Arrays.asList(5));
+        assertEquals(12, hypergraph.degree(0));
+        for (Integer v : hypergraph.getVertices()) {
+            Collector<Integer> c = new Collector<Integer>();
+            assertVisits(hypergraph.getNeighbors(v), c, hypergraph.forEachNeighbor(v, c));
+            c = new Collector<Integer>();
+            assertVisits(hypergraph.getIncidentEdges(v), c, hypergraph.forEachIncidentEdge(v, c));
+        }
+        Collector<Integer> c = new Collector<Integer>();
+        assertFalse(hypergraph.forEachNeighbor(-1, c));
+        assertTrue(c.visited.isEmpty());
+    }
+
+    public void testSparseGraph() {
+        Graph<Integer,Integer> graph = new SparseGraph<Integer,Integer>();
+        populate(graph, true, true, false);
+        checkVisitors(graph);
+    }
+
+    public void testDirectedSparseGraph() {
+        Graph<Integer,Integer> graph = new DirectedSparseGraph<Integer,Integer>();
+        populate(graph, true, false, false);
+        checkVisitors(graph);
+    }
+
+    public void testUndirectedSparseGraph() {
+        Graph<Integer,Integer> graph = new UndirectedSparseGraph<Integer,Integer>();
+        populate(graph, false, true, false);
+        checkVisitors(graph);
+    }
+
+    public void testSparseMultigraph() {
+        Graph<Integer,Integer> graph = new SparseMultigraph<Integer,Integer>();
+        populate(graph, true, true, true);
+        checkVisitors(graph);
+    }
+
+    public void testDirectedSparseMultigraph() {
+        Graph<Integer,Integer> graph = new DirectedSparseMultigraph<Integer,Integer>();
+        populate(graph, true, false, true);
+        checkVisitors(graph);
+        checkVisitors(new CompactDirectedGraph<Integer,Integer>(graph));
+    }
+
+    public void testMappedDirectedGraph() throws IOException {
+        Graph<Integer,Integer> graph = new DirectedSparseMultigraph<Integer,Integer>();
+        populate(graph, true, false, true);
+        File file = File.createTempFile("visitors", ".graph");
+        try {
+            checkVisitors(MappedDirectedGraph.write(graph, file));
+        } finally {
+            file.delete();
+        }
+    }
+
+    public void testUndirectedSparseMultigraph() {
+        Graph<Integer,Integer> graph = new UndirectedSparseMultigraph<Integer,Integer>();
+        populate(graph, false, true, true);
+        checkVisitors(graph);
+    }
+
+    public void testConcurrentSparseMultigraph() {
+        Graph<Integer,Integer> graph = new ConcurrentSparseMultigraph<Integer,Integer>();
+        populate(graph, true, true, true);
+        checkVisitors(graph);
+    }
+
+    public void testPersistentSparseMultigraph() {
+        Graph<Integer,Integer> graph = new PersistentSparseMultigraph<Integer,Integer>();
+        populate(graph, true, true, true);
+        checkVisitors(graph);
+    }
+}
@@ -0,0 +1,190 @@
+package edu.uci.ics.jung.graph;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class MappedDirectedGraphTest extends TestCase {
+
+    protected DirectedGraph<Integer,Integer> original;
+    protected MappedDirectedGraph graph;
+    protected File file;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        original = new DirectedSparseMultigraph<Integer,Integer>();
+        file = File.createTempFile("mapped", ".graph");
+        MappedDirectedGraph.Builder builder = new MappedDirectedGraph.Builder(file, 40);
+        Random random = new Random(17);
+        for (int i = 0; i < 40; i++)
+            original.addVertex(i);
+        for (int e = 0; e < 200; e++) {
+            int source = random.nextInt(40);
+            int dest = random.nextInt(40);
+            original.addEdge(e, source, dest);
+            builder.addEdge(source, dest);
+        }
+        original.addEdge(200, 3, 3);    // self-loop
+        builder.addEdge(3, 3);
+        original.addEdge(201, 3, 4);    // parallel edges
+        builder.addEdge(3, 4);
+        original.addEdge(202, 3, 4);
+        builder.addEdge(3, 4);
+        graph = builder.build();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        file.delete();
+        super.tearDown();
+    }
+
+    /**
+     * Returns the sorted (source, dest) pairs of <code>edges</code>.
+     */
+    private List<String> endpoints(Graph<Integer,Integer> g, Iterable<Integer> edges) {
+        List<String> pairs = new ArrayList<String>();
+        for (Integer e : edges)
+            pairs.add(g.getSource(e) + "->" + g.getDest(e));
+        Collections.sort(pairs);
+        return pairs;
+    }
+
+    public void testCounts() {
+        assertEquals(original.getVertexCount(), graph.getVertexCount());
+        assertEquals(original.getEdgeCount(), graph.getEdgeCount());
+        assertEquals(new HashSet<Integer>(original.getVertices()), new HashSet<Integer>(graph.getVertices()));
+        assertEquals(endpoints(original, original.getEdges()), endpoints(graph, graph.getEdges()));
+    }
+
+    public void testAdjacency() {
+        for (Integer v : original.getVertices()) {
+            assertEquals(endpoints(original, original.getOutEdges(v)), endpoints(graph, graph.getOutEdges(v)));
+            assertEquals(endpoints(original, original.getInEdges(v)), endpoints(graph, graph.getInEdges(v)));
+            assertEquals(endpoints(original, original.getIncidentEdges(v)), endpoints(graph, graph.getIncidentEdges(v)));
+            assertEquals(new HashSet<Integer>(original.getSuccessors(v)), new HashSet<Integer>(graph.getSuccessors(v)));
+            assertEquals(new HashSet<Integer>(original.getPredecessors(v)), new HashSet<Integer>(graph.getPredecessors(v)));
+            assertEquals(new HashSet<Integer>(original.getNeighbors(v)), new HashSet<Integer>(graph.getNeighbors(v)));
+            assertEquals(original.getNeighborCount(v), graph.getNeighborCount(v));
+            assertEquals(original.degree(v), graph.degree(v));
+            assertEquals(original.inDegree(v), graph.inDegree(v));
+            assertEquals(original.outDegree(v), graph.outDegree(v));
+            for (Integer e : graph.getIncidentEdges(v))
+                assertTrue(graph.getIncidentEdges(v).contains(e));
+        }
+    }
+
+    public void testFindEdge() {
+        for (Integer v : original.getVertices()) {
+            for (Integer w : original.getVertices()) {
+                assertEquals(original.findEdgeSet(v, w).size(), graph.findEdgeSet(v, w).size());
+                assertEquals(original.isSuccessor(v, w), graph.isSuccessor(v, w));
+                assertEquals(original.isPredecessor(v, w), graph.isPredecessor(v, w));
+                Integer e = graph.findEdge(v, w);
+                if (e == null) {
+                    assertNull(original.findEdge(v, w));
+                } else {
+                    assertEquals(v, graph.getSource(e));
+                    assertEquals(w, graph.getDest(e));
+                }
+            }
+        }
+        assertNull(graph.findEdge(-1, 0));
+        assertNull(graph.getEndpoints(1000));
+    }
+
+    public void testIndices() {
+        for (Integer v : graph.getVertices()) {
+            int i = graph.getVertexIndex(v);
+            HashSet<Integer> out = new HashSet<Integer>();
+            for (int j = 0; j < graph.getOutEdgeCount(i); j++) {
+                int e = graph.getOutEdgeIndex(i, j);
+                out.add(e);
+                assertEquals(graph.getDest(e).intValue(), graph.getOppositeIndex(i, e));
+            }
+            assertEquals(new HashSet<Integer>(graph.getOutEdges(v)), out);
+            HashSet<Integer> in = new HashSet<Integer>();
+            for (int j = 0; j < graph.getInEdgeCount(i); j++)
+                in.add(graph.getInEdgeIndex(i, j));
+            assertEquals(new HashSet<Integer>(graph.getInEdges(v)), in);
+        }
+    }
+
+    public void testReopen() throws IOException, ClassNotFoundException {
+        MappedDirectedGraph reopened = new MappedDirectedGraph(file);
+        assertEquals(endpoints(graph, graph.getEdges()), endpoints(reopened, reopened.getEdges()));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(graph);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        MappedDirectedGraph deserialized = (MappedDirectedGraph)in.readObject();
+        assertEquals(endpoints(graph, graph.getEdges()), endpoints(deserialized, deserialized.getEdges()));
+    }
+
+    public void testWriteGraph() throws IOException {
+        File copy = File.createTempFile("mapped", ".graph");
+        try {
+            MappedDirectedGraph written = MappedDirectedGraph.write(original, copy);
+            assertEquals(original.getEdgeCount(), written.getEdgeCount());
+            List<Integer> vertices = new ArrayList<Integer>(original.getVertices());
+            for (Integer v : original.getVertices())
+                assertEquals(original.outDegree(v), written.outDegree(vertices.indexOf(v)));
+        } finally {
+            copy.delete();
+        }
+    }
+
+    public void testShortFileName() throws IOException {
+        // the staging file's name must not be derived from a name this short
+        File directory = File.createTempFile("mapped", ".dir");
+        directory.delete();
+        directory.mkdir();
+        File short_name = new File(directory, "g");
+        try {
+            MappedDirectedGraph.Builder builder = new MappedDirectedGraph.Builder(short_name, 3);
+            builder.addEdge(2, 0).addEdge(0, 1).addEdge(0, 0);
+            MappedDirectedGraph written = builder.build();
+            assertEquals(3, written.getEdgeCount());
+            assertEquals(2, written.outDegree(0));
+            assertEquals(Integer.valueOf(0), written.getDest(0));
+            assertEquals(Integer.valueOf(1), written.getDest(1));
+        } finally {
+            short_name.delete();
+            directory.delete();
+        }
+    }
+
+    public void testInvalidFile() throws IOException {
+        File bogus = File.createTempFile("mapped", ".graph");
+        try {
+            new MappedDirectedGraph(bogus);
+            fail("should not be able to open an empty file");
+        } catch (IOException ioe) {
+            // all is well
+        } finally {
+            bogus.delete();
+        }
+    }
+
+    public void testImmutable() {
+        try {
+            graph.addEdge(1000, 0, 1);
+            fail("should not be able to add an edge");
+        } catch (UnsupportedOperationException uoe) {
+            // all is well
+        }
+    }
+}
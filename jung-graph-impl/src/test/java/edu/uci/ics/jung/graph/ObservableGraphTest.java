@@ -0,0 +1,242 @@
+package edu.uci.ics.jung.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import edu.uci.ics.jung.graph.event.GraphEvent;
+import edu.uci.ics.jung.graph.event.GraphEventListener;
+
+public class ObservableGraphTest extends TestCase {
+
+    protected ObservableGraph<String,Integer> graph;
+    protected List<GraphEvent<String,Integer>> events;
+
+    @Override
+    protected void setUp() {
+        graph = new ObservableGraph<String,Integer>(new SparseMultigraph<String,Integer>());
+        graph.addEdge(0, "a", "b");
+        graph.addEdge(1, "b", "c");
+        events = new ArrayList<GraphEvent<String,Integer>>();
+        graph.addGraphEventListener(new GraphEventListener<String,Integer>() {
+            public void handleGraphEvent(GraphEvent<String,Integer> evt) {
+                synchronized (events) {
+                    events.add(evt);
+                }
+            }
+        });
+    }
+
+    public void testUnbatched() {
+        graph.addVertex("d");
+        graph.addEdge(2, "c", "d");
+        graph.removeVertex("a");
+        assertEquals(4, events.size());
+        assertEquals(GraphEvent.Type.VERTEX_ADDED, events.get(0).getType());
+        assertEquals("d", ((GraphEvent.Vertex<String,Integer>)events.get(0)).getVertex());
+        assertEquals(GraphEvent.Type.EDGE_ADDED, events.get(1).getType());
+        assertEquals(GraphEvent.Type.EDGE_REMOVED, events.get(2).getType());
+        assertEquals(Integer.valueOf(0), ((GraphEvent.Edge<String,Integer>)events.get(2)).getEdge());
+        assertEquals(GraphEvent.Type.VERTEX_REMOVED, events.get(3).getType());
+    }
+
+    public void testBatch() {
+        graph.beginBatch();
+        for (int i = 2; i < 100; i++) {
+            graph.addVertex("v" + i);
+            graph.addEdge(i, "v" + i, "v" + (i + 1));
+        }
+        graph.beginBatch();
+        graph.removeVertex("a");
+        graph.addVertex("x");
+        graph.addEdge(100, "x", "y");
+        graph.removeVertex("x");
+        graph.removeEdge(1);
+        graph.addEdge(1, "c", "b");
+        graph.commitBatch();
+        assertTrue(graph.isBatching());
+        assertTrue(events.isEmpty());
+        graph.commitBatch();
+        assertFalse(graph.isBatching());
+
+        assertEquals(1, events.size());
+        GraphEvent.ChangeSet<String,Integer> changes = (GraphEvent.ChangeSet<String,Integer>)events.get(0);
+        assertEquals(GraphEvent.Type.CHANGE_SET, changes.getType());
+        // as with individual events, vertices added implicitly by addEdge are not reported
+        assertEquals(Arrays.asList("v2"), new ArrayList<String>(changes.getAddedVertices()));
+        assertEquals(Arrays.asList("a"), new ArrayList<String>(changes.getRemovedVertices()));
+        List<Integer> added_edges = new ArrayList<Integer>();
+        for (int i = 2; i < 100; i++)
+            added_edges.add(i);
+        added_edges.add(1);
+        assertEquals(added_edges, new ArrayList<Integer>(changes.getAddedEdges()));
+        assertEquals(Arrays.asList(0, 1), new ArrayList<Integer>(changes.getRemovedEdges()));
+
+        // a batch whose changes cancel out generates no event
+        graph.beginBatch();
+        graph.addVertex("z");
+        graph.removeVertex("z");
+        graph.commitBatch();
+        assertEquals(1, events.size());
+
+        try {
+            graph.commitBatch();
+            fail("should not be able to commit without a batch");
+        } catch (IllegalStateException ise) {
+            // all is well
+        }
+    }
+
+    public void testExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        graph.setEventExecutor(executor);
+        assertSame(executor, graph.getEventExecutor());
+        for (int i = 2; i < 1000; i++)
+            graph.addEdge(i, "c", "v" + i);
+        graph.beginBatch();
+        graph.removeVertex("c");
+        graph.commitBatch();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // events are delivered in the order in which they were generated
+        assertEquals(998 + 1, events.size());
+        for (int i = 2; i < 1000; i++) {
+            GraphEvent.Edge<String,Integer> evt = (GraphEvent.Edge<String,Integer>)events.get(i - 2);
+            assertEquals(Integer.valueOf(i), evt.getEdge());
+        }
+        GraphEvent.ChangeSet<String,Integer> changes =
+            (GraphEvent.ChangeSet<String,Integer>)events.get(events.size() - 1);
+        assertEquals(999, changes.getRemovedEdges().size());
+        assertEquals(Arrays.asList("c"), new ArrayList<String>(changes.getRemovedVertices()));
+    }
+
+    public void testConcurrentBatches() throws InterruptedException {
+        // changes made by other threads while batches are committed are
+        // reported exactly once, in a change set or as individual events
+        ObservableGraph<String,Integer> graph = 
+            new ObservableGraph<String,Integer>(new ConcurrentSparseMultigraph<String,Integer>());
+        final List<Integer> added = new ArrayList<Integer>();
+        graph.addGraphEventListener(new GraphEventListener<String,Integer>() {
+            public void handleGraphEvent(GraphEvent<String,Integer> evt) {
+                synchronized (added) {
+                    if (evt.getType() == GraphEvent.Type.CHANGE_SET)
+                        added.addAll(((GraphEvent.ChangeSet<String,Integer>)evt).getAddedEdges());
+                    else
+                        added.add(((GraphEvent.Edge<String,Integer>)evt).getEdge());
+                }
+            }
+        });
+        List<Throwable> failures = new ArrayList<Throwable>();
+        List<Thread> threads = startAdders(graph, 4, 50000, failures);
+        while (isAlive(threads)) {
+            graph.beginBatch();
+            graph.commitBatch();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertEquals(200000, added.size());
+        assertEquals(200000, new HashSet<Integer>(added).size());
+    }
+
+    private List<Thread> startAdders(final ObservableGraph<String,Integer> graph, int count, 
+            final int edge_count, final List<Throwable> failures) {
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < count; t++) {
+            final int first = t * edge_count;
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int e = first; e < first + edge_count; e++)
+                            graph.addEdge(e, "v" + (e % 100), "v" + (e % 37));
+                    } catch (Throwable th) {
+                        synchronized (failures) {
+                            failures.add(th);
+                        }
+                    }
+                }
+            };
+            threads.add(thread);
+            thread.start();
+        }
+        return threads;
+    }
+
+    private boolean isAlive(List<Thread> threads) {
+        for (Thread thread : threads)
+            if (thread.isAlive())
+                return true;
+        return false;
+    }
+
+    public void testListenerException() throws InterruptedException {
+        final List<Throwable> reported = new ArrayList<Throwable>();
+        ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r);
+                thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+                    public void uncaughtException(Thread t, Throwable e) {
+                        synchronized (reported) {
+                            reported.add(e);
+                        }
+                    }
+                });
+                return thread;
+            }
+        });
+        graph.addGraphEventListener(new GraphEventListener<String,Integer>() {
+            public void handleGraphEvent(GraphEvent<String,Integer> evt) {
+                throw new IllegalStateException("listener failure");
+            }
+        });
+        graph.setEventExecutor(executor);
+        for (int i = 2; i < 12; i++)
+            graph.addVertex("v" + i);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // the failures are reported, and do not stop delivery
+        assertEquals(10, events.size());
+        assertEquals(10, reported.size());
+    }
+
+    public void testChangeExecutor() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        graph.addGraphEventListener(new GraphEventListener<String,Integer>() {
+            public void handleGraphEvent(GraphEvent<String,Integer> evt) {
+                try {
+                    // (bounded, so that delivery on this thread fails rather than hangs)
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        graph.setEventExecutor(executor);
+        graph.addVertex("d");
+        graph.addVertex("e");
+        
+        // the events still queued are delivered before the later ones
+        graph.setEventExecutor(null);
+        assertNull(graph.getEventExecutor());
+        graph.addVertex("f");
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        graph.addVertex("g");
+        List<String> vertices = new ArrayList<String>();
+        for (GraphEvent<String,Integer> evt : events)
+            vertices.add(((GraphEvent.Vertex<String,Integer>)evt).getVertex());
+        assertEquals(Arrays.asList("d", "e", "f", "g"), vertices);
+    }
+}
@@ -0,0 +1,118 @@
+package edu.uci.ics.jung.graph;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import edu.uci.ics.jung.graph.util.EdgeType;
+
+public class PersistentSparseMultigraphTest 
+	extends AbstractSparseMultigraphTest {
+
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        Set<Number> seeds = new HashSet<Number>();
+        seeds.add(1);
+        seeds.add(5);
+        graph = new PersistentSparseMultigraph<Number,Number>();
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(2, 1, 2);
+        graph.addEdge(3, 0, 2);
+        graph.addEdge(4, 2, 1);
+        graph.addEdge(5, 3, 1);
+        graph.addEdge(6, 0, 4, EdgeType.DIRECTED);
+        graph.addEdge(7, 0, 5, EdgeType.DIRECTED);
+        graph.addEdge(8, 5, 1, EdgeType.DIRECTED);
+        graph.addEdge(9, 6, 1, EdgeType.DIRECTED);
+        graph.addEdge(10, 4, 3, EdgeType.DIRECTED);
+        graph.addEdge(11, 2, 7);
+        graph.addEdge(12, 1, 5);
+        graph.addEdge(13, 2, 6);
+        graph.addEdge(14, 6, 4);
+        graph.addEdge(15, 7, 8);
+        graph.addEdge(16, 8, 3);
+        graph.addEdge(17, 5, 7);
+
+        smallGraph = new PersistentSparseMultigraph<Integer,Number>();
+        smallGraph.addVertex(v0);
+        smallGraph.addVertex(v1);
+        smallGraph.addVertex(v2);
+        smallGraph.addEdge(e01, v0, v1);
+        smallGraph.addEdge(e10, v1, v0);
+        smallGraph.addEdge(e12, v1, v2);
+        smallGraph.addEdge(e21, v2, v1, EdgeType.DIRECTED);
+
+    }
+
+    public void testSnapshot() {
+        PersistentSparseMultigraph<Integer,Integer> g = new PersistentSparseMultigraph<Integer,Integer>();
+        g.addEdge(1, 0, 1, EdgeType.DIRECTED);
+        g.addEdge(2, 1, 2);
+        g.addEdge(3, 2, 2);
+        long version = g.getVersionNumber();
+        Graph<Integer,Integer> snapshot = g.snapshot();
+
+        g.addEdge(4, 0, 2);
+        g.removeVertex(1);
+        g.removeEdge(3);
+        assertTrue(g.getVersionNumber() > version);
+
+        assertEquals(3, snapshot.getVertexCount());
+        assertEquals(3, snapshot.getEdgeCount());
+        assertEquals(Integer.valueOf(1), snapshot.findEdge(0, 1));
+        assertNull(snapshot.findEdge(1, 0));
+        assertEquals(Integer.valueOf(2), snapshot.findEdge(2, 1));
+        assertEquals(Integer.valueOf(3), snapshot.findEdge(2, 2));
+        assertEquals(2, snapshot.getNeighborCount(1));
+        assertEquals(version, ((PersistentSparseMultigraph<Integer,Integer>)snapshot).getVersionNumber());
+
+        assertEquals(2, g.getVertexCount());
+        assertEquals(1, g.getEdgeCount());
+        assertEquals(Integer.valueOf(4), g.findEdge(2, 0));
+        try {
+            snapshot.addVertex(5);
+            fail("should not be able to modify a snapshot");
+        } catch (UnsupportedOperationException uoe) {
+            // all is well
+        }
+    }
+
+    public void testRandomAgainstSparseMultigraph() {
+        Graph<Integer,Integer> expected = new SparseMultigraph<Integer,Integer>();
+        PersistentSparseMultigraph<Integer,Integer> g = new PersistentSparseMultigraph<Integer,Integer>();
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            int op = random.nextInt(10);
+            if (op < 6) {
+                EdgeType type = random.nextBoolean() ? EdgeType.DIRECTED : EdgeType.UNDIRECTED;
+                int v1 = random.nextInt(20);
+                int v2 = random.nextInt(20);
+                assertEquals(expected.addEdge(i, v1, v2, type), g.addEdge(i, v1, v2, type));
+            } else if (op < 9) {
+                Integer e = random.nextInt(i + 1);
+                assertEquals(expected.removeEdge(e), g.removeEdge(e));
+            } else {
+                Integer v = random.nextInt(20);
+                assertEquals(expected.removeVertex(v), g.removeVertex(v));
+            }
+        }
+        assertEquals(new HashSet<Integer>(expected.getVertices()), new HashSet<Integer>(g.getVertices()));
+        assertEquals(new HashSet<Integer>(expected.getEdges()), new HashSet<Integer>(g.getEdges()));
+        for (Integer v : expected.getVertices()) {
+            assertEquals(new HashSet<Integer>(expected.getInEdges(v)), new HashSet<Integer>(g.getInEdges(v)));
+            assertEquals(new HashSet<Integer>(expected.getOutEdges(v)), new HashSet<Integer>(g.getOutEdges(v)));
+            assertEquals(new HashSet<Integer>(expected.getSuccessors(v)), new HashSet<Integer>(g.getSuccessors(v)));
+            assertEquals(new HashSet<Integer>(expected.getPredecessors(v)), new HashSet<Integer>(g.getPredecessors(v)));
+            assertEquals(new HashSet<Integer>(expected.getNeighbors(v)), new HashSet<Integer>(g.getNeighbors(v)));
+        }
+        for (Integer e : expected.getEdges()) {
+            assertEquals(expected.getEndpoints(e), g.getEndpoints(e));
+            assertEquals(expected.getEdgeType(e), g.getEdgeType(e));
+            assertEquals(expected.getSource(e), g.getSource(e));
+        }
+        assertEquals(expected.getEdgeCount(EdgeType.DIRECTED), g.getEdgeCount(EdgeType.DIRECTED));
+        assertEquals(expected.getEdgeCount(EdgeType.UNDIRECTED), g.getEdgeCount(EdgeType.UNDIRECTED));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, the JUNG Project and the Regents of the University
+ * of California
+ * All rights reserved.
+ *
+ * This software is open-source under the BSD license; see either
+ * "license.txt" or
+ * http://jung.sourceforge.net/license.txt for a description.
+ */
+
+package edu.uci.ics.jung.io;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.StringTokenizer;
+
+import edu.uci.ics.jung.graph.MappedDirectedGraph;
+
+/**
+ * Writes memory-mapped graph files from edge lists, without building
+ * the graph on the heap.
+ *
+ * <p>An edge list has one edge per line, given as the ids of its source
+ * and destination vertices separated by whitespace; any further fields
+ * on the line (such as a weight) are ignored.  Blank lines, and lines
+ * starting with <code>#</code> or <code>%</code>, are skipped.
+ *
+ * @see MappedDirectedGraph
+ */
+public class MappedGraphWriter
+{
+    /**
+     * Reads the edge list from <code>reader</code>, writes it to
+     * <code>file</code>, and returns a graph that maps the file.
+     * The edges are passed to a {@link MappedDirectedGraph.Builder}
+     * as they are read, so heap usage is proportional to the number of
+     * vertices, not the number of edges.  The reader is not closed.
+     *
+     * @param reader the source of the edge list
+     * @param vertex_count the number of vertices; vertex ids must be in
+     * <code>[0, vertex_count)</code>
+     * @param file the file to be written
+     * @return the mapped graph
+     * @throws GraphIOException if the edge list cannot be read or parsed,
+     * or the file cannot be written
+     * @throws IllegalArgumentException if <code>vertex_count</code> is negative
+     */
+    public static MappedDirectedGraph write(Reader reader, int vertex_count, File file)
+        throws GraphIOException
+    {
+        MappedDirectedGraph.Builder builder;
+        try
+        {
+            builder = new MappedDirectedGraph.Builder(file, vertex_count);
+        }
+        catch (IOException e)
+        {
+            throw new GraphIOException("unable to write " + file, e);
+        }
+        boolean built = false;
+        try
+        {
+            BufferedReader br = new BufferedReader(reader);
+            int line_number = 0;
+            for (String line = br.readLine(); line != null; line = br.readLine())
+            {
+                line_number++;
+                StringTokenizer st = new StringTokenizer(line);
+                if (!st.hasMoreTokens())
+                    continue;
+                String first = st.nextToken();
+                if (first.startsWith("#") || first.startsWith("%"))
+                    continue;
+                if (!st.hasMoreTokens())
+                    throw new GraphIOException("line " + line_number + ": expected two vertex ids: " + line);
+                try
+                {
+                    builder.addEdge(Integer.parseInt(first), Integer.parseInt(st.nextToken()));
+                }
+                catch (NumberFormatException nfe)
+                {
+                    throw new GraphIOException("line " + line_number + ": invalid vertex id: " + line, nfe);
+                }
+                catch (IllegalArgumentException iae)
+                {
+                    throw new GraphIOException("line " + line_number + ": " + iae.getMessage(), iae);
+                }
+            }
+            MappedDirectedGraph graph = builder.build();
+            built = true;
+            return graph;
+        }
+        catch (IOException e)
+        {
+            throw new GraphIOException("unable to write " + file, e);
+        }
+        finally
+        {
+            if (!built)
+                abort(builder);
+        }
+    }
+
+    private static void abort(MappedDirectedGraph.Builder builder)
+    {
+        try
+        {
+            builder.abort();
+        }
+        catch (IOException e)
+        {
+            // the staging file could not be removed; nothing more can be done
+        }
+    }
+}
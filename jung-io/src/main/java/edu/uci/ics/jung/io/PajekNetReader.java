@@ -27,6 +27,7 @@ import org.apache.commons.collections15.functors.OrPredicate;
 
 import edu.uci.ics.jung.algorithms.util.MapSettableTransformer;
 import edu.uci.ics.jung.algorithms.util.SettableTransformer;
+import edu.uci.ics.jung.graph.BulkGraph;
 import edu.uci.ics.jung.graph.DirectedGraph;
 import edu.uci.ics.jung.graph.Graph;
 import edu.uci.ics.jung.graph.UndirectedGraph;
@@ -200,6 +201,8 @@ public class PajekNetReader<G extends Graph<V,E>,V,E>
         StringTokenizer st = new StringTokenizer(curLine);
         st.nextToken(); // skip past "*vertices";
         int num_vertices = Integer.parseInt(st.nextToken());
+        if (g instanceof BulkGraph)
+            ((BulkGraph<V,E>)g).ensureCapacity(g.getVertexCount() + num_vertices, g.getEdgeCount());
         List<V> id = null;
         if (vertex_factory != null)
         {
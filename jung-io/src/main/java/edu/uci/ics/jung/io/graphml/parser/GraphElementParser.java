@@ -24,6 +24,7 @@ import javax.xml.stream.events.EndElement;
 import javax.xml.stream.events.StartElement;
 import javax.xml.stream.events.XMLEvent;
 
+import edu.uci.ics.jung.graph.BulkGraph;
 import edu.uci.ics.jung.graph.Graph;
 import edu.uci.ics.jung.graph.Hypergraph;
 import edu.uci.ics.jung.graph.util.EdgeType;
@@ -171,6 +172,12 @@ public class GraphElementParser<G extends Hypergraph<V,E>,V,E> extends AbstractE
             G graph = getParserContext().createGraph(graphMetadata);
             graphMetadata.setGraph(graph);
             
+            // Size the graph's tables for all of its elements at once.
+            if (graph instanceof BulkGraph) {
+                ((BulkGraph<V,E>) graph).ensureCapacity(idToVertexMap.size(),
+                        edgeMetadata.size() + hyperEdgeMetadata.size());
+            }
+            
             // Add all of the vertices to the graph object.
             addVerticesToGraph(graph, idToVertexMap.values());
             
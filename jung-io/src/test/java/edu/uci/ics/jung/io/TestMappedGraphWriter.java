@@ -0,0 +1,69 @@
+/*
+ * Created on Oct 18, 2026
+ *
+ */
+package edu.uci.ics.jung.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+
+import junit.framework.TestCase;
+
+import edu.uci.ics.jung.graph.MappedDirectedGraph;
+
+public class TestMappedGraphWriter extends TestCase
+{
+    private File file;
+
+    @Override
+    protected void setUp() throws IOException
+    {
+        file = File.createTempFile("mapped", ".graph");
+    }
+
+    @Override
+    protected void tearDown()
+    {
+        file.delete();
+    }
+
+    public void testWrite() throws GraphIOException
+    {
+        String edges = "# a comment\n" +
+            "0 1\n" +
+            "\n" +
+            "% another comment\n" +
+            "2\t0 0.5\n" +
+            "0 2\n" +
+            "1 1\n";
+        MappedDirectedGraph graph = MappedGraphWriter.write(new StringReader(edges), 4, file);
+        assertEquals(4, graph.getVertexCount());
+        assertEquals(4, graph.getEdgeCount());
+        assertEquals(2, graph.outDegree(0));
+        assertTrue(graph.isSuccessor(0, 2));
+        assertTrue(graph.isSuccessor(1, 1));
+        assertTrue(graph.isPredecessor(0, 2));
+        assertEquals(0, graph.degree(3));
+        File[] staged = file.getAbsoluteFile().getParentFile().listFiles();
+        for (File f : staged)
+            assertFalse(f.getName().startsWith("graph") && f.getName().endsWith(".edges"));
+    }
+
+    public void testInvalidInput()
+    {
+        String[] inputs = {"0 1\n2\n", "0 x\n", "0 4\n"};
+        for (String input : inputs)
+        {
+            try
+            {
+                MappedGraphWriter.write(new StringReader(input), 4, file);
+                fail("should not accept " + input);
+            }
+            catch (GraphIOException gioe)
+            {
+                // all is well
+            }
+        }
+    }
+}